@@ -2,9 +2,11 @@ package com.nisum.vibe.cart.scm.advice;
 
 import com.nisum.vibe.cart.scm.response.ApiResponse;
 import com.nisum.vibe.cart.scm.controller.OrderController;
+import com.nisum.vibe.cart.scm.exception.InvalidPayloadException;
 import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
 import com.nisum.vibe.cart.scm.exception.OrderAlreadyExistsException;
 import com.nisum.vibe.cart.scm.exception.OrderNotFoundException;
+import com.nisum.vibe.cart.scm.exception.PayloadTooLargeException;
 import com.nisum.vibe.cart.scm.exception.WarehouseNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -67,5 +69,30 @@ public class GlobalExceptionHandler {
         ApiResponse<String> response = new ApiResponse<>(false, HttpStatus.NOT_FOUND.value(), message);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
-}
 
+    /**
+     * Handles {@link PayloadTooLargeException} and returns a 413 Payload Too Large response wrapped in an {@code ApiResponse}.
+     *
+     * @param exception the thrown {@code PayloadTooLargeException}
+     * @return a {@code ResponseEntity} containing an {@code ApiResponse} object with the error message and HTTP status 413
+     */
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<ApiResponse<String>> displayPayloadTooLargeExceptionMessage(PayloadTooLargeException exception) {
+        String message = exception.getMessage();
+        ApiResponse<String> response = new ApiResponse<>(false, HttpStatus.PAYLOAD_TOO_LARGE.value(), message);
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+    }
+
+    /**
+     * Handles {@link InvalidPayloadException} and returns a 400 Bad Request response wrapped in an {@code ApiResponse}.
+     *
+     * @param exception the thrown {@code InvalidPayloadException}
+     * @return a {@code ResponseEntity} containing an {@code ApiResponse} object with the error message and HTTP status 400
+     */
+    @ExceptionHandler(InvalidPayloadException.class)
+    public ResponseEntity<ApiResponse<String>> displayInvalidPayloadExceptionMessage(InvalidPayloadException exception) {
+        String message = exception.getMessage();
+        ApiResponse<String> response = new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), message);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+}
@@ -0,0 +1,52 @@
+package com.nisum.vibe.cart.scm.client;
+
+import com.nisum.vibe.cart.scm.model.AllocationMode;
+import com.nisum.vibe.cart.scm.model.CustomerOrderItemDTO;
+import com.nisum.vibe.cart.scm.response.ApiResponse;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Feign client for calling one specific instance of this service.
+ * <p>
+ * Requests are sent to the base URI passed with each call, which is the instance that owns the SKUs of the request,
+ * rather than to an instance picked by the load balancer. Every request carries the {@link #FORWARDED_HEADER}, so the
+ * receiving instance handles it locally even if its view of SKU ownership differs.
+ * </p>
+ */
+@FeignClient(name = "scm-instance", url = "${scm.routing.client-url:http://localhost}")
+public interface ScmInstanceClient {
+
+    /**
+     * Header naming the instance that forwarded a request.
+     */
+    String FORWARDED_HEADER = "X-SCM-Forwarded-By";
+
+    /**
+     * Reserves stock on the given instance.
+     *
+     * @param baseUri               the base URI of the instance.
+     * @param forwardedBy           the ID of the forwarding instance.
+     * @param customerZipcode       the customer's delivery zipcode used to find the nearest warehouse.
+     * @param allowBackorder        whether items that cannot be reserved are backordered.
+     * @param orderReference        the reference of the order, recorded on its backorders; may be {@code null}.
+     * @param allocationMode        how warehouses are chosen, or {@code null} for the configured default.
+     * @param customerOrderItemDTOS the items to reserve.
+     * @return the reservation status of each SKU.
+     */
+    @PutMapping("/api/v1/vibe-cart/scm/orders/stock-reservation-call")
+    ApiResponse<Map<Long, String>> stockReservationCall(URI baseUri,
+                                                       @RequestHeader(FORWARDED_HEADER) String forwardedBy,
+                                                       @RequestParam("customerZipcode") Long customerZipcode,
+                                                       @RequestParam("allowBackorder") boolean allowBackorder,
+                                                       @RequestParam(value = "orderReference", required = false) String orderReference,
+                                                       @RequestParam(value = "allocationMode", required = false) AllocationMode allocationMode,
+                                                       @RequestBody List<CustomerOrderItemDTO> customerOrderItemDTOS);
+}
@@ -2,17 +2,35 @@ package com.nisum.vibe.cart.scm.controller;
 
 
 import com.nisum.vibe.cart.scm.response.ApiResponse;
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
 import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
 import com.nisum.vibe.cart.scm.exception.WarehouseNotFoundException;
 import com.nisum.vibe.cart.scm.model.*;
+import com.nisum.vibe.cart.scm.service.AvailableToPromiseService;
+import com.nisum.vibe.cart.scm.service.BackInStockService;
+import com.nisum.vibe.cart.scm.service.BulkChunkApplier;
+import com.nisum.vibe.cart.scm.service.InventoryExportService;
+import com.nisum.vibe.cart.scm.service.InventoryIntegrityService;
+import com.nisum.vibe.cart.scm.service.InventoryReconciliationService;
 import com.nisum.vibe.cart.scm.service.InventoryService;
+import com.nisum.vibe.cart.scm.service.InventoryUploadService;
+import com.nisum.vibe.cart.scm.service.LowStockService;
+import com.nisum.vibe.cart.scm.service.StockRebalancingService;
+import com.nisum.vibe.cart.scm.util.BulkRequestReader;
+import com.nisum.vibe.cart.scm.util.JsonArrayChunkReader;
+import com.nisum.vibe.cart.scm.util.StreamingExports;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -26,18 +44,56 @@ public class InventoryController {
     @Autowired
     private InventoryService inventoryService;
 
+    @Autowired
+    private InventoryUploadService inventoryUploadService;
+
+    @Autowired
+    private InventoryReconciliationService inventoryReconciliationService;
+
+    @Autowired
+    private InventoryExportService inventoryExportService;
+
+    @Autowired
+    private BackInStockService backInStockService;
+
+    @Autowired
+    private AvailableToPromiseService availableToPromiseService;
+
+    @Autowired
+    private LowStockService lowStockService;
+
+    @Autowired
+    private StockRebalancingService stockRebalancingService;
+
+    @Autowired
+    private InventoryIntegrityService inventoryIntegrityService;
+
+    @Autowired
+    private BulkRequestReader bulkRequestReader;
+
+    @Autowired
+    private BulkChunkApplier bulkChunkApplier;
+
     private final Logger LOGGER = LoggerFactory.getLogger(InventoryController.class);
 
     /**
      * Handles a request to check the quantity of SKUs in the inventory.
+     * The JSON array of SKUs in the body is read in chunks, and may be gzip encoded.
      *
-     * @param skuList the list of SKUs to check.
+     * @param request the request whose body is the list of SKUs to check.
      * @return the list of available quantities for the provided SKUs.
+     * @throws IOException if the body cannot be read.
      */
     @PostMapping("/check-quantity")
-    public ResponseEntity<ApiResponse<List<Integer>>> checkSkuQuantity(@RequestBody List<Long> skuList) {
+    public ResponseEntity<ApiResponse<List<Integer>>> checkSkuQuantity(HttpServletRequest request) throws IOException {
         LOGGER.info("Inside checkSkuQuantity() method of InventoryController class");
-        List<Integer> quantityList = inventoryService.checkSkuQuantity(skuList);
+        List<Integer> quantityList = new ArrayList<>();
+        try (JsonArrayChunkReader<Long> skuReader = bulkRequestReader.openJsonArray(request, Long.class)) {
+            List<Long> skuList;
+            while (!(skuList = skuReader.nextChunk()).isEmpty()) {
+                quantityList.addAll(inventoryService.checkSkuQuantity(skuList));
+            }
+        }
         ApiResponse<List<Integer>> response = new ApiResponse<>(true, HttpStatus.OK.value(), "SKUs quantities retrieved successfully", quantityList);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
@@ -61,6 +117,42 @@ public class InventoryController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * Handles a request to calculate the expected delivery dates of many SKUs for one customer zipcode.
+     *
+     * @param skuList the list of SKUs for which the delivery dates are to be calculated.
+     * @param zipcode the zipcode of the customer.
+     * @return the delivery promise of each SKU, in request order.
+     * @throws WarehouseNotFoundException if the warehouse is not found.
+     */
+    @PostMapping("/expected-delivery-dates")
+    public ResponseEntity<ApiResponse<List<DeliveryPromiseDto>>> getExpectedDeliveryDates(@RequestBody List<Long> skuList,
+                                                                                          @RequestParam("zipcode") Long zipcode)
+            throws WarehouseNotFoundException {
+        LOGGER.info("Inside getExpectedDeliveryDates() method of InventoryController class");
+        List<DeliveryPromiseDto> deliveryPromises = inventoryService.getExpectedDeliveryDates(skuList, zipcode);
+        ApiResponse<List<DeliveryPromiseDto>> response = new ApiResponse<>(true, HttpStatus.OK.value(), "Expected delivery dates retrieved successfully", deliveryPromises);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Handles a checkout quote: availability, allocation and expected delivery date of every item in one call,
+     * optionally holding the allocated stock for a limited time.
+     *
+     * @param checkoutQuoteRequest the shipping zipcode, the items and whether stock should be held.
+     * @return the per-line quote and, if stock was held, the hold reference and expiry.
+     * @throws WarehouseNotFoundException       if the warehouse is not found.
+     * @throws InvalidInventoryRequestException if the request is malformed.
+     */
+    @PostMapping("/checkout-quote")
+    public ResponseEntity<ApiResponse<CheckoutQuoteResponse>> checkoutQuote(@RequestBody CheckoutQuoteRequest checkoutQuoteRequest)
+            throws WarehouseNotFoundException, InvalidInventoryRequestException {
+        LOGGER.info("Inside checkoutQuote() method of InventoryController class");
+        CheckoutQuoteResponse checkoutQuoteResponse = inventoryService.checkoutQuote(checkoutQuoteRequest);
+        ApiResponse<CheckoutQuoteResponse> response = new ApiResponse<>(true, HttpStatus.OK.value(), "Checkout quote retrieved successfully", checkoutQuoteResponse);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     /**
      * Retrieves the inventory report of all warehouses.
      * Calls the service layer to fetch the report and returns it in the response.
@@ -94,21 +186,80 @@ public class InventoryController {
 
     /**
      * Handles a request to add stock to multiple inventory entries.
+     * The JSON array in the body is read in chunks, and may be gzip encoded. Each chunk is applied as it is read, but
+     * all chunks share one transaction, so a request that is rejected part way adds no stock.
      *
-     * @param skuQuantityWarehouseDtos the list of DTOs containing SKU, quantity, and warehouse details.
+     * @param request the request whose body is the list of DTOs containing SKU, quantity, and warehouse details.
      * @return a confirmation message indicating that the stock was updated in all inventories.
+     * @throws IOException                if the body cannot be read.
      * @throws InventoryNotFoundException if the inventory is not found.
      * @throws WarehouseNotFoundException if the warehouse is not found.
      */
     @PutMapping("/update-multiple-inventories")
-    public ResponseEntity<ApiResponse<String>> addStockToMultipleInventories(@RequestBody List<SkuQuantityWarehouseDto> skuQuantityWarehouseDtos)
-            throws InventoryNotFoundException, WarehouseNotFoundException {
+    public ResponseEntity<ApiResponse<String>> addStockToMultipleInventories(HttpServletRequest request)
+            throws IOException, InventoryNotFoundException, WarehouseNotFoundException {
         LOGGER.info("Inside addStockToMultipleInventories() method of InventoryController class");
-        inventoryService.addStockToMultipleInventories(skuQuantityWarehouseDtos);
+        try (JsonArrayChunkReader<SkuQuantityWarehouseDto> dtoReader = bulkRequestReader.openJsonArray(request, SkuQuantityWarehouseDto.class)) {
+            bulkChunkApplier.applyChunks(dtoReader, inventoryService::addStockToMultipleInventories);
+        }
         ApiResponse<String> response = new ApiResponse<>(true, HttpStatus.OK.value(), "Stock updated in all inventories successfully");
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * Handles a streaming bulk stock upload in CSV ({@code text/csv}) or NDJSON ({@code application/x-ndjson}) format.
+     * Lines for a SKU that is not stocked in the warehouse yet create the inventory record when they carry an itemId.
+     *
+     * @param request the request whose body is the uploaded file.
+     * @return the number of lines read and applied and the lines that could not be applied.
+     * @throws IOException                      if the upload cannot be read.
+     * @throws InvalidInventoryRequestException if the format is not supported or the CSV header is invalid.
+     */
+    @PostMapping(value = "/bulk-stock-upload", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ApiResponse<StockUploadResult>> uploadStock(HttpServletRequest request)
+            throws IOException, InvalidInventoryRequestException {
+        LOGGER.info("Inside uploadStock() method of InventoryController class");
+        StockUploadResult stockUploadResult = inventoryUploadService.uploadStock(request.getInputStream(), StockUploadFormat.fromContentType(request.getContentType()));
+        ApiResponse<StockUploadResult> response = new ApiResponse<>(true, HttpStatus.OK.value(), "Stock upload processed successfully", stockUploadResult);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Reconciles inventory against a full on-hand snapshot sent by warehouse management, as CSV with the
+     * {@code warehouseId}, {@code sku} and {@code quantityOnHand} columns sorted by warehouse ID and SKU.
+     * The body may be gzip encoded.
+     *
+     * @param request the request whose body is the snapshot.
+     * @return the number of lines read, records compared and updated, and the discrepancy report.
+     * @throws IOException                      if the snapshot cannot be read.
+     * @throws InvalidInventoryRequestException if the snapshot header is invalid.
+     */
+    @PostMapping(value = "/reconcile-stock", consumes = "text/csv")
+    public ResponseEntity<ApiResponse<StockReconciliationResult>> reconcileStock(HttpServletRequest request)
+            throws IOException, InvalidInventoryRequestException {
+        LOGGER.info("Inside reconcileStock() method of InventoryController class");
+        StockReconciliationResult reconciliationResult = inventoryReconciliationService.reconcileStock(bulkRequestReader.openBody(request));
+        ApiResponse<StockReconciliationResult> response = new ApiResponse<>(true, HttpStatus.OK.value(), "Stock reconciled successfully", reconciliationResult);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Checks the quantities on hold and on order of every inventory record against the active holds, orders and
+     * backorders they should reflect, one warehouse per parallel task.
+     *
+     * @param fix whether hold counters that drifted are corrected.
+     * @return ApiResponse containing the records compared, the records fixed and the discrepancies found.
+     * @throws InvalidInventoryRequestException if a check is already in progress.
+     */
+    @PostMapping("/integrity-check")
+    public ResponseEntity<ApiResponse<InventoryIntegrityResult>> checkIntegrity(@RequestParam(value = "fix", defaultValue = "false") boolean fix)
+            throws InvalidInventoryRequestException {
+        LOGGER.info("Inside checkIntegrity() method of InventoryController class");
+        InventoryIntegrityResult integrityResult = inventoryIntegrityService.checkIntegrity(fix);
+        ApiResponse<InventoryIntegrityResult> response = new ApiResponse<>(true, HttpStatus.OK.value(), "Inventory integrity checked successfully", integrityResult);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     /**
      * Retrieves all inventory details.
      * Fetches all inventory data and returns it in the response.
@@ -123,6 +274,215 @@ public class InventoryController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * Streams the inventory location of every inventory record as NDJSON or CSV.
+     * Unlike {@link #getAllWarehouses()}, records are written as they are read from the database, so the export
+     * uses constant memory. The output is gzip compressed when the client accepts it.
+     *
+     * @param format         the export format, {@code ndjson} (default) or {@code csv}.
+     * @param acceptEncoding the Accept-Encoding header of the request.
+     * @return the streamed export.
+     * @throws InvalidInventoryRequestException if the format is not supported.
+     */
+    @GetMapping("/export-inventory-locations")
+    public ResponseEntity<StreamingResponseBody> exportInventoryLocations(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                                                                          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
+            throws InvalidInventoryRequestException {
+        LOGGER.info("Inside exportInventoryLocations() method of InventoryController class");
+        ExportFormat exportFormat = ExportFormat.fromName(format);
+        if (exportFormat == null) {
+            throw new InvalidInventoryRequestException("Unsupported export format: " + format + ", use ndjson or csv");
+        }
+        return StreamingExports.attachment(exportFormat, "inventory-locations", acceptEncoding,
+                outputStream -> inventoryExportService.exportInventoryLocations(outputStream, exportFormat));
+    }
+
+    /**
+     * Returns the inventory records modified since a client's last sync, in pages ordered by change version.
+     * Start with {@code since=0} and pass back the {@code nextSince} and {@code nextAfterId} of each page.
+     *
+     * @param since   the change version of the last record received.
+     * @param afterId the inventory ID of the last record received.
+     * @param limit   the maximum number of records to return.
+     * @return the changed records and the position of the next page.
+     * @throws InvalidInventoryRequestException if a parameter is out of range.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<InventoryChangePage>> getInventoryChanges(@RequestParam(value = "since", defaultValue = "0") long since,
+                                                                               @RequestParam(value = "afterId", defaultValue = "0") long afterId,
+                                                                               @RequestParam(value = "limit", defaultValue = "500") int limit)
+            throws InvalidInventoryRequestException {
+        LOGGER.info("Inside getInventoryChanges() method of InventoryController class");
+        InventoryChangePage changePage = inventoryService.getInventoryChanges(since, afterId, limit);
+        ApiResponse<InventoryChangePage> response = new ApiResponse<>(true, HttpStatus.OK.value(), "Inventory changes retrieved successfully", changePage);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Sets or clears the reorder threshold of a SKU in a warehouse. Crossings of the threshold are published as
+     * inventory levels change.
+     *
+     * @param reorderThresholdRequest the SKU, warehouse and threshold.
+     * @return ApiResponse indicating the threshold was updated.
+     * @throws InvalidInventoryRequestException if the request is invalid.
+     * @throws InventoryNotFoundException       if the SKU is not stocked in the warehouse.
+     */
+    @PutMapping("/reorder-threshold")
+    public ResponseEntity<ApiResponse<String>> setReorderThreshold(@RequestBody ReorderThresholdRequest reorderThresholdRequest)
+            throws InvalidInventoryRequestException, InventoryNotFoundException {
+        LOGGER.info("Inside setReorderThreshold() method of InventoryController class");
+        lowStockService.setReorderThreshold(reorderThresholdRequest);
+        ApiResponse<String> response = new ApiResponse<>(true, HttpStatus.OK.value(), "Reorder threshold updated successfully", null);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Returns the inventory records at or below their reorder threshold, lowest available quantity first.
+     * Pass back the {@code nextAfterQuantity} and {@code nextAfterId} of each page to get the next one.
+     *
+     * @param warehouseId   the warehouse to list, or none for all warehouses.
+     * @param afterQuantity the available quantity of the last record received.
+     * @param afterId       the inventory ID of the last record received.
+     * @param limit         the maximum number of records to return.
+     * @return the low-stock records and the position of the next page.
+     * @throws InvalidInventoryRequestException if the limit is not positive.
+     */
+    @GetMapping("/low-stock")
+    public ResponseEntity<ApiResponse<LowStockPage>> getLowStock(@RequestParam(value = "warehouseId", required = false) String warehouseId,
+                                                                 @RequestParam(value = "afterQuantity", defaultValue = "-1") int afterQuantity,
+                                                                 @RequestParam(value = "afterId", defaultValue = "0") long afterId,
+                                                                 @RequestParam(value = "limit", defaultValue = "100") int limit)
+            throws InvalidInventoryRequestException {
+        LOGGER.info("Inside getLowStock() method of InventoryController class");
+        LowStockPage lowStockPage = lowStockService.getLowStock(warehouseId, afterQuantity, afterId, limit);
+        ApiResponse<LowStockPage> response = new ApiResponse<>(true, HttpStatus.OK.value(), "Low-stock inventories retrieved successfully", lowStockPage);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Proposes stock transfers from warehouses with slow demand to warehouses with fast demand, based on the decayed
+     * demand velocity of each warehouse.
+     *
+     * @param limit the maximum number of transfers to return.
+     * @return ApiResponse containing the proposed transfers, largest quantity first.
+     * @throws InvalidInventoryRequestException if the limit is not positive.
+     */
+    @GetMapping("/rebalancing-recommendations")
+    public ResponseEntity<ApiResponse<List<StockTransferRecommendation>>> getRebalancingRecommendations(@RequestParam(value = "limit", defaultValue = "100") int limit)
+            throws InvalidInventoryRequestException {
+        LOGGER.info("Inside getRebalancingRecommendations() method of InventoryController class");
+        List<StockTransferRecommendation> recommendations = stockRebalancingService.recommendTransfers(limit);
+        ApiResponse<List<StockTransferRecommendation>> response = new ApiResponse<>(true, HttpStatus.OK.value(), "Rebalancing recommendations retrieved successfully", recommendations);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Executes stock transfers between warehouses. The stock leaves the source warehouse right away and is expected
+     * at the destination as inbound supply.
+     *
+     * @param transfers the transfers to execute.
+     * @return ApiResponse containing the executed transfers with the quantities actually moved.
+     * @throws InvalidInventoryRequestException if a transfer is invalid.
+     */
+    @PostMapping("/rebalancing-transfers")
+    public ResponseEntity<ApiResponse<List<StockTransferRecommendation>>> executeRebalancingTransfers(@RequestBody List<StockTransferRecommendation> transfers)
+            throws InvalidInventoryRequestException {
+        LOGGER.info("Inside executeRebalancingTransfers() method of InventoryController class");
+        List<StockTransferRecommendation> executed = stockRebalancingService.executeTransfers(transfers);
+        ApiResponse<List<StockTransferRecommendation>> response = new ApiResponse<>(true, HttpStatus.OK.value(), "Stock transfers executed successfully", executed);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Registers supply on its way to a warehouse so that it can be promised from its expected arrival date.
+     *
+     * @param inboundSupplyRequest the SKU, warehouse, quantity and expected arrival date.
+     * @return ApiResponse containing the ID of the inbound supply.
+     * @throws InvalidInventoryRequestException if the request is invalid.
+     */
+    @PostMapping("/inbound-supply")
+    public ResponseEntity<ApiResponse<Long>> registerInboundSupply(@RequestBody InboundSupplyRequest inboundSupplyRequest)
+            throws InvalidInventoryRequestException {
+        LOGGER.info("Inside registerInboundSupply() method of InventoryController class");
+        Long inboundSupplyId = availableToPromiseService.registerInboundSupply(inboundSupplyRequest);
+        ApiResponse<Long> response = new ApiResponse<>(true, HttpStatus.OK.value(), "Inbound supply registered successfully", inboundSupplyId);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Receives expected supply into the available stock of its warehouse.
+     *
+     * @param inboundSupplyId the ID of the inbound supply.
+     * @return ApiResponse indicating the supply was received.
+     * @throws InventoryNotFoundException       if the supply or its inventory record does not exist.
+     * @throws InvalidInventoryRequestException if the supply was already received.
+     */
+    @PutMapping("/inbound-supply/{inboundSupplyId}/receive")
+    public ResponseEntity<ApiResponse<String>> receiveInboundSupply(@PathVariable("inboundSupplyId") Long inboundSupplyId)
+            throws InventoryNotFoundException, InvalidInventoryRequestException {
+        LOGGER.info("Inside receiveInboundSupply() method of InventoryController class");
+        availableToPromiseService.receiveInboundSupply(inboundSupplyId);
+        ApiResponse<String> response = new ApiResponse<>(true, HttpStatus.OK.value(), "Inbound supply received successfully", null);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Returns the time-phased available-to-promise projection of a list of SKUs: the quantity that can be promised
+     * for each of the next days from stock on hand and expected inbound supply.
+     *
+     * @param skuList     the SKUs.
+     * @param warehouseId the warehouse, or none to combine all warehouses net of outstanding backorders.
+     * @param days        the number of days to project.
+     * @param quantity    the quantity to find the earliest promise date for.
+     * @return ApiResponse containing one projection per SKU.
+     * @throws InvalidInventoryRequestException if the number of days or the quantity is not positive.
+     */
+    @PostMapping("/available-to-promise")
+    public ResponseEntity<ApiResponse<List<AvailableToPromiseDto>>> getAvailableToPromise(@RequestBody List<Long> skuList,
+                                                                                          @RequestParam(value = "warehouseId", required = false) String warehouseId,
+                                                                                          @RequestParam(value = "days", defaultValue = "14") int days,
+                                                                                          @RequestParam(value = "quantity", required = false) Integer quantity)
+            throws InvalidInventoryRequestException {
+        LOGGER.info("Inside getAvailableToPromise() method of InventoryController class");
+        List<AvailableToPromiseDto> projections = availableToPromiseService.getAvailableToPromise(skuList, warehouseId, days, quantity);
+        ApiResponse<List<AvailableToPromiseDto>> response = new ApiResponse<>(true, HttpStatus.OK.value(), "Available-to-promise retrieved successfully", projections);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Subscribes a customer to be notified once an out-of-stock SKU is replenished.
+     * Subscribing again to the same SKU has no effect.
+     *
+     * @param subscriptionRequest the SKU, customer ID and email address.
+     * @return ApiResponse indicating whether a new subscription was created.
+     * @throws InvalidInventoryRequestException if the SKU or customer ID is missing.
+     */
+    @PostMapping("/back-in-stock-subscriptions")
+    public ResponseEntity<ApiResponse<Boolean>> subscribeToBackInStock(@RequestBody BackInStockSubscriptionRequest subscriptionRequest)
+            throws InvalidInventoryRequestException {
+        LOGGER.info("Inside subscribeToBackInStock() method of InventoryController class");
+        boolean created = backInStockService.subscribe(subscriptionRequest);
+        String message = created ? "Subscribed to back-in-stock notification" : "Already subscribed to back-in-stock notification";
+        ApiResponse<Boolean> response = new ApiResponse<>(true, HttpStatus.OK.value(), message, created);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Removes a customer's back-in-stock subscription to a SKU.
+     *
+     * @param sku        the SKU.
+     * @param customerId the ID of the customer.
+     * @return ApiResponse indicating whether a subscription was removed.
+     */
+    @DeleteMapping("/back-in-stock-subscriptions")
+    public ResponseEntity<ApiResponse<Boolean>> unsubscribeFromBackInStock(@RequestParam("sku") Long sku, @RequestParam("customerId") Long customerId) {
+        LOGGER.info("Inside unsubscribeFromBackInStock() method of InventoryController class");
+        boolean removed = backInStockService.unsubscribe(sku, customerId);
+        String message = removed ? "Unsubscribed from back-in-stock notification" : "No back-in-stock subscription found";
+        ApiResponse<Boolean> response = new ApiResponse<>(true, HttpStatus.OK.value(), message, removed);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     /**
      * Retrieves details of all warehouses.
      * Calls the service to get the warehouse data and returns it.
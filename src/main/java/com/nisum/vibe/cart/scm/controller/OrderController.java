@@ -1,16 +1,38 @@
 package com.nisum.vibe.cart.scm.controller;
 
+import com.nisum.vibe.cart.scm.client.ScmInstanceClient;
 import com.nisum.vibe.cart.scm.response.ApiResponse;
 import com.nisum.vibe.cart.scm.exception.*;
+import com.nisum.vibe.cart.scm.model.AllocationMode;
 import com.nisum.vibe.cart.scm.model.CustomerOrderItemDTO;
+import com.nisum.vibe.cart.scm.model.ExportFormat;
+import com.nisum.vibe.cart.scm.model.OrderChangePage;
+import com.nisum.vibe.cart.scm.model.OrderExportCursor;
 import com.nisum.vibe.cart.scm.model.OrderDTO;
+import com.nisum.vibe.cart.scm.model.OrderStatus;
+import com.nisum.vibe.cart.scm.service.BulkChunkApplier;
+import com.nisum.vibe.cart.scm.service.InventoryService;
+import com.nisum.vibe.cart.scm.service.OrderExportService;
 import com.nisum.vibe.cart.scm.service.OrderService;
+import com.nisum.vibe.cart.scm.service.SkuRequestRouter;
+import com.nisum.vibe.cart.scm.util.BulkRequestReader;
+import com.nisum.vibe.cart.scm.util.JsonArrayChunkReader;
+import com.nisum.vibe.cart.scm.util.StreamingExports;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,11 +44,23 @@ import java.util.Map;
 @RequestMapping("/api/v1/vibe-cart/scm/orders")
 public class OrderController {
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
+    private static final String HELD_STOCK_MESSAGE = "Inventory updated with stock reservation";
     private final OrderService orderService;
+    private final BulkRequestReader bulkRequestReader;
+    private final OrderExportService orderExportService;
+    private final SkuRequestRouter skuRequestRouter;
+    private final InventoryService inventoryService;
+    private final BulkChunkApplier bulkChunkApplier;
 
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, BulkRequestReader bulkRequestReader, OrderExportService orderExportService,
+                           SkuRequestRouter skuRequestRouter, InventoryService inventoryService, BulkChunkApplier bulkChunkApplier) {
         this.orderService = orderService;
+        this.bulkRequestReader = bulkRequestReader;
+        this.orderExportService = orderExportService;
+        this.skuRequestRouter = skuRequestRouter;
+        this.inventoryService = inventoryService;
+        this.bulkChunkApplier = bulkChunkApplier;
     }
 
     /**
@@ -47,6 +81,68 @@ public class OrderController {
         }
     }
 
+    /**
+     * Streams the orders placed in a date range, with their items, as NDJSON or CSV.
+     * Unlike {@link #getAllOrders()}, orders are written as they are read, so the export uses constant memory.
+     * The output is gzip compressed when the client accepts it.
+     *
+     * @param from           Earliest order date to include, as an ISO-8601 instant.
+     * @param to             Order date to stop before, as an ISO-8601 instant.
+     * @param status         Order status to include, all statuses when omitted.
+     * @param format         Export format, ndjson (default) or csv.
+     * @param cursor         Cursor token of the last order received, to resume an interrupted export.
+     * @param acceptEncoding Accept-Encoding header of the request.
+     * @return ResponseEntity with the streamed export, or an empty body with status 400 if the format or cursor is invalid.
+     */
+    @GetMapping("/exportOrders")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                              @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                              @RequestParam(value = "status", required = false) OrderStatus status,
+                                                              @RequestParam(value = "format", defaultValue = "ndjson") String format,
+                                                              @RequestParam(value = "cursor", required = false) String cursor,
+                                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ExportFormat exportFormat = ExportFormat.fromName(format);
+        if (exportFormat == null) {
+            logger.error("Unsupported order export format: {}", format);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        OrderExportCursor after;
+        try {
+            after = cursor == null || cursor.isEmpty() ? null : OrderExportCursor.fromToken(cursor);
+        } catch (InvalidOrderDataException e) {
+            logger.error(e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        return StreamingExports.attachment(exportFormat, "orders", acceptEncoding,
+                outputStream -> orderExportService.exportOrders(outputStream, exportFormat, from, to, status, after));
+    }
+
+    /**
+     * Returns the orders updated since a consumer's last pull, in pages ordered by update time and order ID.
+     * Start without {@code since} and pass back the {@code nextSince} and {@code nextAfterId} of each page.
+     *
+     * @param since   Update time of the last order received, as an ISO-8601 instant.
+     * @param afterId ID of the last order received.
+     * @param limit   Maximum number of orders to return.
+     * @param expand  Whether to include the full orders with their items.
+     * @return ResponseEntity with the changed orders and the position of the next page.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse<OrderChangePage>> getOrderChanges(@RequestParam(value = "since", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+                                                                       @RequestParam(value = "afterId", required = false) String afterId,
+                                                                       @RequestParam(value = "limit", defaultValue = "500") int limit,
+                                                                       @RequestParam(value = "expand", defaultValue = "false") boolean expand) {
+        try {
+            OrderChangePage changePage = orderService.getOrderChanges(since, afterId, limit, expand);
+            ApiResponse<OrderChangePage> response = new ApiResponse<>(true, HttpStatus.OK.value(), "Order changes retrieved successfully", changePage);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (InvalidOrderDataException e) {
+            logger.error(e.getMessage());
+            ApiResponse<OrderChangePage> response = new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), e.getMessage(), null);
+            return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        }
+    }
+
     /**
      * Retrieves an order by its ID.
      *
@@ -238,19 +334,97 @@ public class OrderController {
         }
     }
 
+    /**
+     * Opens a server-sent event stream of status changes for an order.
+     * The current status is sent immediately and every later change is pushed as an {@code order-status} event,
+     * replacing repeated polling of the track endpoint.
+     *
+     * @param orderId Order ID.
+     * @return ResponseEntity with the event stream, or an empty body with the error status.
+     */
+    @GetMapping(value = "/trackOrderStatus/{orderId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOrderStatus(@PathVariable String orderId) {
+        try {
+            SseEmitter emitter = orderService.subscribeToOrderStatus(orderId);
+            return new ResponseEntity<>(emitter, HttpStatus.OK);
+        } catch (InvalidOrderIdException e) {
+            logger.error("Invalid order ID for status stream: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (OrderTrackingException e) {
+            logger.error("Error opening order status stream: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (SubscriptionLimitExceededException e) {
+            logger.warn(e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+    }
+
     /**
      * Makes a stock reservation call for the given list of customer order items.
      * This method checks inventory availability and reserves stock based on the provided customer ZIP code.
+     * The JSON array of items in the body is read in chunks, and may be gzip encoded. A request of one chunk is
+     * reserved as a whole. A longer request is reserved chunk by chunk as it is read, directly against the inventory of
+     * this instance, in one transaction that is rolled back if a later chunk is rejected, so a request that is
+     * rejected reserves nothing.
+     *
+     * With {@code allowBackorder=true}, items that cannot be reserved are queued as backorders and reserved when
+     * their SKU is replenished, instead of being reported as out of stock.
+     *
+     * With {@code allocationMode=PREFER_FAST}, stock is reserved from the warehouses whose inventory is not locked by
+     * a concurrent reservation instead of waiting for the nearest warehouse.
+     *
+     * With {@code holdReference}, the stock held by that checkout quote is consumed for the items it covers instead of
+     * being reserved again, and only the rest is reserved.
+     *
+     * When SKU routing is enabled, items are reserved by the instances owning their SKUs. Requests forwarded by
+     * another instance carry the {@code X-SCM-Forwarded-By} header and are reserved locally.
      *
-     * @param customerOrderItemDTOS List of customer order item details for which stock needs to be reserved.
-     * @param customerZipcode       The ZIP code of the customer to determine the warehouse for stock reservation.
+     * @param request         The request whose body is the list of customer order items to reserve.
+     * @param customerZipcode The ZIP code of the customer to determine the warehouse for stock reservation.
+     * @param allowBackorder  Whether items that cannot be reserved are backordered.
+     * @param orderReference  The reference of the order, recorded on its backorders.
+     * @param allocationMode  How warehouses are chosen, {@code PREFER_LOCAL} or {@code PREFER_FAST}; defaults to the configured mode.
+     * @param holdReference   The hold reference returned by a checkout quote, or {@code null} if no stock was held.
+     * @param forwardedBy     The instance that forwarded the request, or {@code null} if it was not forwarded.
      * @return ResponseEntity containing an ApiResponse with a map of item IDs and their reservation status.
      */
     @PutMapping("/stock-reservation-call")
-    public ResponseEntity<ApiResponse<Map<Long, String>>> stockReservationCall(@RequestBody List<CustomerOrderItemDTO> customerOrderItemDTOS, @RequestParam("customerZipcode") Long customerZipcode) throws InventoryNotFoundException, WarehouseNotFoundException {
+    public ResponseEntity<ApiResponse<Map<Long, String>>> stockReservationCall(HttpServletRequest request, @RequestParam("customerZipcode") Long customerZipcode,
+                                                                               @RequestParam(value = "allowBackorder", defaultValue = "false") boolean allowBackorder,
+                                                                               @RequestParam(value = "orderReference", required = false) String orderReference,
+                                                                               @RequestParam(value = "allocationMode", required = false) AllocationMode allocationMode,
+                                                                               @RequestParam(value = "holdReference", required = false) String holdReference,
+                                                                               @RequestHeader(value = ScmInstanceClient.FORWARDED_HEADER, required = false) String forwardedBy) throws IOException, InventoryNotFoundException, WarehouseNotFoundException {
 
-        Map<Long, String> responseMap = orderService.stockReservationCall(customerOrderItemDTOS, customerZipcode);
+        Map<Long, String> responseMap = new LinkedHashMap<>();
+        try (JsonArrayChunkReader<CustomerOrderItemDTO> itemReader = bulkRequestReader.openJsonArray(request, CustomerOrderItemDTO.class)) {
+            List<CustomerOrderItemDTO> customerOrderItemDTOS = itemReader.nextChunk();
+            if (!itemReader.hasMoreElements()) {
+                List<CustomerOrderItemDTO> unheldItems = consumeStockHolds(holdReference, customerOrderItemDTOS, responseMap);
+                if (!unheldItems.isEmpty()) {
+                    responseMap.putAll(forwardedBy == null
+                            ? skuRequestRouter.stockReservationCall(unheldItems, customerZipcode, allowBackorder, orderReference, allocationMode)
+                            : orderService.stockReservationCall(unheldItems, customerZipcode, allowBackorder, orderReference, allocationMode));
+                }
+            } else {
+                bulkChunkApplier.applyChunks(customerOrderItemDTOS, itemReader, chunk -> {
+                    List<CustomerOrderItemDTO> unheldItems = consumeStockHolds(holdReference, chunk, responseMap);
+                    if (!unheldItems.isEmpty()) {
+                        responseMap.putAll(inventoryService.stockReservationCall(unheldItems, customerZipcode, allowBackorder, orderReference, allocationMode));
+                    }
+                });
+            }
+        }
         ApiResponse<Map<Long, String>> response = new ApiResponse<>(true, HttpStatus.OK.value(), "Stock Reservation call made", responseMap);
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
+
+    private List<CustomerOrderItemDTO> consumeStockHolds(String holdReference, List<CustomerOrderItemDTO> customerOrderItemDTOS, Map<Long, String> responseMap) {
+        if (holdReference == null) {
+            return customerOrderItemDTOS;
+        }
+        List<CustomerOrderItemDTO> unheldItems = inventoryService.consumeStockHolds(holdReference, customerOrderItemDTOS);
+        customerOrderItemDTOS.forEach(item -> responseMap.put(item.getSku(), HELD_STOCK_MESSAGE));
+        return unheldItems;
+    }
 }
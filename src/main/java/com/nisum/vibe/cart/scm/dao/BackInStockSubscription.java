@@ -0,0 +1,106 @@
+package com.nisum.vibe.cart.scm.dao;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import java.time.Instant;
+
+/**
+ * Represents a customer waiting to be notified when an out-of-stock SKU is replenished.
+ * <p>
+ * A customer holds at most one subscription per SKU. Subscriptions are removed once the notification is sent.
+ * </p>
+ */
+@Entity
+@Table(name = "vibe_cart_back_in_stock_subscription",
+        uniqueConstraints = @UniqueConstraint(name = "uk_back_in_stock_sku_customer", columnNames = {"sku", "customer_id"}))
+public class BackInStockSubscription {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "subscription_id")
+    private Long subscriptionId;
+
+    @Column(name = "sku", nullable = false)
+    private Long sku;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "email")
+    private String email;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Constructs a new {@code BackInStockSubscription} instance with no specified details.
+     * Default constructor required for JPA.
+     */
+    public BackInStockSubscription() {
+    }
+
+    /**
+     * Constructs a new {@code BackInStockSubscription}.
+     *
+     * @param sku        the SKU the customer is waiting for.
+     * @param customerId the ID of the customer.
+     * @param email      the email address to notify, or {@code null} to use the customer's default channel.
+     * @param createdAt  the time of the subscription.
+     */
+    public BackInStockSubscription(Long sku, Long customerId, String email, Instant createdAt) {
+        this.sku = sku;
+        this.customerId = customerId;
+        this.email = email;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Returns the unique identifier of the subscription.
+     *
+     * @return the subscription ID.
+     */
+    public Long getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    /**
+     * Returns the SKU the customer is waiting for.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Returns the ID of the customer.
+     *
+     * @return the customer ID.
+     */
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Returns the email address to notify.
+     *
+     * @return the email address, or {@code null}.
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Returns the time of the subscription.
+     *
+     * @return the creation time.
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,204 @@
+package com.nisum.vibe.cart.scm.dao;
+
+import com.nisum.vibe.cart.scm.model.BackorderStatus;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Represents an order line that could not be reserved from stock and waits for replenishment.
+ * <p>
+ * Backorders of a SKU are served in FIFO order of their ID. Replenished stock is reserved for the oldest waiting
+ * backorder first, moving it from available to on-hold and on-order on the inventory record exactly as a stock
+ * reservation does, and {@code quantityAllocated} records how much of the line has been reserved so far.
+ * </p>
+ */
+@Entity
+@Table(name = "vibe_cart_backorder",
+        indexes = {
+                @Index(name = "idx_backorder_sku_status_id", columnList = "sku, status, backorder_id"),
+                @Index(name = "idx_backorder_order_reference", columnList = "order_reference")
+        })
+public class Backorder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "backorder_id")
+    private Long backorderId;
+
+    @Column(name = "sku", nullable = false)
+    private Long sku;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "quantity_allocated", nullable = false)
+    private Integer quantityAllocated;
+
+    @Column(name = "order_reference", length = 64)
+    private String orderReference;
+
+    @Column(name = "customer_zipcode")
+    private Long customerZipcode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    private BackorderStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "allocated_at")
+    private Instant allocatedAt;
+
+    /**
+     * Constructs a new {@code Backorder} instance with no specified details.
+     * Default constructor required for JPA.
+     */
+    public Backorder() {
+    }
+
+    /**
+     * Constructs a new waiting {@code Backorder}.
+     *
+     * @param sku             the backordered SKU.
+     * @param quantity        the backordered quantity.
+     * @param orderReference  the reference of the order the line belongs to, or {@code null}.
+     * @param customerZipcode the delivery ZIP code of the order.
+     * @param createdAt       the time the line was backordered.
+     */
+    public Backorder(Long sku, Integer quantity, String orderReference, Long customerZipcode, Instant createdAt) {
+        this.sku = sku;
+        this.quantity = quantity;
+        this.quantityAllocated = 0;
+        this.orderReference = orderReference;
+        this.customerZipcode = customerZipcode;
+        this.createdAt = createdAt;
+        this.status = BackorderStatus.WAITING;
+    }
+
+    /**
+     * Returns the unique identifier of the backorder, which is also its position in the FIFO queue of its SKU.
+     *
+     * @return the backorder ID.
+     */
+    public Long getBackorderId() {
+        return backorderId;
+    }
+
+    /**
+     * Returns the backordered SKU.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Returns the backordered quantity.
+     *
+     * @return the quantity.
+     */
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Returns the quantity reserved for the line so far.
+     *
+     * @return the allocated quantity.
+     */
+    public Integer getQuantityAllocated() {
+        return quantityAllocated;
+    }
+
+    /**
+     * Sets the quantity reserved for the line so far.
+     *
+     * @param quantityAllocated the allocated quantity.
+     */
+    public void setQuantityAllocated(Integer quantityAllocated) {
+        this.quantityAllocated = quantityAllocated;
+    }
+
+    /**
+     * Returns the quantity still waiting for stock.
+     *
+     * @return the outstanding quantity.
+     */
+    public int getQuantityOutstanding() {
+        return quantity - quantityAllocated;
+    }
+
+    /**
+     * Returns the reference of the order the line belongs to.
+     *
+     * @return the order reference, or {@code null}.
+     */
+    public String getOrderReference() {
+        return orderReference;
+    }
+
+    /**
+     * Returns the delivery ZIP code of the order.
+     *
+     * @return the customer ZIP code.
+     */
+    public Long getCustomerZipcode() {
+        return customerZipcode;
+    }
+
+    /**
+     * Returns the status of the backorder.
+     *
+     * @return the status.
+     */
+    public BackorderStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets the status of the backorder.
+     *
+     * @param status the status.
+     */
+    public void setStatus(BackorderStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * Returns the time the line was backordered.
+     *
+     * @return the creation time.
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Returns the time the whole line was allocated.
+     *
+     * @return the allocation time, or {@code null} while waiting.
+     */
+    public Instant getAllocatedAt() {
+        return allocatedAt;
+    }
+
+    /**
+     * Sets the time the whole line was allocated.
+     *
+     * @param allocatedAt the allocation time.
+     */
+    public void setAllocatedAt(Instant allocatedAt) {
+        this.allocatedAt = allocatedAt;
+    }
+}
@@ -0,0 +1,133 @@
+package com.nisum.vibe.cart.scm.dao;
+
+import com.nisum.vibe.cart.scm.model.InboundSupplyStatus;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDate;
+
+/**
+ * Represents a quantity of a SKU on its way to a warehouse, such as an open purchase order or a transfer.
+ * <p>
+ * Expected supply is not available yet, but it can be promised to customers from its expected arrival date.
+ * </p>
+ */
+@Entity
+@Table(name = "vibe_cart_inbound_supply",
+        indexes = @Index(name = "idx_inbound_supply_status_sku", columnList = "status, sku"))
+public class InboundSupply {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "inbound_supply_id")
+    private Long inboundSupplyId;
+
+    @Column(name = "sku", nullable = false)
+    private Long sku;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private String warehouseId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "expected_date", nullable = false)
+    private LocalDate expectedDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    private InboundSupplyStatus status;
+
+    /**
+     * Constructs a new {@code InboundSupply} instance with no specified details.
+     * Default constructor required for JPA.
+     */
+    public InboundSupply() {
+    }
+
+    /**
+     * Constructs a new expected {@code InboundSupply}.
+     *
+     * @param sku          the SKU of the supply.
+     * @param warehouseId  the receiving warehouse.
+     * @param quantity     the expected quantity.
+     * @param expectedDate the expected arrival date.
+     */
+    public InboundSupply(Long sku, String warehouseId, Integer quantity, LocalDate expectedDate) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.quantity = quantity;
+        this.expectedDate = expectedDate;
+        this.status = InboundSupplyStatus.EXPECTED;
+    }
+
+    /**
+     * Returns the unique identifier of the supply.
+     *
+     * @return the inbound supply ID.
+     */
+    public Long getInboundSupplyId() {
+        return inboundSupplyId;
+    }
+
+    /**
+     * Returns the SKU of the supply.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Returns the receiving warehouse.
+     *
+     * @return the warehouse ID.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Returns the expected quantity.
+     *
+     * @return the quantity.
+     */
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Returns the expected arrival date.
+     *
+     * @return the expected date.
+     */
+    public LocalDate getExpectedDate() {
+        return expectedDate;
+    }
+
+    /**
+     * Returns the status of the supply.
+     *
+     * @return the status.
+     */
+    public InboundSupplyStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets the status of the supply.
+     *
+     * @param status the status.
+     */
+    public void setStatus(InboundSupplyStatus status) {
+        this.status = status;
+    }
+}
@@ -1,9 +1,11 @@
 package com.nisum.vibe.cart.scm.dao;
 
+import com.nisum.vibe.cart.scm.util.ChangeVersionClock;
 import org.hibernate.annotations.Check;
 
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
 import javax.persistence.GeneratedValue;
@@ -13,6 +15,8 @@ import javax.persistence.ManyToOne;
 import javax.persistence.JoinColumn;
 import javax.persistence.FetchType;
 import javax.persistence.CascadeType;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.validation.constraints.Digits;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
@@ -28,10 +32,22 @@ import java.time.LocalDate;
  * The table is constrained to ensure unique combinations of SKU and warehouse ID,
  * and that the available quantity is always greater than or equal to zero.
  * </p>
+ * <p>
+ * Every insert and update assigns a new change version from {@link ChangeVersionClock}, which the inventory change
+ * feed uses to return only the records modified since a client's last sync.
+ * </p>
+ * <p>
+ * An optional reorder threshold marks the record as low on stock once its available quantity drops to or below it.
+ * </p>
  */
 @Entity
 @Table(name = "vibe_cart_inventory",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"sku", "warehouse_id"}))
+        uniqueConstraints = @UniqueConstraint(columnNames = {"sku", "warehouse_id"}),
+        indexes = {
+                @Index(name = "idx_inventory_warehouse_sku", columnList = "warehouse_id, sku"),
+                @Index(name = "idx_inventory_change_version", columnList = "change_version, inventory_id"),
+                @Index(name = "idx_inventory_quantity_available", columnList = "quantity_available, inventory_id")
+        })
 @Check(constraints = "quantity_available >= 0")
 public class Inventory {
 
@@ -68,6 +84,12 @@ public class Inventory {
     @Column(name = "last_updated_date")
     private LocalDate lastUpdatedDate;
 
+    @Column(name = "change_version")
+    private Long changeVersion;
+
+    @Column(name = "reorder_threshold")
+    private Integer reorderThreshold;
+
     /**
      * Constructs a new {@code Inventory} instance with no specified details.
      * Default constructor required for JPA.
@@ -262,4 +284,49 @@ public class Inventory {
     public void setLastUpdatedDate(LocalDate lastUpdatedDate) {
         this.lastUpdatedDate = lastUpdatedDate;
     }
+
+    /**
+     * Gets the change version of the last modification of this inventory record.
+     *
+     * @return the change version.
+     */
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+
+    /**
+     * Sets the change version of the last modification of this inventory record.
+     *
+     * @param changeVersion the change version to set.
+     */
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
+    /**
+     * Returns the available quantity at or below which this record is low on stock.
+     *
+     * @return the reorder threshold, or {@code null} if none is set.
+     */
+    public Integer getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    /**
+     * Sets the available quantity at or below which this record is low on stock.
+     *
+     * @param reorderThreshold the reorder threshold to set, or {@code null} to clear it.
+     */
+    public void setReorderThreshold(Integer reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+    }
+
+    /**
+     * Assigns a new change version before the record is inserted or updated.
+     */
+    @PrePersist
+    @PreUpdate
+    void assignChangeVersion() {
+        changeVersion = ChangeVersionClock.next();
+    }
 }
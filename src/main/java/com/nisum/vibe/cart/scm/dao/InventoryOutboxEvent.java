@@ -0,0 +1,128 @@
+package com.nisum.vibe.cart.scm.dao;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Represents a change of an inventory level that is waiting to be pushed to downstream consumers.
+ * <p>
+ * Outbox events are written in the same transaction as the inventory change, so an event exists if and only if
+ * the change committed. The outbox relay claims a batch of events until {@code claimedUntil} in one transaction,
+ * delivers it outside any transaction, and deletes the events once every sink has accepted them.
+ * </p>
+ */
+@Entity
+@Table(name = "vibe_cart_inventory_outbox")
+public class InventoryOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Column(name = "sku", nullable = false)
+    private Long sku;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private String warehouseId;
+
+    @Column(name = "quantity_available")
+    private Integer quantityAvailable;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+
+    /**
+     * Constructs a new {@code InventoryOutboxEvent} instance with no specified details.
+     * Default constructor required for JPA.
+     */
+    public InventoryOutboxEvent() {
+    }
+
+    /**
+     * Constructs a new {@code InventoryOutboxEvent}.
+     *
+     * @param sku               the SKU of the changed inventory record.
+     * @param warehouseId       the warehouse holding the inventory.
+     * @param quantityAvailable the available quantity after the change.
+     * @param createdAt         the time of the change.
+     */
+    public InventoryOutboxEvent(Long sku, String warehouseId, Integer quantityAvailable, Instant createdAt) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.quantityAvailable = quantityAvailable;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Returns the unique identifier of the event. Events of one inventory record are written while its row is locked,
+     * so their IDs increase with every change of the record.
+     *
+     * @return the outbox ID.
+     */
+    public Long getOutboxId() {
+        return outboxId;
+    }
+
+    /**
+     * Returns the SKU of the changed inventory record.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Returns the warehouse holding the inventory.
+     *
+     * @return the warehouse ID.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Returns the available quantity after the change.
+     *
+     * @return the available quantity.
+     */
+    public Integer getQuantityAvailable() {
+        return quantityAvailable;
+    }
+
+    /**
+     * Returns the time of the change.
+     *
+     * @return the creation time.
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Returns the time until which a relay has claimed the event for delivery.
+     *
+     * @return the end of the claim, or {@code null} if the event is not claimed.
+     */
+    public Instant getClaimedUntil() {
+        return claimedUntil;
+    }
+
+    /**
+     * Claims the event for delivery until the given time.
+     *
+     * @param claimedUntil the end of the claim.
+     */
+    public void setClaimedUntil(Instant claimedUntil) {
+        this.claimedUntil = claimedUntil;
+    }
+}
@@ -8,6 +8,7 @@ import com.nisum.vibe.cart.scm.model.PaymentStatus;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Index;
 import javax.persistence.Embedded;
 import javax.persistence.AttributeOverrides;
 import javax.persistence.AttributeOverride;
@@ -16,6 +17,8 @@ import javax.persistence.OneToMany;
 import javax.persistence.Enumerated;
 import javax.persistence.EnumType;
 import javax.persistence.CascadeType;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -30,7 +33,11 @@ import java.util.List;
  * </p>
  */
 @Entity
-@Table(name = "vibe_cart_orders")
+@Table(name = "vibe_cart_orders",
+        indexes = {
+                @Index(name = "idx_orders_order_date_id", columnList = "order_date, order_id"),
+                @Index(name = "idx_orders_updated_date_id", columnList = "updated_date, order_id")
+        })
 public class Order {
 
 
@@ -93,6 +100,12 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private PaymentMethod paymentMethod;
 
+    @Column(name = "hold_reference", length = 12)
+    private String holdReference;
+
+    @Column(name = "order_reference", length = 64)
+    private String orderReference;
+
     /**
      * Constructs a new {@code Order} with the specified values.
      *
@@ -469,4 +482,50 @@ public class Order {
     public void setPaymentMethod(PaymentMethod paymentMethod) {
         this.paymentMethod = paymentMethod;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the reference of the checkout quote stock holds the order was placed with.
+     *
+     * @return the hold reference, or {@code null} if the order was placed without holds.
+     */
+    public String getHoldReference() {
+        return holdReference;
+    }
+
+    /**
+     * Sets the reference of the checkout quote stock holds the order was placed with.
+     *
+     * @param holdReference the hold reference.
+     */
+    public void setHoldReference(String holdReference) {
+        this.holdReference = holdReference;
+    }
+
+    /**
+     * Returns the reference the stock of the order was reserved with, which its backorders are recorded under.
+     *
+     * @return the order reference, or {@code null} if the stock was reserved without one.
+     */
+    public String getOrderReference() {
+        return orderReference;
+    }
+
+    /**
+     * Sets the reference the stock of the order was reserved with.
+     *
+     * @param orderReference the order reference.
+     */
+    public void setOrderReference(String orderReference) {
+        this.orderReference = orderReference;
+    }
+
+    /**
+     * Sets the updated date on every insert and update, so that the order change feed sees every modification
+     * whichever code path made it.
+     */
+    @PrePersist
+    @PreUpdate
+    void touchUpdatedDate() {
+        updatedDate = Instant.now();
+    }
+}
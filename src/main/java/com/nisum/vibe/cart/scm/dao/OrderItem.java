@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
@@ -23,7 +24,8 @@ import java.math.BigDecimal;
  * </p>
  */
 @Entity
-@Table(name = "vibe_cart_order_items")
+@Table(name = "vibe_cart_order_items",
+        indexes = @Index(name = "idx_order_items_sku_order", columnList = "sku_id, order_id"))
 public class OrderItem {
 
     @Id
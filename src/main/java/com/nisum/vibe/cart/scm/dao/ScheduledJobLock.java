@@ -0,0 +1,77 @@
+package com.nisum.vibe.cart.scm.dao;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Represents the claim of one instance on a scheduled job.
+ * <p>
+ * Every instance runs the same schedules, so a job that must run once per schedule claims its row before it
+ * starts. The claim holds until {@code lockedUntil}, which is not released when the job finishes, so instances
+ * whose clocks fire slightly later find the job already claimed for that run.
+ * </p>
+ */
+@Entity
+@Table(name = "vibe_cart_job_lock")
+public class ScheduledJobLock {
+
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    /**
+     * Constructs a new {@code ScheduledJobLock} instance with no specified details.
+     * Default constructor required for JPA.
+     */
+    public ScheduledJobLock() {
+    }
+
+    /**
+     * Constructs a new {@code ScheduledJobLock}.
+     *
+     * @param jobName     the name of the job.
+     * @param lockedBy    the instance holding the claim.
+     * @param lockedUntil the time the claim expires.
+     */
+    public ScheduledJobLock(String jobName, String lockedBy, Instant lockedUntil) {
+        this.jobName = jobName;
+        this.lockedBy = lockedBy;
+        this.lockedUntil = lockedUntil;
+    }
+
+    /**
+     * Returns the name of the job.
+     *
+     * @return the job name.
+     */
+    public String getJobName() {
+        return jobName;
+    }
+
+    /**
+     * Returns the instance holding the claim.
+     *
+     * @return the instance ID.
+     */
+    public String getLockedBy() {
+        return lockedBy;
+    }
+
+    /**
+     * Returns the time the claim expires.
+     *
+     * @return the expiry time.
+     */
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+}
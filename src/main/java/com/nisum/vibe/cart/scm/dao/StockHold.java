@@ -0,0 +1,175 @@
+package com.nisum.vibe.cart.scm.dao;
+
+import com.nisum.vibe.cart.scm.model.HoldStatus;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Represents a time-bound reservation of stock placed by a checkout quote.
+ * <p>
+ * Each hold records the quantity reserved from one inventory record. The reserved quantity is already moved from
+ * available to on-hold and on-order on the inventory record; the hold only remembers it so that it can be returned
+ * if no order confirms it before {@code expiresAt}.
+ * </p>
+ */
+@Entity
+@Table(name = "vibe_cart_stock_hold",
+        indexes = {
+                @Index(name = "idx_stock_hold_status_expires", columnList = "status, expires_at"),
+                @Index(name = "idx_stock_hold_reference", columnList = "hold_reference")
+        })
+public class StockHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "stock_hold_id")
+    private Long stockHoldId;
+
+    @Column(name = "hold_reference", nullable = false, length = 12)
+    private String holdReference;
+
+    @Column(name = "inventory_id", nullable = false)
+    private Long inventoryId;
+
+    @Column(name = "sku", nullable = false)
+    private Long sku;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private String warehouseId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    private HoldStatus status;
+
+    /**
+     * Constructs a new {@code StockHold} instance with no specified details.
+     * Default constructor required for JPA.
+     */
+    public StockHold() {
+    }
+
+    /**
+     * Constructs a new active {@code StockHold}.
+     *
+     * @param holdReference the reference shared by all holds of one checkout quote.
+     * @param inventoryId   the inventory record the stock is reserved from.
+     * @param sku           the SKU of the reserved stock.
+     * @param warehouseId   the warehouse holding the reserved stock.
+     * @param quantity      the reserved quantity.
+     * @param expiresAt     the time after which the hold is released.
+     */
+    public StockHold(String holdReference, Long inventoryId, Long sku, String warehouseId, Integer quantity, Instant expiresAt) {
+        this.holdReference = holdReference;
+        this.inventoryId = inventoryId;
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+        this.status = HoldStatus.ACTIVE;
+    }
+
+    /**
+     * Returns the unique identifier of the hold.
+     *
+     * @return the hold ID.
+     */
+    public Long getStockHoldId() {
+        return stockHoldId;
+    }
+
+    /**
+     * Returns the reference shared by all holds of one checkout quote.
+     *
+     * @return the hold reference.
+     */
+    public String getHoldReference() {
+        return holdReference;
+    }
+
+    /**
+     * Returns the inventory record the stock is reserved from.
+     *
+     * @return the inventory ID.
+     */
+    public Long getInventoryId() {
+        return inventoryId;
+    }
+
+    /**
+     * Returns the SKU of the reserved stock.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Returns the warehouse holding the reserved stock.
+     *
+     * @return the warehouse ID.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Returns the reserved quantity.
+     *
+     * @return the quantity.
+     */
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Sets the reserved quantity.
+     *
+     * @param quantity the reserved quantity.
+     */
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    /**
+     * Returns the time after which the hold is released.
+     *
+     * @return the expiry time.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Returns the status of the hold.
+     *
+     * @return the hold status.
+     */
+    public HoldStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets the status of the hold.
+     *
+     * @param status the hold status.
+     */
+    public void setStatus(HoldStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,180 @@
+package com.nisum.vibe.cart.scm.dao;
+
+import com.nisum.vibe.cart.scm.model.LeaseStatus;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Represents a quota of stock leased by one service instance.
+ * <p>
+ * The leased quantity is taken from the available quantity of one inventory record when the lease is claimed, and the
+ * instance then reserves from it without touching that record for every reservation. The quantity used by reservations
+ * is recorded on the lease, so that the rest can be returned to the available quantity when the lease is given back or
+ * expires.
+ * </p>
+ */
+@Entity
+@Table(name = "vibe_cart_stock_lease",
+        indexes = {
+                @Index(name = "idx_stock_lease_status_expires", columnList = "status, expires_at"),
+                @Index(name = "idx_stock_lease_node_status", columnList = "node_id, status")
+        })
+public class StockLease {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "stock_lease_id")
+    private Long stockLeaseId;
+
+    @Column(name = "node_id", nullable = false, length = 100)
+    private String nodeId;
+
+    @Column(name = "inventory_id", nullable = false)
+    private Long inventoryId;
+
+    @Column(name = "sku", nullable = false)
+    private Long sku;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private String warehouseId;
+
+    @Column(name = "quantity_leased", nullable = false)
+    private Integer quantityLeased;
+
+    @Column(name = "quantity_used", nullable = false)
+    private Integer quantityUsed;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    private LeaseStatus status;
+
+    /**
+     * Constructs a new {@code StockLease} instance with no specified details.
+     * Default constructor required for JPA.
+     */
+    public StockLease() {
+    }
+
+    /**
+     * Constructs a new active {@code StockLease} of which nothing is used yet.
+     *
+     * @param nodeId         the service instance holding the lease.
+     * @param inventoryId    the inventory record the stock is leased from.
+     * @param sku            the SKU of the leased stock.
+     * @param warehouseId    the warehouse holding the leased stock.
+     * @param quantityLeased the leased quantity.
+     * @param expiresAt      the time after which the lease is released unless renewed.
+     */
+    public StockLease(String nodeId, Long inventoryId, Long sku, String warehouseId, Integer quantityLeased, Instant expiresAt) {
+        this.nodeId = nodeId;
+        this.inventoryId = inventoryId;
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.quantityLeased = quantityLeased;
+        this.quantityUsed = 0;
+        this.expiresAt = expiresAt;
+        this.status = LeaseStatus.ACTIVE;
+    }
+
+    /**
+     * Returns the unique identifier of the lease.
+     *
+     * @return the lease ID.
+     */
+    public Long getStockLeaseId() {
+        return stockLeaseId;
+    }
+
+    /**
+     * Returns the service instance holding the lease.
+     *
+     * @return the node ID.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Returns the inventory record the stock is leased from.
+     *
+     * @return the inventory ID.
+     */
+    public Long getInventoryId() {
+        return inventoryId;
+    }
+
+    /**
+     * Returns the SKU of the leased stock.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Returns the warehouse holding the leased stock.
+     *
+     * @return the warehouse ID.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Returns the leased quantity.
+     *
+     * @return the quantity leased.
+     */
+    public Integer getQuantityLeased() {
+        return quantityLeased;
+    }
+
+    /**
+     * Returns the leased quantity reserved by orders.
+     *
+     * @return the quantity used.
+     */
+    public Integer getQuantityUsed() {
+        return quantityUsed;
+    }
+
+    /**
+     * Returns the time after which the lease is released unless renewed.
+     *
+     * @return the expiry time.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Returns the status of the lease.
+     *
+     * @return the lease status.
+     */
+    public LeaseStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets the status of the lease.
+     *
+     * @param status the lease status.
+     */
+    public void setStatus(LeaseStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,47 @@
+package com.nisum.vibe.cart.scm.event;
+
+import com.nisum.vibe.cart.scm.dao.BackInStockSubscription;
+
+import java.util.List;
+
+/**
+ * Application event carrying a batch of customers to notify that a SKU is back in stock.
+ * <p>
+ * Published by the back-in-stock fan-out after the restock committed, once per batch of subscribers. Notification
+ * channels, such as email, listen to this event.
+ * </p>
+ */
+public class BackInStockNotificationEvent {
+
+    private final Long sku;
+    private final List<BackInStockSubscription> subscriptions;
+
+    /**
+     * Constructs a new {@code BackInStockNotificationEvent}.
+     *
+     * @param sku           the SKU that is back in stock.
+     * @param subscriptions the subscriptions to notify.
+     */
+    public BackInStockNotificationEvent(Long sku, List<BackInStockSubscription> subscriptions) {
+        this.sku = sku;
+        this.subscriptions = subscriptions;
+    }
+
+    /**
+     * Returns the SKU that is back in stock.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Returns the subscriptions to notify.
+     *
+     * @return the subscriptions.
+     */
+    public List<BackInStockSubscription> getSubscriptions() {
+        return subscriptions;
+    }
+}
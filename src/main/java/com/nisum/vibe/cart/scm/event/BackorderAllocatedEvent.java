@@ -0,0 +1,67 @@
+package com.nisum.vibe.cart.scm.event;
+
+/**
+ * Application event published when replenished stock has been reserved for the whole of a backordered line.
+ * <p>
+ * Listeners are expected to react after the surrounding transaction commits so that
+ * rolled-back changes are never observed.
+ * </p>
+ */
+public class BackorderAllocatedEvent {
+
+    private final Long backorderId;
+    private final String orderReference;
+    private final Long sku;
+    private final Integer quantity;
+
+    /**
+     * Constructs a new {@code BackorderAllocatedEvent}.
+     *
+     * @param backorderId    the ID of the backorder.
+     * @param orderReference the reference of the order the line belongs to, or {@code null}.
+     * @param sku            the backordered SKU.
+     * @param quantity       the quantity of the line.
+     */
+    public BackorderAllocatedEvent(Long backorderId, String orderReference, Long sku, Integer quantity) {
+        this.backorderId = backorderId;
+        this.orderReference = orderReference;
+        this.sku = sku;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Returns the ID of the backorder.
+     *
+     * @return the backorder ID.
+     */
+    public Long getBackorderId() {
+        return backorderId;
+    }
+
+    /**
+     * Returns the reference of the order the line belongs to.
+     *
+     * @return the order reference, or {@code null}.
+     */
+    public String getOrderReference() {
+        return orderReference;
+    }
+
+    /**
+     * Returns the backordered SKU.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Returns the quantity of the line.
+     *
+     * @return the quantity.
+     */
+    public Integer getQuantity() {
+        return quantity;
+    }
+}
@@ -0,0 +1,44 @@
+package com.nisum.vibe.cart.scm.event;
+
+/**
+ * Application event published when the outstanding backordered quantity of a SKU changes, because a line was
+ * backordered or replenished stock was allocated to backorders.
+ * <p>
+ * Listeners are expected to react after the surrounding transaction commits so that
+ * rolled-back changes are never observed.
+ * </p>
+ */
+public class BackorderQueueChangedEvent {
+
+    private final Long sku;
+    private final int quantityDelta;
+
+    /**
+     * Constructs a new {@code BackorderQueueChangedEvent}.
+     *
+     * @param sku           the SKU.
+     * @param quantityDelta the change of the outstanding backordered quantity.
+     */
+    public BackorderQueueChangedEvent(Long sku, int quantityDelta) {
+        this.sku = sku;
+        this.quantityDelta = quantityDelta;
+    }
+
+    /**
+     * Returns the SKU.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Returns the change of the outstanding backordered quantity.
+     *
+     * @return the quantity delta.
+     */
+    public int getQuantityDelta() {
+        return quantityDelta;
+    }
+}
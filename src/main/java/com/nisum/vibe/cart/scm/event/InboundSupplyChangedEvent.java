@@ -0,0 +1,69 @@
+package com.nisum.vibe.cart.scm.event;
+
+import java.time.LocalDate;
+
+/**
+ * Application event published when expected inbound supply is registered or received.
+ * <p>
+ * Listeners are expected to react after the surrounding transaction commits so that
+ * rolled-back changes are never observed.
+ * </p>
+ */
+public class InboundSupplyChangedEvent {
+
+    private final Long sku;
+    private final String warehouseId;
+    private final LocalDate expectedDate;
+    private final int quantityDelta;
+
+    /**
+     * Constructs a new {@code InboundSupplyChangedEvent}.
+     *
+     * @param sku           the SKU of the supply.
+     * @param warehouseId   the receiving warehouse.
+     * @param expectedDate  the expected arrival date.
+     * @param quantityDelta the change of the expected quantity: positive when registered, negative when received.
+     */
+    public InboundSupplyChangedEvent(Long sku, String warehouseId, LocalDate expectedDate, int quantityDelta) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.expectedDate = expectedDate;
+        this.quantityDelta = quantityDelta;
+    }
+
+    /**
+     * Returns the SKU of the supply.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Returns the receiving warehouse.
+     *
+     * @return the warehouse ID.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Returns the expected arrival date.
+     *
+     * @return the expected date.
+     */
+    public LocalDate getExpectedDate() {
+        return expectedDate;
+    }
+
+    /**
+     * Returns the change of the expected quantity.
+     *
+     * @return the quantity delta.
+     */
+    public int getQuantityDelta() {
+        return quantityDelta;
+    }
+}
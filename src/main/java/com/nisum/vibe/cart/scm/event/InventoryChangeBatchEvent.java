@@ -0,0 +1,35 @@
+package com.nisum.vibe.cart.scm.event;
+
+import com.nisum.vibe.cart.scm.model.InventoryChangeNotification;
+
+import java.util.List;
+
+/**
+ * Application event carrying a batch of coalesced inventory change notifications delivered by the outbox relay.
+ * <p>
+ * Unlike {@link InventoryLevelChangedEvent}, which is published inside the changing transaction, this event is only
+ * published for committed changes and may be published more than once for the same change if a delivery is retried.
+ * </p>
+ */
+public class InventoryChangeBatchEvent {
+
+    private final List<InventoryChangeNotification> notifications;
+
+    /**
+     * Constructs a new {@code InventoryChangeBatchEvent}.
+     *
+     * @param notifications the coalesced notifications.
+     */
+    public InventoryChangeBatchEvent(List<InventoryChangeNotification> notifications) {
+        this.notifications = notifications;
+    }
+
+    /**
+     * Returns the coalesced notifications, at most one per SKU and warehouse.
+     *
+     * @return the notifications.
+     */
+    public List<InventoryChangeNotification> getNotifications() {
+        return notifications;
+    }
+}
@@ -0,0 +1,55 @@
+package com.nisum.vibe.cart.scm.event;
+
+/**
+ * Application event published whenever the available quantity of an inventory record is saved.
+ * <p>
+ * Listeners are expected to react after the surrounding transaction commits so that
+ * rolled-back changes are never observed.
+ * </p>
+ */
+public class InventoryLevelChangedEvent {
+
+    private final Long sku;
+    private final String warehouseId;
+    private final Integer quantityAvailable;
+
+    /**
+     * Constructs a new {@code InventoryLevelChangedEvent}.
+     *
+     * @param sku               the SKU of the inventory record.
+     * @param warehouseId       the warehouse holding the inventory.
+     * @param quantityAvailable the available quantity after the change.
+     */
+    public InventoryLevelChangedEvent(Long sku, String warehouseId, Integer quantityAvailable) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.quantityAvailable = quantityAvailable;
+    }
+
+    /**
+     * Returns the SKU of the inventory record.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Returns the warehouse holding the inventory.
+     *
+     * @return the warehouse ID.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Returns the available quantity after the change.
+     *
+     * @return the available quantity.
+     */
+    public Integer getQuantityAvailable() {
+        return quantityAvailable;
+    }
+}
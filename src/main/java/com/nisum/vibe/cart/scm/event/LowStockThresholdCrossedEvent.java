@@ -0,0 +1,79 @@
+package com.nisum.vibe.cart.scm.event;
+
+/**
+ * Application event published when the available quantity of an inventory record crosses its reorder threshold,
+ * either dropping to or below it or recovering above it.
+ * <p>
+ * It is only published for committed changes, once per crossing.
+ * </p>
+ */
+public class LowStockThresholdCrossedEvent {
+
+    private final Long sku;
+    private final String warehouseId;
+    private final int quantityAvailable;
+    private final int reorderThreshold;
+    private final boolean lowStock;
+
+    /**
+     * Constructs a new {@code LowStockThresholdCrossedEvent}.
+     *
+     * @param sku               the SKU of the inventory record.
+     * @param warehouseId       the warehouse holding the inventory.
+     * @param quantityAvailable the available quantity after the change.
+     * @param reorderThreshold  the reorder threshold of the record.
+     * @param lowStock          {@code true} if the record is now low on stock, {@code false} if it recovered.
+     */
+    public LowStockThresholdCrossedEvent(Long sku, String warehouseId, int quantityAvailable, int reorderThreshold, boolean lowStock) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.quantityAvailable = quantityAvailable;
+        this.reorderThreshold = reorderThreshold;
+        this.lowStock = lowStock;
+    }
+
+    /**
+     * Returns the SKU of the inventory record.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Returns the warehouse holding the inventory.
+     *
+     * @return the warehouse ID.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Returns the available quantity after the change.
+     *
+     * @return the available quantity.
+     */
+    public int getQuantityAvailable() {
+        return quantityAvailable;
+    }
+
+    /**
+     * Returns the reorder threshold of the record.
+     *
+     * @return the reorder threshold.
+     */
+    public int getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    /**
+     * Returns whether the record is now low on stock.
+     *
+     * @return {@code true} if the quantity dropped to or below the threshold, {@code false} if it recovered above it.
+     */
+    public boolean isLowStock() {
+        return lowStock;
+    }
+}
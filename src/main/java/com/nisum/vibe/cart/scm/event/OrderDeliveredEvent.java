@@ -0,0 +1,69 @@
+package com.nisum.vibe.cart.scm.event;
+
+import java.time.Instant;
+
+/**
+ * Application event published when an order is marked as delivered.
+ * <p>
+ * Listeners are expected to react after the surrounding transaction commits so that
+ * rolled-back deliveries are never learned from.
+ * </p>
+ */
+public class OrderDeliveredEvent {
+
+    private final String orderId;
+    private final Long shippingZipcode;
+    private final Instant orderDate;
+    private final Instant deliveredAt;
+
+    /**
+     * Constructs a new {@code OrderDeliveredEvent}.
+     *
+     * @param orderId         the ID of the order.
+     * @param shippingZipcode the ZIP code the order was shipped to.
+     * @param orderDate       the time the order was placed.
+     * @param deliveredAt     the time the order was delivered.
+     */
+    public OrderDeliveredEvent(String orderId, Long shippingZipcode, Instant orderDate, Instant deliveredAt) {
+        this.orderId = orderId;
+        this.shippingZipcode = shippingZipcode;
+        this.orderDate = orderDate;
+        this.deliveredAt = deliveredAt;
+    }
+
+    /**
+     * Returns the ID of the order.
+     *
+     * @return the order ID.
+     */
+    public String getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * Returns the ZIP code the order was shipped to.
+     *
+     * @return the shipping ZIP code.
+     */
+    public Long getShippingZipcode() {
+        return shippingZipcode;
+    }
+
+    /**
+     * Returns the time the order was placed.
+     *
+     * @return the order date.
+     */
+    public Instant getOrderDate() {
+        return orderDate;
+    }
+
+    /**
+     * Returns the time the order was delivered.
+     *
+     * @return the delivery time.
+     */
+    public Instant getDeliveredAt() {
+        return deliveredAt;
+    }
+}
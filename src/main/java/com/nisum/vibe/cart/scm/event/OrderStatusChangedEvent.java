@@ -0,0 +1,59 @@
+package com.nisum.vibe.cart.scm.event;
+
+import com.nisum.vibe.cart.scm.model.OrderStatus;
+
+import java.time.Instant;
+
+/**
+ * Application event published whenever the status of an order is created or changed.
+ * <p>
+ * Listeners are expected to react after the surrounding transaction commits so that
+ * rolled-back changes are never observed.
+ * </p>
+ */
+public class OrderStatusChangedEvent {
+
+    private final String orderId;
+    private final OrderStatus orderStatus;
+    private final Instant updatedDate;
+
+    /**
+     * Constructs a new {@code OrderStatusChangedEvent}.
+     *
+     * @param orderId     the ID of the order.
+     * @param orderStatus the new status of the order.
+     * @param updatedDate the time of the change.
+     */
+    public OrderStatusChangedEvent(String orderId, OrderStatus orderStatus, Instant updatedDate) {
+        this.orderId = orderId;
+        this.orderStatus = orderStatus;
+        this.updatedDate = updatedDate;
+    }
+
+    /**
+     * Returns the ID of the order.
+     *
+     * @return the order ID.
+     */
+    public String getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * Returns the new status of the order.
+     *
+     * @return the order status.
+     */
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    /**
+     * Returns the time of the change.
+     *
+     * @return the update time.
+     */
+    public Instant getUpdatedDate() {
+        return updatedDate;
+    }
+}
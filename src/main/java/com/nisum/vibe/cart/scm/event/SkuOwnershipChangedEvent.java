@@ -0,0 +1,33 @@
+package com.nisum.vibe.cart.scm.event;
+
+import java.util.Set;
+
+/**
+ * Application event published whenever the SKU ownership ring is rebuilt because service instances joined or left.
+ * <p>
+ * Listeners that keep state for the SKUs owned by this instance are expected to release the state of SKUs that
+ * moved to another instance.
+ * </p>
+ */
+public class SkuOwnershipChangedEvent {
+
+    private final Set<String> instanceIds;
+
+    /**
+     * Constructs a new {@code SkuOwnershipChangedEvent}.
+     *
+     * @param instanceIds the IDs of the instances the SKUs are now spread across.
+     */
+    public SkuOwnershipChangedEvent(Set<String> instanceIds) {
+        this.instanceIds = instanceIds;
+    }
+
+    /**
+     * Returns the IDs of the instances the SKUs are now spread across.
+     *
+     * @return the instance IDs.
+     */
+    public Set<String> getInstanceIds() {
+        return instanceIds;
+    }
+}
@@ -0,0 +1,55 @@
+package com.nisum.vibe.cart.scm.event;
+
+/**
+ * Application event published when stock is added to an inventory record that had none available.
+ * <p>
+ * Listeners are expected to react after the surrounding transaction commits so that
+ * rolled-back changes are never observed.
+ * </p>
+ */
+public class StockReplenishedEvent {
+
+    private final Long sku;
+    private final String warehouseId;
+    private final Integer quantityAvailable;
+
+    /**
+     * Constructs a new {@code StockReplenishedEvent}.
+     *
+     * @param sku               the SKU of the inventory record.
+     * @param warehouseId       the warehouse holding the inventory.
+     * @param quantityAvailable the available quantity after the stock was added.
+     */
+    public StockReplenishedEvent(Long sku, String warehouseId, Integer quantityAvailable) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.quantityAvailable = quantityAvailable;
+    }
+
+    /**
+     * Returns the SKU of the inventory record.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Returns the warehouse holding the inventory.
+     *
+     * @return the warehouse ID.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Returns the available quantity after the stock was added.
+     *
+     * @return the available quantity.
+     */
+    public Integer getQuantityAvailable() {
+        return quantityAvailable;
+    }
+}
@@ -0,0 +1,56 @@
+package com.nisum.vibe.cart.scm.event;
+
+/**
+ * Application event published when stock is reserved or backordered for an ordered item.
+ * <p>
+ * The demand is attributed to the warehouse serving the customer's ZIP code, whichever warehouses the stock is
+ * actually reserved from. Listeners are expected to react after the surrounding transaction commits so that
+ * rolled-back reservations are never observed.
+ * </p>
+ */
+public class StockReservedEvent {
+
+    private final Long sku;
+    private final String warehouseId;
+    private final int quantity;
+
+    /**
+     * Constructs a new {@code StockReservedEvent}.
+     *
+     * @param sku         the ordered SKU.
+     * @param warehouseId the warehouse serving the customer's ZIP code.
+     * @param quantity    the ordered quantity.
+     */
+    public StockReservedEvent(Long sku, String warehouseId, int quantity) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Returns the ordered SKU.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Returns the warehouse serving the customer's ZIP code.
+     *
+     * @return the warehouse ID.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Returns the ordered quantity.
+     *
+     * @return the quantity.
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+}
@@ -0,0 +1,24 @@
+package com.nisum.vibe.cart.scm.exception;
+
+/**
+ * Exception thrown when an inventory request is malformed, for example when it has no items or a non-positive quantity.
+ * Extends {@link Exception}.
+ */
+public class InvalidInventoryRequestException extends Exception {
+
+    /**
+     * Constructs a new {@code InvalidInventoryRequestException} with no detail message.
+     */
+    public InvalidInventoryRequestException() {
+        super();
+    }
+
+    /**
+     * Constructs a new {@code InvalidInventoryRequestException} with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public InvalidInventoryRequestException(String message) {
+        super(message);
+    }
+}
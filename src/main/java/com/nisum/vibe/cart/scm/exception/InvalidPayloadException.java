@@ -0,0 +1,18 @@
+package com.nisum.vibe.cart.scm.exception;
+
+/**
+ * Exception thrown when a streamed request body is not valid JSON or does not have the expected shape.
+ * Extends {@link RuntimeException}.
+ */
+public class InvalidPayloadException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code InvalidPayloadException} with the specified detail message and cause.
+     *
+     * @param message the detail message.
+     * @param cause   the parsing error.
+     */
+    public InvalidPayloadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,18 @@
+package com.nisum.vibe.cart.scm.exception;
+
+/**
+ * Exception thrown when a sink fails to accept a batch of inventory change notifications.
+ * Extends {@link RuntimeException}.
+ */
+public class InventoryChangeDeliveryException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code InventoryChangeDeliveryException} with the specified detail message and cause.
+     *
+     * @param message the detail message.
+     * @param cause   the failure reported by the sink.
+     */
+    public InventoryChangeDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
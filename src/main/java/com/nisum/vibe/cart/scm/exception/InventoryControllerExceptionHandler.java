@@ -47,4 +47,46 @@ public class InventoryControllerExceptionHandler extends ResponseEntityException
         ApiResponse<String> response = new ApiResponse<>(false, HttpStatus.NOT_FOUND.value(), message);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
+
+    /**
+     * Handles {@link InvalidInventoryRequestException} thrown by the controller methods.
+     *
+     * @param exception the exception thrown when a request is malformed
+     * @return a {@link ResponseEntity} containing the exception message and a 400 BAD REQUEST status
+     */
+    @ExceptionHandler(InvalidInventoryRequestException.class)
+    public ResponseEntity<ApiResponse<String>> displayInvalidInventoryRequestExceptionMessage(InvalidInventoryRequestException exception){
+
+        String message = exception.getMessage();
+        ApiResponse<String> response = new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), message);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    /**
+     * Handles {@link PayloadTooLargeException} thrown by the controller methods.
+     *
+     * @param exception the exception thrown when a bulk request has too many elements
+     * @return a {@link ResponseEntity} containing the exception message and a 413 PAYLOAD TOO LARGE status
+     */
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<ApiResponse<String>> displayPayloadTooLargeExceptionMessage(PayloadTooLargeException exception){
+
+        String message = exception.getMessage();
+        ApiResponse<String> response = new ApiResponse<>(false, HttpStatus.PAYLOAD_TOO_LARGE.value(), message);
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+    }
+
+    /**
+     * Handles {@link InvalidPayloadException} thrown by the controller methods.
+     *
+     * @param exception the exception thrown when a streamed request body cannot be parsed
+     * @return a {@link ResponseEntity} containing the exception message and a 400 BAD REQUEST status
+     */
+    @ExceptionHandler(InvalidPayloadException.class)
+    public ResponseEntity<ApiResponse<String>> displayInvalidPayloadExceptionMessage(InvalidPayloadException exception){
+
+        String message = exception.getMessage();
+        ApiResponse<String> response = new ApiResponse<>(false, HttpStatus.BAD_REQUEST.value(), message);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
 }
@@ -0,0 +1,17 @@
+package com.nisum.vibe.cart.scm.exception;
+
+/**
+ * Exception thrown when a bulk request contains more elements than the configured maximum.
+ * Extends {@link RuntimeException}.
+ */
+public class PayloadTooLargeException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code PayloadTooLargeException} with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
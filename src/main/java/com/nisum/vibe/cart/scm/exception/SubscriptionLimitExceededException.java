@@ -0,0 +1,17 @@
+package com.nisum.vibe.cart.scm.exception;
+
+/**
+ * Exception thrown when a node cannot accept more order status subscriptions.
+ * Extends {@link RuntimeException}.
+ */
+public class SubscriptionLimitExceededException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code SubscriptionLimitExceededException} with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public SubscriptionLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -54,6 +54,8 @@ public class OrderMapper {
             orderDTO.setOrderStatus(order.getOrderStatus());
             orderDTO.setPaymentStatus(order.getPaymentStatus());
             orderDTO.setPaymentMethod(order.getPaymentMethod());
+            orderDTO.setHoldReference(order.getHoldReference());
+            orderDTO.setOrderReference(order.getOrderReference());
 
             if (order.getOrderItems() != null)
                 orderDTO.setOrderItems(order.getOrderItems().stream().map(OrderItemMapper::convertEntitytoDTO).collect(Collectors.toList()));
@@ -122,6 +124,8 @@ public class OrderMapper {
             order.setShippingzipCode(orderDTO.getShippingzipCode());
             order.setPaymentStatus(orderDTO.getPaymentStatus());
             order.setPaymentMethod(orderDTO.getPaymentMethod());
+            order.setHoldReference(orderDTO.getHoldReference());
+            order.setOrderReference(orderDTO.getOrderReference());
 
             if (orderDTO.getOrderItems() != null) {
                 order.setOrderItems(orderDTO.getOrderItems().stream().map(OrderItemMapper::convertDTOtoEntity).collect(Collectors.toList()));
@@ -0,0 +1,17 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Enumeration representing how a stock reservation chooses the warehouses it reserves from.
+ * <p>
+ * <ul>
+ *     <li><b>PREFER_LOCAL:</b> Reserve from the warehouse nearest to the customer first and only then from the other
+ *     warehouses, waiting for inventory records locked by concurrent reservations.</li>
+ *     <li><b>PREFER_FAST:</b> Reserve from whichever warehouses with stock are not locked by a concurrent reservation,
+ *     still preferring the nearest one, and only wait for locked records if the unlocked ones cannot cover the order.</li>
+ * </ul>
+ * </p>
+ */
+public enum AllocationMode {
+    PREFER_LOCAL,
+    PREFER_FAST
+}
@@ -0,0 +1,134 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Represents the time-phased available-to-promise projection of a SKU.
+ * <p>
+ * The projection holds one cumulative quantity per day starting at {@code fromDate}: the quantity that can be promised
+ * for delivery on that day from stock on hand and expected inbound supply. When a quantity is requested,
+ * {@code earliestDate} is the first day on which it can be promised, or {@code null} if it cannot within the projection.
+ * </p>
+ */
+public class AvailableToPromiseDto {
+
+    private Long sku;
+    private String warehouseId;
+    private LocalDate fromDate;
+    private List<Integer> quantities;
+    private LocalDate earliestDate;
+
+    /**
+     * Default constructor for creating an empty instance of {@code AvailableToPromiseDto}.
+     */
+    public AvailableToPromiseDto() {
+    }
+
+    /**
+     * Constructs a new {@code AvailableToPromiseDto} with the specified details.
+     *
+     * @param sku          The SKU.
+     * @param warehouseId  The warehouse, or null for all warehouses.
+     * @param fromDate     The date of the first projected day.
+     * @param quantities   The promisable quantity per day.
+     * @param earliestDate The earliest date the requested quantity can be promised.
+     */
+    public AvailableToPromiseDto(Long sku, String warehouseId, LocalDate fromDate, List<Integer> quantities, LocalDate earliestDate) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.fromDate = fromDate;
+        this.quantities = quantities;
+        this.earliestDate = earliestDate;
+    }
+
+    /**
+     * Returns the SKU.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Sets the SKU.
+     *
+     * @param sku The SKU.
+     */
+    public void setSku(Long sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Returns the warehouse, or null for all warehouses.
+     *
+     * @return the warehouse, or null for all warehouses.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Sets the warehouse, or null for all warehouses.
+     *
+     * @param warehouseId The warehouse, or null for all warehouses.
+     */
+    public void setWarehouseId(String warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    /**
+     * Returns the date of the first projected day.
+     *
+     * @return the date of the first projected day.
+     */
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    /**
+     * Sets the date of the first projected day.
+     *
+     * @param fromDate The date of the first projected day.
+     */
+    public void setFromDate(LocalDate fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    /**
+     * Returns the promisable quantity per day.
+     *
+     * @return the promisable quantity per day.
+     */
+    public List<Integer> getQuantities() {
+        return quantities;
+    }
+
+    /**
+     * Sets the promisable quantity per day.
+     *
+     * @param quantities The promisable quantity per day.
+     */
+    public void setQuantities(List<Integer> quantities) {
+        this.quantities = quantities;
+    }
+
+    /**
+     * Returns the earliest date the requested quantity can be promised.
+     *
+     * @return the earliest date the requested quantity can be promised.
+     */
+    public LocalDate getEarliestDate() {
+        return earliestDate;
+    }
+
+    /**
+     * Sets the earliest date the requested quantity can be promised.
+     *
+     * @param earliestDate The earliest date the requested quantity can be promised.
+     */
+    public void setEarliestDate(LocalDate earliestDate) {
+        this.earliestDate = earliestDate;
+    }
+}
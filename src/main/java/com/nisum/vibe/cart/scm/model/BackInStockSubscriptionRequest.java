@@ -0,0 +1,84 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Represents a customer's request to be notified when an out-of-stock SKU is replenished.
+ */
+public class BackInStockSubscriptionRequest {
+
+    private Long sku;
+    private Long customerId;
+    private String email;
+
+    /**
+     * Default constructor for creating an empty instance of {@code BackInStockSubscriptionRequest}.
+     */
+    public BackInStockSubscriptionRequest() {
+    }
+
+    /**
+     * Constructs a new {@code BackInStockSubscriptionRequest} with the specified details.
+     *
+     * @param sku        The SKU the customer is waiting for.
+     * @param customerId The ID of the customer.
+     * @param email      The email address to notify.
+     */
+    public BackInStockSubscriptionRequest(Long sku, Long customerId, String email) {
+        this.sku = sku;
+        this.customerId = customerId;
+        this.email = email;
+    }
+
+    /**
+     * Returns the SKU the customer is waiting for.
+     *
+     * @return the SKU the customer is waiting for.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Sets the SKU the customer is waiting for.
+     *
+     * @param sku The SKU the customer is waiting for.
+     */
+    public void setSku(Long sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Returns the ID of the customer.
+     *
+     * @return the ID of the customer.
+     */
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Sets the ID of the customer.
+     *
+     * @param customerId The ID of the customer.
+     */
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    /**
+     * Returns the email address to notify.
+     *
+     * @return the email address to notify.
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Sets the email address to notify.
+     *
+     * @param email The email address to notify.
+     */
+    public void setEmail(String email) {
+        this.email = email;
+    }
+}
@@ -0,0 +1,17 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Enumeration representing the possible statuses of a backordered order line.
+ * <p>
+ * <ul>
+ *     <li><b>WAITING:</b> The line is queued for its SKU and may already be partly allocated.</li>
+ *     <li><b>ALLOCATED:</b> Replenished stock was reserved for the whole line.</li>
+ *     <li><b>CANCELLED:</b> The order was cancelled; the allocated part was returned with the rest of the order.</li>
+ * </ul>
+ * </p>
+ */
+public enum BackorderStatus {
+    WAITING,            // The line is queued until enough stock is added.
+    ALLOCATED,          // Stock was reserved for the whole line.
+    CANCELLED           // The order was cancelled.
+}
@@ -0,0 +1,137 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for representing the result of one item of a checkout quote.
+ * <p>
+ * This class encapsulates:
+ * <ul>
+ *     <li>The SKU and the requested quantity.</li>
+ *     <li>Whether the full quantity can be allocated.</li>
+ *     <li>The expected delivery date in YYYY-MM-DD format, or {@code null} when the item is not available.</li>
+ *     <li>The warehouses the quantity is allocated from.</li>
+ * </ul>
+ * </p>
+ */
+public class CheckoutQuoteLine {
+
+    private Long sku;
+    private Integer requestedQuantity;
+    private boolean available;
+    private String expectedDeliveryDate;
+    private List<WarehouseAllocationDto> allocations;
+
+    /**
+     * Default constructor for creating an empty instance of {@code CheckoutQuoteLine}.
+     */
+    public CheckoutQuoteLine() {
+    }
+
+    /**
+     * Constructs a new {@code CheckoutQuoteLine} with the specified details.
+     *
+     * @param sku                  The SKU identifier.
+     * @param requestedQuantity    The requested quantity.
+     * @param available            Whether the full requested quantity can be allocated.
+     * @param expectedDeliveryDate The expected delivery date, or {@code null} if not available.
+     * @param allocations          The allocation of the quantity across warehouses.
+     */
+    public CheckoutQuoteLine(Long sku, Integer requestedQuantity, boolean available, String expectedDeliveryDate, List<WarehouseAllocationDto> allocations) {
+        this.sku = sku;
+        this.requestedQuantity = requestedQuantity;
+        this.available = available;
+        this.expectedDeliveryDate = expectedDeliveryDate;
+        this.allocations = allocations;
+    }
+
+    /**
+     * Returns the SKU identifier.
+     *
+     * @return the SKU identifier.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Sets the SKU identifier.
+     *
+     * @param sku The SKU identifier.
+     */
+    public void setSku(Long sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Returns the requested quantity.
+     *
+     * @return the requested quantity.
+     */
+    public Integer getRequestedQuantity() {
+        return requestedQuantity;
+    }
+
+    /**
+     * Sets the requested quantity.
+     *
+     * @param requestedQuantity The requested quantity.
+     */
+    public void setRequestedQuantity(Integer requestedQuantity) {
+        this.requestedQuantity = requestedQuantity;
+    }
+
+    /**
+     * Returns whether the full requested quantity can be allocated.
+     *
+     * @return whether the full requested quantity can be allocated.
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Sets whether the full requested quantity can be allocated.
+     *
+     * @param available Whether the full requested quantity can be allocated.
+     */
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    /**
+     * Returns the expected delivery date, or {@code null} if not available.
+     *
+     * @return the expected delivery date, or {@code null} if not available.
+     */
+    public String getExpectedDeliveryDate() {
+        return expectedDeliveryDate;
+    }
+
+    /**
+     * Sets the expected delivery date, or {@code null} if not available.
+     *
+     * @param expectedDeliveryDate The expected delivery date, or {@code null} if not available.
+     */
+    public void setExpectedDeliveryDate(String expectedDeliveryDate) {
+        this.expectedDeliveryDate = expectedDeliveryDate;
+    }
+
+    /**
+     * Returns the allocation of the quantity across warehouses.
+     *
+     * @return the allocation of the quantity across warehouses.
+     */
+    public List<WarehouseAllocationDto> getAllocations() {
+        return allocations;
+    }
+
+    /**
+     * Sets the allocation of the quantity across warehouses.
+     *
+     * @param allocations The allocation of the quantity across warehouses.
+     */
+    public void setAllocations(List<WarehouseAllocationDto> allocations) {
+        this.allocations = allocations;
+    }
+}
@@ -0,0 +1,111 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for requesting a checkout quote.
+ * <p>
+ * A quote evaluates availability, allocation and expected delivery date of every item for the shipping ZIP code and,
+ * when {@code placeHolds} is set, reserves the allocated stock for a limited time.
+ * </p>
+ */
+public class CheckoutQuoteRequest {
+
+    private Long zipcode;
+    private List<CustomerOrderItemDTO> items;
+    private boolean placeHolds;
+    private Integer holdMinutes;
+
+    /**
+     * Default constructor for creating an empty instance of {@code CheckoutQuoteRequest}.
+     */
+    public CheckoutQuoteRequest() {
+    }
+
+    /**
+     * Constructs a new {@code CheckoutQuoteRequest} with the specified details.
+     *
+     * @param zipcode     The shipping ZIP code of the customer.
+     * @param items       The items to quote.
+     * @param placeHolds  Whether the allocated stock should be held for the customer.
+     * @param holdMinutes The requested hold duration in minutes, or {@code null} for the default.
+     */
+    public CheckoutQuoteRequest(Long zipcode, List<CustomerOrderItemDTO> items, boolean placeHolds, Integer holdMinutes) {
+        this.zipcode = zipcode;
+        this.items = items;
+        this.placeHolds = placeHolds;
+        this.holdMinutes = holdMinutes;
+    }
+
+    /**
+     * Returns the shipping ZIP code of the customer.
+     *
+     * @return the shipping ZIP code of the customer.
+     */
+    public Long getZipcode() {
+        return zipcode;
+    }
+
+    /**
+     * Sets the shipping ZIP code of the customer.
+     *
+     * @param zipcode The shipping ZIP code of the customer.
+     */
+    public void setZipcode(Long zipcode) {
+        this.zipcode = zipcode;
+    }
+
+    /**
+     * Returns the items to quote.
+     *
+     * @return the items to quote.
+     */
+    public List<CustomerOrderItemDTO> getItems() {
+        return items;
+    }
+
+    /**
+     * Sets the items to quote.
+     *
+     * @param items The items to quote.
+     */
+    public void setItems(List<CustomerOrderItemDTO> items) {
+        this.items = items;
+    }
+
+    /**
+     * Returns whether the allocated stock should be held for the customer.
+     *
+     * @return whether the allocated stock should be held for the customer.
+     */
+    public boolean isPlaceHolds() {
+        return placeHolds;
+    }
+
+    /**
+     * Sets whether the allocated stock should be held for the customer.
+     *
+     * @param placeHolds Whether the allocated stock should be held for the customer.
+     */
+    public void setPlaceHolds(boolean placeHolds) {
+        this.placeHolds = placeHolds;
+    }
+
+    /**
+     * Returns the requested hold duration in minutes, or {@code null} for the default.
+     *
+     * @return the requested hold duration in minutes, or {@code null} for the default.
+     */
+    public Integer getHoldMinutes() {
+        return holdMinutes;
+    }
+
+    /**
+     * Sets the requested hold duration in minutes, or {@code null} for the default.
+     *
+     * @param holdMinutes The requested hold duration in minutes, or {@code null} for the default.
+     */
+    public void setHoldMinutes(Integer holdMinutes) {
+        this.holdMinutes = holdMinutes;
+    }
+}
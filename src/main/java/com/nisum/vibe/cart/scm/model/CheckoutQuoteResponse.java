@@ -0,0 +1,132 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for representing a checkout quote.
+ * <p>
+ * The hold reference and expiry are only set when stock was held for the quote, which happens only if every line is available.
+ * </p>
+ */
+public class CheckoutQuoteResponse {
+
+    private Long zipcode;
+    private boolean allAvailable;
+    private String holdReference;
+    private Instant holdExpiresAt;
+    private List<CheckoutQuoteLine> lines;
+
+    /**
+     * Default constructor for creating an empty instance of {@code CheckoutQuoteResponse}.
+     */
+    public CheckoutQuoteResponse() {
+    }
+
+    /**
+     * Constructs a new {@code CheckoutQuoteResponse} with the specified details.
+     *
+     * @param zipcode       The shipping ZIP code of the quote.
+     * @param allAvailable  Whether every line of the quote is available.
+     * @param holdReference The reference of the stock holds, or {@code null} if no stock was held.
+     * @param holdExpiresAt The time the stock holds expire, or {@code null} if no stock was held.
+     * @param lines         The per-line results, in request order.
+     */
+    public CheckoutQuoteResponse(Long zipcode, boolean allAvailable, String holdReference, Instant holdExpiresAt, List<CheckoutQuoteLine> lines) {
+        this.zipcode = zipcode;
+        this.allAvailable = allAvailable;
+        this.holdReference = holdReference;
+        this.holdExpiresAt = holdExpiresAt;
+        this.lines = lines;
+    }
+
+    /**
+     * Returns the shipping ZIP code of the quote.
+     *
+     * @return the shipping ZIP code of the quote.
+     */
+    public Long getZipcode() {
+        return zipcode;
+    }
+
+    /**
+     * Sets the shipping ZIP code of the quote.
+     *
+     * @param zipcode The shipping ZIP code of the quote.
+     */
+    public void setZipcode(Long zipcode) {
+        this.zipcode = zipcode;
+    }
+
+    /**
+     * Returns whether every line of the quote is available.
+     *
+     * @return whether every line of the quote is available.
+     */
+    public boolean isAllAvailable() {
+        return allAvailable;
+    }
+
+    /**
+     * Sets whether every line of the quote is available.
+     *
+     * @param allAvailable Whether every line of the quote is available.
+     */
+    public void setAllAvailable(boolean allAvailable) {
+        this.allAvailable = allAvailable;
+    }
+
+    /**
+     * Returns the reference of the stock holds, or {@code null} if no stock was held.
+     *
+     * @return the reference of the stock holds, or {@code null} if no stock was held.
+     */
+    public String getHoldReference() {
+        return holdReference;
+    }
+
+    /**
+     * Sets the reference of the stock holds, or {@code null} if no stock was held.
+     *
+     * @param holdReference The reference of the stock holds, or {@code null} if no stock was held.
+     */
+    public void setHoldReference(String holdReference) {
+        this.holdReference = holdReference;
+    }
+
+    /**
+     * Returns the time the stock holds expire, or {@code null} if no stock was held.
+     *
+     * @return the time the stock holds expire, or {@code null} if no stock was held.
+     */
+    public Instant getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    /**
+     * Sets the time the stock holds expire, or {@code null} if no stock was held.
+     *
+     * @param holdExpiresAt The time the stock holds expire, or {@code null} if no stock was held.
+     */
+    public void setHoldExpiresAt(Instant holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
+
+    /**
+     * Returns the per-line results, in request order.
+     *
+     * @return the per-line results, in request order.
+     */
+    public List<CheckoutQuoteLine> getLines() {
+        return lines;
+    }
+
+    /**
+     * Sets the per-line results, in request order.
+     *
+     * @param lines The per-line results, in request order.
+     */
+    public void setLines(List<CheckoutQuoteLine> lines) {
+        this.lines = lines;
+    }
+}
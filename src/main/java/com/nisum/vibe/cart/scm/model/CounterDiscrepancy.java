@@ -0,0 +1,163 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Data Transfer Object (DTO) for representing a reservation counter that does not match the holds, orders and
+ * backorders it should reflect.
+ * <p>
+ * Hold discrepancies belong to one inventory record. Order count discrepancies compare the quantity on order of a SKU
+ * across all warehouses, so their {@code warehouseId} is {@code null}. The quantity on order is cumulative: it is not
+ * released when an order ships or is delivered, so it is expected to match every order that was not cancelled, not
+ * the open ones. Each discrepancy carries the description of its type.
+ * </p>
+ */
+public class CounterDiscrepancy {
+
+    private String warehouseId;
+    private Long sku;
+    private CounterDiscrepancyType type;
+    private Integer counterQuantity;
+    private Integer expectedQuantity;
+    private boolean fixed;
+
+    /**
+     * Default constructor for creating an empty instance of {@code CounterDiscrepancy}.
+     */
+    public CounterDiscrepancy() {
+    }
+
+    /**
+     * Constructs a new {@code CounterDiscrepancy} with the specified details.
+     *
+     * @param warehouseId      The warehouse of the inventory record, or null for a SKU-wide discrepancy.
+     * @param sku              The SKU.
+     * @param type             The type of discrepancy.
+     * @param counterQuantity  The quantity recorded by the counter.
+     * @param expectedQuantity The quantity expected from holds, orders and backorders.
+     * @param fixed            Whether the counter was corrected.
+     */
+    public CounterDiscrepancy(String warehouseId, Long sku, CounterDiscrepancyType type, Integer counterQuantity, Integer expectedQuantity, boolean fixed) {
+        this.warehouseId = warehouseId;
+        this.sku = sku;
+        this.type = type;
+        this.counterQuantity = counterQuantity;
+        this.expectedQuantity = expectedQuantity;
+        this.fixed = fixed;
+    }
+
+    /**
+     * Returns the warehouse of the inventory record, or null for a SKU-wide discrepancy.
+     *
+     * @return the warehouse of the inventory record, or null for a SKU-wide discrepancy.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Sets the warehouse of the inventory record, or null for a SKU-wide discrepancy.
+     *
+     * @param warehouseId The warehouse of the inventory record, or null for a SKU-wide discrepancy.
+     */
+    public void setWarehouseId(String warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    /**
+     * Returns the SKU.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Sets the SKU.
+     *
+     * @param sku The SKU.
+     */
+    public void setSku(Long sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Returns the type of discrepancy.
+     *
+     * @return the type of discrepancy.
+     */
+    public CounterDiscrepancyType getType() {
+        return type;
+    }
+
+    /**
+     * Returns what the discrepancy compares.
+     *
+     * @return the description of the discrepancy type, or {@code null} if no type is set.
+     */
+    public String getDescription() {
+        return type == null ? null : type.getDescription();
+    }
+
+    /**
+     * Sets the type of discrepancy.
+     *
+     * @param type The type of discrepancy.
+     */
+    public void setType(CounterDiscrepancyType type) {
+        this.type = type;
+    }
+
+    /**
+     * Returns the quantity recorded by the counter.
+     *
+     * @return the quantity recorded by the counter.
+     */
+    public Integer getCounterQuantity() {
+        return counterQuantity;
+    }
+
+    /**
+     * Sets the quantity recorded by the counter.
+     *
+     * @param counterQuantity The quantity recorded by the counter.
+     */
+    public void setCounterQuantity(Integer counterQuantity) {
+        this.counterQuantity = counterQuantity;
+    }
+
+    /**
+     * Returns the quantity expected from holds, orders and backorders.
+     *
+     * @return the quantity expected from holds, orders and backorders.
+     */
+    public Integer getExpectedQuantity() {
+        return expectedQuantity;
+    }
+
+    /**
+     * Sets the quantity expected from holds, orders and backorders.
+     *
+     * @param expectedQuantity The quantity expected from holds, orders and backorders.
+     */
+    public void setExpectedQuantity(Integer expectedQuantity) {
+        this.expectedQuantity = expectedQuantity;
+    }
+
+    /**
+     * Returns whether the counter was corrected.
+     *
+     * @return whether the counter was corrected.
+     */
+    public boolean isFixed() {
+        return fixed;
+    }
+
+    /**
+     * Sets whether the counter was corrected.
+     *
+     * @param fixed Whether the counter was corrected.
+     */
+    public void setFixed(boolean fixed) {
+        this.fixed = fixed;
+    }
+}
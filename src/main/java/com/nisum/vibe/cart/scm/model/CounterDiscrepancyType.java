@@ -0,0 +1,28 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Kinds of drift between the reservation counters of the inventory and the holds, orders and backorders they
+ * should reflect.
+ */
+public enum CounterDiscrepancyType {
+    HOLD_BELOW_ACTIVE_HOLDS("The quantity on hold of the record is below its active checkout holds"),
+    STALE_HOLD("The quantity on hold of the record exceeds its active checkout holds and has not changed since the settle period"),
+    ORDER_COUNT_MISMATCH("The quantity on order of the SKU across warehouses differs from the items of every order that was not "
+            + "cancelled, including shipped and delivered ones, plus active holds, less unallocated backorders; the quantity on "
+            + "order is cumulative and only released by cancellation, so this does not compare against open orders");
+
+    private final String description;
+
+    CounterDiscrepancyType(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Returns what the discrepancy compares, as shown in the integrity report.
+     *
+     * @return the description.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
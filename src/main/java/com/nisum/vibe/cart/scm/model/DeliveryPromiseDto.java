@@ -0,0 +1,92 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Data Transfer Object (DTO) for representing the delivery promise of a SKU to a ZIP code.
+ * <p>
+ * This class encapsulates:
+ * <ul>
+ *     <li>The SKU identifier.</li>
+ *     <li>Whether the SKU is in stock in any warehouse.</li>
+ *     <li>The expected delivery date in YYYY-MM-DD format, or {@code null} when the SKU is out of stock.</li>
+ * </ul>
+ * </p>
+ */
+public class DeliveryPromiseDto {
+
+    private Long sku;
+    private boolean inStock;
+    private String expectedDeliveryDate;
+
+    /**
+     * Default constructor for creating an empty instance of {@code DeliveryPromiseDto}.
+     */
+    public DeliveryPromiseDto() {
+    }
+
+    /**
+     * Constructs a new {@code DeliveryPromiseDto} with the specified details.
+     *
+     * @param sku                  The SKU identifier.
+     * @param inStock              Whether the SKU is in stock.
+     * @param expectedDeliveryDate The expected delivery date, or {@code null} if out of stock.
+     */
+    public DeliveryPromiseDto(Long sku, boolean inStock, String expectedDeliveryDate) {
+        this.sku = sku;
+        this.inStock = inStock;
+        this.expectedDeliveryDate = expectedDeliveryDate;
+    }
+
+    /**
+     * Returns the SKU identifier.
+     *
+     * @return The SKU identifier.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Sets the SKU identifier.
+     *
+     * @param sku The SKU identifier.
+     */
+    public void setSku(Long sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Returns whether the SKU is in stock in any warehouse.
+     *
+     * @return {@code true} if the SKU is in stock.
+     */
+    public boolean isInStock() {
+        return inStock;
+    }
+
+    /**
+     * Sets whether the SKU is in stock in any warehouse.
+     *
+     * @param inStock {@code true} if the SKU is in stock.
+     */
+    public void setInStock(boolean inStock) {
+        this.inStock = inStock;
+    }
+
+    /**
+     * Returns the expected delivery date.
+     *
+     * @return The expected delivery date, or {@code null} if out of stock.
+     */
+    public String getExpectedDeliveryDate() {
+        return expectedDeliveryDate;
+    }
+
+    /**
+     * Sets the expected delivery date.
+     *
+     * @param expectedDeliveryDate The expected delivery date.
+     */
+    public void setExpectedDeliveryDate(String expectedDeliveryDate) {
+        this.expectedDeliveryDate = expectedDeliveryDate;
+    }
+}
@@ -0,0 +1,56 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Enumeration representing the file formats produced by the streaming exports.
+ * <p>
+ * <ul>
+ *     <li><b>NDJSON:</b> One JSON object per line.</li>
+ *     <li><b>CSV:</b> Comma separated values with a header line naming the columns.</li>
+ * </ul>
+ * </p>
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    ExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Returns the media type of the format.
+     *
+     * @return the media type.
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Returns the file extension of the format.
+     *
+     * @return the file extension.
+     */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Resolves a format from its name, ignoring case.
+     *
+     * @param name the format name, such as {@code ndjson} or {@code csv}.
+     * @return the matching format, or {@code null} if the name is not supported.
+     */
+    public static ExportFormat fromName(String name) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
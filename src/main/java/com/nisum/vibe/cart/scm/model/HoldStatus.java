@@ -0,0 +1,17 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Enumeration representing the possible statuses of a time-bound stock hold placed by a checkout quote.
+ * <p>
+ * <ul>
+ *     <li><b>ACTIVE:</b> Stock is reserved for the quote until the hold expires.</li>
+ *     <li><b>CONFIRMED:</b> The reservation was confirmed by an order and is no longer time-bound.</li>
+ *     <li><b>EXPIRED:</b> The hold expired and the stock was returned to the available quantity.</li>
+ * </ul>
+ * </p>
+ */
+public enum HoldStatus {
+    ACTIVE,             // Stock is reserved for the quote until the hold expires.
+    CONFIRMED,          // The reservation was confirmed by an order.
+    EXPIRED             // The hold expired and the stock was released.
+}
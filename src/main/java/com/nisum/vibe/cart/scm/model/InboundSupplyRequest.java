@@ -0,0 +1,107 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.time.LocalDate;
+
+/**
+ * Represents a request to register supply on its way to a warehouse, such as an open purchase order.
+ */
+public class InboundSupplyRequest {
+
+    private Long sku;
+    private String warehouseId;
+    private Integer quantity;
+    private LocalDate expectedDate;
+
+    /**
+     * Default constructor for creating an empty instance of {@code InboundSupplyRequest}.
+     */
+    public InboundSupplyRequest() {
+    }
+
+    /**
+     * Constructs a new {@code InboundSupplyRequest} with the specified details.
+     *
+     * @param sku          The SKU of the supply.
+     * @param warehouseId  The receiving warehouse.
+     * @param quantity     The expected quantity.
+     * @param expectedDate The expected arrival date.
+     */
+    public InboundSupplyRequest(Long sku, String warehouseId, Integer quantity, LocalDate expectedDate) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.quantity = quantity;
+        this.expectedDate = expectedDate;
+    }
+
+    /**
+     * Returns the SKU of the supply.
+     *
+     * @return the SKU of the supply.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Sets the SKU of the supply.
+     *
+     * @param sku The SKU of the supply.
+     */
+    public void setSku(Long sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Returns the receiving warehouse.
+     *
+     * @return the receiving warehouse.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Sets the receiving warehouse.
+     *
+     * @param warehouseId The receiving warehouse.
+     */
+    public void setWarehouseId(String warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    /**
+     * Returns the expected quantity.
+     *
+     * @return the expected quantity.
+     */
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Sets the expected quantity.
+     *
+     * @param quantity The expected quantity.
+     */
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    /**
+     * Returns the expected arrival date.
+     *
+     * @return the expected arrival date.
+     */
+    public LocalDate getExpectedDate() {
+        return expectedDate;
+    }
+
+    /**
+     * Sets the expected arrival date.
+     *
+     * @param expectedDate The expected arrival date.
+     */
+    public void setExpectedDate(LocalDate expectedDate) {
+        this.expectedDate = expectedDate;
+    }
+}
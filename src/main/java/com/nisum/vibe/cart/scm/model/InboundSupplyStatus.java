@@ -0,0 +1,15 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Enumeration representing the possible statuses of inbound supply.
+ * <p>
+ * <ul>
+ *     <li><b>EXPECTED:</b> The supply is on its way and counts towards available-to-promise from its expected date.</li>
+ *     <li><b>RECEIVED:</b> The supply arrived and was added to the available quantity of its inventory record.</li>
+ * </ul>
+ * </p>
+ */
+public enum InboundSupplyStatus {
+    EXPECTED,           // The supply is on its way.
+    RECEIVED            // The supply arrived and was added to stock.
+}
@@ -0,0 +1,250 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object (DTO) for representing the current state of an inventory record in the inventory change feed.
+ */
+public class InventoryChangeDto {
+
+    private Long inventoryId;
+    private Long itemId;
+    private Long sku;
+    private String warehouseId;
+    private Integer quantityAvailable;
+    private Integer quantityOnHold;
+    private Integer quantityOnOrder;
+    private LocalDate lastUpdatedDate;
+    private Long changeVersion;
+    private Integer reorderThreshold;
+
+    /**
+     * Default constructor for creating an empty instance of {@code InventoryChangeDto}.
+     */
+    public InventoryChangeDto() {
+    }
+
+    /**
+     * Constructs a new {@code InventoryChangeDto} with the specified details.
+     *
+     * @param inventoryId       The inventory ID.
+     * @param itemId            The item ID.
+     * @param sku               The SKU.
+     * @param warehouseId       The warehouse ID.
+     * @param quantityAvailable The available quantity.
+     * @param quantityOnHold    The quantity on hold.
+     * @param quantityOnOrder   The quantity on order.
+     * @param lastUpdatedDate   The date the record was last updated.
+     * @param changeVersion     The change version of the last modification.
+     */
+    public InventoryChangeDto(Long inventoryId, Long itemId, Long sku, String warehouseId, Integer quantityAvailable, Integer quantityOnHold, Integer quantityOnOrder, LocalDate lastUpdatedDate, Long changeVersion) {
+        this.inventoryId = inventoryId;
+        this.itemId = itemId;
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.quantityAvailable = quantityAvailable;
+        this.quantityOnHold = quantityOnHold;
+        this.quantityOnOrder = quantityOnOrder;
+        this.lastUpdatedDate = lastUpdatedDate;
+        this.changeVersion = changeVersion;
+    }
+
+    /**
+     * Constructs a new {@code InventoryChangeDto} with the specified details and reorder threshold.
+     *
+     * @param inventoryId       The inventory ID.
+     * @param itemId            The item ID.
+     * @param sku               The SKU.
+     * @param warehouseId       The warehouse ID.
+     * @param quantityAvailable The available quantity.
+     * @param quantityOnHold    The quantity on hold.
+     * @param quantityOnOrder   The quantity on order.
+     * @param lastUpdatedDate   The date the record was last updated.
+     * @param changeVersion     The change version of the last modification.
+     * @param reorderThreshold  The reorder threshold, or {@code null} if the record is not watched.
+     */
+    public InventoryChangeDto(Long inventoryId, Long itemId, Long sku, String warehouseId, Integer quantityAvailable, Integer quantityOnHold, Integer quantityOnOrder, LocalDate lastUpdatedDate, Long changeVersion, Integer reorderThreshold) {
+        this(inventoryId, itemId, sku, warehouseId, quantityAvailable, quantityOnHold, quantityOnOrder, lastUpdatedDate, changeVersion);
+        this.reorderThreshold = reorderThreshold;
+    }
+
+    /**
+     * Returns the inventory ID.
+     *
+     * @return the inventory ID.
+     */
+    public Long getInventoryId() {
+        return inventoryId;
+    }
+
+    /**
+     * Sets the inventory ID.
+     *
+     * @param inventoryId The inventory ID.
+     */
+    public void setInventoryId(Long inventoryId) {
+        this.inventoryId = inventoryId;
+    }
+
+    /**
+     * Returns the item ID.
+     *
+     * @return the item ID.
+     */
+    public Long getItemId() {
+        return itemId;
+    }
+
+    /**
+     * Sets the item ID.
+     *
+     * @param itemId The item ID.
+     */
+    public void setItemId(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    /**
+     * Returns the SKU.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Sets the SKU.
+     *
+     * @param sku The SKU.
+     */
+    public void setSku(Long sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Returns the warehouse ID.
+     *
+     * @return the warehouse ID.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Sets the warehouse ID.
+     *
+     * @param warehouseId The warehouse ID.
+     */
+    public void setWarehouseId(String warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    /**
+     * Returns the available quantity.
+     *
+     * @return the available quantity.
+     */
+    public Integer getQuantityAvailable() {
+        return quantityAvailable;
+    }
+
+    /**
+     * Sets the available quantity.
+     *
+     * @param quantityAvailable The available quantity.
+     */
+    public void setQuantityAvailable(Integer quantityAvailable) {
+        this.quantityAvailable = quantityAvailable;
+    }
+
+    /**
+     * Returns the quantity on hold.
+     *
+     * @return the quantity on hold.
+     */
+    public Integer getQuantityOnHold() {
+        return quantityOnHold;
+    }
+
+    /**
+     * Sets the quantity on hold.
+     *
+     * @param quantityOnHold The quantity on hold.
+     */
+    public void setQuantityOnHold(Integer quantityOnHold) {
+        this.quantityOnHold = quantityOnHold;
+    }
+
+    /**
+     * Returns the quantity on order.
+     *
+     * @return the quantity on order.
+     */
+    public Integer getQuantityOnOrder() {
+        return quantityOnOrder;
+    }
+
+    /**
+     * Sets the quantity on order.
+     *
+     * @param quantityOnOrder The quantity on order.
+     */
+    public void setQuantityOnOrder(Integer quantityOnOrder) {
+        this.quantityOnOrder = quantityOnOrder;
+    }
+
+    /**
+     * Returns the date the record was last updated.
+     *
+     * @return the date the record was last updated.
+     */
+    public LocalDate getLastUpdatedDate() {
+        return lastUpdatedDate;
+    }
+
+    /**
+     * Sets the date the record was last updated.
+     *
+     * @param lastUpdatedDate The date the record was last updated.
+     */
+    public void setLastUpdatedDate(LocalDate lastUpdatedDate) {
+        this.lastUpdatedDate = lastUpdatedDate;
+    }
+
+    /**
+     * Returns the change version of the last modification.
+     *
+     * @return the change version of the last modification.
+     */
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+
+    /**
+     * Sets the change version of the last modification.
+     *
+     * @param changeVersion The change version of the last modification.
+     */
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
+    /**
+     * Returns the reorder threshold.
+     *
+     * @return the reorder threshold, or {@code null} if the record is not watched.
+     */
+    public Integer getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    /**
+     * Sets the reorder threshold.
+     *
+     * @param reorderThreshold The reorder threshold, or {@code null} if the record is not watched.
+     */
+    public void setReorderThreshold(Integer reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+    }
+}
@@ -0,0 +1,159 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.time.Instant;
+
+/**
+ * Represents a pushed notification of the stock level of a SKU in a warehouse.
+ * <p>
+ * The outbox relay coalesces all changes of one SKU and warehouse that happened since its previous run into a single
+ * notification carrying the latest available quantity, so {@code changeCount} may be greater than one.
+ * </p>
+ * <p>
+ * Relays on different nodes deliver disjoint batches concurrently, so notifications of one SKU and warehouse may
+ * arrive out of order. {@code sequence} is the outbox ID of the latest change in the notification, which increases
+ * with every change of the SKU and warehouse; a consumer should keep the highest sequence it has applied per SKU and
+ * warehouse and drop notifications with a lower one.
+ * </p>
+ */
+public class InventoryChangeNotification {
+
+    private Long sku;
+    private String warehouseId;
+    private Integer quantityAvailable;
+    private int changeCount;
+    private Instant changedAt;
+    private Long sequence;
+
+    /**
+     * Default constructor for creating an empty instance of {@code InventoryChangeNotification}.
+     */
+    public InventoryChangeNotification() {
+    }
+
+    /**
+     * Constructs a new {@code InventoryChangeNotification} with the specified details.
+     *
+     * @param sku               The SKU.
+     * @param warehouseId       The warehouse holding the stock.
+     * @param quantityAvailable The latest available quantity.
+     * @param changeCount       The number of changes coalesced into this notification.
+     * @param changedAt         The time of the latest change.
+     * @param sequence          The outbox ID of the latest change.
+     */
+    public InventoryChangeNotification(Long sku, String warehouseId, Integer quantityAvailable, int changeCount, Instant changedAt, Long sequence) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.quantityAvailable = quantityAvailable;
+        this.changeCount = changeCount;
+        this.changedAt = changedAt;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Returns the SKU.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Sets the SKU.
+     *
+     * @param sku The SKU.
+     */
+    public void setSku(Long sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Returns the warehouse holding the stock.
+     *
+     * @return the warehouse holding the stock.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Sets the warehouse holding the stock.
+     *
+     * @param warehouseId The warehouse holding the stock.
+     */
+    public void setWarehouseId(String warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    /**
+     * Returns the latest available quantity.
+     *
+     * @return the latest available quantity.
+     */
+    public Integer getQuantityAvailable() {
+        return quantityAvailable;
+    }
+
+    /**
+     * Sets the latest available quantity.
+     *
+     * @param quantityAvailable The latest available quantity.
+     */
+    public void setQuantityAvailable(Integer quantityAvailable) {
+        this.quantityAvailable = quantityAvailable;
+    }
+
+    /**
+     * Returns the number of changes coalesced into this notification.
+     *
+     * @return the number of changes coalesced into this notification.
+     */
+    public int getChangeCount() {
+        return changeCount;
+    }
+
+    /**
+     * Sets the number of changes coalesced into this notification.
+     *
+     * @param changeCount The number of changes coalesced into this notification.
+     */
+    public void setChangeCount(int changeCount) {
+        this.changeCount = changeCount;
+    }
+
+    /**
+     * Returns the time of the latest change.
+     *
+     * @return the time of the latest change.
+     */
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    /**
+     * Sets the time of the latest change.
+     *
+     * @param changedAt The time of the latest change.
+     */
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    /**
+     * Returns the outbox ID of the latest change, which orders the notifications of one SKU and warehouse.
+     *
+     * @return the sequence of the notification.
+     */
+    public Long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Sets the outbox ID of the latest change.
+     *
+     * @param sequence The outbox ID of the latest change.
+     */
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+}
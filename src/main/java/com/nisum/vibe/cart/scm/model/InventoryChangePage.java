@@ -0,0 +1,111 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for representing one page of the inventory change feed.
+ * <p>
+ * The next page is requested with {@code since=nextSince} and {@code afterId=nextAfterId}. When {@code hasMore} is
+ * {@code false} the client is caught up and should poll again later with the same values.
+ * </p>
+ */
+public class InventoryChangePage {
+
+    private List<InventoryChangeDto> changes;
+    private long nextSince;
+    private long nextAfterId;
+    private boolean hasMore;
+
+    /**
+     * Default constructor for creating an empty instance of {@code InventoryChangePage}.
+     */
+    public InventoryChangePage() {
+    }
+
+    /**
+     * Constructs a new {@code InventoryChangePage} with the specified details.
+     *
+     * @param changes     The changed inventory records, ordered by change version and inventory ID.
+     * @param nextSince   The change version to request the next page from.
+     * @param nextAfterId The inventory ID to request the next page from.
+     * @param hasMore     Whether more changes are available right away.
+     */
+    public InventoryChangePage(List<InventoryChangeDto> changes, long nextSince, long nextAfterId, boolean hasMore) {
+        this.changes = changes;
+        this.nextSince = nextSince;
+        this.nextAfterId = nextAfterId;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Returns the changed inventory records, ordered by change version and inventory ID.
+     *
+     * @return the changed inventory records, ordered by change version and inventory ID.
+     */
+    public List<InventoryChangeDto> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Sets the changed inventory records, ordered by change version and inventory ID.
+     *
+     * @param changes The changed inventory records, ordered by change version and inventory ID.
+     */
+    public void setChanges(List<InventoryChangeDto> changes) {
+        this.changes = changes;
+    }
+
+    /**
+     * Returns the change version to request the next page from.
+     *
+     * @return the change version to request the next page from.
+     */
+    public long getNextSince() {
+        return nextSince;
+    }
+
+    /**
+     * Sets the change version to request the next page from.
+     *
+     * @param nextSince The change version to request the next page from.
+     */
+    public void setNextSince(long nextSince) {
+        this.nextSince = nextSince;
+    }
+
+    /**
+     * Returns the inventory ID to request the next page from.
+     *
+     * @return the inventory ID to request the next page from.
+     */
+    public long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    /**
+     * Sets the inventory ID to request the next page from.
+     *
+     * @param nextAfterId The inventory ID to request the next page from.
+     */
+    public void setNextAfterId(long nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+
+    /**
+     * Returns whether more changes are available right away.
+     *
+     * @return whether more changes are available right away.
+     */
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Sets whether more changes are available right away.
+     *
+     * @param hasMore Whether more changes are available right away.
+     */
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
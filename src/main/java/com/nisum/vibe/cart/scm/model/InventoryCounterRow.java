@@ -0,0 +1,128 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.time.LocalDate;
+
+/**
+ * The reservation counters of one inventory record, as read by the inventory integrity check.
+ */
+public class InventoryCounterRow {
+
+    private Long inventoryId;
+    private Long sku;
+    private Integer quantityOnHold;
+    private Integer quantityOnOrder;
+    private LocalDate lastUpdatedDate;
+
+    /**
+     * Default constructor for creating an empty instance of {@code InventoryCounterRow}.
+     */
+    public InventoryCounterRow() {
+    }
+
+    /**
+     * Constructs a new {@code InventoryCounterRow} with the specified details.
+     *
+     * @param inventoryId     The ID of the inventory record.
+     * @param sku             The SKU.
+     * @param quantityOnHold  The quantity on hold.
+     * @param quantityOnOrder The quantity on order.
+     * @param lastUpdatedDate The date the record was last updated.
+     */
+    public InventoryCounterRow(Long inventoryId, Long sku, Integer quantityOnHold, Integer quantityOnOrder, LocalDate lastUpdatedDate) {
+        this.inventoryId = inventoryId;
+        this.sku = sku;
+        this.quantityOnHold = quantityOnHold;
+        this.quantityOnOrder = quantityOnOrder;
+        this.lastUpdatedDate = lastUpdatedDate;
+    }
+
+    /**
+     * Returns the ID of the inventory record.
+     *
+     * @return the ID of the inventory record.
+     */
+    public Long getInventoryId() {
+        return inventoryId;
+    }
+
+    /**
+     * Sets the ID of the inventory record.
+     *
+     * @param inventoryId The ID of the inventory record.
+     */
+    public void setInventoryId(Long inventoryId) {
+        this.inventoryId = inventoryId;
+    }
+
+    /**
+     * Returns the SKU.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Sets the SKU.
+     *
+     * @param sku The SKU.
+     */
+    public void setSku(Long sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Returns the quantity on hold.
+     *
+     * @return the quantity on hold.
+     */
+    public Integer getQuantityOnHold() {
+        return quantityOnHold;
+    }
+
+    /**
+     * Sets the quantity on hold.
+     *
+     * @param quantityOnHold The quantity on hold.
+     */
+    public void setQuantityOnHold(Integer quantityOnHold) {
+        this.quantityOnHold = quantityOnHold;
+    }
+
+    /**
+     * Returns the quantity on order.
+     *
+     * @return the quantity on order.
+     */
+    public Integer getQuantityOnOrder() {
+        return quantityOnOrder;
+    }
+
+    /**
+     * Sets the quantity on order.
+     *
+     * @param quantityOnOrder The quantity on order.
+     */
+    public void setQuantityOnOrder(Integer quantityOnOrder) {
+        this.quantityOnOrder = quantityOnOrder;
+    }
+
+    /**
+     * Returns the date the record was last updated.
+     *
+     * @return the date the record was last updated.
+     */
+    public LocalDate getLastUpdatedDate() {
+        return lastUpdatedDate;
+    }
+
+    /**
+     * Sets the date the record was last updated.
+     *
+     * @param lastUpdatedDate The date the record was last updated.
+     */
+    public void setLastUpdatedDate(LocalDate lastUpdatedDate) {
+        this.lastUpdatedDate = lastUpdatedDate;
+    }
+}
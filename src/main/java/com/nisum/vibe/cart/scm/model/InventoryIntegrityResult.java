@@ -0,0 +1,195 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for representing the outcome of an inventory integrity check.
+ * <p>
+ * This class encapsulates:
+ * <ul>
+ *     <li>The number of warehouses checked and inventory records and SKUs compared.</li>
+ *     <li>The number of inventory records whose counters were corrected.</li>
+ *     <li>The number of discrepancies and, up to a limit, the details of each.</li>
+ * </ul>
+ * </p>
+ */
+public class InventoryIntegrityResult {
+
+    private long warehousesChecked;
+    private long rowsCompared;
+    private long skusCompared;
+    private long rowsFixed;
+    private long discrepancyCount;
+    private List<CounterDiscrepancy> discrepancies = new ArrayList<>();
+    private boolean discrepanciesTruncated;
+
+    /**
+     * Default constructor for creating an empty instance of {@code InventoryIntegrityResult}.
+     */
+    public InventoryIntegrityResult() {
+    }
+
+    /**
+     * Returns the number of warehouses checked.
+     *
+     * @return the number of warehouses checked.
+     */
+    public long getWarehousesChecked() {
+        return warehousesChecked;
+    }
+
+    /**
+     * Sets the number of warehouses checked.
+     *
+     * @param warehousesChecked The number of warehouses checked.
+     */
+    public void setWarehousesChecked(long warehousesChecked) {
+        this.warehousesChecked = warehousesChecked;
+    }
+
+    /**
+     * Returns the number of inventory records compared.
+     *
+     * @return the number of inventory records compared.
+     */
+    public long getRowsCompared() {
+        return rowsCompared;
+    }
+
+    /**
+     * Sets the number of inventory records compared.
+     *
+     * @param rowsCompared The number of inventory records compared.
+     */
+    public void setRowsCompared(long rowsCompared) {
+        this.rowsCompared = rowsCompared;
+    }
+
+    /**
+     * Returns the number of SKUs whose quantity on order was compared.
+     *
+     * @return the number of SKUs whose quantity on order was compared.
+     */
+    public long getSkusCompared() {
+        return skusCompared;
+    }
+
+    /**
+     * Sets the number of SKUs whose quantity on order was compared.
+     *
+     * @param skusCompared The number of SKUs whose quantity on order was compared.
+     */
+    public void setSkusCompared(long skusCompared) {
+        this.skusCompared = skusCompared;
+    }
+
+    /**
+     * Returns the number of inventory records whose counters were corrected.
+     *
+     * @return the number of inventory records whose counters were corrected.
+     */
+    public long getRowsFixed() {
+        return rowsFixed;
+    }
+
+    /**
+     * Sets the number of inventory records whose counters were corrected.
+     *
+     * @param rowsFixed The number of inventory records whose counters were corrected.
+     */
+    public void setRowsFixed(long rowsFixed) {
+        this.rowsFixed = rowsFixed;
+    }
+
+    /**
+     * Returns the total number of discrepancies found.
+     *
+     * @return the total number of discrepancies found.
+     */
+    public long getDiscrepancyCount() {
+        return discrepancyCount;
+    }
+
+    /**
+     * Sets the total number of discrepancies found.
+     *
+     * @param discrepancyCount The total number of discrepancies found.
+     */
+    public void setDiscrepancyCount(long discrepancyCount) {
+        this.discrepancyCount = discrepancyCount;
+    }
+
+    /**
+     * Returns the reported discrepancies.
+     *
+     * @return the reported discrepancies.
+     */
+    public List<CounterDiscrepancy> getDiscrepancies() {
+        return discrepancies;
+    }
+
+    /**
+     * Sets the reported discrepancies.
+     *
+     * @param discrepancies The reported discrepancies.
+     */
+    public void setDiscrepancies(List<CounterDiscrepancy> discrepancies) {
+        this.discrepancies = discrepancies;
+    }
+
+    /**
+     * Returns whether discrepancies were left out of the report.
+     *
+     * @return whether discrepancies were left out of the report.
+     */
+    public boolean isDiscrepanciesTruncated() {
+        return discrepanciesTruncated;
+    }
+
+    /**
+     * Sets whether discrepancies were left out of the report.
+     *
+     * @param discrepanciesTruncated Whether discrepancies were left out of the report.
+     */
+    public void setDiscrepanciesTruncated(boolean discrepanciesTruncated) {
+        this.discrepanciesTruncated = discrepanciesTruncated;
+    }
+
+    /**
+     * Records a discrepancy, keeping at most {@code maxReportedDiscrepancies} discrepancy details.
+     *
+     * @param discrepancy              the discrepancy.
+     * @param maxReportedDiscrepancies the maximum number of discrepancies to report.
+     */
+    public void addDiscrepancy(CounterDiscrepancy discrepancy, int maxReportedDiscrepancies) {
+        discrepancyCount++;
+        if (discrepancies.size() < maxReportedDiscrepancies) {
+            discrepancies.add(discrepancy);
+        } else {
+            discrepanciesTruncated = true;
+        }
+    }
+
+    /**
+     * Adds the counts and discrepancies of a partial result, such as the result of one warehouse.
+     *
+     * @param other                    the partial result.
+     * @param maxReportedDiscrepancies the maximum number of discrepancies to report.
+     */
+    public void merge(InventoryIntegrityResult other, int maxReportedDiscrepancies) {
+        warehousesChecked += other.warehousesChecked;
+        rowsCompared += other.rowsCompared;
+        skusCompared += other.skusCompared;
+        rowsFixed += other.rowsFixed;
+        discrepancyCount += other.discrepancyCount;
+        discrepanciesTruncated |= other.discrepanciesTruncated;
+        for (CounterDiscrepancy discrepancy : other.discrepancies) {
+            if (discrepancies.size() < maxReportedDiscrepancies) {
+                discrepancies.add(discrepancy);
+            } else {
+                discrepanciesTruncated = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Data Transfer Object (DTO) for representing the quantities of an inventory record read during stock reconciliation.
+ */
+public class InventoryQuantityRow {
+
+    private Long inventoryId;
+    private Long sku;
+    private Integer quantityAvailable;
+    private Integer quantityOnOrder;
+
+    /**
+     * Default constructor for creating an empty instance of {@code InventoryQuantityRow}.
+     */
+    public InventoryQuantityRow() {
+    }
+
+    /**
+     * Constructs a new {@code InventoryQuantityRow} with the specified details.
+     *
+     * @param inventoryId       The inventory ID.
+     * @param sku               The SKU.
+     * @param quantityAvailable The available quantity.
+     * @param quantityOnOrder   The quantity placed on order, which only decreases when an order is cancelled.
+     */
+    public InventoryQuantityRow(Long inventoryId, Long sku, Integer quantityAvailable, Integer quantityOnOrder) {
+        this.inventoryId = inventoryId;
+        this.sku = sku;
+        this.quantityAvailable = quantityAvailable;
+        this.quantityOnOrder = quantityOnOrder;
+    }
+
+    /**
+     * Returns the inventory ID.
+     *
+     * @return the inventory ID.
+     */
+    public Long getInventoryId() {
+        return inventoryId;
+    }
+
+    /**
+     * Sets the inventory ID.
+     *
+     * @param inventoryId The inventory ID.
+     */
+    public void setInventoryId(Long inventoryId) {
+        this.inventoryId = inventoryId;
+    }
+
+    /**
+     * Returns the SKU.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Sets the SKU.
+     *
+     * @param sku The SKU.
+     */
+    public void setSku(Long sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Returns the available quantity.
+     *
+     * @return the available quantity.
+     */
+    public Integer getQuantityAvailable() {
+        return quantityAvailable;
+    }
+
+    /**
+     * Sets the available quantity.
+     *
+     * @param quantityAvailable The available quantity.
+     */
+    public void setQuantityAvailable(Integer quantityAvailable) {
+        this.quantityAvailable = quantityAvailable;
+    }
+
+    /**
+     * Returns the quantity reserved by orders that have not shipped yet.
+     *
+     * @return the quantity reserved by orders that have not shipped yet.
+     */
+    public Integer getQuantityOnOrder() {
+        return quantityOnOrder;
+    }
+
+    /**
+     * Sets the quantity reserved by orders that have not shipped yet.
+     *
+     * @param quantityOnOrder The quantity reserved by orders that have not shipped yet.
+     */
+    public void setQuantityOnOrder(Integer quantityOnOrder) {
+        this.quantityOnOrder = quantityOnOrder;
+    }
+}
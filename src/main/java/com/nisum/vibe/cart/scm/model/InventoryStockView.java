@@ -0,0 +1,31 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Closed projection over an inventory record that exposes only its SKU, warehouse and available quantity.
+ * <p>
+ * Used to load stock levels in bulk without materializing {@code Inventory} entities and their warehouses.
+ * </p>
+ */
+public interface InventoryStockView {
+
+    /**
+     * Returns the SKU of the inventory record.
+     *
+     * @return the SKU.
+     */
+    Long getSku();
+
+    /**
+     * Returns the ID of the warehouse holding the inventory.
+     *
+     * @return the warehouse ID.
+     */
+    String getWarehouseId();
+
+    /**
+     * Returns the quantity available for sale.
+     *
+     * @return the available quantity.
+     */
+    Integer getQuantityAvailable();
+}
@@ -0,0 +1,17 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Enumeration representing the possible statuses of a stock lease held by a service instance.
+ * <p>
+ * <ul>
+ *     <li><b>ACTIVE:</b> The instance serves reservations from the leased stock until the lease expires.</li>
+ *     <li><b>RETURNED:</b> The instance gave the lease back and its unused stock was returned to the available quantity.</li>
+ *     <li><b>EXPIRED:</b> The lease was not renewed in time and its unused stock was returned to the available quantity.</li>
+ * </ul>
+ * </p>
+ */
+public enum LeaseStatus {
+    ACTIVE,             // The instance serves reservations from the leased stock.
+    RETURNED,           // The instance returned the unused stock.
+    EXPIRED             // The lease expired and the unused stock was released.
+}
@@ -0,0 +1,127 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Data Transfer Object (DTO) for representing an inventory record whose available quantity is at or below its
+ * reorder threshold.
+ */
+public class LowStockDto {
+
+    private Long inventoryId;
+    private Long sku;
+    private String warehouseId;
+    private Integer quantityAvailable;
+    private Integer reorderThreshold;
+
+    /**
+     * Default constructor for creating an empty instance of {@code LowStockDto}.
+     */
+    public LowStockDto() {
+    }
+
+    /**
+     * Constructs a new {@code LowStockDto} with the specified details.
+     *
+     * @param inventoryId       The ID of the inventory record.
+     * @param sku               The SKU of the inventory record.
+     * @param warehouseId       The warehouse holding the inventory.
+     * @param quantityAvailable The available quantity.
+     * @param reorderThreshold  The reorder threshold.
+     */
+    public LowStockDto(Long inventoryId, Long sku, String warehouseId, Integer quantityAvailable, Integer reorderThreshold) {
+        this.inventoryId = inventoryId;
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.quantityAvailable = quantityAvailable;
+        this.reorderThreshold = reorderThreshold;
+    }
+
+    /**
+     * Returns the ID of the inventory record.
+     *
+     * @return the ID of the inventory record.
+     */
+    public Long getInventoryId() {
+        return inventoryId;
+    }
+
+    /**
+     * Sets the ID of the inventory record.
+     *
+     * @param inventoryId The ID of the inventory record.
+     */
+    public void setInventoryId(Long inventoryId) {
+        this.inventoryId = inventoryId;
+    }
+
+    /**
+     * Returns the SKU of the inventory record.
+     *
+     * @return the SKU of the inventory record.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Sets the SKU of the inventory record.
+     *
+     * @param sku The SKU of the inventory record.
+     */
+    public void setSku(Long sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Returns the warehouse holding the inventory.
+     *
+     * @return the warehouse holding the inventory.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Sets the warehouse holding the inventory.
+     *
+     * @param warehouseId The warehouse holding the inventory.
+     */
+    public void setWarehouseId(String warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    /**
+     * Returns the available quantity.
+     *
+     * @return the available quantity.
+     */
+    public Integer getQuantityAvailable() {
+        return quantityAvailable;
+    }
+
+    /**
+     * Sets the available quantity.
+     *
+     * @param quantityAvailable The available quantity.
+     */
+    public void setQuantityAvailable(Integer quantityAvailable) {
+        this.quantityAvailable = quantityAvailable;
+    }
+
+    /**
+     * Returns the reorder threshold.
+     *
+     * @return the reorder threshold.
+     */
+    public Integer getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    /**
+     * Sets the reorder threshold.
+     *
+     * @param reorderThreshold The reorder threshold.
+     */
+    public void setReorderThreshold(Integer reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+    }
+}
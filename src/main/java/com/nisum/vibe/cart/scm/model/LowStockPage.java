@@ -0,0 +1,111 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for representing one page of the low-stock inventory records.
+ * <p>
+ * Records are ordered by available quantity and inventory ID. The next page is requested with
+ * {@code afterQuantity=nextAfterQuantity} and {@code afterId=nextAfterId}.
+ * </p>
+ */
+public class LowStockPage {
+
+    private List<LowStockDto> items;
+    private int nextAfterQuantity;
+    private long nextAfterId;
+    private boolean hasMore;
+
+    /**
+     * Default constructor for creating an empty instance of {@code LowStockPage}.
+     */
+    public LowStockPage() {
+    }
+
+    /**
+     * Constructs a new {@code LowStockPage} with the specified details.
+     *
+     * @param items             The low-stock records, ordered by available quantity and inventory ID.
+     * @param nextAfterQuantity The available quantity to request the next page from.
+     * @param nextAfterId       The inventory ID to request the next page from.
+     * @param hasMore           Whether more low-stock records are available.
+     */
+    public LowStockPage(List<LowStockDto> items, int nextAfterQuantity, long nextAfterId, boolean hasMore) {
+        this.items = items;
+        this.nextAfterQuantity = nextAfterQuantity;
+        this.nextAfterId = nextAfterId;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Returns the low-stock records, ordered by available quantity and inventory ID.
+     *
+     * @return the low-stock records, ordered by available quantity and inventory ID.
+     */
+    public List<LowStockDto> getItems() {
+        return items;
+    }
+
+    /**
+     * Sets the low-stock records, ordered by available quantity and inventory ID.
+     *
+     * @param items The low-stock records, ordered by available quantity and inventory ID.
+     */
+    public void setItems(List<LowStockDto> items) {
+        this.items = items;
+    }
+
+    /**
+     * Returns the available quantity to request the next page from.
+     *
+     * @return the available quantity to request the next page from.
+     */
+    public int getNextAfterQuantity() {
+        return nextAfterQuantity;
+    }
+
+    /**
+     * Sets the available quantity to request the next page from.
+     *
+     * @param nextAfterQuantity The available quantity to request the next page from.
+     */
+    public void setNextAfterQuantity(int nextAfterQuantity) {
+        this.nextAfterQuantity = nextAfterQuantity;
+    }
+
+    /**
+     * Returns the inventory ID to request the next page from.
+     *
+     * @return the inventory ID to request the next page from.
+     */
+    public long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    /**
+     * Sets the inventory ID to request the next page from.
+     *
+     * @param nextAfterId The inventory ID to request the next page from.
+     */
+    public void setNextAfterId(long nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+
+    /**
+     * Returns whether more low-stock records are available.
+     *
+     * @return whether more low-stock records are available.
+     */
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Sets whether more low-stock records are available.
+     *
+     * @param hasMore Whether more low-stock records are available.
+     */
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,131 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) for representing a compact record of the order change feed.
+ * <p>
+ * The version is the last update time of the order in epoch milliseconds, so a consumer can tell which of two
+ * records of the same order is newer without parsing dates.
+ * </p>
+ */
+public class OrderChangeDto {
+
+    private String orderId;
+    private OrderStatus orderStatus;
+    private PaymentStatus paymentStatus;
+    private Instant updatedDate;
+    private long version;
+
+    /**
+     * Default constructor for creating an empty instance of {@code OrderChangeDto}.
+     */
+    public OrderChangeDto() {
+    }
+
+    /**
+     * Constructs a new {@code OrderChangeDto} with the specified details, deriving the version from the update time.
+     *
+     * @param orderId       The order ID.
+     * @param orderStatus   The order status.
+     * @param paymentStatus The payment status.
+     * @param updatedDate   The time the order was last updated.
+     */
+    public OrderChangeDto(String orderId, OrderStatus orderStatus, PaymentStatus paymentStatus, Instant updatedDate) {
+        this.orderId = orderId;
+        this.orderStatus = orderStatus;
+        this.paymentStatus = paymentStatus;
+        this.updatedDate = updatedDate;
+        this.version = updatedDate == null ? 0L : updatedDate.toEpochMilli();
+    }
+
+    /**
+     * Returns the order ID.
+     *
+     * @return the order ID.
+     */
+    public String getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * Sets the order ID.
+     *
+     * @param orderId The order ID.
+     */
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    /**
+     * Returns the order status.
+     *
+     * @return the order status.
+     */
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    /**
+     * Sets the order status.
+     *
+     * @param orderStatus The order status.
+     */
+    public void setOrderStatus(OrderStatus orderStatus) {
+        this.orderStatus = orderStatus;
+    }
+
+    /**
+     * Returns the payment status.
+     *
+     * @return the payment status.
+     */
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    /**
+     * Sets the payment status.
+     *
+     * @param paymentStatus The payment status.
+     */
+    public void setPaymentStatus(PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+
+    /**
+     * Returns the time the order was last updated.
+     *
+     * @return the time the order was last updated.
+     */
+    public Instant getUpdatedDate() {
+        return updatedDate;
+    }
+
+    /**
+     * Sets the time the order was last updated.
+     *
+     * @param updatedDate The time the order was last updated.
+     */
+    public void setUpdatedDate(Instant updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+
+    /**
+     * Returns the version of the order.
+     *
+     * @return the version of the order.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the version of the order.
+     *
+     * @param version The version of the order.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
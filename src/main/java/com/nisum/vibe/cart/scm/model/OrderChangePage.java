@@ -0,0 +1,133 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for representing one page of the order change feed.
+ * <p>
+ * The next page is requested with {@code since=nextSince} and {@code afterId=nextAfterId}. When {@code hasMore} is
+ * {@code false} the consumer is caught up and should poll again later with the same values.
+ * </p>
+ */
+public class OrderChangePage {
+
+    private List<OrderChangeDto> changes;
+    private List<OrderDTO> orders;
+    private Instant nextSince;
+    private String nextAfterId;
+    private boolean hasMore;
+
+    /**
+     * Default constructor for creating an empty instance of {@code OrderChangePage}.
+     */
+    public OrderChangePage() {
+    }
+
+    /**
+     * Constructs a new {@code OrderChangePage} with the specified details.
+     *
+     * @param changes     The changed orders, ordered by update time and order ID.
+     * @param orders      The full changed orders in the same order, or null unless expansion was requested.
+     * @param nextSince   The update time to request the next page from.
+     * @param nextAfterId The order ID to request the next page from.
+     * @param hasMore     Whether more changes are available right away.
+     */
+    public OrderChangePage(List<OrderChangeDto> changes, List<OrderDTO> orders, Instant nextSince, String nextAfterId, boolean hasMore) {
+        this.changes = changes;
+        this.orders = orders;
+        this.nextSince = nextSince;
+        this.nextAfterId = nextAfterId;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Returns the changed orders, ordered by update time and order ID.
+     *
+     * @return the changed orders, ordered by update time and order ID.
+     */
+    public List<OrderChangeDto> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Sets the changed orders, ordered by update time and order ID.
+     *
+     * @param changes The changed orders, ordered by update time and order ID.
+     */
+    public void setChanges(List<OrderChangeDto> changes) {
+        this.changes = changes;
+    }
+
+    /**
+     * Returns the full changed orders in the same order, or null unless expansion was requested.
+     *
+     * @return the full changed orders in the same order, or null unless expansion was requested.
+     */
+    public List<OrderDTO> getOrders() {
+        return orders;
+    }
+
+    /**
+     * Sets the full changed orders in the same order, or null unless expansion was requested.
+     *
+     * @param orders The full changed orders in the same order, or null unless expansion was requested.
+     */
+    public void setOrders(List<OrderDTO> orders) {
+        this.orders = orders;
+    }
+
+    /**
+     * Returns the update time to request the next page from.
+     *
+     * @return the update time to request the next page from.
+     */
+    public Instant getNextSince() {
+        return nextSince;
+    }
+
+    /**
+     * Sets the update time to request the next page from.
+     *
+     * @param nextSince The update time to request the next page from.
+     */
+    public void setNextSince(Instant nextSince) {
+        this.nextSince = nextSince;
+    }
+
+    /**
+     * Returns the order ID to request the next page from.
+     *
+     * @return the order ID to request the next page from.
+     */
+    public String getNextAfterId() {
+        return nextAfterId;
+    }
+
+    /**
+     * Sets the order ID to request the next page from.
+     *
+     * @param nextAfterId The order ID to request the next page from.
+     */
+    public void setNextAfterId(String nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+
+    /**
+     * Returns whether more changes are available right away.
+     *
+     * @return whether more changes are available right away.
+     */
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Sets whether more changes are available right away.
+     *
+     * @param hasMore Whether more changes are available right away.
+     */
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -34,6 +34,8 @@ public class OrderDTO {
     private OrderStatus orderStatus;
     private PaymentStatus paymentStatus;
     private PaymentMethod paymentMethod;
+    private String holdReference;
+    private String orderReference;
 
     /**
      * Default constructor.
@@ -439,4 +441,40 @@ public class OrderDTO {
     public void setSubTotal(double subTotal) {
         this.subTotal = subTotal;
     }
+
+    /**
+     * Returns the reference of the checkout quote stock holds the order is placed with.
+     *
+     * @return the hold reference, or {@code null} if no stock was held
+     */
+    public String getHoldReference() {
+        return holdReference;
+    }
+
+    /**
+     * Sets the reference of the checkout quote stock holds the order is placed with.
+     *
+     * @param holdReference the hold reference
+     */
+    public void setHoldReference(String holdReference) {
+        this.holdReference = holdReference;
+    }
+
+    /**
+     * Returns the reference the stock of the order was reserved with.
+     *
+     * @return the order reference, or {@code null} if the stock was reserved without one
+     */
+    public String getOrderReference() {
+        return orderReference;
+    }
+
+    /**
+     * Sets the reference the stock of the order was reserved with.
+     *
+     * @param orderReference the order reference
+     */
+    public void setOrderReference(String orderReference) {
+        this.orderReference = orderReference;
+    }
 }
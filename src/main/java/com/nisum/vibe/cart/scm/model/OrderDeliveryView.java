@@ -0,0 +1,41 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.time.Instant;
+
+/**
+ * Closed projection over a delivered order that exposes only what is needed to learn delivery lead times.
+ * <p>
+ * Used to warm and tail the delivery estimates of the ZIP delivery index without materializing the full
+ * {@code Order} entity with its embedded customer and addresses.
+ * </p>
+ */
+public interface OrderDeliveryView {
+
+    /**
+     * Returns the unique identifier of the order.
+     *
+     * @return the order ID.
+     */
+    String getOrderId();
+
+    /**
+     * Returns the ZIP code the order was shipped to.
+     *
+     * @return the shipping ZIP code.
+     */
+    Long getShippingzipCode();
+
+    /**
+     * Returns the time the order was placed.
+     *
+     * @return the order date.
+     */
+    Instant getOrderDate();
+
+    /**
+     * Returns the time the order was last updated, which for a delivered order is the time of delivery.
+     *
+     * @return the last update time.
+     */
+    Instant getUpdatedDate();
+}
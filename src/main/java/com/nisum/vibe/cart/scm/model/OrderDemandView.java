@@ -0,0 +1,41 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.time.Instant;
+
+/**
+ * Closed projection over an ordered item that exposes only what is needed to learn demand velocity.
+ * <p>
+ * Used to rebuild the demand velocity of every SKU and warehouse from the order history without materializing the
+ * full {@code Order} and {@code OrderItem} entities.
+ * </p>
+ */
+public interface OrderDemandView {
+
+    /**
+     * Returns the SKU of the ordered item.
+     *
+     * @return the SKU.
+     */
+    Long getSkuId();
+
+    /**
+     * Returns the ordered quantity.
+     *
+     * @return the quantity.
+     */
+    int getQuantity();
+
+    /**
+     * Returns the ZIP code the order is shipped to.
+     *
+     * @return the shipping ZIP code.
+     */
+    Long getShippingzipCode();
+
+    /**
+     * Returns the time the order was placed.
+     *
+     * @return the order date.
+     */
+    Instant getOrderDate();
+}
@@ -0,0 +1,82 @@
+package com.nisum.vibe.cart.scm.model;
+
+import com.nisum.vibe.cart.scm.exception.InvalidOrderDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of an order in the order export, which is ordered by order date and then order ID.
+ * <p>
+ * Every exported order carries the cursor token of its position. An interrupted export is resumed by passing the
+ * token of the last order received, and continues with the order that follows it.
+ * </p>
+ */
+public class OrderExportCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final Instant orderDate;
+    private final String orderId;
+
+    /**
+     * Constructs a new {@code OrderExportCursor} with the specified details.
+     *
+     * @param orderDate The time the order was placed.
+     * @param orderId   The order ID.
+     */
+    public OrderExportCursor(Instant orderDate, String orderId) {
+        this.orderDate = orderDate;
+        this.orderId = orderId;
+    }
+
+    /**
+     * Returns the time the order was placed.
+     *
+     * @return the time the order was placed.
+     */
+    public Instant getOrderDate() {
+        return orderDate;
+    }
+
+    /**
+     * Returns the order ID.
+     *
+     * @return the order ID.
+     */
+    public String getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * Encodes the cursor as an opaque URL-safe token.
+     *
+     * @return the cursor token.
+     */
+    public String toToken() {
+        String position = orderDate + SEPARATOR + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token.
+     *
+     * @param token the cursor token, as returned by {@link #toToken()}.
+     * @return the cursor.
+     * @throws InvalidOrderDataException if the token is malformed.
+     */
+    public static OrderExportCursor fromToken(String token) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = position.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidOrderDataException("Invalid export cursor: " + token);
+            }
+            return new OrderExportCursor(Instant.parse(position.substring(0, separator)), position.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidOrderDataException("Invalid export cursor: " + token);
+        }
+    }
+}
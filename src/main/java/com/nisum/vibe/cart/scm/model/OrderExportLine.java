@@ -0,0 +1,381 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) for representing one row of the order export: an order joined with one of its items.
+ * <p>
+ * Orders without items are exported as a single row whose item fields are {@code null}.
+ * </p>
+ */
+public class OrderExportLine {
+
+    private String orderId;
+    private Instant orderDate;
+    private Long customerId;
+    private OrderStatus orderStatus;
+    private PaymentStatus paymentStatus;
+    private PaymentMethod paymentMethod;
+    private double totalAmount;
+    private double subTotal;
+    private BigDecimal discountPrice;
+    private Long offerId;
+    private int totalQuantity;
+    private Long shippingZipcode;
+    private Long orderItemId;
+    private Long itemId;
+    private Long skuId;
+    private String itemName;
+    private Integer quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal totalPrice;
+
+    /**
+     * Default constructor for creating an empty instance of {@code OrderExportLine}.
+     */
+    public OrderExportLine() {
+    }
+
+    /**
+     * Returns the order ID.
+     *
+     * @return the order ID.
+     */
+    public String getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * Sets the order ID.
+     *
+     * @param orderId The order ID.
+     */
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    /**
+     * Returns the time the order was placed.
+     *
+     * @return the time the order was placed.
+     */
+    public Instant getOrderDate() {
+        return orderDate;
+    }
+
+    /**
+     * Sets the time the order was placed.
+     *
+     * @param orderDate The time the order was placed.
+     */
+    public void setOrderDate(Instant orderDate) {
+        this.orderDate = orderDate;
+    }
+
+    /**
+     * Returns the customer ID.
+     *
+     * @return the customer ID.
+     */
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Sets the customer ID.
+     *
+     * @param customerId The customer ID.
+     */
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    /**
+     * Returns the order status.
+     *
+     * @return the order status.
+     */
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    /**
+     * Sets the order status.
+     *
+     * @param orderStatus The order status.
+     */
+    public void setOrderStatus(OrderStatus orderStatus) {
+        this.orderStatus = orderStatus;
+    }
+
+    /**
+     * Returns the payment status.
+     *
+     * @return the payment status.
+     */
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    /**
+     * Sets the payment status.
+     *
+     * @param paymentStatus The payment status.
+     */
+    public void setPaymentStatus(PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+
+    /**
+     * Returns the payment method.
+     *
+     * @return the payment method.
+     */
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    /**
+     * Sets the payment method.
+     *
+     * @param paymentMethod The payment method.
+     */
+    public void setPaymentMethod(PaymentMethod paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+
+    /**
+     * Returns the total amount of the order.
+     *
+     * @return the total amount of the order.
+     */
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    /**
+     * Sets the total amount of the order.
+     *
+     * @param totalAmount The total amount of the order.
+     */
+    public void setTotalAmount(double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    /**
+     * Returns the subtotal of the order.
+     *
+     * @return the subtotal of the order.
+     */
+    public double getSubTotal() {
+        return subTotal;
+    }
+
+    /**
+     * Sets the subtotal of the order.
+     *
+     * @param subTotal The subtotal of the order.
+     */
+    public void setSubTotal(double subTotal) {
+        this.subTotal = subTotal;
+    }
+
+    /**
+     * Returns the discount applied to the order.
+     *
+     * @return the discount applied to the order.
+     */
+    public BigDecimal getDiscountPrice() {
+        return discountPrice;
+    }
+
+    /**
+     * Sets the discount applied to the order.
+     *
+     * @param discountPrice The discount applied to the order.
+     */
+    public void setDiscountPrice(BigDecimal discountPrice) {
+        this.discountPrice = discountPrice;
+    }
+
+    /**
+     * Returns the ID of the offer applied to the order.
+     *
+     * @return the ID of the offer applied to the order.
+     */
+    public Long getOfferId() {
+        return offerId;
+    }
+
+    /**
+     * Sets the ID of the offer applied to the order.
+     *
+     * @param offerId The ID of the offer applied to the order.
+     */
+    public void setOfferId(Long offerId) {
+        this.offerId = offerId;
+    }
+
+    /**
+     * Returns the total quantity of the order.
+     *
+     * @return the total quantity of the order.
+     */
+    public int getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    /**
+     * Sets the total quantity of the order.
+     *
+     * @param totalQuantity The total quantity of the order.
+     */
+    public void setTotalQuantity(int totalQuantity) {
+        this.totalQuantity = totalQuantity;
+    }
+
+    /**
+     * Returns the shipping ZIP code.
+     *
+     * @return the shipping ZIP code.
+     */
+    public Long getShippingZipcode() {
+        return shippingZipcode;
+    }
+
+    /**
+     * Sets the shipping ZIP code.
+     *
+     * @param shippingZipcode The shipping ZIP code.
+     */
+    public void setShippingZipcode(Long shippingZipcode) {
+        this.shippingZipcode = shippingZipcode;
+    }
+
+    /**
+     * Returns the order item ID.
+     *
+     * @return the order item ID.
+     */
+    public Long getOrderItemId() {
+        return orderItemId;
+    }
+
+    /**
+     * Sets the order item ID.
+     *
+     * @param orderItemId The order item ID.
+     */
+    public void setOrderItemId(Long orderItemId) {
+        this.orderItemId = orderItemId;
+    }
+
+    /**
+     * Returns the item ID.
+     *
+     * @return the item ID.
+     */
+    public Long getItemId() {
+        return itemId;
+    }
+
+    /**
+     * Sets the item ID.
+     *
+     * @param itemId The item ID.
+     */
+    public void setItemId(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    /**
+     * Returns the SKU of the item.
+     *
+     * @return the SKU of the item.
+     */
+    public Long getSkuId() {
+        return skuId;
+    }
+
+    /**
+     * Sets the SKU of the item.
+     *
+     * @param skuId The SKU of the item.
+     */
+    public void setSkuId(Long skuId) {
+        this.skuId = skuId;
+    }
+
+    /**
+     * Returns the item name.
+     *
+     * @return the item name.
+     */
+    public String getItemName() {
+        return itemName;
+    }
+
+    /**
+     * Sets the item name.
+     *
+     * @param itemName The item name.
+     */
+    public void setItemName(String itemName) {
+        this.itemName = itemName;
+    }
+
+    /**
+     * Returns the ordered quantity of the item.
+     *
+     * @return the ordered quantity of the item.
+     */
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Sets the ordered quantity of the item.
+     *
+     * @param quantity The ordered quantity of the item.
+     */
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    /**
+     * Returns the unit price of the item.
+     *
+     * @return the unit price of the item.
+     */
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    /**
+     * Sets the unit price of the item.
+     *
+     * @param unitPrice The unit price of the item.
+     */
+    public void setUnitPrice(BigDecimal unitPrice) {
+        this.unitPrice = unitPrice;
+    }
+
+    /**
+     * Returns the total price of the item.
+     *
+     * @return the total price of the item.
+     */
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+
+    /**
+     * Sets the total price of the item.
+     *
+     * @param totalPrice The total price of the item.
+     */
+    public void setTotalPrice(BigDecimal totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+}
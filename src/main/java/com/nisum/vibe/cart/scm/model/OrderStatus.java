@@ -5,16 +5,41 @@ package com.nisum.vibe.cart.scm.model;
  * <p>
  * Defines various stages an order can be in, from confirmation to delivery, including intermediate statuses such as
  * being with the courier, on the way, and out for delivery. It also includes statuses for cancellation and completion.
+ * Each status carries the message shown to customers tracking their order.
  * </p>
  */
 public enum OrderStatus {
-    SHIPPED,
-    CONFIRMED,        // Order has been confirmed
-    DISPATCHED,       // Order has been dispatched
-    PICKUP_COURIER,   // Order is with the courier for pickup
-    ON_THE_WAY,       // Order is on its way
-    OUT_FOR_DELIVERY, // Order is out for delivery
-    DELIVERED,        // Order has been delivered
-    CANCELLED,          // Order has been canceled
-    COMPLETED         // Order is Completed
+    SHIPPED("Your order has been shipped from logistics."),
+    CONFIRMED("Your order has been confirmed and is being prepared."),                   // Order has been confirmed
+    DISPATCHED("Your order has been dispatched and is on its way to the courier."),      // Order has been dispatched
+    PICKUP_COURIER("Your order is with the courier for pickup."),                        // Order is with the courier for pickup
+    ON_THE_WAY("Your order is on the way."),                                             // Order is on its way
+    OUT_FOR_DELIVERY("Your order is out for delivery."),                                 // Order is out for delivery
+    DELIVERED("Your order has been delivered."),                                         // Order has been delivered
+    CANCELLED("Your order has been canceled."),                                          // Order has been canceled
+    COMPLETED("Your order is in an undefined state.");                                   // Order is Completed
+
+    private final String trackingMessage;
+
+    OrderStatus(String trackingMessage) {
+        this.trackingMessage = trackingMessage;
+    }
+
+    /**
+     * Returns the message shown to a customer tracking an order in this status.
+     *
+     * @return the tracking message.
+     */
+    public String getTrackingMessage() {
+        return trackingMessage;
+    }
+
+    /**
+     * Returns whether no further status changes are expected once an order reaches this status.
+     *
+     * @return {@code true} for delivered, cancelled and completed orders.
+     */
+    public boolean isTerminal() {
+        return this == DELIVERED || this == CANCELLED || this == COMPLETED;
+    }
 }
@@ -0,0 +1,109 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) pushed to clients subscribed to the status of an order.
+ * <p>
+ * Contains the order ID, the new status, the customer facing tracking message and the time of the change.
+ * </p>
+ */
+public class OrderStatusUpdate {
+
+    private String orderId;
+    private OrderStatus orderStatus;
+    private String message;
+    private Instant updatedDate;
+
+    /**
+     * Default constructor.
+     */
+    public OrderStatusUpdate() {
+    }
+
+    /**
+     * Constructs an OrderStatusUpdate with the specified parameters.
+     *
+     * @param orderId     the ID of the order
+     * @param orderStatus the current status of the order
+     * @param updatedDate the time of the status change
+     */
+    public OrderStatusUpdate(String orderId, OrderStatus orderStatus, Instant updatedDate) {
+        this.orderId = orderId;
+        this.orderStatus = orderStatus;
+        this.message = orderStatus.getTrackingMessage();
+        this.updatedDate = updatedDate;
+    }
+
+    /**
+     * Returns the ID of the order.
+     *
+     * @return the order ID
+     */
+    public String getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * Sets the ID of the order.
+     *
+     * @param orderId the order ID
+     */
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    /**
+     * Returns the current status of the order.
+     *
+     * @return the order status
+     */
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    /**
+     * Sets the current status of the order.
+     *
+     * @param orderStatus the order status
+     */
+    public void setOrderStatus(OrderStatus orderStatus) {
+        this.orderStatus = orderStatus;
+    }
+
+    /**
+     * Returns the customer facing tracking message.
+     *
+     * @return the tracking message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Sets the customer facing tracking message.
+     *
+     * @param message the tracking message
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Returns the time of the status change.
+     *
+     * @return the update time
+     */
+    public Instant getUpdatedDate() {
+        return updatedDate;
+    }
+
+    /**
+     * Sets the time of the status change.
+     *
+     * @param updatedDate the update time
+     */
+    public void setUpdatedDate(Instant updatedDate) {
+        this.updatedDate = updatedDate;
+    }
+}
@@ -0,0 +1,34 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.time.Instant;
+
+/**
+ * Closed projection over an order that exposes only its identifier, status and last update time.
+ * <p>
+ * Used by status-only queries so that polling and index warm-up never materialize the full
+ * {@code Order} entity with its embedded customer and addresses.
+ * </p>
+ */
+public interface OrderStatusView {
+
+    /**
+     * Returns the unique identifier of the order.
+     *
+     * @return the order ID.
+     */
+    String getOrderId();
+
+    /**
+     * Returns the current status of the order.
+     *
+     * @return the order status.
+     */
+    OrderStatus getOrderStatus();
+
+    /**
+     * Returns the time the order was last updated.
+     *
+     * @return the last update time.
+     */
+    Instant getUpdatedDate();
+}
@@ -0,0 +1,85 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Data Transfer Object (DTO) for representing the stock of a SKU in one warehouse that is still on the shelf but not
+ * available, read during stock reconciliation.
+ */
+public class PendingStockQuantity {
+
+    private Long sku;
+    private int quantityReserved;
+    private int quantityLeased;
+
+    /**
+     * Default constructor for creating an empty instance of {@code PendingStockQuantity}.
+     */
+    public PendingStockQuantity() {
+    }
+
+    /**
+     * Constructs a new {@code PendingStockQuantity} with the specified details.
+     *
+     * @param sku              The SKU.
+     * @param quantityReserved The quantity held by checkout quotes or ordered by orders that have not been dispatched.
+     * @param quantityLeased   The quantity leased to instances and not used yet.
+     */
+    public PendingStockQuantity(Long sku, int quantityReserved, int quantityLeased) {
+        this.sku = sku;
+        this.quantityReserved = quantityReserved;
+        this.quantityLeased = quantityLeased;
+    }
+
+    /**
+     * Returns the SKU.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Sets the SKU.
+     *
+     * @param sku The SKU.
+     */
+    public void setSku(Long sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Returns the quantity held by checkout quotes or ordered by orders that have not been dispatched.
+     *
+     * @return the reserved quantity.
+     */
+    public int getQuantityReserved() {
+        return quantityReserved;
+    }
+
+    /**
+     * Sets the quantity held by checkout quotes or ordered by orders that have not been dispatched.
+     *
+     * @param quantityReserved The reserved quantity.
+     */
+    public void setQuantityReserved(int quantityReserved) {
+        this.quantityReserved = quantityReserved;
+    }
+
+    /**
+     * Returns the quantity leased to instances and not used yet.
+     *
+     * @return the unused leased quantity.
+     */
+    public int getQuantityLeased() {
+        return quantityLeased;
+    }
+
+    /**
+     * Sets the quantity leased to instances and not used yet.
+     *
+     * @param quantityLeased The unused leased quantity.
+     */
+    public void setQuantityLeased(int quantityLeased) {
+        this.quantityLeased = quantityLeased;
+    }
+}
@@ -0,0 +1,84 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Represents a request to set or clear the reorder threshold of a SKU in a warehouse.
+ */
+public class ReorderThresholdRequest {
+
+    private Long sku;
+    private String warehouseId;
+    private Integer reorderThreshold;
+
+    /**
+     * Default constructor for creating an empty instance of {@code ReorderThresholdRequest}.
+     */
+    public ReorderThresholdRequest() {
+    }
+
+    /**
+     * Constructs a new {@code ReorderThresholdRequest} with the specified details.
+     *
+     * @param sku              The SKU.
+     * @param warehouseId      The warehouse ID.
+     * @param reorderThreshold The reorder threshold, or null to stop watching the record.
+     */
+    public ReorderThresholdRequest(Long sku, String warehouseId, Integer reorderThreshold) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.reorderThreshold = reorderThreshold;
+    }
+
+    /**
+     * Returns the SKU.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Sets the SKU.
+     *
+     * @param sku The SKU.
+     */
+    public void setSku(Long sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Returns the warehouse ID.
+     *
+     * @return the warehouse ID.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Sets the warehouse ID.
+     *
+     * @param warehouseId The warehouse ID.
+     */
+    public void setWarehouseId(String warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    /**
+     * Returns the reorder threshold, or null to stop watching the record.
+     *
+     * @return the reorder threshold, or null to stop watching the record.
+     */
+    public Integer getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    /**
+     * Sets the reorder threshold, or null to stop watching the record.
+     *
+     * @param reorderThreshold The reorder threshold, or null to stop watching the record.
+     */
+    public void setReorderThreshold(Integer reorderThreshold) {
+        this.reorderThreshold = reorderThreshold;
+    }
+}
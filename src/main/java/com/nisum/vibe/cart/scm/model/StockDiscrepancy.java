@@ -0,0 +1,168 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Data Transfer Object (DTO) for representing a difference between a warehouse snapshot and the inventory.
+ */
+public class StockDiscrepancy {
+
+    private long lineNumber;
+    private String warehouseId;
+    private Long sku;
+    private StockDiscrepancyType type;
+    private Integer previousQuantityAvailable;
+    private Integer reconciledQuantityAvailable;
+    private String message;
+
+    /**
+     * Default constructor for creating an empty instance of {@code StockDiscrepancy}.
+     */
+    public StockDiscrepancy() {
+    }
+
+    /**
+     * Constructs a new {@code StockDiscrepancy} with the specified details.
+     *
+     * @param lineNumber                  The snapshot line number, starting at 1, or 0 for inventory records missing from the snapshot.
+     * @param warehouseId                 The warehouse ID.
+     * @param sku                         The SKU.
+     * @param type                        The kind of discrepancy.
+     * @param previousQuantityAvailable   The available quantity before reconciliation.
+     * @param reconciledQuantityAvailable The available quantity derived from the snapshot.
+     * @param message                     The description of the discrepancy.
+     */
+    public StockDiscrepancy(long lineNumber, String warehouseId, Long sku, StockDiscrepancyType type, Integer previousQuantityAvailable, Integer reconciledQuantityAvailable, String message) {
+        this.lineNumber = lineNumber;
+        this.warehouseId = warehouseId;
+        this.sku = sku;
+        this.type = type;
+        this.previousQuantityAvailable = previousQuantityAvailable;
+        this.reconciledQuantityAvailable = reconciledQuantityAvailable;
+        this.message = message;
+    }
+
+    /**
+     * Returns the snapshot line number, starting at 1, or 0 for inventory records missing from the snapshot.
+     *
+     * @return the snapshot line number, starting at 1, or 0 for inventory records missing from the snapshot.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Sets the snapshot line number, starting at 1, or 0 for inventory records missing from the snapshot.
+     *
+     * @param lineNumber The snapshot line number, starting at 1, or 0 for inventory records missing from the snapshot.
+     */
+    public void setLineNumber(long lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Returns the warehouse ID.
+     *
+     * @return the warehouse ID.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Sets the warehouse ID.
+     *
+     * @param warehouseId The warehouse ID.
+     */
+    public void setWarehouseId(String warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    /**
+     * Returns the SKU.
+     *
+     * @return the SKU.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Sets the SKU.
+     *
+     * @param sku The SKU.
+     */
+    public void setSku(Long sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Returns the kind of discrepancy.
+     *
+     * @return the kind of discrepancy.
+     */
+    public StockDiscrepancyType getType() {
+        return type;
+    }
+
+    /**
+     * Sets the kind of discrepancy.
+     *
+     * @param type The kind of discrepancy.
+     */
+    public void setType(StockDiscrepancyType type) {
+        this.type = type;
+    }
+
+    /**
+     * Returns the available quantity before reconciliation.
+     *
+     * @return the available quantity before reconciliation.
+     */
+    public Integer getPreviousQuantityAvailable() {
+        return previousQuantityAvailable;
+    }
+
+    /**
+     * Sets the available quantity before reconciliation.
+     *
+     * @param previousQuantityAvailable The available quantity before reconciliation.
+     */
+    public void setPreviousQuantityAvailable(Integer previousQuantityAvailable) {
+        this.previousQuantityAvailable = previousQuantityAvailable;
+    }
+
+    /**
+     * Returns the available quantity derived from the snapshot.
+     *
+     * @return the available quantity derived from the snapshot.
+     */
+    public Integer getReconciledQuantityAvailable() {
+        return reconciledQuantityAvailable;
+    }
+
+    /**
+     * Sets the available quantity derived from the snapshot.
+     *
+     * @param reconciledQuantityAvailable The available quantity derived from the snapshot.
+     */
+    public void setReconciledQuantityAvailable(Integer reconciledQuantityAvailable) {
+        this.reconciledQuantityAvailable = reconciledQuantityAvailable;
+    }
+
+    /**
+     * Returns the description of the discrepancy.
+     *
+     * @return the description of the discrepancy.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Sets the description of the discrepancy.
+     *
+     * @param message The description of the discrepancy.
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,21 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Enumeration representing the kinds of discrepancy found when reconciling stock against a warehouse snapshot.
+ * <p>
+ * <ul>
+ *     <li><b>QUANTITY_CHANGED:</b> The available quantity was corrected to match the counted on-hand quantity.</li>
+ *     <li><b>NOT_STOCKED:</b> The snapshot counts a SKU that has no inventory record in the warehouse.</li>
+ *     <li><b>MISSING_FROM_SNAPSHOT:</b> The warehouse has an inventory record for a SKU the snapshot does not count.</li>
+ *     <li><b>CONCURRENT_UPDATE:</b> The inventory record changed while it was being reconciled and was left as is.</li>
+ *     <li><b>INVALID_LINE:</b> The snapshot line could not be parsed, is invalid or is out of order.</li>
+ * </ul>
+ * </p>
+ */
+public enum StockDiscrepancyType {
+    QUANTITY_CHANGED,
+    NOT_STOCKED,
+    MISSING_FROM_SNAPSHOT,
+    CONCURRENT_UPDATE,
+    INVALID_LINE
+}
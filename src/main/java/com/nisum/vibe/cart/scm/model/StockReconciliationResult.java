@@ -0,0 +1,154 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for representing the outcome of a stock reconciliation.
+ * <p>
+ * This class encapsulates:
+ * <ul>
+ *     <li>The number of snapshot lines read and inventory records compared.</li>
+ *     <li>The number of inventory records whose available quantity was corrected.</li>
+ *     <li>The number of discrepancies and, up to a limit, the details of each.</li>
+ * </ul>
+ * </p>
+ */
+public class StockReconciliationResult {
+
+    private long linesRead;
+    private long rowsCompared;
+    private long rowsUpdated;
+    private long discrepancyCount;
+    private List<StockDiscrepancy> discrepancies = new ArrayList<>();
+    private boolean discrepanciesTruncated;
+
+    /**
+     * Default constructor for creating an empty instance of {@code StockReconciliationResult}.
+     */
+    public StockReconciliationResult() {
+    }
+
+    /**
+     * Returns the number of non-blank snapshot lines read.
+     *
+     * @return the number of non-blank snapshot lines read.
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * Sets the number of non-blank snapshot lines read.
+     *
+     * @param linesRead The number of non-blank snapshot lines read.
+     */
+    public void setLinesRead(long linesRead) {
+        this.linesRead = linesRead;
+    }
+
+    /**
+     * Returns the number of inventory records compared with a snapshot line.
+     *
+     * @return the number of inventory records compared with a snapshot line.
+     */
+    public long getRowsCompared() {
+        return rowsCompared;
+    }
+
+    /**
+     * Sets the number of inventory records compared with a snapshot line.
+     *
+     * @param rowsCompared The number of inventory records compared with a snapshot line.
+     */
+    public void setRowsCompared(long rowsCompared) {
+        this.rowsCompared = rowsCompared;
+    }
+
+    /**
+     * Returns the number of inventory records whose available quantity was corrected.
+     *
+     * @return the number of inventory records whose available quantity was corrected.
+     */
+    public long getRowsUpdated() {
+        return rowsUpdated;
+    }
+
+    /**
+     * Sets the number of inventory records whose available quantity was corrected.
+     *
+     * @param rowsUpdated The number of inventory records whose available quantity was corrected.
+     */
+    public void setRowsUpdated(long rowsUpdated) {
+        this.rowsUpdated = rowsUpdated;
+    }
+
+    /**
+     * Returns the number of discrepancies found.
+     *
+     * @return the number of discrepancies found.
+     */
+    public long getDiscrepancyCount() {
+        return discrepancyCount;
+    }
+
+    /**
+     * Sets the number of discrepancies found.
+     *
+     * @param discrepancyCount The number of discrepancies found.
+     */
+    public void setDiscrepancyCount(long discrepancyCount) {
+        this.discrepancyCount = discrepancyCount;
+    }
+
+    /**
+     * Returns the reported discrepancies, in the order they were found.
+     *
+     * @return the reported discrepancies, in the order they were found.
+     */
+    public List<StockDiscrepancy> getDiscrepancies() {
+        return discrepancies;
+    }
+
+    /**
+     * Sets the reported discrepancies, in the order they were found.
+     *
+     * @param discrepancies The reported discrepancies, in the order they were found.
+     */
+    public void setDiscrepancies(List<StockDiscrepancy> discrepancies) {
+        this.discrepancies = discrepancies;
+    }
+
+    /**
+     * Returns whether more discrepancies were found than are reported.
+     *
+     * @return whether more discrepancies were found than are reported.
+     */
+    public boolean isDiscrepanciesTruncated() {
+        return discrepanciesTruncated;
+    }
+
+    /**
+     * Sets whether more discrepancies were found than are reported.
+     *
+     * @param discrepanciesTruncated Whether more discrepancies were found than are reported.
+     */
+    public void setDiscrepanciesTruncated(boolean discrepanciesTruncated) {
+        this.discrepanciesTruncated = discrepanciesTruncated;
+    }
+
+    /**
+     * Records a discrepancy, keeping at most {@code maxReportedDiscrepancies} discrepancy details.
+     *
+     * @param discrepancy              the discrepancy.
+     * @param maxReportedDiscrepancies the maximum number of discrepancies to report.
+     */
+    public void addDiscrepancy(StockDiscrepancy discrepancy, int maxReportedDiscrepancies) {
+        discrepancyCount++;
+        if (discrepancies.size() < maxReportedDiscrepancies) {
+            discrepancies.add(discrepancy);
+        } else {
+            discrepanciesTruncated = true;
+        }
+    }
+}
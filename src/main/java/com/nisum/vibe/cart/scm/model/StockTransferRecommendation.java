@@ -0,0 +1,151 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Data Transfer Object (DTO) for representing a proposed move of stock from a warehouse with slow demand for a SKU to
+ * one with fast demand.
+ * <p>
+ * Velocities are the decayed demand rates, in units per day, that the recommendation was based on.
+ * </p>
+ */
+public class StockTransferRecommendation {
+
+    private Long sku;
+    private String fromWarehouseId;
+    private String toWarehouseId;
+    private Integer quantity;
+    private Double fromVelocity;
+    private Double toVelocity;
+
+    /**
+     * Default constructor for creating an empty instance of {@code StockTransferRecommendation}.
+     */
+    public StockTransferRecommendation() {
+    }
+
+    /**
+     * Constructs a new {@code StockTransferRecommendation} with the specified details.
+     *
+     * @param sku             The SKU to move.
+     * @param fromWarehouseId The warehouse to move stock from.
+     * @param toWarehouseId   The warehouse to move stock to.
+     * @param quantity        The quantity to move.
+     * @param fromVelocity    The demand velocity at the source warehouse.
+     * @param toVelocity      The demand velocity at the destination warehouse.
+     */
+    public StockTransferRecommendation(Long sku, String fromWarehouseId, String toWarehouseId, Integer quantity, Double fromVelocity, Double toVelocity) {
+        this.sku = sku;
+        this.fromWarehouseId = fromWarehouseId;
+        this.toWarehouseId = toWarehouseId;
+        this.quantity = quantity;
+        this.fromVelocity = fromVelocity;
+        this.toVelocity = toVelocity;
+    }
+
+    /**
+     * Returns the SKU to move.
+     *
+     * @return the SKU to move.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Sets the SKU to move.
+     *
+     * @param sku The SKU to move.
+     */
+    public void setSku(Long sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Returns the warehouse to move stock from.
+     *
+     * @return the warehouse to move stock from.
+     */
+    public String getFromWarehouseId() {
+        return fromWarehouseId;
+    }
+
+    /**
+     * Sets the warehouse to move stock from.
+     *
+     * @param fromWarehouseId The warehouse to move stock from.
+     */
+    public void setFromWarehouseId(String fromWarehouseId) {
+        this.fromWarehouseId = fromWarehouseId;
+    }
+
+    /**
+     * Returns the warehouse to move stock to.
+     *
+     * @return the warehouse to move stock to.
+     */
+    public String getToWarehouseId() {
+        return toWarehouseId;
+    }
+
+    /**
+     * Sets the warehouse to move stock to.
+     *
+     * @param toWarehouseId The warehouse to move stock to.
+     */
+    public void setToWarehouseId(String toWarehouseId) {
+        this.toWarehouseId = toWarehouseId;
+    }
+
+    /**
+     * Returns the quantity to move.
+     *
+     * @return the quantity to move.
+     */
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Sets the quantity to move.
+     *
+     * @param quantity The quantity to move.
+     */
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    /**
+     * Returns the demand velocity at the source warehouse.
+     *
+     * @return the demand velocity at the source warehouse.
+     */
+    public Double getFromVelocity() {
+        return fromVelocity;
+    }
+
+    /**
+     * Sets the demand velocity at the source warehouse.
+     *
+     * @param fromVelocity The demand velocity at the source warehouse.
+     */
+    public void setFromVelocity(Double fromVelocity) {
+        this.fromVelocity = fromVelocity;
+    }
+
+    /**
+     * Returns the demand velocity at the destination warehouse.
+     *
+     * @return the demand velocity at the destination warehouse.
+     */
+    public Double getToVelocity() {
+        return toVelocity;
+    }
+
+    /**
+     * Sets the demand velocity at the destination warehouse.
+     *
+     * @param toVelocity The demand velocity at the destination warehouse.
+     */
+    public void setToVelocity(Double toVelocity) {
+        this.toVelocity = toVelocity;
+    }
+}
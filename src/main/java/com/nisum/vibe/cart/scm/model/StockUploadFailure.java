@@ -0,0 +1,63 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Data Transfer Object (DTO) for representing a line of a bulk stock upload that could not be applied.
+ */
+public class StockUploadFailure {
+
+    private long lineNumber;
+    private String message;
+
+    /**
+     * Default constructor for creating an empty instance of {@code StockUploadFailure}.
+     */
+    public StockUploadFailure() {
+    }
+
+    /**
+     * Constructs a new {@code StockUploadFailure} with the specified details.
+     *
+     * @param lineNumber The line number in the uploaded file, starting at 1.
+     * @param message    The reason the line was rejected.
+     */
+    public StockUploadFailure(long lineNumber, String message) {
+        this.lineNumber = lineNumber;
+        this.message = message;
+    }
+
+    /**
+     * Returns the line number in the uploaded file, starting at 1.
+     *
+     * @return the line number in the uploaded file, starting at 1.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Sets the line number in the uploaded file, starting at 1.
+     *
+     * @param lineNumber The line number in the uploaded file, starting at 1.
+     */
+    public void setLineNumber(long lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Returns the reason the line was rejected.
+     *
+     * @return the reason the line was rejected.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Sets the reason the line was rejected.
+     *
+     * @param message The reason the line was rejected.
+     */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
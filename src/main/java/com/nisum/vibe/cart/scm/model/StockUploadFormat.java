@@ -0,0 +1,50 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Enumeration representing the file formats accepted by the bulk stock upload.
+ * <p>
+ * <ul>
+ *     <li><b>CSV:</b> Comma separated values with a header line naming the {@code sku}, {@code warehouseId},
+ *     {@code quantityToAdd} and optional {@code itemId} columns.</li>
+ *     <li><b>NDJSON:</b> One JSON object per line with the same property names.</li>
+ * </ul>
+ * </p>
+ */
+public enum StockUploadFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    StockUploadFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Returns the media type of the format.
+     *
+     * @return the media type.
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Resolves the format of a request from its content type.
+     *
+     * @param contentType the content type of the request, may include parameters such as a charset.
+     * @return the matching format, or {@code null} if the content type is not supported.
+     */
+    public static StockUploadFormat fromContentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        String mediaType = contentType.split(";")[0].trim();
+        for (StockUploadFormat format : values()) {
+            if (format.mediaType.equalsIgnoreCase(mediaType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Data Transfer Object (DTO) for representing one line of a bulk stock upload.
+ * <p>
+ * The item ID is only needed when the SKU is not stocked in the warehouse yet and a new inventory record has to be created.
+ * </p>
+ */
+public class StockUploadLine {
+
+    private Long sku;
+    private String warehouseId;
+    private Integer quantityToAdd;
+    private Long itemId;
+
+    /**
+     * Default constructor for creating an empty instance of {@code StockUploadLine}.
+     */
+    public StockUploadLine() {
+    }
+
+    /**
+     * Constructs a new {@code StockUploadLine} with the specified details.
+     *
+     * @param sku           The SKU identifier.
+     * @param warehouseId   The ID of the receiving warehouse.
+     * @param quantityToAdd The quantity received.
+     * @param itemId        The item ID of the SKU, or {@code null} if the inventory record already exists.
+     */
+    public StockUploadLine(Long sku, String warehouseId, Integer quantityToAdd, Long itemId) {
+        this.sku = sku;
+        this.warehouseId = warehouseId;
+        this.quantityToAdd = quantityToAdd;
+        this.itemId = itemId;
+    }
+
+    /**
+     * Returns the SKU identifier.
+     *
+     * @return the SKU identifier.
+     */
+    public Long getSku() {
+        return sku;
+    }
+
+    /**
+     * Sets the SKU identifier.
+     *
+     * @param sku The SKU identifier.
+     */
+    public void setSku(Long sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Returns the ID of the receiving warehouse.
+     *
+     * @return the ID of the receiving warehouse.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Sets the ID of the receiving warehouse.
+     *
+     * @param warehouseId The ID of the receiving warehouse.
+     */
+    public void setWarehouseId(String warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    /**
+     * Returns the quantity received.
+     *
+     * @return the quantity received.
+     */
+    public Integer getQuantityToAdd() {
+        return quantityToAdd;
+    }
+
+    /**
+     * Sets the quantity received.
+     *
+     * @param quantityToAdd The quantity received.
+     */
+    public void setQuantityToAdd(Integer quantityToAdd) {
+        this.quantityToAdd = quantityToAdd;
+    }
+
+    /**
+     * Returns the item ID of the SKU, or {@code null} if the inventory record already exists.
+     *
+     * @return the item ID of the SKU, or {@code null} if the inventory record already exists.
+     */
+    public Long getItemId() {
+        return itemId;
+    }
+
+    /**
+     * Sets the item ID of the SKU, or {@code null} if the inventory record already exists.
+     *
+     * @param itemId The item ID of the SKU, or {@code null} if the inventory record already exists.
+     */
+    public void setItemId(Long itemId) {
+        this.itemId = itemId;
+    }
+}
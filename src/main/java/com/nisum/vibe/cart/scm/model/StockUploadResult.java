@@ -0,0 +1,137 @@
+package com.nisum.vibe.cart.scm.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for representing the outcome of a bulk stock upload.
+ * <p>
+ * This class encapsulates:
+ * <ul>
+ *     <li>The number of non-blank lines read.</li>
+ *     <li>The number of inventory records changed after coalescing duplicate SKU and warehouse lines.</li>
+ *     <li>The number of lines that could not be applied and, up to a limit, the reason for each.</li>
+ * </ul>
+ * </p>
+ */
+public class StockUploadResult {
+
+    private long linesRead;
+    private long rowsApplied;
+    private long linesFailed;
+    private List<StockUploadFailure> failures = new ArrayList<>();
+    private boolean failuresTruncated;
+
+    /**
+     * Default constructor for creating an empty instance of {@code StockUploadResult}.
+     */
+    public StockUploadResult() {
+    }
+
+    /**
+     * Returns the number of non-blank lines read.
+     *
+     * @return the number of lines read.
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * Sets the number of non-blank lines read.
+     *
+     * @param linesRead the number of lines read.
+     */
+    public void setLinesRead(long linesRead) {
+        this.linesRead = linesRead;
+    }
+
+    /**
+     * Returns the number of inventory records changed.
+     *
+     * @return the number of rows applied.
+     */
+    public long getRowsApplied() {
+        return rowsApplied;
+    }
+
+    /**
+     * Sets the number of inventory records changed.
+     *
+     * @param rowsApplied the number of rows applied.
+     */
+    public void setRowsApplied(long rowsApplied) {
+        this.rowsApplied = rowsApplied;
+    }
+
+    /**
+     * Returns the number of lines that could not be applied.
+     *
+     * @return the number of failed lines.
+     */
+    public long getLinesFailed() {
+        return linesFailed;
+    }
+
+    /**
+     * Sets the number of lines that could not be applied.
+     *
+     * @param linesFailed the number of failed lines.
+     */
+    public void setLinesFailed(long linesFailed) {
+        this.linesFailed = linesFailed;
+    }
+
+    /**
+     * Returns the reported failures, in line order.
+     *
+     * @return the failures.
+     */
+    public List<StockUploadFailure> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Sets the reported failures.
+     *
+     * @param failures the failures.
+     */
+    public void setFailures(List<StockUploadFailure> failures) {
+        this.failures = failures;
+    }
+
+    /**
+     * Returns whether more lines failed than are reported in {@link #getFailures()}.
+     *
+     * @return {@code true} if the failure report was truncated.
+     */
+    public boolean isFailuresTruncated() {
+        return failuresTruncated;
+    }
+
+    /**
+     * Sets whether the failure report was truncated.
+     *
+     * @param failuresTruncated {@code true} if the failure report was truncated.
+     */
+    public void setFailuresTruncated(boolean failuresTruncated) {
+        this.failuresTruncated = failuresTruncated;
+    }
+
+    /**
+     * Records failed lines, keeping at most {@code maxReportedFailures} failure details.
+     *
+     * @param lineNumber          the (first) failed line number.
+     * @param lineCount           the number of lines the failure covers.
+     * @param message             the reason the line was rejected.
+     * @param maxReportedFailures the maximum number of failures to report.
+     */
+    public void addFailure(long lineNumber, int lineCount, String message, int maxReportedFailures) {
+        linesFailed += lineCount;
+        if (failures.size() < maxReportedFailures) {
+            failures.add(new StockUploadFailure(lineNumber, message));
+        } else {
+            failuresTruncated = true;
+        }
+    }
+}
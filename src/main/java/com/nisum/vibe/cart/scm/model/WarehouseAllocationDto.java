@@ -0,0 +1,63 @@
+package com.nisum.vibe.cart.scm.model;
+
+/**
+ * Data Transfer Object (DTO) for representing the quantity of a quote line allocated from one warehouse.
+ */
+public class WarehouseAllocationDto {
+
+    private String warehouseId;
+    private Integer quantity;
+
+    /**
+     * Default constructor for creating an empty instance of {@code WarehouseAllocationDto}.
+     */
+    public WarehouseAllocationDto() {
+    }
+
+    /**
+     * Constructs a new {@code WarehouseAllocationDto} with the specified details.
+     *
+     * @param warehouseId The ID of the warehouse the stock is allocated from.
+     * @param quantity    The quantity allocated from the warehouse.
+     */
+    public WarehouseAllocationDto(String warehouseId, Integer quantity) {
+        this.warehouseId = warehouseId;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Returns the ID of the warehouse the stock is allocated from.
+     *
+     * @return the ID of the warehouse the stock is allocated from.
+     */
+    public String getWarehouseId() {
+        return warehouseId;
+    }
+
+    /**
+     * Sets the ID of the warehouse the stock is allocated from.
+     *
+     * @param warehouseId The ID of the warehouse the stock is allocated from.
+     */
+    public void setWarehouseId(String warehouseId) {
+        this.warehouseId = warehouseId;
+    }
+
+    /**
+     * Returns the quantity allocated from the warehouse.
+     *
+     * @return the quantity allocated from the warehouse.
+     */
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Sets the quantity allocated from the warehouse.
+     *
+     * @param quantity The quantity allocated from the warehouse.
+     */
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
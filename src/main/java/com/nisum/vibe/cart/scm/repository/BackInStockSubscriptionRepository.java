@@ -0,0 +1,33 @@
+package com.nisum.vibe.cart.scm.repository;
+
+import com.nisum.vibe.cart.scm.dao.BackInStockSubscription;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repository interface for performing CRUD operations on {@link BackInStockSubscription} entities.
+ * <p>
+ * Subscriptions of a SKU are read in pages ordered by subscription ID using the {@code (sku, customer_id)} unique
+ * index, so the fan-out of a popular SKU never loads all of its subscribers at once.
+ * </p>
+ */
+@Repository
+public interface BackInStockSubscriptionRepository extends JpaRepository<BackInStockSubscription, Long> {
+
+    boolean existsBySkuAndCustomerId(Long sku, Long customerId);
+
+    @Query("select s from BackInStockSubscription s where s.sku = :sku and s.subscriptionId > :afterId order by s.subscriptionId")
+    List<BackInStockSubscription> findPageBySku(@Param("sku") Long sku, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("delete from BackInStockSubscription s where s.sku = :sku and s.customerId = :customerId")
+    int deleteBySkuAndCustomerId(@Param("sku") Long sku, @Param("customerId") Long customerId);
+}
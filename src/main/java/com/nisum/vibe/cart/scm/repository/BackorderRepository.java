@@ -0,0 +1,50 @@
+package com.nisum.vibe.cart.scm.repository;
+
+import com.nisum.vibe.cart.scm.dao.Backorder;
+import com.nisum.vibe.cart.scm.model.BackorderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for performing CRUD operations on {@link Backorder} entities.
+ */
+@Repository
+public interface BackorderRepository extends JpaRepository<Backorder, Long> {
+
+    /**
+     * Locks the next page of a SKU's backorders in FIFO order, using the {@code (sku, status, backorder_id)} index so
+     * that only the queue of that SKU is read. Locked rows are waited for rather than skipped, because skipping a
+     * backorder would let a younger one overtake it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Backorder b where b.sku = :sku and b.status = :status and b.backorderId > :afterId order by b.backorderId")
+    List<Backorder> findQueuedForUpdate(@Param("sku") Long sku, @Param("status") BackorderStatus status,
+                                        @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Locks the backorders of an order in the given statuses, in the same FIFO order the allocator uses.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Backorder b where b.orderReference = :orderReference and b.status in :statuses order by b.backorderId")
+    List<Backorder> findByOrderReferenceForUpdate(@Param("orderReference") String orderReference, @Param("statuses") Collection<BackorderStatus> statuses);
+
+    /**
+     * Returns which of the given SKUs have backorders in a status.
+     */
+    @Query("select distinct b.sku from Backorder b where b.sku in :skus and b.status = :status")
+    List<Long> findSkusWithStatus(@Param("skus") Collection<Long> skus, @Param("status") BackorderStatus status);
+
+    /**
+     * Returns, per SKU, the quantity of waiting backorders not yet allocated, as {@code [sku, quantity]} pairs.
+     */
+    @Query("select b.sku, sum(b.quantity - b.quantityAllocated) from Backorder b where b.status = :status group by b.sku")
+    List<Object[]> sumOutstandingBySku(@Param("status") BackorderStatus status);
+}
@@ -0,0 +1,26 @@
+package com.nisum.vibe.cart.scm.repository;
+
+import com.nisum.vibe.cart.scm.dao.InboundSupply;
+import com.nisum.vibe.cart.scm.model.InboundSupplyStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for performing CRUD operations on {@link InboundSupply} entities.
+ */
+@Repository
+public interface InboundSupplyRepository extends JpaRepository<InboundSupply, Long> {
+
+    Stream<InboundSupply> streamByStatus(InboundSupplyStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from InboundSupply s where s.inboundSupplyId = :inboundSupplyId")
+    Optional<InboundSupply> findByIdForUpdate(@Param("inboundSupplyId") Long inboundSupplyId);
+}
@@ -0,0 +1,324 @@
+package com.nisum.vibe.cart.scm.repository;
+
+import com.nisum.vibe.cart.scm.model.InventoryLocationResponse;
+import com.nisum.vibe.cart.scm.model.HoldStatus;
+import com.nisum.vibe.cart.scm.model.InventoryQuantityRow;
+import com.nisum.vibe.cart.scm.model.LeaseStatus;
+import com.nisum.vibe.cart.scm.model.OrderStatus;
+import com.nisum.vibe.cart.scm.model.PendingStockQuantity;
+import com.nisum.vibe.cart.scm.model.StockUploadLine;
+import com.nisum.vibe.cart.scm.util.ChangeVersionClock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * JDBC repository for set-based writes to the {@code vibe_cart_inventory} table.
+ * <p>
+ * The statements are executed as JDBC batches. With {@code rewriteBatchedStatements=true} on the datasource URL the
+ * MySQL driver sends each batch as a few multi-row statements instead of one round trip per row, which is what makes
+ * bulk uploads fast. The persistence context is bypassed, so these methods must not be mixed with managed
+ * {@code Inventory} entities for the same rows in one transaction. Because entity callbacks do not run, every
+ * statement that modifies a record sets its {@code change_version} from {@link ChangeVersionClock} itself.
+ * </p>
+ */
+@Repository
+public class InventoryBulkRepository {
+
+    private static final String UPSERT_STOCK_SQL =
+            "INSERT INTO vibe_cart_inventory (item_id, sku, warehouse_id, quantity_available, quantity_on_hold, quantity_on_order, last_updated_date, change_version) " +
+                    "VALUES (?, ?, ?, ?, 0, 0, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE quantity_available = quantity_available + VALUES(quantity_available), " +
+                    "last_updated_date = VALUES(last_updated_date), change_version = VALUES(change_version)";
+
+    private static final String ADD_STOCK_SQL =
+            "UPDATE vibe_cart_inventory SET quantity_available = quantity_available + ?, last_updated_date = ?, change_version = ? " +
+                    "WHERE sku = ? AND warehouse_id = ?";
+
+    private static final String FIND_QUANTITY_PAGE_SQL =
+            "SELECT inventory_id, sku, quantity_available, quantity_on_order FROM vibe_cart_inventory " +
+                    "WHERE warehouse_id = ? AND sku > ? ORDER BY sku LIMIT ?";
+
+    private static final String FIND_PENDING_QUANTITIES_SQL =
+            "SELECT sku, SUM(quantity_reserved) AS quantity_reserved, SUM(quantity_leased) AS quantity_leased FROM (" +
+                    "SELECT h.sku, h.quantity AS quantity_reserved, 0 AS quantity_leased FROM vibe_cart_stock_hold h " +
+                    "WHERE h.warehouse_id = ? AND h.status = ? " +
+                    "UNION ALL SELECT l.sku, 0, l.quantity_leased - l.quantity_used FROM vibe_cart_stock_lease l " +
+                    "WHERE l.warehouse_id = ? AND l.status = ? " +
+                    "UNION ALL SELECT i.sku_id, i.quantity, 0 FROM vibe_cart_orders o " +
+                    "JOIN vibe_cart_order_items i ON i.order_id = o.order_id " +
+                    "JOIN vibe_cart_warehouse w ON o.shipping_zip_Code BETWEEN w.zipcode_start AND w.zipcode_end " +
+                    "WHERE w.warehouse_id = ? AND o.orderStatus = ?" +
+                    ") pending GROUP BY sku";
+
+    private static final String SET_AVAILABLE_SQL =
+            "UPDATE vibe_cart_inventory SET quantity_available = ?, last_updated_date = ?, change_version = ? " +
+                    "WHERE inventory_id = ? AND quantity_available = ? AND COALESCE(quantity_on_order, 0) = ?";
+
+    private static final String RESERVE_SQL =
+            "UPDATE vibe_cart_inventory SET quantity_available = quantity_available - ?, " +
+                    "quantity_on_order = COALESCE(quantity_on_order, 0) + ?, quantity_on_hold = COALESCE(quantity_on_hold, 0) + ?, " +
+                    "last_updated_date = ?, change_version = ? WHERE inventory_id = ? AND quantity_available >= ?";
+
+    private static final String LEASE_STOCK_SQL =
+            "UPDATE vibe_cart_inventory SET quantity_available = quantity_available - ?, last_updated_date = ?, change_version = ? " +
+                    "WHERE inventory_id = ? AND quantity_available >= ?";
+
+    private static final String RETURN_STOCK_SQL =
+            "UPDATE vibe_cart_inventory SET quantity_available = quantity_available + ?, last_updated_date = ?, change_version = ? " +
+                    "WHERE inventory_id = ?";
+
+    private static final String RESERVE_LEASED_SQL =
+            "UPDATE vibe_cart_inventory SET quantity_on_order = COALESCE(quantity_on_order, 0) + ?, " +
+                    "quantity_on_hold = COALESCE(quantity_on_hold, 0) + ?, last_updated_date = ?, change_version = ? WHERE inventory_id = ?";
+
+    private static final String STREAM_INVENTORY_LOCATIONS_SQL =
+            "SELECT warehouse_id, sku, quantity_available, quantity_on_hold FROM vibe_cart_inventory ORDER BY warehouse_id, sku";
+
+    private static final String BACKFILL_CHANGE_VERSION_SQL =
+            "UPDATE vibe_cart_inventory SET change_version = ? WHERE change_version IS NULL";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds stock to the inventory records of the given lines, creating the records that do not exist yet.
+     * Every line must carry an item ID.
+     *
+     * @param lines the lines to apply.
+     */
+    public void upsertStock(List<StockUploadLine> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        Date today = Date.valueOf(LocalDate.now());
+        jdbcTemplate.batchUpdate(UPSERT_STOCK_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setLong(1, line.getItemId());
+            ps.setLong(2, line.getSku());
+            ps.setString(3, line.getWarehouseId());
+            ps.setInt(4, line.getQuantityToAdd());
+            ps.setDate(5, today);
+            ps.setLong(6, ChangeVersionClock.next());
+        });
+    }
+
+    /**
+     * Adds stock to existing inventory records.
+     *
+     * @param lines the lines to apply.
+     * @return for each line, whether an inventory record was updated.
+     */
+    public boolean[] addStock(List<StockUploadLine> lines) {
+        boolean[] updated = new boolean[lines.size()];
+        if (lines.isEmpty()) {
+            return updated;
+        }
+        Date today = Date.valueOf(LocalDate.now());
+        int[][] updateCounts = jdbcTemplate.batchUpdate(ADD_STOCK_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getQuantityToAdd());
+            ps.setDate(2, today);
+            ps.setLong(3, ChangeVersionClock.next());
+            ps.setLong(4, line.getSku());
+            ps.setString(5, line.getWarehouseId());
+        });
+        int index = 0;
+        for (int[] batchCounts : updateCounts) {
+            for (int updateCount : batchCounts) {
+                updated[index++] = updateCount > 0 || updateCount == Statement.SUCCESS_NO_INFO;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Reads the next page of a warehouse's inventory records in SKU order, using the
+     * {@code (warehouse_id, sku)} index so that a whole warehouse can be walked with constant memory.
+     *
+     * @param warehouseId the warehouse ID.
+     * @param afterSku    the last SKU of the previous page, or {@code 0} for the first page.
+     * @param limit       the maximum number of records to return.
+     * @return the records with a SKU greater than {@code afterSku}, ordered by SKU.
+     */
+    public List<InventoryQuantityRow> findQuantityPage(String warehouseId, long afterSku, int limit) {
+        return jdbcTemplate.query(FIND_QUANTITY_PAGE_SQL, (rs, rowNum) -> new InventoryQuantityRow(
+                rs.getLong("inventory_id"),
+                rs.getLong("sku"),
+                rs.getInt("quantity_available"),
+                rs.getInt("quantity_on_order")), warehouseId, afterSku, limit);
+    }
+
+    /**
+     * Returns, per SKU, the stock of a warehouse that is still on the shelf but not available: the quantity of active
+     * checkout quote holds and of confirmed orders that have not been dispatched, and the unused quantity of active
+     * stock leases. Orders record no warehouse, so they are attributed to the warehouse serving their shipping ZIP code.
+     *
+     * @param warehouseId the warehouse ID.
+     * @return the pending quantities of the SKUs that have any.
+     */
+    public List<PendingStockQuantity> findPendingQuantities(String warehouseId) {
+        return jdbcTemplate.query(FIND_PENDING_QUANTITIES_SQL, (rs, rowNum) -> new PendingStockQuantity(
+                rs.getLong("sku"),
+                rs.getInt("quantity_reserved"),
+                rs.getInt("quantity_leased")),
+                warehouseId, HoldStatus.ACTIVE.name(), warehouseId, LeaseStatus.ACTIVE.name(), warehouseId, OrderStatus.CONFIRMED.name());
+    }
+
+    /**
+     * Sets the available quantity of inventory records. A record is only updated if its available quantity and
+     * quantity on order are still the ones that were read, so concurrent reservations are never overwritten.
+     *
+     * @param rows                the records as they were read.
+     * @param quantitiesAvailable the new available quantity of each record.
+     * @return for each record, whether it was updated.
+     */
+    public boolean[] setAvailableQuantities(List<InventoryQuantityRow> rows, List<Integer> quantitiesAvailable) {
+        boolean[] updated = new boolean[rows.size()];
+        if (rows.isEmpty()) {
+            return updated;
+        }
+        Date today = Date.valueOf(LocalDate.now());
+        int[] updateCounts = jdbcTemplate.batchUpdate(SET_AVAILABLE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                InventoryQuantityRow row = rows.get(i);
+                ps.setInt(1, quantitiesAvailable.get(i));
+                ps.setDate(2, today);
+                ps.setLong(3, ChangeVersionClock.next());
+                ps.setLong(4, row.getInventoryId());
+                ps.setInt(5, row.getQuantityAvailable());
+                ps.setInt(6, row.getQuantityOnOrder());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        for (int i = 0; i < updateCounts.length; i++) {
+            updated[i] = updateCounts[i] > 0 || updateCounts[i] == Statement.SUCCESS_NO_INFO;
+        }
+        return updated;
+    }
+
+    /**
+     * Moves reserved quantities from available to on order and on hold. The change is applied relative to the
+     * current values, so it never overwrites concurrent changes, and a record is only updated if it still has the
+     * quantity available.
+     *
+     * @param reservations {@code [inventoryId, quantity]} pairs to apply.
+     * @return for each pair, whether the record was updated.
+     */
+    public boolean[] applyReservations(List<long[]> reservations) {
+        boolean[] updated = new boolean[reservations.size()];
+        if (reservations.isEmpty()) {
+            return updated;
+        }
+        Date today = Date.valueOf(LocalDate.now());
+        int[] updateCounts = jdbcTemplate.batchUpdate(RESERVE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                long[] reservation = reservations.get(i);
+                ps.setLong(1, reservation[1]);
+                ps.setLong(2, reservation[1]);
+                ps.setLong(3, reservation[1]);
+                ps.setDate(4, today);
+                ps.setLong(5, ChangeVersionClock.next());
+                ps.setLong(6, reservation[0]);
+                ps.setLong(7, reservation[1]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return reservations.size();
+            }
+        });
+        for (int i = 0; i < updateCounts.length; i++) {
+            updated[i] = updateCounts[i] > 0 || updateCounts[i] == Statement.SUCCESS_NO_INFO;
+        }
+        return updated;
+    }
+
+    /**
+     * Takes stock out of the available quantity of an inventory record for a stock lease.
+     *
+     * @param inventoryId the inventory record.
+     * @param quantity    the quantity to lease.
+     * @return {@code true} if the record had the quantity available and was updated.
+     */
+    public boolean leaseStock(long inventoryId, int quantity) {
+        return jdbcTemplate.update(LEASE_STOCK_SQL, quantity, Date.valueOf(LocalDate.now()), ChangeVersionClock.next(), inventoryId, quantity) > 0;
+    }
+
+    /**
+     * Returns the unused stock of a stock lease to the available quantity of an inventory record.
+     *
+     * @param inventoryId the inventory record.
+     * @param quantity    the quantity to return.
+     */
+    public void returnStock(long inventoryId, int quantity) {
+        jdbcTemplate.update(RETURN_STOCK_SQL, quantity, Date.valueOf(LocalDate.now()), ChangeVersionClock.next(), inventoryId);
+    }
+
+    /**
+     * Records reservations served from stock leases as on order and on hold. The stock already left the available
+     * quantity when it was leased, so the available quantity is not changed.
+     *
+     * @param reservations {@code [inventoryId, quantity]} pairs to apply, at most one per record.
+     */
+    public void reserveLeasedStock(List<long[]> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+        Date today = Date.valueOf(LocalDate.now());
+        jdbcTemplate.batchUpdate(RESERVE_LEASED_SQL, reservations, reservations.size(), (ps, reservation) -> {
+            ps.setLong(1, reservation[1]);
+            ps.setLong(2, reservation[1]);
+            ps.setDate(3, today);
+            ps.setLong(4, ChangeVersionClock.next());
+            ps.setLong(5, reservation[0]);
+        });
+    }
+
+    /**
+     * Streams the quantities of every inventory record, ordered by warehouse ID and SKU.
+     * <p>
+     * The query uses a forward-only, read-only statement with a fetch size of {@link Integer#MIN_VALUE}, which makes
+     * the MySQL driver stream rows from the server one at a time instead of buffering the whole result, so the heap
+     * used does not depend on the number of records. The connection is held until the last row has been handled.
+     * </p>
+     *
+     * @param consumer receives each record in turn.
+     */
+    public void streamInventoryLocations(Consumer<InventoryLocationResponse> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(STREAM_INVENTORY_LOCATIONS_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            int availableQuantity = rs.getInt("quantity_available");
+            int reservedQuantity = rs.getInt("quantity_on_hold");
+            consumer.accept(new InventoryLocationResponse(rs.getString("warehouse_id"), rs.getLong("sku"),
+                    availableQuantity, reservedQuantity, availableQuantity + reservedQuantity));
+        });
+    }
+
+    /**
+     * Assigns a change version to inventory records created before change versions were introduced.
+     *
+     * @return the number of records updated.
+     */
+    public int backfillChangeVersions() {
+        return jdbcTemplate.update(BACKFILL_CHANGE_VERSION_SQL, ChangeVersionClock.next());
+    }
+}
@@ -0,0 +1,186 @@
+package com.nisum.vibe.cart.scm.repository;
+
+import com.nisum.vibe.cart.scm.model.InventoryCounterRow;
+import com.nisum.vibe.cart.scm.util.ChangeVersionClock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC repository for the inventory integrity check.
+ * <p>
+ * The check compares the reservation counters of the inventory with the stock holds, orders and backorders they
+ * should reflect. Every read is a bounded keyset page or an aggregate over the SKU range of one page, run without a
+ * surrounding transaction, so no locks are held between pages and the check can run alongside live traffic.
+ * </p>
+ */
+@Repository
+public class InventoryIntegrityRepository {
+
+    private static final String FIND_COUNTER_PAGE_SQL =
+            "SELECT inventory_id, sku, quantity_on_hold, quantity_on_order, last_updated_date FROM vibe_cart_inventory " +
+                    "WHERE warehouse_id = ? AND sku > ? ORDER BY sku LIMIT ?";
+
+    private static final String SUM_ACTIVE_HOLDS_IN_WAREHOUSE_SQL =
+            "SELECT sku, SUM(quantity) AS quantity FROM vibe_cart_stock_hold " +
+                    "WHERE status = 'ACTIVE' AND warehouse_id = ? AND sku BETWEEN ? AND ? GROUP BY sku";
+
+    private static final String FIND_ORDER_COUNTER_PAGE_SQL =
+            "SELECT sku, SUM(COALESCE(quantity_on_order, 0)) AS quantity FROM vibe_cart_inventory " +
+                    "WHERE sku > ? GROUP BY sku ORDER BY sku LIMIT ?";
+
+    private static final String SUM_ORDERED_SQL =
+            "SELECT i.sku_id AS sku, SUM(i.quantity) AS quantity FROM vibe_cart_order_items i " +
+                    "JOIN vibe_cart_orders o ON o.order_id = i.order_id " +
+                    "WHERE o.orderStatus <> 'CANCELLED' AND i.sku_id BETWEEN ? AND ? GROUP BY i.sku_id";
+
+    private static final String SUM_ACTIVE_HOLDS_SQL =
+            "SELECT sku, SUM(quantity) AS quantity FROM vibe_cart_stock_hold " +
+                    "WHERE status = 'ACTIVE' AND sku BETWEEN ? AND ? GROUP BY sku";
+
+    private static final String SUM_WAITING_BACKORDERS_SQL =
+            "SELECT sku, SUM(quantity - quantity_allocated) AS quantity FROM vibe_cart_backorder " +
+                    "WHERE status = 'WAITING' AND sku BETWEEN ? AND ? GROUP BY sku";
+
+    private static final String SET_ON_HOLD_SQL =
+            "UPDATE vibe_cart_inventory SET quantity_on_hold = ?, last_updated_date = ?, change_version = ? " +
+                    "WHERE inventory_id = ? AND COALESCE(quantity_on_hold, 0) = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reads the next page of a warehouse's reservation counters in SKU order, using the
+     * {@code (warehouse_id, sku)} index.
+     *
+     * @param warehouseId the warehouse ID.
+     * @param afterSku    the last SKU of the previous page, or {@code 0} for the first page.
+     * @param limit       the maximum number of records to return.
+     * @return the records with a SKU greater than {@code afterSku}, ordered by SKU.
+     */
+    public List<InventoryCounterRow> findCounterPage(String warehouseId, long afterSku, int limit) {
+        return jdbcTemplate.query(FIND_COUNTER_PAGE_SQL, (rs, rowNum) -> {
+            Date lastUpdatedDate = rs.getDate("last_updated_date");
+            return new InventoryCounterRow(
+                    rs.getLong("inventory_id"),
+                    rs.getLong("sku"),
+                    rs.getInt("quantity_on_hold"),
+                    rs.getInt("quantity_on_order"),
+                    lastUpdatedDate == null ? null : lastUpdatedDate.toLocalDate());
+        }, warehouseId, afterSku, limit);
+    }
+
+    /**
+     * Sums the active stock holds of a warehouse per SKU within a SKU range.
+     *
+     * @param warehouseId the warehouse ID.
+     * @param fromSku     the first SKU of the range.
+     * @param toSku       the last SKU of the range.
+     * @return the held quantity per SKU; SKUs without active holds are absent.
+     */
+    public Map<Long, Integer> sumActiveHolds(String warehouseId, long fromSku, long toSku) {
+        return sumBySku(SUM_ACTIVE_HOLDS_IN_WAREHOUSE_SQL, warehouseId, fromSku, toSku);
+    }
+
+    /**
+     * Reads the next page of the quantity on order per SKU, summed across warehouses, in SKU order.
+     *
+     * @param afterSku the last SKU of the previous page, or {@code 0} for the first page.
+     * @param limit    the maximum number of SKUs to return.
+     * @return {@code [sku, quantityOnOrder]} pairs ordered by SKU.
+     */
+    public List<long[]> findOrderCounterPage(long afterSku, int limit) {
+        return jdbcTemplate.query(FIND_ORDER_COUNTER_PAGE_SQL, (rs, rowNum) -> new long[]{rs.getLong("sku"), rs.getLong("quantity")}, afterSku, limit);
+    }
+
+    /**
+     * Sums the ordered quantity of all orders that are not cancelled per SKU within a SKU range.
+     *
+     * @param fromSku the first SKU of the range.
+     * @param toSku   the last SKU of the range.
+     * @return the ordered quantity per SKU; SKUs without orders are absent.
+     */
+    public Map<Long, Integer> sumOrderedQuantities(long fromSku, long toSku) {
+        return sumBySku(SUM_ORDERED_SQL, null, fromSku, toSku);
+    }
+
+    /**
+     * Sums the active stock holds of all warehouses per SKU within a SKU range.
+     *
+     * @param fromSku the first SKU of the range.
+     * @param toSku   the last SKU of the range.
+     * @return the held quantity per SKU; SKUs without active holds are absent.
+     */
+    public Map<Long, Integer> sumActiveHolds(long fromSku, long toSku) {
+        return sumBySku(SUM_ACTIVE_HOLDS_SQL, null, fromSku, toSku);
+    }
+
+    /**
+     * Sums the unallocated quantity of waiting backorders per SKU within a SKU range.
+     *
+     * @param fromSku the first SKU of the range.
+     * @param toSku   the last SKU of the range.
+     * @return the outstanding quantity per SKU; SKUs without waiting backorders are absent.
+     */
+    public Map<Long, Integer> sumWaitingBackorders(long fromSku, long toSku) {
+        return sumBySku(SUM_WAITING_BACKORDERS_SQL, null, fromSku, toSku);
+    }
+
+    /**
+     * Sets the quantity on hold of inventory records as one batch. A record is only updated if its quantity on hold
+     * is still the one that was read, so concurrent holds and confirmations are never overwritten.
+     *
+     * @param rows             the records as they were read.
+     * @param quantitiesOnHold the new quantity on hold of each record.
+     * @return for each record, whether it was updated.
+     */
+    public boolean[] setQuantitiesOnHold(List<InventoryCounterRow> rows, List<Integer> quantitiesOnHold) {
+        boolean[] updated = new boolean[rows.size()];
+        if (rows.isEmpty()) {
+            return updated;
+        }
+        Date today = Date.valueOf(LocalDate.now());
+        int[] updateCounts = jdbcTemplate.batchUpdate(SET_ON_HOLD_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                InventoryCounterRow row = rows.get(i);
+                ps.setInt(1, quantitiesOnHold.get(i));
+                ps.setDate(2, today);
+                ps.setLong(3, ChangeVersionClock.next());
+                ps.setLong(4, row.getInventoryId());
+                ps.setInt(5, row.getQuantityOnHold());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        for (int i = 0; i < updateCounts.length; i++) {
+            updated[i] = updateCounts[i] > 0 || updateCounts[i] == Statement.SUCCESS_NO_INFO;
+        }
+        return updated;
+    }
+
+    private Map<Long, Integer> sumBySku(String sql, String warehouseId, long fromSku, long toSku) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        RowCallbackHandler handler = rs -> quantities.put(rs.getLong("sku"), rs.getInt("quantity"));
+        if (warehouseId == null) {
+            jdbcTemplate.query(sql, handler, fromSku, toSku);
+        } else {
+            jdbcTemplate.query(sql, handler, warehouseId, fromSku, toSku);
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,42 @@
+package com.nisum.vibe.cart.scm.repository;
+
+import com.nisum.vibe.cart.scm.dao.InventoryOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for performing CRUD operations on {@link InventoryOutboxEvent} entities.
+ */
+@Repository
+public interface InventoryOutboxRepository extends JpaRepository<InventoryOutboxEvent, Long> {
+
+    /**
+     * Locks the oldest page of outbox events that are not claimed, or whose claim has expired. A lock timeout of
+     * {@code -2} is rendered as {@code SKIP LOCKED}, so relays running on other nodes pick disjoint events.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("select e from InventoryOutboxEvent e where e.claimedUntil is null or e.claimedUntil < :now order by e.outboxId")
+    List<InventoryOutboxEvent> findUnclaimedForUpdate(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Releases the claim on outbox events whose delivery failed, so that the next run retries them.
+     *
+     * @return the number of events released.
+     */
+    @Modifying
+    @Query("update InventoryOutboxEvent e set e.claimedUntil = null where e.outboxId in :outboxIds")
+    int releaseClaims(@Param("outboxIds") Collection<Long> outboxIds);
+}
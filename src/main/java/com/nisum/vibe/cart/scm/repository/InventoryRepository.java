@@ -2,13 +2,25 @@ package com.nisum.vibe.cart.scm.repository;
 
 import com.nisum.vibe.cart.scm.dao.Inventory;
 import com.nisum.vibe.cart.scm.dao.Warehouse;
+import com.nisum.vibe.cart.scm.model.InventoryChangeDto;
+import com.nisum.vibe.cart.scm.model.InventoryStockView;
+import com.nisum.vibe.cart.scm.model.LowStockDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 /**
  * Repository interface for performing CRUD operations on {@link Inventory} entities.
@@ -31,6 +43,17 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
             nativeQuery = true)
     List<Inventory> findBySkuAndAvailableQuantityGreaterThanZero(@Param("sku") Long sku, @Param("warehouseId") String warehouseId);
 
+    /**
+     * Loads and write-locks the inventory records of a SKU with stock available, skipping the records that are
+     * locked by other transactions instead of waiting for them. The record of the given warehouse comes first,
+     * followed by the others with the most stock first.
+     */
+    @Query(
+            value = "SELECT * FROM vibe_cart_inventory WHERE sku = :sku AND quantity_available > 0 " +
+                    "ORDER BY warehouse_id = :warehouseId DESC, quantity_available DESC FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Inventory> findAvailableBySkuForUpdateSkipLocked(@Param("sku") Long sku, @Param("warehouseId") String warehouseId);
+
     List<Inventory> findByItemId(Long itemId);
 
     @Query(value = "SELECT * FROM vibe_cart_inventory WHERE sku = :sku AND quantity_on_hold > 0", nativeQuery = true)
@@ -45,4 +68,64 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
             value = "SELECT * FROM vibe_cart_inventory WHERE sku = :sku AND warehouse_id = :warehouseId",
             nativeQuery = true)
     Inventory findBySkuAndWarehouseId(Long sku, String warehouseId);
+
+    List<Inventory> findBySkuIn(Collection<Long> skus);
+
+    /**
+     * Loads and write-locks every inventory record of the given SKUs. Rows are locked in primary key order so that
+     * concurrent callers locking overlapping SKUs cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Inventory i where i.sku in :skus order by i.inventoryId")
+    List<Inventory> findBySkuInForUpdate(@Param("skus") Collection<Long> skus);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Inventory i where i.inventoryId in :inventoryIds order by i.inventoryId")
+    List<Inventory> findByInventoryIdInForUpdate(@Param("inventoryIds") Collection<Long> inventoryIds);
+
+    @Query("select i.sku as sku, i.warehouse.warehouseId as warehouseId, i.quantityAvailable as quantityAvailable " +
+            "from Inventory i where i.sku in :skus")
+    List<InventoryStockView> findStockLevelsBySkuIn(@Param("skus") Collection<Long> skus);
+
+    /**
+     * Streams the SKU, warehouse and available quantity of every inventory record with stock available.
+     * A fetch size of {@code Integer.MIN_VALUE} makes the MySQL driver stream rows instead of buffering
+     * the whole result set; the caller must consume it inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select i.sku as sku, i.warehouse.warehouseId as warehouseId, i.quantityAvailable as quantityAvailable " +
+            "from Inventory i where i.quantityAvailable > 0")
+    Stream<InventoryStockView> streamInStockLevels();
+
+    /**
+     * Returns the inventory records modified after a change feed position and no later than {@code upTo}, ordered by
+     * change version and inventory ID so that the {@code (change_version, inventory_id)} index serves the keyset.
+     */
+    @Query("select new com.nisum.vibe.cart.scm.model.InventoryChangeDto(i.inventoryId, i.itemId, i.sku, i.warehouse.warehouseId, " +
+            "i.quantityAvailable, i.quantityOnHold, i.quantityOnOrder, i.lastUpdatedDate, i.changeVersion, i.reorderThreshold) from Inventory i " +
+            "where (i.changeVersion > :since or (i.changeVersion = :since and i.inventoryId > :afterId)) and i.changeVersion <= :upTo " +
+            "order by i.changeVersion, i.inventoryId")
+    List<InventoryChangeDto> findChangesAfter(@Param("since") long since, @Param("afterId") long afterId, @Param("upTo") long upTo, Pageable pageable);
+
+    /**
+     * Streams every inventory record that has a reorder threshold. Rows are streamed as in
+     * {@link #streamInStockLevels()}; the caller must consume them inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select new com.nisum.vibe.cart.scm.model.LowStockDto(i.inventoryId, i.sku, i.warehouse.warehouseId, i.quantityAvailable, " +
+            "i.reorderThreshold) from Inventory i where i.reorderThreshold is not null")
+    Stream<LowStockDto> streamReorderThresholds();
+
+    /**
+     * Returns the inventory records at or below their reorder threshold after a keyset position, ordered by available
+     * quantity and inventory ID so that the {@code (quantity_available, inventory_id)} index serves both the range
+     * and the order.
+     */
+    @Query("select new com.nisum.vibe.cart.scm.model.LowStockDto(i.inventoryId, i.sku, i.warehouse.warehouseId, i.quantityAvailable, " +
+            "i.reorderThreshold) from Inventory i where i.quantityAvailable <= i.reorderThreshold " +
+            "and (i.quantityAvailable > :afterQuantity or (i.quantityAvailable = :afterQuantity and i.inventoryId > :afterId)) " +
+            "and (:warehouseId is null or i.warehouse.warehouseId = :warehouseId) " +
+            "order by i.quantityAvailable, i.inventoryId")
+    List<LowStockDto> findLowStockAfter(@Param("warehouseId") String warehouseId, @Param("afterQuantity") int afterQuantity,
+                                        @Param("afterId") long afterId, Pageable pageable);
 }
@@ -0,0 +1,114 @@
+package com.nisum.vibe.cart.scm.repository;
+
+import com.nisum.vibe.cart.scm.model.OrderExportCursor;
+import com.nisum.vibe.cart.scm.model.OrderExportLine;
+import com.nisum.vibe.cart.scm.model.OrderStatus;
+import com.nisum.vibe.cart.scm.model.PaymentMethod;
+import com.nisum.vibe.cart.scm.model.PaymentStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * JDBC repository for streaming the order export.
+ * <p>
+ * Orders are joined with their items in one query and read through a forward-only cursor with a fetch size of
+ * {@link Integer#MIN_VALUE}, so the MySQL driver streams rows instead of buffering the result and no entities are
+ * loaded into a persistence context.
+ * </p>
+ */
+@Repository
+public class OrderExportRepository {
+
+    private static final String SELECT_ORDER_LINES_SQL =
+            "SELECT o.order_id, o.order_date, o.customerId, o.orderStatus, o.paymentStatus, o.paymentMethod, o.total_amount, " +
+                    "o.sub_total, o.discount_price, o.offer_id, o.total_quantity, o.shipping_zip_Code, " +
+                    "i.order_item_id, i.item_id, i.sku_id, i.item_name, i.quantity, i.unit_price, i.total_price " +
+                    "FROM vibe_cart_orders o LEFT JOIN vibe_cart_order_items i ON i.order_id = o.order_id WHERE 1 = 1";
+
+    private static final String ORDER_BY_SQL = " ORDER BY o.order_date, o.order_id, i.order_item_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Streams the rows of the order export, ordered by order date, order ID and order item ID, so that the rows of
+     * an order are always adjacent.
+     *
+     * @param from     the earliest order date to include, or {@code null}.
+     * @param to       the order date to stop before, or {@code null}.
+     * @param status   the order status to include, or {@code null} for all statuses.
+     * @param after    the position to resume after, or {@code null} to start at the beginning.
+     * @param consumer receives each row in turn.
+     */
+    public void streamOrderLines(Timestamp from, Timestamp to, OrderStatus status, OrderExportCursor after, Consumer<OrderExportLine> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_ORDER_LINES_SQL);
+        List<Object> params = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND o.order_date >= ?");
+            params.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND o.order_date < ?");
+            params.add(to);
+        }
+        if (status != null) {
+            sql.append(" AND o.orderStatus = ?");
+            params.add(status.name());
+        }
+        if (after != null) {
+            Timestamp afterOrderDate = Timestamp.from(after.getOrderDate());
+            sql.append(" AND (o.order_date > ? OR (o.order_date = ? AND o.order_id > ?))");
+            params.add(afterOrderDate);
+            params.add(afterOrderDate);
+            params.add(after.getOrderId());
+        }
+        sql.append(ORDER_BY_SQL);
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapLine(rs)));
+    }
+
+    private static OrderExportLine mapLine(ResultSet rs) throws SQLException {
+        OrderExportLine line = new OrderExportLine();
+        line.setOrderId(rs.getString("order_id"));
+        line.setOrderDate(rs.getTimestamp("order_date").toInstant());
+        line.setCustomerId(rs.getObject("customerId", Long.class));
+        line.setOrderStatus(enumValue(OrderStatus.class, rs.getString("orderStatus")));
+        line.setPaymentStatus(enumValue(PaymentStatus.class, rs.getString("paymentStatus")));
+        line.setPaymentMethod(enumValue(PaymentMethod.class, rs.getString("paymentMethod")));
+        line.setTotalAmount(rs.getDouble("total_amount"));
+        line.setSubTotal(rs.getDouble("sub_total"));
+        line.setDiscountPrice(rs.getBigDecimal("discount_price"));
+        line.setOfferId(rs.getObject("offer_id", Long.class));
+        line.setTotalQuantity(rs.getInt("total_quantity"));
+        line.setShippingZipcode(rs.getObject("shipping_zip_Code", Long.class));
+        line.setOrderItemId(rs.getObject("order_item_id", Long.class));
+        line.setItemId(rs.getObject("item_id", Long.class));
+        line.setSkuId(rs.getObject("sku_id", Long.class));
+        line.setItemName(rs.getString("item_name"));
+        line.setQuantity(rs.getObject("quantity", Integer.class));
+        line.setUnitPrice(rs.getBigDecimal("unit_price"));
+        line.setTotalPrice(rs.getBigDecimal("total_price"));
+        return line;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String name) {
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+}
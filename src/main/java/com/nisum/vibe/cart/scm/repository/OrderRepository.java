@@ -1,13 +1,27 @@
 package com.nisum.vibe.cart.scm.repository;
 
 import com.nisum.vibe.cart.scm.dao.Order;
+import com.nisum.vibe.cart.scm.model.OrderChangeDto;
+import com.nisum.vibe.cart.scm.model.OrderDemandView;
+import com.nisum.vibe.cart.scm.model.OrderDeliveryView;
+import com.nisum.vibe.cart.scm.model.OrderStatus;
+import com.nisum.vibe.cart.scm.model.OrderStatusView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 /**
  * Repository interface for performing CRUD operations on {@link Order} entities.
@@ -21,8 +35,54 @@ public interface OrderRepository extends JpaRepository<Order, String> {
 
     List<Order> findByCustomerCustomerId(Long customerId);
 
-    @Query(value = "select * from vibe_cart_orders where shipping_zip_code = :zipcode", nativeQuery = true)
-    Optional<Order> findByShippingZipCode(@Param("zipcode") Long zipcode);
-
     Optional<Order> findById(String orderId);
+
+    @Query("select o.orderId as orderId, o.orderStatus as orderStatus, o.updatedDate as updatedDate from Order o where o.orderId = :orderId")
+    Optional<OrderStatusView> findStatusById(@Param("orderId") String orderId);
+
+    /**
+     * Streams the status of every order. A fetch size of {@code Integer.MIN_VALUE} makes the MySQL driver
+     * stream rows instead of buffering the whole result set; the caller must consume it inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select o.orderId as orderId, o.orderStatus as orderStatus, o.updatedDate as updatedDate from Order o")
+    Stream<OrderStatusView> streamAllStatuses();
+
+    /**
+     * Returns the orders updated after an order change feed position and no later than {@code upTo}, ordered by
+     * update time and order ID so that the {@code (updated_date, order_id)} index serves the keyset.
+     */
+    @Query("select new com.nisum.vibe.cart.scm.model.OrderChangeDto(o.orderId, o.orderStatus, o.paymentStatus, o.updatedDate) from Order o " +
+            "where (o.updatedDate > :since or (o.updatedDate = :since and o.orderId > :afterId)) and o.updatedDate <= :upTo " +
+            "order by o.updatedDate, o.orderId")
+    List<OrderChangeDto> findChangesAfter(@Param("since") Instant since, @Param("afterId") String afterId, @Param("upTo") Instant upTo, Pageable pageable);
+
+    /**
+     * Returns the orders in a status that were updated after a keyset position and no later than {@code upTo},
+     * ordered by update time and order ID.
+     */
+    @Query("select o.orderId as orderId, o.shippingzipCode as shippingzipCode, o.orderDate as orderDate, o.updatedDate as updatedDate from Order o " +
+            "where o.orderStatus = :status and (o.updatedDate > :since or (o.updatedDate = :since and o.orderId > :afterId)) and o.updatedDate <= :upTo " +
+            "order by o.updatedDate, o.orderId")
+    List<OrderDeliveryView> findDeliveriesAfter(@Param("status") OrderStatus status, @Param("since") Instant since, @Param("afterId") String afterId,
+                                                @Param("upTo") Instant upTo, Pageable pageable);
+
+    /**
+     * Streams the items of the orders placed since a point in time, except cancelled ones, served by the
+     * {@code (order_date, order_id)} index. Rows are streamed as in {@link #streamAllStatuses()}.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("select i.skuId as skuId, i.quantity as quantity, o.shippingzipCode as shippingzipCode, o.orderDate as orderDate " +
+            "from OrderItem i join i.order o where o.orderDate >= :since and o.orderStatus <> :excludedStatus")
+    Stream<OrderDemandView> streamDemandSince(@Param("since") Instant since, @Param("excludedStatus") OrderStatus excludedStatus);
+
+    /**
+     * Sets the updated date of orders that never had one to their creation date.
+     *
+     * @return the number of orders updated.
+     */
+    @Modifying
+    @Transactional
+    @Query("update Order o set o.updatedDate = o.createdDate where o.updatedDate is null")
+    int backfillUpdatedDates();
 }
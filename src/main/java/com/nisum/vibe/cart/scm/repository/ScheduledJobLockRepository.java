@@ -0,0 +1,27 @@
+package com.nisum.vibe.cart.scm.repository;
+
+import com.nisum.vibe.cart.scm.dao.ScheduledJobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+/**
+ * Repository interface for the claims of scheduled jobs.
+ */
+@Repository
+public interface ScheduledJobLockRepository extends JpaRepository<ScheduledJobLock, String> {
+
+    /**
+     * Claims a job whose previous claim has expired. The condition is evaluated by the update, so of several
+     * instances claiming the same job at once only one succeeds.
+     *
+     * @return {@code 1} if the job was claimed, {@code 0} if it is claimed by another run.
+     */
+    @Modifying
+    @Query("update ScheduledJobLock l set l.lockedBy = :lockedBy, l.lockedUntil = :lockedUntil where l.jobName = :jobName and l.lockedUntil <= :now")
+    int claimExpired(@Param("jobName") String jobName, @Param("lockedBy") String lockedBy, @Param("lockedUntil") Instant lockedUntil, @Param("now") Instant now);
+}
@@ -0,0 +1,42 @@
+package com.nisum.vibe.cart.scm.repository;
+
+import com.nisum.vibe.cart.scm.dao.StockHold;
+import com.nisum.vibe.cart.scm.model.HoldStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for performing CRUD operations on {@link StockHold} entities.
+ * <p>
+ * Provides the queries used to release expired holds and to consume the holds of a checkout quote once an order is placed.
+ * </p>
+ */
+@Repository
+public interface StockHoldRepository extends JpaRepository<StockHold, Long> {
+
+    /**
+     * Locks a page of active holds that expired before the given time. A lock timeout of {@code -2} is
+     * rendered as {@code SKIP LOCKED}, so concurrent release jobs on other nodes pick disjoint holds.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("select h from StockHold h where h.status = :status and h.expiresAt < :now order by h.expiresAt")
+    List<StockHold> findExpiredForUpdate(@Param("status") HoldStatus status, @Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Locks the holds of one checkout quote, so that an order and the release job never both act on them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from StockHold h where h.holdReference = :holdReference order by h.stockHoldId")
+    List<StockHold> findByHoldReferenceForUpdate(@Param("holdReference") String holdReference);
+}
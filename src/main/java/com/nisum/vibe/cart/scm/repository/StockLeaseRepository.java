@@ -0,0 +1,60 @@
+package com.nisum.vibe.cart.scm.repository;
+
+import com.nisum.vibe.cart.scm.dao.StockLease;
+import com.nisum.vibe.cart.scm.model.LeaseStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for performing CRUD operations on {@link StockLease} entities.
+ * <p>
+ * Provides the queries used to record the usage of a lease, to renew and top it up while it is active, and to
+ * settle it when it is returned or expires.
+ * </p>
+ */
+@Repository
+public interface StockLeaseRepository extends JpaRepository<StockLease, Long> {
+
+    /**
+     * Locks a page of active leases that expired before the given time. A lock timeout of {@code -2} is
+     * rendered as {@code SKIP LOCKED}, so concurrent sweeps on other nodes pick disjoint leases.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("select l from StockLease l where l.status = :status and l.expiresAt < :now order by l.expiresAt")
+    List<StockLease> findExpiredForUpdate(@Param("status") LeaseStatus status, @Param("now") Instant now, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from StockLease l where l.stockLeaseId = :stockLeaseId")
+    Optional<StockLease> findByIdForUpdate(@Param("stockLeaseId") Long stockLeaseId);
+
+    /**
+     * Adds reserved quantity to an active lease. Returns {@code 0} if the lease is no longer active, in which case its
+     * unused stock has already been returned and must not be reserved.
+     */
+    @Modifying
+    @Query("update StockLease l set l.quantityUsed = l.quantityUsed + :quantity where l.stockLeaseId = :stockLeaseId and l.status = :active")
+    int addQuantityUsed(@Param("stockLeaseId") Long stockLeaseId, @Param("quantity") int quantity, @Param("active") LeaseStatus active);
+
+    @Modifying
+    @Query("update StockLease l set l.quantityLeased = l.quantityLeased + :quantity, l.expiresAt = :expiresAt " +
+            "where l.stockLeaseId = :stockLeaseId and l.status = :active")
+    int addQuantityLeased(@Param("stockLeaseId") Long stockLeaseId, @Param("quantity") int quantity, @Param("expiresAt") Instant expiresAt,
+                          @Param("active") LeaseStatus active);
+
+    @Modifying
+    @Query("update StockLease l set l.expiresAt = :expiresAt where l.stockLeaseId = :stockLeaseId and l.status = :active")
+    int renew(@Param("stockLeaseId") Long stockLeaseId, @Param("expiresAt") Instant expiresAt, @Param("active") LeaseStatus active);
+}
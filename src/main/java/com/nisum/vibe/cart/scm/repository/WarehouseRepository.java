@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -21,4 +22,7 @@ public interface WarehouseRepository extends JpaRepository<Warehouse, Long> {
     @Query(value = "SELECT * FROM vibe_cart_warehouse WHERE :zipcode BETWEEN zipcode_start AND zipcode_end", nativeQuery = true)
     Optional<Warehouse> findWarehouseByZipcode(@Param("zipcode") Long zipcode);
 
+    @Query("select w.warehouseId from Warehouse w order by w.warehouseId")
+    List<String> findAllWarehouseIds();
+
 }
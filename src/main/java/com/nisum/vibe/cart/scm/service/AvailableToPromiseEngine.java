@@ -0,0 +1,265 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.InboundSupply;
+import com.nisum.vibe.cart.scm.event.BackorderQueueChangedEvent;
+import com.nisum.vibe.cart.scm.event.InboundSupplyChangedEvent;
+import com.nisum.vibe.cart.scm.event.InventoryLevelChangedEvent;
+import com.nisum.vibe.cart.scm.model.BackorderStatus;
+import com.nisum.vibe.cart.scm.model.InboundSupplyStatus;
+import com.nisum.vibe.cart.scm.model.InventoryStockView;
+import com.nisum.vibe.cart.scm.repository.BackorderRepository;
+import com.nisum.vibe.cart.scm.repository.InboundSupplyRepository;
+import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Time-phased available-to-promise (ATP) projections per SKU and warehouse.
+ * <p>
+ * For every SKU and warehouse the engine keeps the available quantity, which already excludes stock reserved by
+ * orders and checkout holds, and the expected inbound supply by arrival date. From these it maintains a compact
+ * projection of {@code scm.inventory.atp.horizon-days} cumulative quantities: the entry for day {@code d} is the
+ * quantity that can be promised for delivery from that warehouse {@code d} days from today. Supply that is overdue
+ * counts from today.
+ * </p>
+ * <p>
+ * Projections are loaded once at start-up and then updated incrementally from committed events: a change of the
+ * available quantity shifts the whole projection and an inbound supply change shifts it from the arrival day on, so
+ * no query runs when a projection is read. Outstanding backorders of a SKU are served from the same stock and
+ * supply first, so they are deducted when projections are combined across warehouses.
+ * </p>
+ */
+@Component
+public class AvailableToPromiseEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AvailableToPromiseEngine.class);
+
+    private final Map<Long, Map<String, Projection>> projectionsBySku = new ConcurrentHashMap<>();
+
+    private final Map<Long, Integer> backorderedBySku = new ConcurrentHashMap<>();
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InboundSupplyRepository inboundSupplyRepository;
+
+    @Autowired
+    private BackorderRepository backorderRepository;
+
+    @Value("${scm.inventory.atp.horizon-days:60}")
+    private int horizonDays;
+
+    /**
+     * Loads available quantities, expected inbound supply and outstanding backorders.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        LOGGER.info("Warming available-to-promise engine");
+        long startedAt = System.currentTimeMillis();
+        try (Stream<InventoryStockView> stockLevels = inventoryRepository.streamInStockLevels()) {
+            stockLevels.forEach(stockLevel -> onStockLevel(stockLevel.getSku(), stockLevel.getWarehouseId(), stockLevel.getQuantityAvailable()));
+        }
+        try (Stream<InboundSupply> supplies = inboundSupplyRepository.streamByStatus(InboundSupplyStatus.EXPECTED)) {
+            supplies.forEach(supply -> onSupply(supply.getSku(), supply.getWarehouseId(), supply.getExpectedDate(), supply.getQuantity()));
+        }
+        for (Object[] outstanding : backorderRepository.sumOutstandingBySku(BackorderStatus.WAITING)) {
+            onBackorderedQuantity((Long) outstanding[0], ((Number) outstanding[1]).intValue());
+        }
+        LOGGER.info("Available-to-promise engine warmed with {} SKUs in {} ms", projectionsBySku.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Applies a committed change of an inventory level.
+     *
+     * @param event the inventory level change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryLevelChanged(InventoryLevelChangedEvent event) {
+        onStockLevel(event.getSku(), event.getWarehouseId(), event.getQuantityAvailable());
+    }
+
+    /**
+     * Applies a committed change of expected inbound supply.
+     *
+     * @param event the inbound supply change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInboundSupplyChanged(InboundSupplyChangedEvent event) {
+        onSupply(event.getSku(), event.getWarehouseId(), event.getExpectedDate(), event.getQuantityDelta());
+    }
+
+    /**
+     * Applies a committed change of the outstanding backorders of a SKU.
+     *
+     * @param event the backorder queue change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBackorderQueueChanged(BackorderQueueChangedEvent event) {
+        onBackorderedQuantity(event.getSku(), event.getQuantityDelta());
+    }
+
+    /**
+     * Records the available quantity of a SKU in a warehouse.
+     *
+     * @param sku               the SKU.
+     * @param warehouseId       the warehouse ID.
+     * @param quantityAvailable the available quantity.
+     */
+    public void onStockLevel(Long sku, String warehouseId, Integer quantityAvailable) {
+        if (sku == null || warehouseId == null) {
+            return;
+        }
+        projection(sku, warehouseId).setAvailable(quantityAvailable == null ? 0 : quantityAvailable, LocalDate.now());
+    }
+
+    /**
+     * Records a change of the expected inbound supply of a SKU in a warehouse.
+     *
+     * @param sku           the SKU.
+     * @param warehouseId   the receiving warehouse.
+     * @param expectedDate  the expected arrival date.
+     * @param quantityDelta the change of the expected quantity.
+     */
+    public void onSupply(Long sku, String warehouseId, LocalDate expectedDate, int quantityDelta) {
+        if (sku == null || warehouseId == null || expectedDate == null) {
+            return;
+        }
+        projection(sku, warehouseId).addSupply(expectedDate, quantityDelta, LocalDate.now());
+    }
+
+    /**
+     * Records a change of the outstanding backordered quantity of a SKU.
+     *
+     * @param sku           the SKU.
+     * @param quantityDelta the change of the outstanding quantity.
+     */
+    public void onBackorderedQuantity(Long sku, int quantityDelta) {
+        if (sku != null) {
+            backorderedBySku.merge(sku, quantityDelta, (current, delta) -> current + delta > 0 ? current + delta : null);
+        }
+    }
+
+    /**
+     * Returns the projected quantity that can be promised for each of the next days.
+     *
+     * @param sku         the SKU.
+     * @param warehouseId the warehouse ID, or {@code null} to combine all warehouses net of outstanding backorders.
+     * @param days        the number of days to project, capped at {@code scm.inventory.atp.horizon-days}.
+     * @return the promisable quantity for today and each following day; all zero if the SKU is unknown.
+     */
+    public int[] getProjection(Long sku, String warehouseId, int days) {
+        LocalDate today = LocalDate.now();
+        int[] quantities = new int[Math.max(1, Math.min(days, horizonDays))];
+        Map<String, Projection> projections = projectionsBySku.get(sku);
+        if (projections == null) {
+            return quantities;
+        }
+        if (warehouseId != null) {
+            Projection projection = projections.get(warehouseId);
+            if (projection != null) {
+                projection.addTo(quantities, today);
+            }
+            return quantities;
+        }
+        projections.values().forEach(projection -> projection.addTo(quantities, today));
+        int backordered = backorderedBySku.getOrDefault(sku, 0);
+        for (int day = 0; day < quantities.length; day++) {
+            quantities[day] = Math.max(0, quantities[day] - backordered);
+        }
+        return quantities;
+    }
+
+    /**
+     * Returns the number of days from today until a quantity can be promised.
+     *
+     * @param projection the projection returned by {@link #getProjection(Long, String, int)}.
+     * @param quantity   the requested quantity.
+     * @return the first day on which the quantity can be promised, or {@code -1} if it cannot be within the projection.
+     */
+    public static int firstPromisableDay(int[] projection, int quantity) {
+        for (int day = 0; day < projection.length; day++) {
+            if (projection[day] >= quantity) {
+                return day;
+            }
+        }
+        return -1;
+    }
+
+    private Projection projection(Long sku, String warehouseId) {
+        return projectionsBySku.computeIfAbsent(sku, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(warehouseId, key -> new Projection(horizonDays, LocalDate.now()));
+    }
+
+    /**
+     * Cumulative ATP of one SKU in one warehouse. The projection is kept relative to {@code startDate} and rebuilt
+     * from the available quantity and supply by date when the day rolls over.
+     */
+    private static final class Projection {
+
+        private final int[] cumulative;
+        private final TreeMap<LocalDate, Integer> supplyByDate = new TreeMap<>();
+        private int available;
+        private LocalDate startDate;
+
+        private Projection(int horizonDays, LocalDate startDate) {
+            this.cumulative = new int[horizonDays];
+            this.startDate = startDate;
+        }
+
+        private synchronized void setAvailable(int quantityAvailable, LocalDate today) {
+            rollOver(today);
+            int delta = quantityAvailable - available;
+            available = quantityAvailable;
+            shift(0, delta);
+        }
+
+        private synchronized void addSupply(LocalDate expectedDate, int quantityDelta, LocalDate today) {
+            rollOver(today);
+            supplyByDate.merge(expectedDate, quantityDelta, (current, delta) -> current + delta == 0 ? null : current + delta);
+            shift(dayIndex(expectedDate), quantityDelta);
+        }
+
+        private synchronized void addTo(int[] quantities, LocalDate today) {
+            rollOver(today);
+            for (int day = 0; day < quantities.length; day++) {
+                quantities[day] += Math.max(0, cumulative[day]);
+            }
+        }
+
+        private void shift(int fromDay, int delta) {
+            for (int day = fromDay; day < cumulative.length; day++) {
+                cumulative[day] += delta;
+            }
+        }
+
+        private int dayIndex(LocalDate date) {
+            return (int) Math.max(0, Math.min(cumulative.length, ChronoUnit.DAYS.between(startDate, date)));
+        }
+
+        private void rollOver(LocalDate today) {
+            if (today.equals(startDate)) {
+                return;
+            }
+            startDate = today;
+            Arrays.fill(cumulative, available);
+            supplyByDate.forEach((date, quantity) -> shift(dayIndex(date), quantity));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
+import com.nisum.vibe.cart.scm.model.AvailableToPromiseDto;
+import com.nisum.vibe.cart.scm.model.InboundSupplyRequest;
+
+import java.util.List;
+
+/**
+ * Service interface for inbound supply and time-phased available-to-promise queries.
+ *
+ * <p>
+ * Implementations of this interface should answer available-to-promise queries from precomputed projections rather
+ * than querying stock and supply on every call.
+ */
+public interface AvailableToPromiseService {
+
+    Long registerInboundSupply(InboundSupplyRequest inboundSupplyRequest) throws InvalidInventoryRequestException;
+
+    void receiveInboundSupply(Long inboundSupplyId) throws InventoryNotFoundException, InvalidInventoryRequestException;
+
+    List<AvailableToPromiseDto> getAvailableToPromise(List<Long> skuList, String warehouseId, int days, Integer quantity) throws InvalidInventoryRequestException;
+}
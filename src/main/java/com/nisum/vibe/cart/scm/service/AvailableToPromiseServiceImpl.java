@@ -0,0 +1,154 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.InboundSupply;
+import com.nisum.vibe.cart.scm.event.InboundSupplyChangedEvent;
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
+import com.nisum.vibe.cart.scm.exception.WarehouseNotFoundException;
+import com.nisum.vibe.cart.scm.model.AvailableToPromiseDto;
+import com.nisum.vibe.cart.scm.model.InboundSupplyRequest;
+import com.nisum.vibe.cart.scm.model.InboundSupplyStatus;
+import com.nisum.vibe.cart.scm.model.SkuQuantityWarehouseDto;
+import com.nisum.vibe.cart.scm.repository.InboundSupplyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of the AvailableToPromiseService interface.
+ *
+ * <p>
+ * Inbound supply is stored in the {@code vibe_cart_inbound_supply} table and every change is published as an
+ * {@link InboundSupplyChangedEvent}, which keeps the {@link AvailableToPromiseEngine} up to date. Receiving supply adds
+ * it to stock through the {@link InventoryService}, so waiting backorders are served first. Queries are answered from
+ * the engine without touching the database.
+ * </p>
+ */
+@Service
+public class AvailableToPromiseServiceImpl implements AvailableToPromiseService {
+
+    @Autowired
+    private InboundSupplyRepository inboundSupplyRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private AvailableToPromiseEngine availableToPromiseEngine;
+
+    @Autowired
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Logger LOGGER = LoggerFactory.getLogger(AvailableToPromiseServiceImpl.class);
+
+    /**
+     * Registers supply on its way to a warehouse.
+     *
+     * @param inboundSupplyRequest the SKU, warehouse, quantity and expected arrival date.
+     * @return the ID of the inbound supply.
+     * @throws InvalidInventoryRequestException if a field is missing, the quantity is not positive or the warehouse is unknown.
+     */
+    @Override
+    @Transactional
+    public Long registerInboundSupply(InboundSupplyRequest inboundSupplyRequest) throws InvalidInventoryRequestException {
+
+        LOGGER.info("Inside registerInboundSupply() method of AvailableToPromiseServiceImpl class");
+
+        if (inboundSupplyRequest == null || inboundSupplyRequest.getSku() == null || inboundSupplyRequest.getExpectedDate() == null) {
+            throw new InvalidInventoryRequestException("A sku and expectedDate are required for inbound supply");
+        }
+        if (inboundSupplyRequest.getQuantity() == null || inboundSupplyRequest.getQuantity() <= 0) {
+            throw new InvalidInventoryRequestException("Inbound supply quantity must be positive");
+        }
+        if (inboundSupplyRequest.getWarehouseId() == null || zipDeliveryIndex.getWarehouseSlot(inboundSupplyRequest.getWarehouseId()) < 0) {
+            throw new InvalidInventoryRequestException("Unknown warehouseId: " + inboundSupplyRequest.getWarehouseId());
+        }
+
+        InboundSupply inboundSupply = inboundSupplyRepository.save(new InboundSupply(inboundSupplyRequest.getSku(), inboundSupplyRequest.getWarehouseId(),
+                inboundSupplyRequest.getQuantity(), inboundSupplyRequest.getExpectedDate()));
+        eventPublisher.publishEvent(new InboundSupplyChangedEvent(inboundSupply.getSku(), inboundSupply.getWarehouseId(),
+                inboundSupply.getExpectedDate(), inboundSupply.getQuantity()));
+        return inboundSupply.getInboundSupplyId();
+    }
+
+    /**
+     * Receives expected supply: adds its quantity to the available stock of its inventory record and removes it
+     * from the expected supply.
+     *
+     * @param inboundSupplyId the ID of the inbound supply.
+     * @throws InventoryNotFoundException       if the supply does not exist or its SKU is not stocked in the warehouse.
+     * @throws InvalidInventoryRequestException if the supply was already received.
+     */
+    @Override
+    @Transactional
+    public void receiveInboundSupply(Long inboundSupplyId) throws InventoryNotFoundException, InvalidInventoryRequestException {
+
+        LOGGER.info("Inside receiveInboundSupply() method of AvailableToPromiseServiceImpl class");
+
+        InboundSupply inboundSupply = inboundSupplyRepository.findByIdForUpdate(inboundSupplyId)
+                .orElseThrow(() -> new InventoryNotFoundException("No inbound supply found with ID: " + inboundSupplyId));
+        if (inboundSupply.getStatus() != InboundSupplyStatus.EXPECTED) {
+            throw new InvalidInventoryRequestException("Inbound supply " + inboundSupplyId + " was already received");
+        }
+
+        try {
+            inventoryService.addStockToSingleInventory(new SkuQuantityWarehouseDto(inboundSupply.getSku(), inboundSupply.getQuantity(), inboundSupply.getWarehouseId()));
+        } catch (WarehouseNotFoundException e) {
+            throw new InventoryNotFoundException(e.getMessage());
+        }
+        inboundSupply.setStatus(InboundSupplyStatus.RECEIVED);
+        inboundSupplyRepository.save(inboundSupply);
+        eventPublisher.publishEvent(new InboundSupplyChangedEvent(inboundSupply.getSku(), inboundSupply.getWarehouseId(),
+                inboundSupply.getExpectedDate(), -inboundSupply.getQuantity()));
+    }
+
+    /**
+     * Returns the time-phased available-to-promise projection of each SKU.
+     *
+     * @param skuList     the SKUs.
+     * @param warehouseId the warehouse, or {@code null} to combine all warehouses net of outstanding backorders.
+     * @param days        the number of days to project.
+     * @param quantity    the quantity to find the earliest promise date for, or {@code null}.
+     * @return one projection per SKU, in the order of the request.
+     * @throws InvalidInventoryRequestException if the number of days or the quantity is not positive.
+     */
+    @Override
+    public List<AvailableToPromiseDto> getAvailableToPromise(List<Long> skuList, String warehouseId, int days, Integer quantity) throws InvalidInventoryRequestException {
+
+        LOGGER.info("Inside getAvailableToPromise() method of AvailableToPromiseServiceImpl class");
+
+        if (days <= 0) {
+            throw new InvalidInventoryRequestException("days must be positive");
+        }
+        if (quantity != null && quantity <= 0) {
+            throw new InvalidInventoryRequestException("quantity must be positive");
+        }
+
+        LocalDate today = LocalDate.now();
+        List<AvailableToPromiseDto> projections = new ArrayList<>(skuList.size());
+        for (Long sku : skuList) {
+            int[] projection = availableToPromiseEngine.getProjection(sku, warehouseId, days);
+            List<Integer> quantities = new ArrayList<>(projection.length);
+            for (int projected : projection) {
+                quantities.add(projected);
+            }
+            LocalDate earliestDate = null;
+            if (quantity != null) {
+                int day = AvailableToPromiseEngine.firstPromisableDay(projection, quantity);
+                earliestDate = day < 0 ? null : today.plusDays(day);
+            }
+            projections.add(new AvailableToPromiseDto(sku, warehouseId, today, quantities, earliestDate));
+        }
+        return projections;
+    }
+}
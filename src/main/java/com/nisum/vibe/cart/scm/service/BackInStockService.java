@@ -0,0 +1,18 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.model.BackInStockSubscriptionRequest;
+
+/**
+ * Service interface for back-in-stock subscriptions.
+ *
+ * <p>
+ * Implementations of this interface should notify subscribers asynchronously, so that a restock never waits for the
+ * notifications it triggers.
+ */
+public interface BackInStockService {
+
+    boolean subscribe(BackInStockSubscriptionRequest subscriptionRequest) throws InvalidInventoryRequestException;
+
+    boolean unsubscribe(Long sku, Long customerId);
+}
@@ -0,0 +1,191 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.BackInStockSubscription;
+import com.nisum.vibe.cart.scm.event.BackInStockNotificationEvent;
+import com.nisum.vibe.cart.scm.event.StockReplenishedEvent;
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.model.BackInStockSubscriptionRequest;
+import com.nisum.vibe.cart.scm.repository.BackInStockSubscriptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of the BackInStockService interface that fans out back-in-stock notifications.
+ *
+ * <p>
+ * The stock-add methods of the {@link InventoryService} and bulk stock uploads publish a {@link StockReplenishedEvent}
+ * when an inventory record goes from no available stock to some. Once that transaction commits, the SKU is handed to a small pool of
+ * fan-out threads and the restock returns immediately. A restock of a SKU that is already queued is dropped, so a
+ * burst of restocks triggers one fan-out.
+ * </p>
+ *
+ * <p>
+ * The fan-out walks the SKU's subscriptions in pages of {@code scm.inventory.back-in-stock.batch-size}. Each page is
+ * published as one {@link BackInStockNotificationEvent} and deleted in its own transaction, so every subscriber is
+ * notified once and the next restock only reaches customers who subscribed after this one.
+ * </p>
+ */
+@Service
+public class BackInStockServiceImpl implements BackInStockService {
+
+    @Autowired
+    private BackInStockSubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${scm.inventory.back-in-stock.batch-size:500}")
+    private int batchSize;
+
+    @Value("${scm.inventory.back-in-stock.fan-out-threads:2}")
+    private int fanOutThreads;
+
+    private final Set<Long> queuedSkus = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService fanOutExecutor;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final Logger LOGGER = LoggerFactory.getLogger(BackInStockServiceImpl.class);
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadCount = new AtomicInteger();
+        fanOutExecutor = Executors.newFixedThreadPool(fanOutThreads, runnable -> {
+            Thread thread = new Thread(runnable, "back-in-stock-fan-out-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutExecutor.shutdown();
+    }
+
+    /**
+     * Subscribes a customer to be notified when a SKU is back in stock.
+     *
+     * @param subscriptionRequest the SKU, customer ID and email address.
+     * @return {@code true} if the subscription was created, {@code false} if the customer was already subscribed.
+     * @throws InvalidInventoryRequestException if the SKU or customer ID is missing.
+     */
+    @Override
+    public boolean subscribe(BackInStockSubscriptionRequest subscriptionRequest) throws InvalidInventoryRequestException {
+
+        LOGGER.info("Inside subscribe() method of BackInStockServiceImpl class");
+
+        if (subscriptionRequest == null || subscriptionRequest.getSku() == null || subscriptionRequest.getCustomerId() == null) {
+            throw new InvalidInventoryRequestException("A sku and customerId are required to subscribe");
+        }
+        Long sku = subscriptionRequest.getSku();
+        Long customerId = subscriptionRequest.getCustomerId();
+        if (subscriptionRepository.existsBySkuAndCustomerId(sku, customerId)) {
+            return false;
+        }
+        try {
+            subscriptionRepository.save(new BackInStockSubscription(sku, customerId, subscriptionRequest.getEmail(), Instant.now()));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request of the same customer created the subscription first.
+            return false;
+        }
+    }
+
+    /**
+     * Removes a customer's subscription to a SKU.
+     *
+     * @param sku        the SKU.
+     * @param customerId the ID of the customer.
+     * @return {@code true} if a subscription was removed.
+     */
+    @Override
+    public boolean unsubscribe(Long sku, Long customerId) {
+        LOGGER.info("Inside unsubscribe() method of BackInStockServiceImpl class");
+        return subscriptionRepository.deleteBySkuAndCustomerId(sku, customerId) > 0;
+    }
+
+    /**
+     * Queues the fan-out of a committed restock.
+     *
+     * @param event the restock.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockReplenished(StockReplenishedEvent event) {
+        Long sku = event.getSku();
+        if (sku == null || !queuedSkus.add(sku)) {
+            return;
+        }
+        try {
+            fanOutExecutor.execute(() -> {
+                queuedSkus.remove(sku);
+                try {
+                    notifySubscribers(sku);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Back-in-stock fan-out of SKU {} failed: {}", sku, e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queuedSkus.remove(sku);
+            LOGGER.warn("Back-in-stock fan-out of SKU {} was rejected: {}", sku, e.getMessage());
+        }
+    }
+
+    /**
+     * Notifies and removes every subscription of a SKU, one batch per transaction.
+     *
+     * @param sku the SKU that is back in stock.
+     * @return the number of subscribers notified.
+     */
+    int notifySubscribers(Long sku) {
+        int notified = 0;
+        long afterId = 0L;
+        while (true) {
+            long pageAfterId = afterId;
+            List<BackInStockSubscription> subscriptions = transactionTemplate.execute(status -> {
+                List<BackInStockSubscription> page = subscriptionRepository.findPageBySku(sku, pageAfterId, PageRequest.of(0, batchSize));
+                if (!page.isEmpty()) {
+                    eventPublisher.publishEvent(new BackInStockNotificationEvent(sku, page));
+                    subscriptionRepository.deleteAllInBatch(page);
+                }
+                return page;
+            });
+            if (subscriptions == null || subscriptions.isEmpty()) {
+                break;
+            }
+            notified += subscriptions.size();
+            afterId = subscriptions.get(subscriptions.size() - 1).getSubscriptionId();
+            if (subscriptions.size() < batchSize) {
+                break;
+            }
+        }
+        if (notified > 0) {
+            LOGGER.info("Notified {} subscribers that SKU {} is back in stock", notified, sku);
+        }
+        return notified;
+    }
+}
@@ -0,0 +1,144 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.Backorder;
+import com.nisum.vibe.cart.scm.dao.Inventory;
+import com.nisum.vibe.cart.scm.event.BackorderAllocatedEvent;
+import com.nisum.vibe.cart.scm.event.BackorderQueueChangedEvent;
+import com.nisum.vibe.cart.scm.model.BackorderStatus;
+import com.nisum.vibe.cart.scm.repository.BackorderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Queues order lines that cannot be reserved and allocates replenished stock to them.
+ * <p>
+ * Allocation runs inside the transaction that adds the stock, before the inventory record is saved, so replenished
+ * stock is reserved for waiting backorders before it becomes generally available. Only the queue of the replenished
+ * SKU is read, in FIFO pages of {@code scm.inventory.backorder.batch-size}, and reading stops as soon as the new
+ * stock is used up; open orders are never rescanned. The oldest backorder is served first and may be allocated
+ * partially, so a younger backorder never overtakes an older one.
+ * </p>
+ */
+@Component
+public class BackorderAllocator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BackorderAllocator.class);
+
+    @Autowired
+    private BackorderRepository backorderRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${scm.inventory.backorder.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * Queues an order line behind the existing backorders of its SKU.
+     *
+     * @param sku             the SKU.
+     * @param quantity        the quantity that could not be reserved.
+     * @param orderReference  the reference of the order the line belongs to, or {@code null}.
+     * @param customerZipcode the delivery ZIP code of the order.
+     * @return the queued backorder.
+     */
+    public Backorder queue(Long sku, int quantity, String orderReference, Long customerZipcode) {
+        Backorder backorder = backorderRepository.save(new Backorder(sku, quantity, orderReference, customerZipcode, Instant.now()));
+        eventPublisher.publishEvent(new BackorderQueueChangedEvent(sku, quantity));
+        LOGGER.info("Backordered {} units of SKU {} for order {}", quantity, sku, orderReference);
+        return backorder;
+    }
+
+    /**
+     * Cancels the backorders of an order. Their outstanding quantity was never reserved, so it leaves the queue of its
+     * SKU; the allocated part was reserved like any other order line and is reverted with the order by the caller.
+     *
+     * @param orderReference the reference of the cancelled order.
+     * @return per SKU, the backordered quantity that was never reserved.
+     */
+    public Map<Long, Integer> cancel(String orderReference) {
+        Map<Long, Integer> unreservedQuantities = new HashMap<>();
+        List<Backorder> backorders = backorderRepository.findByOrderReferenceForUpdate(orderReference,
+                Arrays.asList(BackorderStatus.WAITING, BackorderStatus.ALLOCATED));
+        for (Backorder backorder : backorders) {
+            int outstanding = backorder.getQuantityOutstanding();
+            if (outstanding > 0) {
+                unreservedQuantities.merge(backorder.getSku(), outstanding, Integer::sum);
+                eventPublisher.publishEvent(new BackorderQueueChangedEvent(backorder.getSku(), -outstanding));
+            }
+            backorder.setStatus(BackorderStatus.CANCELLED);
+        }
+        backorderRepository.saveAll(backorders);
+        if (!backorders.isEmpty()) {
+            LOGGER.info("Cancelled {} backorders of order {}", backorders.size(), orderReference);
+        }
+        return unreservedQuantities;
+    }
+
+    /**
+     * Returns which of the given SKUs have waiting backorders, so that callers adding stock in bulk only load the
+     * inventory records that have to go through {@link #allocate(Inventory)}.
+     *
+     * @param skus the SKUs.
+     * @return the SKUs with waiting backorders.
+     */
+    public Set<Long> findBackorderedSkus(Collection<Long> skus) {
+        if (skus.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(backorderRepository.findSkusWithStatus(skus, BackorderStatus.WAITING));
+    }
+
+    /**
+     * Reserves the available stock of an inventory record for the waiting backorders of its SKU. The inventory
+     * record is updated but not saved; the caller saves it in the same transaction.
+     *
+     * @param inventory the replenished inventory record.
+     * @return the quantity reserved for backorders.
+     */
+    public int allocate(Inventory inventory) {
+        int available = inventory.getQuantityAvailable() == null ? 0 : inventory.getQuantityAvailable();
+        int allocated = 0;
+        long afterId = 0L;
+        while (available > 0) {
+            List<Backorder> backorders = backorderRepository.findQueuedForUpdate(inventory.getSku(), BackorderStatus.WAITING, afterId, PageRequest.of(0, batchSize));
+            for (Backorder backorder : backorders) {
+                int quantity = Math.min(available, backorder.getQuantityOutstanding());
+                if (quantity <= 0) {
+                    break;
+                }
+                backorder.setQuantityAllocated(backorder.getQuantityAllocated() + quantity);
+                available -= quantity;
+                allocated += quantity;
+                if (backorder.getQuantityOutstanding() == 0) {
+                    backorder.setStatus(BackorderStatus.ALLOCATED);
+                    backorder.setAllocatedAt(Instant.now());
+                    eventPublisher.publishEvent(new BackorderAllocatedEvent(backorder.getBackorderId(), backorder.getOrderReference(),
+                            backorder.getSku(), backorder.getQuantity()));
+                }
+            }
+            backorderRepository.saveAll(backorders);
+            if (backorders.size() < batchSize) {
+                break;
+            }
+            afterId = backorders.get(backorders.size() - 1).getBackorderId();
+        }
+
+        if (allocated > 0) {
+            inventory.setQuantityAvailable(inventory.getQuantityAvailable() - allocated);
+            inventory.setQuantityOnOrder(inventory.getQuantityOnOrder() + allocated);
+            inventory.setQuantityOnHold(inventory.getQuantityOnHold() + allocated);
+            eventPublisher.publishEvent(new BackorderQueueChangedEvent(inventory.getSku(), -allocated));
+            LOGGER.info("Allocated {} replenished units of SKU {} to backorders", allocated, inventory.getSku());
+        }
+        return allocated;
+    }
+}
@@ -0,0 +1,81 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
+import com.nisum.vibe.cart.scm.exception.WarehouseNotFoundException;
+import com.nisum.vibe.cart.scm.util.JsonArrayChunkReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Applies the JSON array of a bulk request chunk by chunk in one transaction.
+ * <p>
+ * Each chunk is applied as soon as it is read, and the persistence context is flushed and cleared after every chunk,
+ * so the heap used by a request is bounded by {@code scm.bulk.chunk-size} rather than by the size of the array. The
+ * chunks share one transaction, so a request whose later chunk fails, including an invalid element or an array longer
+ * than {@code scm.bulk.max-elements}, is rolled back as a whole and applies nothing.
+ * </p>
+ */
+@Component
+public class BulkChunkApplier {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkChunkApplier.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Applies every chunk of an array in one transaction.
+     *
+     * @param reader    the reader of the array.
+     * @param operation the operation applied to each chunk; it must join the surrounding transaction.
+     * @param <T>       the element type.
+     * @throws IOException                if the body cannot be read.
+     * @throws InventoryNotFoundException if the operation throws it; nothing is applied in that case.
+     * @throws WarehouseNotFoundException if the operation throws it; nothing is applied in that case.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public <T> void applyChunks(JsonArrayChunkReader<T> reader, ChunkOperation<T> operation)
+            throws IOException, InventoryNotFoundException, WarehouseNotFoundException {
+        applyChunks(reader.nextChunk(), reader, operation);
+    }
+
+    /**
+     * Applies a chunk that was already read from an array, then the rest of the array, in one transaction.
+     *
+     * @param firstChunk the chunk already read from the reader.
+     * @param reader     the reader of the array.
+     * @param operation  the operation applied to each chunk; it must join the surrounding transaction.
+     * @param <T>        the element type.
+     * @throws IOException                if the body cannot be read.
+     * @throws InventoryNotFoundException if the operation throws it; nothing is applied in that case.
+     * @throws WarehouseNotFoundException if the operation throws it; nothing is applied in that case.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public <T> void applyChunks(List<T> firstChunk, JsonArrayChunkReader<T> reader, ChunkOperation<T> operation)
+            throws IOException, InventoryNotFoundException, WarehouseNotFoundException {
+        LOGGER.info("Inside applyChunks() method of BulkChunkApplier class");
+        for (List<T> chunk = firstChunk; !chunk.isEmpty(); chunk = reader.nextChunk()) {
+            operation.apply(chunk);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        LOGGER.info("Applied {} elements of a bulk request in one transaction", reader.getElementsRead());
+    }
+
+    /**
+     * An operation applied to one chunk of a bulk request.
+     *
+     * @param <T> the element type.
+     */
+    @FunctionalInterface
+    public interface ChunkOperation<T> {
+        void apply(List<T> chunk) throws InventoryNotFoundException, WarehouseNotFoundException;
+    }
+}
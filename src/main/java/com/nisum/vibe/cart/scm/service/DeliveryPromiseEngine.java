@@ -0,0 +1,183 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.event.InventoryLevelChangedEvent;
+import com.nisum.vibe.cart.scm.model.InventoryChangeDto;
+import com.nisum.vibe.cart.scm.model.InventoryStockView;
+import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import com.nisum.vibe.cart.scm.util.ChangeVersionClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Precomputed delivery promises per SKU.
+ * <p>
+ * For every SKU the engine keeps a bitset of the warehouses that currently have stock available, indexed by the
+ * warehouse slots of the {@link ZipDeliveryIndex}. Combined with the ZIP code to warehouse preference held by that
+ * index, a promise is answered with one map lookup and a bit test, so ETAs for a whole page of SKUs never touch
+ * the database.
+ * </p>
+ * <p>
+ * The bitsets are loaded once at start-up and then maintained from committed {@link InventoryLevelChangedEvent}s.
+ * Stock changed on other instances is read from the inventory change feed every
+ * {@code scm.inventory.delivery-promise.feed-poll-ms}; each row carries the current available quantity of its record,
+ * so applying a change that was already applied from a local event is a no-op. Bitsets are copied on write so that
+ * readers never observe a partially updated one.
+ * </p>
+ */
+@Component
+public class DeliveryPromiseEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeliveryPromiseEngine.class);
+
+    private final Map<Long, long[]> inStockWarehousesBySku = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Value("${scm.inventory.changes.settle-ms:5000}")
+    private long changesSettleMillis = 5000L;
+
+    @Value("${scm.inventory.delivery-promise.feed-page-size:1000}")
+    private int feedPageSize = 1000;
+
+    private long feedSince;
+
+    private long feedAfterId;
+
+    /**
+     * Loads the in-stock warehouses of every SKU using a streaming projection query.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        LOGGER.info("Warming delivery promise engine");
+        long startedAt = System.currentTimeMillis();
+        synchronized (this) {
+            // Changes committed while warming are read again from the feed
+            feedSince = ChangeVersionClock.versionAt(startedAt - changesSettleMillis);
+            feedAfterId = 0L;
+        }
+        try (Stream<InventoryStockView> stockLevels = inventoryRepository.streamInStockLevels()) {
+            stockLevels.forEach(stockLevel -> onStockLevel(stockLevel.getSku(), stockLevel.getWarehouseId(), stockLevel.getQuantityAvailable()));
+        }
+        ready = true;
+        LOGGER.info("Delivery promise engine warmed with {} SKUs in {} ms", inStockWarehousesBySku.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Returns whether the engine has been loaded and can answer promises.
+     *
+     * @return {@code true} once the engine is warmed up.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Applies a committed change of an inventory level.
+     *
+     * @param event the inventory level change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryLevelChanged(InventoryLevelChangedEvent event) {
+        onStockLevel(event.getSku(), event.getWarehouseId(), event.getQuantityAvailable());
+    }
+
+    /**
+     * Applies the inventory records changed on any instance, read from the inventory change feed.
+     */
+    @Scheduled(fixedDelayString = "${scm.inventory.delivery-promise.feed-poll-ms:5000}", initialDelayString = "${scm.inventory.delivery-promise.feed-poll-ms:5000}")
+    public synchronized void pollInventoryChanges() {
+        long upTo = ChangeVersionClock.versionAt(System.currentTimeMillis() - changesSettleMillis);
+        List<InventoryChangeDto> changes;
+        do {
+            changes = inventoryRepository.findChangesAfter(feedSince, feedAfterId, upTo, PageRequest.of(0, feedPageSize));
+            for (InventoryChangeDto change : changes) {
+                onStockLevel(change.getSku(), change.getWarehouseId(), change.getQuantityAvailable());
+                feedSince = change.getChangeVersion();
+                feedAfterId = change.getInventoryId();
+            }
+        } while (changes.size() == feedPageSize);
+    }
+
+    /**
+     * Records the available quantity of a SKU in a warehouse.
+     *
+     * @param sku               the SKU.
+     * @param warehouseId       the warehouse ID.
+     * @param quantityAvailable the available quantity.
+     */
+    public void onStockLevel(Long sku, String warehouseId, Integer quantityAvailable) {
+        if (sku == null || warehouseId == null) {
+            return;
+        }
+        int slot = zipDeliveryIndex.getWarehouseSlot(warehouseId);
+        if (slot < 0) {
+            LOGGER.warn("Ignoring stock level of SKU {} in unknown warehouse {}", sku, warehouseId);
+            return;
+        }
+        boolean inStock = quantityAvailable != null && quantityAvailable > 0;
+        inStockWarehousesBySku.compute(sku, (key, current) -> {
+            int word = slot >>> 6;
+            long bit = 1L << slot;
+            if (current != null && word < current.length && ((current[word] & bit) != 0) == inStock) {
+                return current;
+            }
+            if (current == null && !inStock) {
+                return null;
+            }
+            long[] updated = current == null ? new long[word + 1] : Arrays.copyOf(current, Math.max(current.length, word + 1));
+            updated[word] = inStock ? updated[word] | bit : updated[word] & ~bit;
+            return isEmpty(updated) ? null : updated;
+        });
+    }
+
+    /**
+     * Returns the number of days needed to deliver a SKU from the preferred warehouse of a ZIP code.
+     *
+     * @param sku           the SKU.
+     * @param preferredSlot the slot of the warehouse serving the ZIP code, see {@link ZipDeliveryIndex#findWarehouseSlot(long)}.
+     * @return {@link ZipDeliveryIndex#LOCAL_DELIVERY_DAYS} if the preferred warehouse has stock,
+     * {@link ZipDeliveryIndex#REMOTE_DELIVERY_DAYS} if only other warehouses have stock, or {@code -1} if no warehouse has stock.
+     */
+    public int getDeliveryDays(Long sku, int preferredSlot) {
+        long[] inStock = inStockWarehousesBySku.get(sku);
+        if (inStock == null) {
+            return -1;
+        }
+        int word = preferredSlot >>> 6;
+        if (preferredSlot >= 0 && word < inStock.length && (inStock[word] & (1L << preferredSlot)) != 0) {
+            return ZipDeliveryIndex.LOCAL_DELIVERY_DAYS;
+        }
+        return isEmpty(inStock) ? -1 : ZipDeliveryIndex.REMOTE_DELIVERY_DAYS;
+    }
+
+    private static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
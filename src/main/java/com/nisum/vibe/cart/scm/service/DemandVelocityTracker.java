@@ -0,0 +1,271 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.event.StockReservedEvent;
+import com.nisum.vibe.cart.scm.model.OrderDemandView;
+import com.nisum.vibe.cart.scm.model.OrderStatus;
+import com.nisum.vibe.cart.scm.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Exponentially decayed demand velocity per SKU and warehouse.
+ * <p>
+ * Every committed reservation adds its quantity to a counter for the SKU and the warehouse serving the customer's
+ * ZIP code. Counters decay continuously with a half-life of {@code scm.inventory.velocity.half-life-hours}, so a
+ * counter divided by the decay time constant estimates the current sales rate.
+ * </p>
+ * <p>
+ * Reservations made on other instances are not seen by these events, so the counters are rebuilt from the order
+ * history at startup and every {@code scm.inventory.velocity.rebuild-interval-ms}: the items of the orders placed
+ * within the last {@value #HISTORY_HALF_LIVES} half-lives, except cancelled ones, are decayed to the time of the
+ * rebuild and replace the counters. Every instance therefore sees the demand of the whole cluster, lagging by at
+ * most one interval, plus its own reservations since.
+ * </p>
+ * <p>
+ * Counters are held in an open-addressing table keyed by a primitive {@code long} that packs the SKU with the
+ * warehouse slot of the {@link ZipDeliveryIndex}, so recording demand neither allocates nor boxes. Counters that
+ * have decayed to nothing are dropped whenever the table is resized.
+ * </p>
+ */
+@Component
+public class DemandVelocityTracker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DemandVelocityTracker.class);
+
+    private static final int SLOT_BITS = 12;
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+    private static final double NEGLIGIBLE_COUNT = 0.01;
+    private static final int HISTORY_HALF_LIVES = 5;
+
+    @Autowired
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Value("${scm.inventory.velocity.half-life-hours:72}")
+    private int halfLifeHours;
+
+    private double decayPerMilli;
+
+    private long[] keys = new long[1024];
+    private double[] counts = new double[1024];
+    private long[] updatedAt = new long[1024];
+    private int size;
+
+    @PostConstruct
+    public void init() {
+        decayPerMilli = Math.log(2) / (halfLifeHours * 60.0 * 60 * 1000);
+        Arrays.fill(keys, -1L);
+    }
+
+    /**
+     * Replaces the counters with the demand of the recent order history.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${scm.inventory.velocity.rebuild-interval-ms:3600000}", initialDelayString = "${scm.inventory.velocity.rebuild-interval-ms:3600000}")
+    @Transactional(readOnly = true)
+    public void rebuildFromOrders() {
+        long nowMillis = System.currentTimeMillis();
+        Instant since = Instant.ofEpochMilli(nowMillis - HISTORY_HALF_LIVES * halfLifeHours * 60L * 60 * 1000);
+        Map<Long, Double> countsByKey = new HashMap<>();
+        try (Stream<OrderDemandView> demand = orderRepository.streamDemandSince(since, OrderStatus.CANCELLED)) {
+            demand.forEach(item -> {
+                String warehouseId = item.getShippingzipCode() == null ? null : zipDeliveryIndex.findWarehouseId(item.getShippingzipCode());
+                long key = keyOf(item.getSkuId(), warehouseId);
+                if (key != -1L && item.getQuantity() > 0 && item.getOrderDate() != null) {
+                    double weight = Math.exp(-decayPerMilli * Math.max(0L, nowMillis - item.getOrderDate().toEpochMilli()));
+                    countsByKey.merge(key, item.getQuantity() * weight, Double::sum);
+                }
+            });
+        }
+
+        int capacity = Math.max(1024, Integer.highestOneBit(Math.max(1, countsByKey.size() + 1) * 4 - 1) << 1);
+        synchronized (this) {
+            keys = new long[capacity];
+            counts = new double[capacity];
+            updatedAt = new long[capacity];
+            Arrays.fill(keys, -1L);
+            size = 0;
+            for (Map.Entry<Long, Double> entry : countsByKey.entrySet()) {
+                int index = indexOf(entry.getKey());
+                keys[index] = entry.getKey();
+                counts[index] = entry.getValue();
+                updatedAt[index] = nowMillis;
+                size++;
+            }
+        }
+        LOGGER.info("Demand velocity rebuilt from order history for {} SKUs and warehouses in {} ms", countsByKey.size(),
+                System.currentTimeMillis() - nowMillis);
+    }
+
+    /**
+     * Records the demand of a committed reservation.
+     *
+     * @param event the reservation.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockReserved(StockReservedEvent event) {
+        recordDemand(event.getSku(), event.getWarehouseId(), event.getQuantity(), System.currentTimeMillis());
+    }
+
+    /**
+     * Adds demand for a SKU at a warehouse.
+     *
+     * @param sku         the SKU.
+     * @param warehouseId the warehouse serving the demand.
+     * @param quantity    the demanded quantity.
+     * @param nowMillis   the time of the demand.
+     */
+    public void recordDemand(Long sku, String warehouseId, int quantity, long nowMillis) {
+        if (quantity <= 0) {
+            return;
+        }
+        long key = keyOf(sku, warehouseId);
+        if (key == -1L) {
+            LOGGER.warn("Ignoring demand of SKU {} in unknown warehouse {}", sku, warehouseId);
+            return;
+        }
+        synchronized (this) {
+            int index = indexOf(key);
+            if (keys[index] == -1L) {
+                if ((size + 1) * 2 > keys.length) {
+                    resize(nowMillis);
+                    index = indexOf(key);
+                }
+                keys[index] = key;
+                counts[index] = quantity;
+                updatedAt[index] = nowMillis;
+                size++;
+            } else {
+                counts[index] = decayed(index, nowMillis) + quantity;
+                updatedAt[index] = nowMillis;
+            }
+        }
+    }
+
+    /**
+     * Returns the current demand velocity of a SKU at a warehouse.
+     *
+     * @param sku         the SKU.
+     * @param warehouseId the warehouse ID.
+     * @param nowMillis   the time to evaluate the velocity at.
+     * @return the estimated demand in units per day, or {@code 0} if there is no recent demand.
+     */
+    public double getVelocity(long sku, String warehouseId, long nowMillis) {
+        int slot = zipDeliveryIndex.getWarehouseSlot(warehouseId);
+        if (slot < 0 || slot >= 1 << SLOT_BITS) {
+            return 0;
+        }
+        synchronized (this) {
+            int index = indexOf(sku << SLOT_BITS | slot);
+            return keys[index] == -1L ? 0 : decayed(index, nowMillis) * decayPerMilli * MILLIS_PER_DAY;
+        }
+    }
+
+    /**
+     * Returns the SKUs that have recorded demand at any warehouse.
+     *
+     * @return the SKUs in ascending order.
+     */
+    public long[] getTrackedSkus() {
+        long[] skus;
+        synchronized (this) {
+            skus = new long[size];
+            int count = 0;
+            for (long key : keys) {
+                if (key != -1L) {
+                    skus[count++] = key >>> SLOT_BITS;
+                }
+            }
+        }
+        Arrays.sort(skus);
+        int distinct = 0;
+        for (int i = 0; i < skus.length; i++) {
+            if (i == 0 || skus[i] != skus[i - 1]) {
+                skus[distinct++] = skus[i];
+            }
+        }
+        return Arrays.copyOf(skus, distinct);
+    }
+
+    /**
+     * Packs a SKU with the slot of a warehouse.
+     *
+     * @return the key, or {@code -1} if the SKU or warehouse is unknown.
+     */
+    private long keyOf(Long sku, String warehouseId) {
+        if (sku == null || warehouseId == null) {
+            return -1L;
+        }
+        int slot = zipDeliveryIndex.getWarehouseSlot(warehouseId);
+        if (slot < 0 || slot >= 1 << SLOT_BITS) {
+            return -1L;
+        }
+        return sku << SLOT_BITS | slot;
+    }
+
+    private double decayed(int index, long nowMillis) {
+        return counts[index] * Math.exp(-decayPerMilli * Math.max(0L, nowMillis - updatedAt[index]));
+    }
+
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        int index = (int) (key ^ key >>> 32) * 0x9E3779B9 & mask;
+        while (keys[index] != -1L && keys[index] != key) {
+            index = index + 1 & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Rehashes the live counters into a table sized for them, dropping the ones that have decayed to nothing.
+     */
+    private void resize(long nowMillis) {
+        long[] oldKeys = keys;
+        double[] oldCounts = counts;
+        long[] oldUpdatedAt = updatedAt;
+
+        int live = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != -1L) {
+                oldCounts[i] = oldCounts[i] * Math.exp(-decayPerMilli * Math.max(0L, nowMillis - oldUpdatedAt[i]));
+                oldUpdatedAt[i] = nowMillis;
+                if (oldCounts[i] >= NEGLIGIBLE_COUNT) {
+                    live++;
+                }
+            }
+        }
+        int capacity = Math.max(1024, Integer.highestOneBit(Math.max(1, live + 1) * 4 - 1) << 1);
+
+        keys = new long[capacity];
+        counts = new double[capacity];
+        updatedAt = new long[capacity];
+        Arrays.fill(keys, -1L);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != -1L && oldCounts[i] >= NEGLIGIBLE_COUNT) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                counts[index] = oldCounts[i];
+                updatedAt[index] = oldUpdatedAt[i];
+                size++;
+            }
+        }
+    }
+}
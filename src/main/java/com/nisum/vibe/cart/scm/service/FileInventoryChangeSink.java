@@ -0,0 +1,42 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nisum.vibe.cart.scm.model.InventoryChangeNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sink that appends inventory change notifications as newline-delimited JSON to the file configured with
+ * {@code scm.inventory.outbox.file.path}. Intended for tests and local troubleshooting.
+ */
+@Component
+@ConditionalOnProperty("scm.inventory.outbox.file.path")
+public class FileInventoryChangeSink implements InventoryChangeSink {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${scm.inventory.outbox.file.path}")
+    private String filePath;
+
+    @Override
+    public synchronized void deliver(List<InventoryChangeNotification> notifications) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (InventoryChangeNotification notification : notifications) {
+                writer.write(objectMapper.writeValueAsString(notification));
+                writer.newLine();
+            }
+        }
+    }
+}
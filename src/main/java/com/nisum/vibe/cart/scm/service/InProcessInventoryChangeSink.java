@@ -0,0 +1,25 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.event.InventoryChangeBatchEvent;
+import com.nisum.vibe.cart.scm.model.InventoryChangeNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sink that delivers inventory change notifications to listeners in this application as an
+ * {@link InventoryChangeBatchEvent}.
+ */
+@Component
+public class InProcessInventoryChangeSink implements InventoryChangeSink {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void deliver(List<InventoryChangeNotification> notifications) {
+        eventPublisher.publishEvent(new InventoryChangeBatchEvent(notifications));
+    }
+}
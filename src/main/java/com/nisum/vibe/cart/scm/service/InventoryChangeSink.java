@@ -0,0 +1,25 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.model.InventoryChangeNotification;
+
+import java.util.List;
+
+/**
+ * Destination of the inventory change notifications pushed by the {@link InventoryOutboxRelay}.
+ * <p>
+ * Every sink bean in the context receives every batch. Delivery is at least once: if any sink fails, the batch stays
+ * in the outbox and is delivered again to all sinks, so sinks must tolerate duplicates. Batches relayed by different
+ * nodes may arrive in any order, so sinks that keep the latest quantity must compare
+ * {@link InventoryChangeNotification#getSequence() sequences} rather than rely on arrival order.
+ * </p>
+ */
+public interface InventoryChangeSink {
+
+    /**
+     * Delivers a batch of notifications.
+     *
+     * @param notifications the coalesced notifications, at most one per SKU and warehouse.
+     * @throws Exception if the batch could not be delivered and has to be retried.
+     */
+    void deliver(List<InventoryChangeNotification> notifications) throws Exception;
+}
@@ -0,0 +1,18 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.model.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for streaming inventory exports in the VibeCart application.
+ *
+ * <p>
+ * Implementations of this interface should write records as they are read so that memory use does not
+ * depend on the number of records exported.
+ */
+public interface InventoryExportService {
+
+    void exportInventoryLocations(OutputStream outputStream, ExportFormat format) throws IOException;
+}
@@ -0,0 +1,113 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nisum.vibe.cart.scm.model.ExportFormat;
+import com.nisum.vibe.cart.scm.model.InventoryLocationResponse;
+import com.nisum.vibe.cart.scm.repository.InventoryBulkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Implementation of the InventoryExportService interface.
+ *
+ * <p>
+ * Inventory records are read through a streaming JDBC cursor that projects only the exported columns and bypasses
+ * the persistence context, and each record is written to the output as soon as it is read. NDJSON records carry the
+ * same property names as {@link InventoryLocationResponse}, and CSV exports use them as the header line.
+ * </p>
+ */
+@Service
+public class InventoryExportServiceImpl implements InventoryExportService {
+
+    private static final String CSV_HEADER = "warehouseId,skuId,availableQuantity,reservedQuantity,totalQuantity";
+
+    @Autowired
+    private InventoryBulkRepository inventoryBulkRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Logger LOGGER = LoggerFactory.getLogger(InventoryExportServiceImpl.class);
+
+    /**
+     * Writes the quantities of every inventory record to an output stream.
+     *
+     * @param outputStream the stream to write to, which is flushed but not closed.
+     * @param format       the format to write.
+     * @throws IOException if the output cannot be written.
+     */
+    @Override
+    public void exportInventoryLocations(OutputStream outputStream, ExportFormat format) throws IOException {
+
+        LOGGER.info("Inside exportInventoryLocations() method of InventoryExportServiceImpl class");
+
+        long startedAt = System.currentTimeMillis();
+        long[] rowCount = new long[1];
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try {
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                inventoryBulkRepository.streamInventoryLocations(location -> {
+                    writeCsvLine(writer, location);
+                    rowCount[0]++;
+                });
+            } else {
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                inventoryBulkRepository.streamInventoryLocations(location -> {
+                    writeJsonLine(generator, location);
+                    rowCount[0]++;
+                });
+                generator.close();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        LOGGER.info("Exported {} inventory locations in {} ms", rowCount[0], System.currentTimeMillis() - startedAt);
+    }
+
+    private static void writeCsvLine(Writer writer, InventoryLocationResponse location) {
+        try {
+            writer.write(location.getWarehouseId());
+            writer.write(',');
+            writer.write(String.valueOf(location.getSkuId()));
+            writer.write(',');
+            writer.write(String.valueOf(location.getAvailableQuantity()));
+            writer.write(',');
+            writer.write(String.valueOf(location.getReservedQuantity()));
+            writer.write(',');
+            writer.write(String.valueOf(location.getTotalQuantity()));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeJsonLine(JsonGenerator generator, InventoryLocationResponse location) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("warehouseId", location.getWarehouseId());
+            generator.writeNumberField("skuId", location.getSkuId());
+            generator.writeNumberField("availableQuantity", location.getAvailableQuantity());
+            generator.writeNumberField("reservedQuantity", location.getReservedQuantity());
+            generator.writeNumberField("totalQuantity", location.getTotalQuantity());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
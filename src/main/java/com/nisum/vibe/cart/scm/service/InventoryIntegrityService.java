@@ -0,0 +1,15 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.model.InventoryIntegrityResult;
+
+/**
+ * Service interface for checking the reservation counters of the inventory against holds, orders and backorders.
+ *
+ * <p>
+ * Implementations of this interface should run alongside live traffic without holding long locks.
+ */
+public interface InventoryIntegrityService {
+
+    InventoryIntegrityResult checkIntegrity(boolean fix) throws InvalidInventoryRequestException;
+}
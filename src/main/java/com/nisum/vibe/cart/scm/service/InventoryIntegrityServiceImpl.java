@@ -0,0 +1,300 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.model.CounterDiscrepancy;
+import com.nisum.vibe.cart.scm.model.CounterDiscrepancyType;
+import com.nisum.vibe.cart.scm.model.InventoryCounterRow;
+import com.nisum.vibe.cart.scm.model.InventoryIntegrityResult;
+import com.nisum.vibe.cart.scm.repository.InventoryIntegrityRepository;
+import com.nisum.vibe.cart.scm.repository.WarehouseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of the InventoryIntegrityService interface that checks reservation counters in parallel.
+ *
+ * <p>
+ * The check is split into one fork-join task per warehouse and one task for the SKU-wide quantity on order, run on
+ * a dedicated pool of {@code scm.inventory.integrity.parallelism} threads. Each task walks its data in SKU order one
+ * page of {@code scm.inventory.integrity.page-size} records at a time, joining every page with the aggregated holds,
+ * orders and backorders of the same SKU range, and pauses {@code scm.inventory.integrity.page-pause-ms} between pages
+ * so that the check does not compete with live traffic for database I/O.
+ * </p>
+ *
+ * <p>
+ * The quantity on hold of a record must cover its active checkout holds. A counter below them is drift, typically
+ * left by confirming a reservation, which resets the quantity on hold of every warehouse of the SKU. A counter above
+ * them on a record not updated for {@code scm.inventory.integrity.settle-days} days is a reservation that was never
+ * confirmed or reverted. With {@code fix} both are corrected to the active holds, as one compare-and-set batch per
+ * page that skips records changed since they were read.
+ * </p>
+ *
+ * <p>
+ * The quantity on order is cumulative: it is only released by cancellation, not when an order ships or is delivered,
+ * and it is not attributed to warehouses by orders. It is therefore compared per SKU across warehouses with the items
+ * of every order that is not cancelled, delivered ones included, plus active holds, less the waiting backorders that
+ * have not been allocated stock yet. These discrepancies are reported but never fixed,
+ * because the warehouse to correct cannot be determined.
+ * </p>
+ */
+@Service
+public class InventoryIntegrityServiceImpl implements InventoryIntegrityService {
+
+    @Autowired
+    private InventoryIntegrityRepository inventoryIntegrityRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Value("${scm.inventory.integrity.parallelism:4}")
+    private int parallelism;
+
+    @Value("${scm.inventory.integrity.page-size:500}")
+    private int pageSize;
+
+    @Value("${scm.inventory.integrity.page-pause-ms:20}")
+    private long pagePauseMillis;
+
+    @Value("${scm.inventory.integrity.settle-days:1}")
+    private int settleDays;
+
+    @Value("${scm.inventory.integrity.auto-fix:false}")
+    private boolean autoFix;
+
+    @Value("${scm.inventory.integrity.max-reported-discrepancies:1000}")
+    private int maxReportedDiscrepancies;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private ForkJoinPool pool;
+
+    private final Logger LOGGER = LoggerFactory.getLogger(InventoryIntegrityServiceImpl.class);
+
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Runs the integrity check periodically, fixing hold counters when {@code scm.inventory.integrity.auto-fix} is
+     * enabled. A run is skipped while another one is in progress.
+     */
+    @Scheduled(cron = "${scm.inventory.integrity.cron:0 30 2 * * *}")
+    public void scheduledCheck() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            InventoryIntegrityResult result = pool.invoke(new IntegrityCheck(autoFix));
+            LOGGER.info("Inventory integrity check compared {} records and {} SKUs: {} discrepancies, {} records fixed",
+                    result.getRowsCompared(), result.getSkusCompared(), result.getDiscrepancyCount(), result.getRowsFixed());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Checks the reservation counters of every inventory record.
+     *
+     * @param fix whether hold counters that drifted are corrected.
+     * @return the number of records and SKUs compared, the records fixed and the discrepancies found.
+     * @throws InvalidInventoryRequestException if a check is already in progress.
+     */
+    @Override
+    public InventoryIntegrityResult checkIntegrity(boolean fix) throws InvalidInventoryRequestException {
+
+        LOGGER.info("Inside checkIntegrity() method of InventoryIntegrityServiceImpl class");
+
+        if (!running.compareAndSet(false, true)) {
+            throw new InvalidInventoryRequestException("An inventory integrity check is already in progress");
+        }
+        try {
+            return pool.invoke(new IntegrityCheck(fix));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Checks the hold counters of one warehouse.
+     */
+    InventoryIntegrityResult checkWarehouse(String warehouseId, boolean fix) {
+        InventoryIntegrityResult result = new InventoryIntegrityResult();
+        result.setWarehousesChecked(1);
+        LocalDate settledBefore = LocalDate.now().minusDays(settleDays);
+        long afterSku = 0;
+        while (true) {
+            List<InventoryCounterRow> rows = inventoryIntegrityRepository.findCounterPage(warehouseId, afterSku, pageSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            long fromSku = rows.get(0).getSku();
+            afterSku = rows.get(rows.size() - 1).getSku();
+            Map<Long, Integer> activeHolds = inventoryIntegrityRepository.sumActiveHolds(warehouseId, fromSku, afterSku);
+
+            List<InventoryCounterRow> fixRows = new ArrayList<>();
+            List<Integer> fixQuantities = new ArrayList<>();
+            List<CounterDiscrepancy> fixDiscrepancies = new ArrayList<>();
+            for (InventoryCounterRow row : rows) {
+                result.setRowsCompared(result.getRowsCompared() + 1);
+                int onHold = row.getQuantityOnHold() == null ? 0 : row.getQuantityOnHold();
+                int held = activeHolds.getOrDefault(row.getSku(), 0);
+                CounterDiscrepancyType type = null;
+                if (onHold < held) {
+                    type = CounterDiscrepancyType.HOLD_BELOW_ACTIVE_HOLDS;
+                } else if (onHold > held && row.getLastUpdatedDate() != null && row.getLastUpdatedDate().isBefore(settledBefore)) {
+                    type = CounterDiscrepancyType.STALE_HOLD;
+                }
+                if (type == null) {
+                    continue;
+                }
+                CounterDiscrepancy discrepancy = new CounterDiscrepancy(warehouseId, row.getSku(), type, onHold, held, false);
+                if (fix) {
+                    fixRows.add(row);
+                    fixQuantities.add(held);
+                    fixDiscrepancies.add(discrepancy);
+                } else {
+                    result.addDiscrepancy(discrepancy, maxReportedDiscrepancies);
+                }
+            }
+
+            if (!fixRows.isEmpty()) {
+                boolean[] updated = inventoryIntegrityRepository.setQuantitiesOnHold(fixRows, fixQuantities);
+                for (int i = 0; i < updated.length; i++) {
+                    fixDiscrepancies.get(i).setFixed(updated[i]);
+                    result.addDiscrepancy(fixDiscrepancies.get(i), maxReportedDiscrepancies);
+                    if (updated[i]) {
+                        result.setRowsFixed(result.getRowsFixed() + 1);
+                    }
+                }
+            }
+            if (rows.size() < pageSize || !pause()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compares the quantity on order of every SKU with its orders, holds and backorders.
+     */
+    InventoryIntegrityResult checkOrderCounters() {
+        InventoryIntegrityResult result = new InventoryIntegrityResult();
+        long afterSku = 0;
+        while (true) {
+            List<long[]> counters = inventoryIntegrityRepository.findOrderCounterPage(afterSku, pageSize);
+            if (counters.isEmpty()) {
+                break;
+            }
+            long fromSku = counters.get(0)[0];
+            afterSku = counters.get(counters.size() - 1)[0];
+            Map<Long, Integer> ordered = inventoryIntegrityRepository.sumOrderedQuantities(fromSku, afterSku);
+            Map<Long, Integer> activeHolds = inventoryIntegrityRepository.sumActiveHolds(fromSku, afterSku);
+            Map<Long, Integer> waitingBackorders = inventoryIntegrityRepository.sumWaitingBackorders(fromSku, afterSku);
+
+            for (long[] counter : counters) {
+                result.setSkusCompared(result.getSkusCompared() + 1);
+                long sku = counter[0];
+                int expected = ordered.getOrDefault(sku, 0) + activeHolds.getOrDefault(sku, 0) - waitingBackorders.getOrDefault(sku, 0);
+                if (counter[1] != expected) {
+                    result.addDiscrepancy(new CounterDiscrepancy(null, sku, CounterDiscrepancyType.ORDER_COUNT_MISMATCH,
+                            (int) counter[1], expected, false), maxReportedDiscrepancies);
+                }
+            }
+            if (counters.size() < pageSize || !pause()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Throttles a task between pages.
+     *
+     * @return {@code false} if the task was interrupted and should stop.
+     */
+    private boolean pause() {
+        if (pagePauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pagePauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Root task: forks one task per warehouse and one for the quantity on order, and merges their results.
+     */
+    private final class IntegrityCheck extends RecursiveTask<InventoryIntegrityResult> {
+
+        private final boolean fix;
+
+        private IntegrityCheck(boolean fix) {
+            this.fix = fix;
+        }
+
+        @Override
+        protected InventoryIntegrityResult compute() {
+            List<RecursiveTask<InventoryIntegrityResult>> tasks = new ArrayList<>();
+            // Read from the table rather than the ZIP index, whose snapshot misses warehouses added since it was loaded
+            for (String warehouseId : warehouseRepository.findAllWarehouseIds()) {
+                tasks.add(new WarehouseCheck(warehouseId, fix));
+            }
+            tasks.add(new OrderCounterCheck());
+
+            InventoryIntegrityResult result = new InventoryIntegrityResult();
+            for (RecursiveTask<InventoryIntegrityResult> task : ForkJoinTask.invokeAll(tasks)) {
+                result.merge(task.join(), maxReportedDiscrepancies);
+            }
+            return result;
+        }
+    }
+
+    private final class WarehouseCheck extends RecursiveTask<InventoryIntegrityResult> {
+
+        private final String warehouseId;
+        private final boolean fix;
+
+        private WarehouseCheck(String warehouseId, boolean fix) {
+            this.warehouseId = warehouseId;
+            this.fix = fix;
+        }
+
+        @Override
+        protected InventoryIntegrityResult compute() {
+            return checkWarehouse(warehouseId, fix);
+        }
+    }
+
+    private final class OrderCounterCheck extends RecursiveTask<InventoryIntegrityResult> {
+
+        @Override
+        protected InventoryIntegrityResult compute() {
+            return checkOrderCounters();
+        }
+    }
+}
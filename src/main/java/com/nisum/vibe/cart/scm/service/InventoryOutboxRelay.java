@@ -0,0 +1,214 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.InventoryOutboxEvent;
+import com.nisum.vibe.cart.scm.event.InventoryLevelChangedEvent;
+import com.nisum.vibe.cart.scm.exception.InventoryChangeDeliveryException;
+import com.nisum.vibe.cart.scm.model.InventoryChangeNotification;
+import com.nisum.vibe.cart.scm.repository.InventoryOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pushes committed inventory level changes to the registered {@link InventoryChangeSink}s through a transactional
+ * outbox.
+ * <p>
+ * Every {@link InventoryLevelChangedEvent} is recorded in the {@code vibe_cart_inventory_outbox} table by the
+ * transaction that changed the stock, so stock reservations, cancellations, stock additions, uploads and
+ * reconciliations all produce notifications exactly when they commit. Changes of the same SKU and warehouse within
+ * one transaction are coalesced before they are written.
+ * </p>
+ * <p>
+ * The relay runs every {@code scm.inventory.outbox.relay-interval-ms} milliseconds. Each run claims the oldest batch
+ * of unclaimed events for {@code scm.inventory.outbox.claim-ms} in a short transaction, skipping events locked by a
+ * relay on another node, and commits the claim before delivering, so a slow sink holds neither row locks nor a
+ * database connection. The events are coalesced per SKU and warehouse into a single notification with the latest
+ * quantity, delivered to every sink, and deleted in a second transaction. The relay interval therefore acts as the
+ * coalescing window: a SKU that changes thousands of times a second produces one notification per run. If a sink
+ * fails, the claim is released and the batch is retried on the next run; if the node dies while delivering, the claim
+ * expires and another relay delivers the batch again.
+ * </p>
+ * <p>
+ * Relays on different nodes claim consecutive batches and deliver them concurrently, so a SKU whose changes fall in
+ * both can reach a sink newest first. Every notification therefore carries the outbox ID of its latest change as its
+ * sequence. Changes of one inventory record are written while its row is locked, so the sequence increases with every
+ * change of a SKU and warehouse, and sinks keep the latest quantity by dropping notifications whose sequence is lower
+ * than one they already applied.
+ * </p>
+ */
+@Component
+public class InventoryOutboxRelay {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InventoryOutboxRelay.class);
+
+    @Autowired
+    private InventoryOutboxRepository inventoryOutboxRepository;
+
+    @Autowired
+    private List<InventoryChangeSink> sinks;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${scm.inventory.outbox.enabled:true}")
+    private boolean outboxEnabled;
+
+    @Value("${scm.inventory.outbox.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${scm.inventory.outbox.claim-ms:60000}")
+    private long claimMillis = 60000L;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Records an inventory level change in the outbox as part of the transaction that made it. Outside a
+     * transaction the change is written immediately.
+     *
+     * @param event the inventory level change.
+     */
+    @EventListener
+    public void onInventoryLevelChanged(InventoryLevelChangedEvent event) {
+        if (!outboxEnabled || event.getSku() == null || event.getWarehouseId() == null) {
+            return;
+        }
+        InventoryOutboxEvent outboxEvent = new InventoryOutboxEvent(event.getSku(), event.getWarehouseId(), event.getQuantityAvailable(), Instant.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            inventoryOutboxRepository.save(outboxEvent);
+            return;
+        }
+        PendingOutboxEvents pendingEvents = (PendingOutboxEvents) TransactionSynchronizationManager.getResource(this);
+        if (pendingEvents == null) {
+            pendingEvents = new PendingOutboxEvents();
+            TransactionSynchronizationManager.bindResource(this, pendingEvents);
+            TransactionSynchronizationManager.registerSynchronization(pendingEvents);
+        }
+        pendingEvents.events.put(event.getSku() + "|" + event.getWarehouseId(), outboxEvent);
+    }
+
+    /**
+     * Delivers the pending outbox events, one batch at a time, until the outbox is drained or a delivery fails.
+     *
+     * @return the number of outbox events delivered.
+     */
+    @Scheduled(fixedDelayString = "${scm.inventory.outbox.relay-interval-ms:250}")
+    public int relay() {
+        if (!outboxEnabled) {
+            return 0;
+        }
+        int delivered = 0;
+        List<InventoryOutboxEvent> events;
+        do {
+            events = transactionTemplate.execute(status -> claimBatch());
+            if (events == null || events.isEmpty()) {
+                break;
+            }
+            try {
+                deliver(events);
+            } catch (InventoryChangeDeliveryException e) {
+                LOGGER.warn("{}, retrying on the next run: {}", e.getMessage(), e.getCause().getMessage());
+                releaseClaims(events);
+                break;
+            }
+            List<InventoryOutboxEvent> deliveredEvents = events;
+            transactionTemplate.execute(status -> {
+                inventoryOutboxRepository.deleteAllInBatch(deliveredEvents);
+                return null;
+            });
+            delivered += events.size();
+        } while (events.size() >= batchSize);
+        return delivered;
+    }
+
+    private List<InventoryOutboxEvent> claimBatch() {
+        Instant now = Instant.now();
+        List<InventoryOutboxEvent> events = inventoryOutboxRepository.findUnclaimedForUpdate(now, PageRequest.of(0, batchSize));
+        Instant claimedUntil = now.plusMillis(claimMillis);
+        events.forEach(event -> event.setClaimedUntil(claimedUntil));
+        return events;
+    }
+
+    private void deliver(List<InventoryOutboxEvent> events) {
+        List<InventoryChangeNotification> notifications = coalesce(events);
+        for (InventoryChangeSink sink : sinks) {
+            try {
+                sink.deliver(notifications);
+            } catch (Exception e) {
+                throw new InventoryChangeDeliveryException("Could not deliver " + notifications.size()
+                        + " inventory change notifications to " + sink.getClass().getSimpleName(), e);
+            }
+        }
+        LOGGER.debug("Delivered {} inventory changes as {} notifications", events.size(), notifications.size());
+    }
+
+    private void releaseClaims(List<InventoryOutboxEvent> events) {
+        List<Long> outboxIds = new ArrayList<>(events.size());
+        events.forEach(event -> outboxIds.add(event.getOutboxId()));
+        try {
+            transactionTemplate.execute(status -> inventoryOutboxRepository.releaseClaims(outboxIds));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to release {} claimed outbox events, they are retried once the claim expires: {}", outboxIds.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Coalesces outbox events, ordered by outbox ID, into one notification per SKU and warehouse carrying the
+     * latest quantity.
+     */
+    private static List<InventoryChangeNotification> coalesce(List<InventoryOutboxEvent> events) {
+        Map<String, InventoryChangeNotification> notifications = new LinkedHashMap<>();
+        for (InventoryOutboxEvent event : events) {
+            String key = event.getSku() + "|" + event.getWarehouseId();
+            InventoryChangeNotification notification = notifications.get(key);
+            if (notification == null) {
+                notifications.put(key, new InventoryChangeNotification(event.getSku(), event.getWarehouseId(),
+                        event.getQuantityAvailable(), 1, event.getCreatedAt(), event.getOutboxId()));
+            } else {
+                notification.setQuantityAvailable(event.getQuantityAvailable());
+                notification.setChangeCount(notification.getChangeCount() + 1);
+                notification.setChangedAt(event.getCreatedAt());
+                notification.setSequence(event.getOutboxId());
+            }
+        }
+        return new ArrayList<>(notifications.values());
+    }
+
+    /**
+     * Outbox events of the current transaction, keyed by SKU and warehouse, written just before it commits.
+     */
+    private final class PendingOutboxEvents implements TransactionSynchronization {
+
+        private final Map<String, InventoryOutboxEvent> events = new LinkedHashMap<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            inventoryOutboxRepository.saveAll(events.values());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(InventoryOutboxRelay.this);
+        }
+    }
+}
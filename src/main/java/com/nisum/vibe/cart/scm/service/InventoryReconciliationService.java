@@ -0,0 +1,19 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.model.StockReconciliationResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for reconciling inventory against full on-hand snapshots sent by warehouses.
+ *
+ * <p>
+ * Implementations of this interface should reconcile in a single pass over the snapshot and the inventory so that
+ * memory use does not depend on the size of the snapshot.
+ */
+public interface InventoryReconciliationService {
+
+    StockReconciliationResult reconcileStock(InputStream snapshot) throws IOException, InvalidInventoryRequestException;
+}
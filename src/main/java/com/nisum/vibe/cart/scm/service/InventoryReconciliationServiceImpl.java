@@ -0,0 +1,307 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.event.InventoryLevelChangedEvent;
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.model.InventoryQuantityRow;
+import com.nisum.vibe.cart.scm.model.PendingStockQuantity;
+import com.nisum.vibe.cart.scm.model.StockDiscrepancy;
+import com.nisum.vibe.cart.scm.model.StockDiscrepancyType;
+import com.nisum.vibe.cart.scm.model.StockReconciliationResult;
+import com.nisum.vibe.cart.scm.repository.InventoryBulkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the InventoryReconciliationService interface that applies full warehouse snapshots.
+ *
+ * <p>
+ * The snapshot is a CSV file with a header naming the {@code warehouseId}, {@code sku} and {@code quantityOnHand}
+ * columns, sorted by warehouse ID and then SKU. It is merged line by line with the inventory records of each
+ * warehouse read in SKU order, one page of {@code scm.inventory.reconciliation.page-size} records at a time, so a
+ * warehouse of any size is reconciled in one pass with constant memory. Warehouses that do not appear in the
+ * snapshot are left untouched.
+ * </p>
+ *
+ * <p>
+ * The counted on-hand quantity still includes units that are on the shelf but not available: units held by active
+ * checkout quotes, units of confirmed orders that have not been dispatched and units leased to instances but not used
+ * yet. These pending quantities are read once per warehouse and the reconciled available quantity is
+ * {@code max(0, quantityOnHand - pending)}. The quantity on order is cumulative, it only decreases when an order is
+ * cancelled, so it is not used as the pending quantity; it only caps the held and ordered part, which is attributed to
+ * the warehouse serving the shipping ZIP code of the order. Only records whose available quantity changes are
+ * written, as one batched update per page; the quantities on hold and on order are never modified.
+ * </p>
+ */
+@Service
+public class InventoryReconciliationServiceImpl implements InventoryReconciliationService {
+
+    private static final String CSV_SEPARATOR = ",";
+
+    @Autowired
+    private InventoryBulkRepository inventoryBulkRepository;
+
+    @Autowired
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${scm.inventory.reconciliation.page-size:1000}")
+    private int pageSize;
+
+    @Value("${scm.inventory.reconciliation.max-reported-discrepancies:1000}")
+    private int maxReportedDiscrepancies;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final Logger LOGGER = LoggerFactory.getLogger(InventoryReconciliationServiceImpl.class);
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Reconciles the inventory against a full on-hand snapshot.
+     *
+     * @param snapshot the snapshot file.
+     * @return the number of lines read, records compared and updated, and the discrepancies found.
+     * @throws IOException                      if the snapshot cannot be read.
+     * @throws InvalidInventoryRequestException if the snapshot header is missing a required column.
+     */
+    @Override
+    public StockReconciliationResult reconcileStock(InputStream snapshot) throws IOException, InvalidInventoryRequestException {
+
+        LOGGER.info("Inside reconcileStock() method of InventoryReconciliationServiceImpl class");
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(snapshot, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new InvalidInventoryRequestException("The snapshot is empty, a header line is required");
+        }
+        List<String> columns = Arrays.stream(header.split(CSV_SEPARATOR)).map(String::trim).collect(Collectors.toList());
+        int warehouseIdColumn = columns.indexOf("warehouseId");
+        int skuColumn = columns.indexOf("sku");
+        int quantityColumn = columns.indexOf("quantityOnHand");
+        if (warehouseIdColumn < 0 || skuColumn < 0 || quantityColumn < 0) {
+            throw new InvalidInventoryRequestException("The snapshot header must contain the warehouseId, sku and quantityOnHand columns");
+        }
+
+        StockReconciliationResult result = new StockReconciliationResult();
+        WarehouseCursor cursor = null;
+        long lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            result.setLinesRead(result.getLinesRead() + 1);
+
+            String warehouseId;
+            long sku;
+            int quantityOnHand;
+            try {
+                String[] values = line.split(CSV_SEPARATOR, -1);
+                if (values.length < columns.size()) {
+                    throw new IllegalArgumentException("Expected " + columns.size() + " columns but found " + values.length);
+                }
+                warehouseId = values[warehouseIdColumn].trim();
+                sku = Long.parseLong(values[skuColumn].trim());
+                quantityOnHand = Integer.parseInt(values[quantityColumn].trim());
+                validate(warehouseId, sku, quantityOnHand);
+            } catch (IllegalArgumentException e) {
+                result.addDiscrepancy(new StockDiscrepancy(lineNumber, null, null, StockDiscrepancyType.INVALID_LINE, null, null, e.getMessage()), maxReportedDiscrepancies);
+                continue;
+            }
+
+            if (cursor == null || !cursor.warehouseId.equals(warehouseId)) {
+                if (cursor != null && warehouseId.compareTo(cursor.warehouseId) < 0) {
+                    result.addDiscrepancy(new StockDiscrepancy(lineNumber, warehouseId, sku, StockDiscrepancyType.INVALID_LINE, null, null,
+                            "The snapshot is not sorted by warehouseId"), maxReportedDiscrepancies);
+                    continue;
+                }
+                if (cursor != null) {
+                    cursor.finish(result);
+                }
+                cursor = new WarehouseCursor(warehouseId);
+            } else if (sku <= cursor.lastSnapshotSku) {
+                result.addDiscrepancy(new StockDiscrepancy(lineNumber, warehouseId, sku, StockDiscrepancyType.INVALID_LINE, null, null,
+                        "The snapshot is not sorted by sku within warehouse " + warehouseId), maxReportedDiscrepancies);
+                continue;
+            }
+            cursor.merge(lineNumber, sku, quantityOnHand, result);
+        }
+        if (cursor != null) {
+            cursor.finish(result);
+        }
+
+        LOGGER.info("Stock reconciliation finished: {} lines read, {} rows compared, {} rows updated, {} discrepancies",
+                result.getLinesRead(), result.getRowsCompared(), result.getRowsUpdated(), result.getDiscrepancyCount());
+        return result;
+    }
+
+    private void validate(String warehouseId, long sku, int quantityOnHand) {
+        if (zipDeliveryIndex.getWarehouseSlot(warehouseId) < 0) {
+            throw new IllegalArgumentException("Unknown warehouseId: " + warehouseId);
+        }
+        if (sku <= 0) {
+            throw new IllegalArgumentException("A positive sku is required");
+        }
+        if (quantityOnHand < 0) {
+            throw new IllegalArgumentException("quantityOnHand must not be negative");
+        }
+    }
+
+    /**
+     * Walks the inventory records of one warehouse in SKU order alongside the snapshot lines of that warehouse,
+     * collecting the corrections of the current page and writing them before the next page is read.
+     */
+    private final class WarehouseCursor {
+
+        private final String warehouseId;
+        private final Map<Long, PendingStockQuantity> pendingQuantities = new HashMap<>();
+        private List<InventoryQuantityRow> page = Collections.emptyList();
+        private int position;
+        private long lastPageSku;
+        private boolean exhausted;
+        private long lastSnapshotSku;
+        private final List<InventoryQuantityRow> changedRows = new ArrayList<>();
+        private final List<Integer> changedQuantities = new ArrayList<>();
+        private final List<Long> changedLineNumbers = new ArrayList<>();
+
+        private WarehouseCursor(String warehouseId) {
+            this.warehouseId = warehouseId;
+            for (PendingStockQuantity pendingQuantity : inventoryBulkRepository.findPendingQuantities(warehouseId)) {
+                pendingQuantities.put(pendingQuantity.getSku(), pendingQuantity);
+            }
+        }
+
+        private void merge(long lineNumber, long sku, int quantityOnHand, StockReconciliationResult result) {
+            lastSnapshotSku = sku;
+            InventoryQuantityRow row = peek(result);
+            while (row != null && row.getSku() < sku) {
+                reportMissing(row, result);
+                position++;
+                row = peek(result);
+            }
+            if (row == null || row.getSku() != sku) {
+                result.addDiscrepancy(new StockDiscrepancy(lineNumber, warehouseId, sku, StockDiscrepancyType.NOT_STOCKED, null, null,
+                        "SKU " + sku + " is counted but has no inventory record in warehouse " + warehouseId), maxReportedDiscrepancies);
+                return;
+            }
+            position++;
+            result.setRowsCompared(result.getRowsCompared() + 1);
+            int reconciledQuantity = Math.max(0, quantityOnHand - pendingQuantity(row));
+            if (reconciledQuantity != row.getQuantityAvailable()) {
+                changedRows.add(row);
+                changedQuantities.add(reconciledQuantity);
+                changedLineNumbers.add(lineNumber);
+            }
+        }
+
+        /**
+         * Returns the units of a record that are on the shelf but not available. Held and ordered units can never
+         * exceed the quantity placed on order from the record, which bounds orders attributed to the wrong warehouse.
+         */
+        private int pendingQuantity(InventoryQuantityRow row) {
+            PendingStockQuantity pendingQuantity = pendingQuantities.get(row.getSku());
+            if (pendingQuantity == null) {
+                return 0;
+            }
+            int quantityOnOrder = row.getQuantityOnOrder() == null ? 0 : row.getQuantityOnOrder();
+            return Math.min(pendingQuantity.getQuantityReserved(), quantityOnOrder) + Math.max(0, pendingQuantity.getQuantityLeased());
+        }
+
+        private void finish(StockReconciliationResult result) {
+            InventoryQuantityRow row;
+            while ((row = peek(result)) != null) {
+                reportMissing(row, result);
+                position++;
+            }
+            flush(result);
+        }
+
+        /**
+         * Returns the current inventory record, reading the next page once the current one is used up.
+         */
+        private InventoryQuantityRow peek(StockReconciliationResult result) {
+            if (position == page.size()) {
+                if (exhausted) {
+                    return null;
+                }
+                flush(result);
+                page = inventoryBulkRepository.findQuantityPage(warehouseId, lastPageSku, pageSize);
+                position = 0;
+                exhausted = page.size() < pageSize;
+                if (page.isEmpty()) {
+                    return null;
+                }
+                lastPageSku = page.get(page.size() - 1).getSku();
+            }
+            return page.get(position);
+        }
+
+        private void reportMissing(InventoryQuantityRow row, StockReconciliationResult result) {
+            result.addDiscrepancy(new StockDiscrepancy(0, warehouseId, row.getSku(), StockDiscrepancyType.MISSING_FROM_SNAPSHOT,
+                    row.getQuantityAvailable(), null, "SKU " + row.getSku() + " has an inventory record but is not counted in the snapshot"), maxReportedDiscrepancies);
+        }
+
+        /**
+         * Writes the corrections collected for the current page in one transaction.
+         */
+        private void flush(StockReconciliationResult result) {
+            if (changedRows.isEmpty()) {
+                return;
+            }
+            List<InventoryQuantityRow> rows = new ArrayList<>(changedRows);
+            List<Integer> quantities = new ArrayList<>(changedQuantities);
+            boolean[] updated = transactionTemplate.execute(status -> {
+                boolean[] rowsUpdated = inventoryBulkRepository.setAvailableQuantities(rows, quantities);
+                for (int i = 0; i < rowsUpdated.length; i++) {
+                    if (rowsUpdated[i]) {
+                        eventPublisher.publishEvent(new InventoryLevelChangedEvent(rows.get(i).getSku(), warehouseId, quantities.get(i)));
+                    }
+                }
+                return rowsUpdated;
+            });
+            for (int i = 0; i < rows.size(); i++) {
+                InventoryQuantityRow row = rows.get(i);
+                if (updated[i]) {
+                    result.setRowsUpdated(result.getRowsUpdated() + 1);
+                    result.addDiscrepancy(new StockDiscrepancy(changedLineNumbers.get(i), warehouseId, row.getSku(), StockDiscrepancyType.QUANTITY_CHANGED,
+                            row.getQuantityAvailable(), quantities.get(i), "Available quantity corrected"), maxReportedDiscrepancies);
+                } else {
+                    result.addDiscrepancy(new StockDiscrepancy(changedLineNumbers.get(i), warehouseId, row.getSku(), StockDiscrepancyType.CONCURRENT_UPDATE,
+                            row.getQuantityAvailable(), quantities.get(i), "The inventory record changed during reconciliation and was not updated"), maxReportedDiscrepancies);
+                }
+            }
+            changedRows.clear();
+            changedQuantities.clear();
+            changedLineNumbers.clear();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.nisum.vibe.cart.scm.service;
 
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
 import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
 import com.nisum.vibe.cart.scm.exception.WarehouseNotFoundException;
 import com.nisum.vibe.cart.scm.model.*;
@@ -22,9 +23,23 @@ public interface InventoryService {
     Map<Long, String> stockReservationCall(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode)
             throws WarehouseNotFoundException, InventoryNotFoundException;
 
+    Map<Long, String> stockReservationCall(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode, boolean allowBackorder, String orderReference)
+            throws WarehouseNotFoundException, InventoryNotFoundException;
+
+    Map<Long, String> stockReservationCall(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode, boolean allowBackorder, String orderReference,
+                                           AllocationMode allocationMode) throws WarehouseNotFoundException, InventoryNotFoundException;
+
     String getExpectedDeliveryDateWithSkuAndZipcode(Long sku, Long zipcode)
             throws InventoryNotFoundException, WarehouseNotFoundException;
 
+    List<DeliveryPromiseDto> getExpectedDeliveryDates(List<Long> skuList, Long zipcode) throws WarehouseNotFoundException;
+
+    CheckoutQuoteResponse checkoutQuote(CheckoutQuoteRequest checkoutQuoteRequest) throws WarehouseNotFoundException, InvalidInventoryRequestException;
+
+    int releaseExpiredHolds();
+
+    List<CustomerOrderItemDTO> consumeStockHolds(String holdReference, List<CustomerOrderItemDTO> customerOrderItemDTOS);
+
     List<WarehouseStockDto> displayInventoryReport();
 
     void addStockToSingleInventory(SkuQuantityWarehouseDto skuQuantityWarehouseDto) throws InventoryNotFoundException, WarehouseNotFoundException;
@@ -33,6 +48,8 @@ public interface InventoryService {
 
     List<InventoryConsoleResponse> getAllInventories();
 
+    InventoryChangePage getInventoryChanges(long since, long afterInventoryId, int limit) throws InvalidInventoryRequestException;
+
     Integer getQuantityByItemId(Long itemId) throws InventoryNotFoundException;
 
     Integer getQuantityBySku(Long sku) throws InventoryNotFoundException;
@@ -42,4 +59,6 @@ public interface InventoryService {
     List<InventoryLocationResponse> getAllWarehouses();
 
     void revertStockIfOrderCancel(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode) throws WarehouseNotFoundException, InventoryNotFoundException;
+
+    void revertStockIfOrderCancel(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode, String orderReference) throws WarehouseNotFoundException, InventoryNotFoundException;
 }
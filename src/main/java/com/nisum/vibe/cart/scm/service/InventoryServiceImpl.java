@@ -1,22 +1,40 @@
 package com.nisum.vibe.cart.scm.service;
 
 import com.nisum.vibe.cart.scm.dao.Inventory;
+import com.nisum.vibe.cart.scm.dao.StockHold;
 import com.nisum.vibe.cart.scm.dao.Warehouse;
+import com.nisum.vibe.cart.scm.event.InventoryLevelChangedEvent;
+import com.nisum.vibe.cart.scm.event.StockReplenishedEvent;
+import com.nisum.vibe.cart.scm.event.StockReservedEvent;
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
 import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
 import com.nisum.vibe.cart.scm.exception.WarehouseNotFoundException;
 import com.nisum.vibe.cart.scm.model.*;
+import com.nisum.vibe.cart.scm.repository.InventoryBulkRepository;
 import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import com.nisum.vibe.cart.scm.repository.StockHoldRepository;
 import com.nisum.vibe.cart.scm.repository.WarehouseRepository;
+import com.nisum.vibe.cart.scm.util.ChangeVersionClock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static com.nisum.vibe.cart.scm.model.UUIDGenerator.generateUUID;
+
 /**
  * Implementation of the InventoryService interface that provides methods to manage and retrieve inventory information.
  * This class handles various operations such as checking SKU quantities, updating inventory based on orders,
@@ -45,6 +63,42 @@ public class InventoryServiceImpl implements InventoryService {
     @Autowired
     private WarehouseRepository warehouseRepository;
 
+    @Autowired
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Autowired
+    private DeliveryPromiseEngine deliveryPromiseEngine;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private StockHoldRepository stockHoldRepository;
+
+    @Value("${scm.checkout.hold-minutes:15}")
+    private int defaultHoldMinutes;
+
+    @Value("${scm.checkout.max-hold-minutes:60}")
+    private int maxHoldMinutes;
+
+    @Value("${scm.checkout.hold-release-batch-size:500}")
+    private int holdReleaseBatchSize;
+
+    @Autowired
+    private InventoryBulkRepository inventoryBulkRepository;
+
+    @Autowired
+    private BackorderAllocator backorderAllocator;
+
+    @Value("${scm.inventory.changes.max-page-size:5000}")
+    private int maxChangesPageSize;
+
+    @Value("${scm.inventory.changes.settle-ms:5000}")
+    private long changesSettleMillis;
+
+    @Value("${scm.inventory.allocation.default-mode:PREFER_LOCAL}")
+    private AllocationMode defaultAllocationMode;
+
     private final Logger LOGGER = LoggerFactory.getLogger(InventoryServiceImpl.class);
 
     /**
@@ -93,25 +147,99 @@ public class InventoryServiceImpl implements InventoryService {
     @Override
     @Transactional
     public Map<Long, String> stockReservationCall(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode) throws WarehouseNotFoundException, InventoryNotFoundException {
+        return stockReservationCall(customerOrderItemDTOS, customerZipcode, false, null);
+    }
+
+    /**
+     * Reserves stock for ordered items like {@link #stockReservationCall(List, Long)}, optionally backordering the
+     * items that cannot be reserved.
+     *
+     * <p>
+     * In backorder mode an item whose quantity is not available across all warehouses is queued with the
+     * {@link BackorderAllocator} instead of being reported as out of stock, and stock is reserved for it in FIFO order
+     * when its SKU is replenished.
+     * </p>
+     *
+     * @param customerOrderItemDTOS a list of ordered items including SKU and quantity.
+     * @param customerZipcode       the customer's delivery zipcode used to find the nearest warehouse.
+     * @param allowBackorder        whether items that cannot be reserved are backordered.
+     * @param orderReference        the reference of the order, recorded on its backorders; may be {@code null}.
+     * @throws WarehouseNotFoundException if no warehouse is found for the given zipcode.
+     * @throws InventoryNotFoundException if the SKU is not stocked in any warehouse.
+     */
+    @Override
+    @Transactional
+    public Map<Long, String> stockReservationCall(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode, boolean allowBackorder,
+                                                  String orderReference) throws WarehouseNotFoundException, InventoryNotFoundException {
+        return stockReservationCall(customerOrderItemDTOS, customerZipcode, allowBackorder, orderReference, null);
+    }
+
+    /**
+     * Reserves stock for ordered items like {@link #stockReservationCall(List, Long, boolean, String)}, choosing the
+     * warehouses according to an allocation mode.
+     *
+     * <p>
+     * {@link AllocationMode#PREFER_LOCAL} locks every inventory record of the ordered SKUs up front and then reserves
+     * from the nearest warehouse first, so a reservation waits while another one holds the nearest record of a hot SKU.
+     * {@link AllocationMode#PREFER_FAST} instead claims the records of each SKU with {@code FOR UPDATE SKIP LOCKED},
+     * still ordered nearest warehouse first, and reserves from those, so concurrent reservations of the same SKU spread
+     * across warehouses instead of queueing behind one record. Only if the unlocked records cannot cover an item does
+     * it lock every record of that SKU and reserve as in {@code PREFER_LOCAL}.
+     * </p>
+     *
+     * @param customerOrderItemDTOS a list of ordered items including SKU and quantity.
+     * @param customerZipcode       the customer's delivery zipcode used to find the nearest warehouse.
+     * @param allowBackorder        whether items that cannot be reserved are backordered.
+     * @param orderReference        the reference of the order, recorded on its backorders; may be {@code null}.
+     * @param allocationMode        how warehouses are chosen, or {@code null} for {@code scm.inventory.allocation.default-mode}.
+     * @throws WarehouseNotFoundException if no warehouse is found for the given zipcode.
+     * @throws InventoryNotFoundException if the SKU is not stocked in any warehouse.
+     */
+    @Override
+    @Transactional
+    public Map<Long, String> stockReservationCall(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode, boolean allowBackorder,
+                                                  String orderReference, AllocationMode allocationMode) throws WarehouseNotFoundException, InventoryNotFoundException {
 
         LOGGER.info("Inside updateInventory() method of InventoryServiceImpl class");
 
+        boolean preferFast = (allocationMode == null ? defaultAllocationMode : allocationMode) == AllocationMode.PREFER_FAST;
+        if (!preferFast) {
+            lockInventoriesOfItems(customerOrderItemDTOS);
+        }
+
         Map<Long, String> responseMap = new HashMap<>();
 
         for (CustomerOrderItemDTO customerOrderItemDto : customerOrderItemDTOS) {
             Long sku = customerOrderItemDto.getSku();
             Integer orderQuantity = customerOrderItemDto.getOrderQuantity();
+            boolean demandServed = true;
 
             Optional<Warehouse> nearestWarehouseOptional = warehouseRepository.findWarehouseByZipcode(customerZipcode);
 
             if (nearestWarehouseOptional.isPresent()) {
                 Warehouse nearestWarehouse = nearestWarehouseOptional.get();
+
+                if (preferFast) {
+                    if (reserveFromUnlockedInventories(sku, orderQuantity, nearestWarehouse.getWarehouseId())) {
+                        responseMap.put(sku, "Inventory updated with stock reservation");
+                        eventPublisher.publishEvent(new StockReservedEvent(sku, nearestWarehouse.getWarehouseId(), orderQuantity));
+                        continue;
+                    }
+                    // The unlocked records cannot cover the item, wait for the locked ones
+                    inventoryRepository.findBySkuInForUpdate(Collections.singleton(sku));
+                }
+
                 Inventory nearestInventory = inventoryRepository.findBySkuAndWarehouse(sku, nearestWarehouse).orElse(null);
 
                 if (nearestInventory == null) {
                     // SKU not found in the nearest warehouse, search in other warehouses
                     List<Inventory> otherInventories = inventoryRepository.findBySkuAndAvailableQuantityGreaterThanZero(sku, nearestWarehouse.getWarehouseId());
-                    if (otherInventories.isEmpty()) {
+                    if (otherInventories.isEmpty() && allowBackorder && !inventoryRepository.findBySku(sku).isEmpty()) {
+                        backorderAllocator.queue(sku, orderQuantity, orderReference, customerZipcode);
+                        responseMap.put(sku, "Backordered " + orderQuantity + " units for SKU: " + sku);
+                        eventPublisher.publishEvent(new StockReservedEvent(sku, nearestWarehouse.getWarehouseId(), orderQuantity));
+                        continue;
+                    } else if (otherInventories.isEmpty()) {
                         throw new InventoryNotFoundException("No inventory found for SKU: " + sku + " in any warehouse.");
                     } else {
                         nearestInventory = otherInventories.get(0); // Use the inventory with high stock
@@ -124,7 +252,7 @@ public class InventoryServiceImpl implements InventoryService {
                     nearestInventory.setQuantityOnOrder(nearestInventory.getQuantityOnOrder() + orderQuantity);
                     nearestInventory.setQuantityOnHold(nearestInventory.getQuantityOnHold() + orderQuantity);
                     nearestInventory.setLastUpdatedDate(LocalDate.now());
-                    inventoryRepository.save(nearestInventory);
+                    saveInventory(nearestInventory);
                 } else {
                     List<Inventory> inventoryList = inventoryRepository.findBySku(sku);
                     int totalQuantityInAllInventories = inventoryList.stream().mapToInt(Inventory::getQuantityAvailable).sum();
@@ -138,7 +266,7 @@ public class InventoryServiceImpl implements InventoryService {
                         nearestInventory.setQuantityOnHold(nearestInventory.getQuantityOnHold() + quantityAvailable);
                         nearestInventory.setLastUpdatedDate(LocalDate.now());
                         remainingQuantity -= quantityAvailable;
-                        inventoryRepository.save(nearestInventory);
+                        saveInventory(nearestInventory);
 
                         // Continue searching for inventory in other warehouses
                         List<Inventory> otherInventories = inventoryRepository.findBySkuAndAvailableQuantityGreaterThanZero(sku, nearestWarehouse.getWarehouseId());
@@ -163,10 +291,14 @@ public class InventoryServiceImpl implements InventoryService {
                                 nearestInventory.setLastUpdatedDate(LocalDate.now());
                             }
 
-                            inventoryRepository.save(inventory);
+                            saveInventory(inventory);
                         }
+                    } else if (allowBackorder) {
+                        backorderAllocator.queue(sku, orderQuantity, orderReference, customerZipcode);
+                        responseMap.put(sku, "Backordered " + orderQuantity + " units for SKU: " + sku);
                     } else {
                         responseMap.put(sku, "Not enough stock to fulfill the order for SKU: " + sku);
+                        demandServed = false;
                     }
                 }
 
@@ -176,6 +308,9 @@ public class InventoryServiceImpl implements InventoryService {
             if (!responseMap.containsKey(sku)) {
                 responseMap.put(sku, "Inventory updated with stock reservation");
             }
+            if (demandServed) {
+                eventPublisher.publishEvent(new StockReservedEvent(sku, nearestWarehouseOptional.get().getWarehouseId(), orderQuantity));
+            }
         }
 
         return responseMap;
@@ -187,6 +322,7 @@ public class InventoryServiceImpl implements InventoryService {
      * <p>
      * The method checks if the SKU is available in the nearest warehouse. If stock is available, a 2-day delivery time is assumed.
      * If not, the method checks other warehouses and assumes a 5-day delivery time if stock is found elsewhere.
+     * Once the {@link DeliveryPromiseEngine} is warmed up the answer is served from it without querying the database.
      * </p>
      *
      * @param sku     the SKU identifier for the product.
@@ -200,6 +336,18 @@ public class InventoryServiceImpl implements InventoryService {
 
         LOGGER.info("Inside getExpectedDeliveryDateWithSkuAndZipcode() method of InventoryServiceImpl class");
 
+        if (deliveryPromiseEngine.isReady()) {
+            int warehouseSlot = zipDeliveryIndex.findWarehouseSlot(zipcode);
+            if (warehouseSlot < 0) {
+                throw new WarehouseNotFoundException("Delivery not available for the zipcode: " + zipcode);
+            }
+            int deliveryDays = deliveryPromiseEngine.getDeliveryDays(sku, warehouseSlot);
+            if (deliveryDays < 0) {
+                throw new InventoryNotFoundException("No stock available for the SKU: " + sku + " in any inventory.");
+            }
+            return LocalDate.now().plusDays(deliveryDays).toString();
+        }
+
         Optional<Warehouse> warehouseOptional = warehouseRepository.findWarehouseByZipcode(zipcode);
 
         if (!warehouseOptional.isPresent()) {
@@ -222,6 +370,288 @@ public class InventoryServiceImpl implements InventoryService {
         }
     }
 
+    /**
+     * Retrieves the expected delivery dates of many SKUs for a single customer zipcode.
+     *
+     * <p>
+     * The zipcode is resolved to its warehouse once and every SKU is then answered from the {@link DeliveryPromiseEngine}
+     * with the same 2-day / 5-day rule as {@link #getExpectedDeliveryDateWithSkuAndZipcode(Long, Long)}. SKUs that are out
+     * of stock everywhere are reported as not in stock instead of failing the whole request. Until the engine is warmed up
+     * each SKU falls back to the single lookup.
+     * </p>
+     *
+     * @param skuList the SKU identifiers, in the order the results should be returned.
+     * @param zipcode the customer's delivery zipcode.
+     * @return the delivery promise of each SKU.
+     * @throws WarehouseNotFoundException if no warehouse is found for the given zipcode.
+     */
+    @Override
+    public List<DeliveryPromiseDto> getExpectedDeliveryDates(List<Long> skuList, Long zipcode) throws WarehouseNotFoundException {
+
+        LOGGER.info("Inside getExpectedDeliveryDates() method of InventoryServiceImpl class");
+
+        List<DeliveryPromiseDto> deliveryPromises = new ArrayList<>(skuList.size());
+
+        if (!deliveryPromiseEngine.isReady()) {
+            for (Long sku : skuList) {
+                try {
+                    deliveryPromises.add(new DeliveryPromiseDto(sku, true, getExpectedDeliveryDateWithSkuAndZipcode(sku, zipcode)));
+                } catch (InventoryNotFoundException e) {
+                    deliveryPromises.add(new DeliveryPromiseDto(sku, false, null));
+                }
+            }
+            return deliveryPromises;
+        }
+
+        int warehouseSlot = zipDeliveryIndex.findWarehouseSlot(zipcode);
+        if (warehouseSlot < 0) {
+            throw new WarehouseNotFoundException("Delivery not available for the zipcode: " + zipcode);
+        }
+
+        LocalDate today = LocalDate.now();
+        String localDeliveryDate = today.plusDays(ZipDeliveryIndex.LOCAL_DELIVERY_DAYS).toString();
+        String remoteDeliveryDate = today.plusDays(ZipDeliveryIndex.REMOTE_DELIVERY_DAYS).toString();
+
+        for (Long sku : skuList) {
+            int deliveryDays = deliveryPromiseEngine.getDeliveryDays(sku, warehouseSlot);
+            if (deliveryDays < 0) {
+                deliveryPromises.add(new DeliveryPromiseDto(sku, false, null));
+            } else {
+                deliveryPromises.add(new DeliveryPromiseDto(sku, true, deliveryDays == ZipDeliveryIndex.LOCAL_DELIVERY_DAYS ? localDeliveryDate : remoteDeliveryDate));
+            }
+        }
+
+        return deliveryPromises;
+    }
+
+    /**
+     * Builds a checkout quote for a set of items in a single transaction.
+     *
+     * <p>
+     * The warehouse serving the ZIP code is resolved once from the {@link ZipDeliveryIndex} and all inventory records of
+     * the requested SKUs are read with one query. Each line is then allocated in memory the same way
+     * {@link #stockReservationCall(List, Long)} does, preferring the nearest warehouse and then the warehouses with the most
+     * stock, and gets a 2-day ETA when it ships entirely from the nearest warehouse or a 5-day ETA otherwise.
+     * </p>
+     *
+     * <p>
+     * When holds are requested and every line is available, the inventory records are locked, the allocated quantities are
+     * reserved exactly like a stock reservation and a {@link StockHold} is recorded per record. Holds not confirmed by an
+     * order before they expire are released by {@link #releaseExpiredHolds()}; an order placed with the hold reference
+     * consumes them through {@link #consumeStockHolds(String, List)}.
+     * </p>
+     *
+     * @param checkoutQuoteRequest the shipping ZIP code, the items and whether stock should be held.
+     * @return the per-line quote and, if stock was held, the hold reference and expiry.
+     * @throws WarehouseNotFoundException       if no warehouse is found for the given zipcode.
+     * @throws InvalidInventoryRequestException if the request has no items or an item has no SKU or a non-positive quantity.
+     */
+    @Override
+    @Transactional
+    public CheckoutQuoteResponse checkoutQuote(CheckoutQuoteRequest checkoutQuoteRequest) throws WarehouseNotFoundException, InvalidInventoryRequestException {
+
+        LOGGER.info("Inside checkoutQuote() method of InventoryServiceImpl class");
+
+        validateCheckoutQuoteRequest(checkoutQuoteRequest);
+
+        Long zipcode = checkoutQuoteRequest.getZipcode();
+        String nearestWarehouseId = zipDeliveryIndex.findWarehouseId(zipcode);
+        if (nearestWarehouseId == null) {
+            throw new WarehouseNotFoundException("No Warehouse found for the zipcode: " + zipcode);
+        }
+
+        Set<Long> skus = checkoutQuoteRequest.getItems().stream().map(CustomerOrderItemDTO::getSku).collect(Collectors.toCollection(LinkedHashSet::new));
+        List<Inventory> inventories = checkoutQuoteRequest.isPlaceHolds()
+                ? inventoryRepository.findBySkuInForUpdate(skus)
+                : inventoryRepository.findBySkuIn(skus);
+
+        Map<Long, List<Inventory>> inventoriesBySku = new HashMap<>();
+        for (Inventory inventory : inventories) {
+            inventoriesBySku.computeIfAbsent(inventory.getSku(), sku -> new ArrayList<>()).add(inventory);
+        }
+        Comparator<Inventory> allocationOrder = Comparator
+                .comparing((Inventory inventory) -> !nearestWarehouseId.equals(warehouseIdOf(inventory)))
+                .thenComparing(Inventory::getQuantityAvailable, Comparator.reverseOrder());
+        inventoriesBySku.values().forEach(candidates -> candidates.sort(allocationOrder));
+
+        LocalDate today = LocalDate.now();
+        Map<Inventory, Integer> allocatedQuantities = new LinkedHashMap<>();
+        List<CheckoutQuoteLine> lines = new ArrayList<>();
+        boolean allAvailable = true;
+
+        for (CustomerOrderItemDTO item : checkoutQuoteRequest.getItems()) {
+            Long sku = item.getSku();
+            int requestedQuantity = item.getOrderQuantity();
+            List<Inventory> candidates = inventoriesBySku.getOrDefault(sku, Collections.emptyList());
+
+            int unallocatedQuantity = 0;
+            for (Inventory inventory : candidates) {
+                unallocatedQuantity += inventory.getQuantityAvailable() - allocatedQuantities.getOrDefault(inventory, 0);
+            }
+
+            if (unallocatedQuantity < requestedQuantity) {
+                allAvailable = false;
+                lines.add(new CheckoutQuoteLine(sku, requestedQuantity, false, null, Collections.emptyList()));
+                continue;
+            }
+
+            List<WarehouseAllocationDto> allocations = new ArrayList<>();
+            int remainingQuantity = requestedQuantity;
+            for (Inventory inventory : candidates) {
+                if (remainingQuantity <= 0) {
+                    break;
+                }
+                int quantity = Math.min(inventory.getQuantityAvailable() - allocatedQuantities.getOrDefault(inventory, 0), remainingQuantity);
+                if (quantity > 0) {
+                    allocatedQuantities.merge(inventory, quantity, Integer::sum);
+                    allocations.add(new WarehouseAllocationDto(warehouseIdOf(inventory), quantity));
+                    remainingQuantity -= quantity;
+                }
+            }
+
+            boolean shipsFromNearestWarehouse = allocations.size() == 1 && nearestWarehouseId.equals(allocations.get(0).getWarehouseId());
+            int deliveryDays = shipsFromNearestWarehouse ? ZipDeliveryIndex.LOCAL_DELIVERY_DAYS : ZipDeliveryIndex.REMOTE_DELIVERY_DAYS;
+            lines.add(new CheckoutQuoteLine(sku, requestedQuantity, true, today.plusDays(deliveryDays).toString(), allocations));
+        }
+
+        CheckoutQuoteResponse checkoutQuoteResponse = new CheckoutQuoteResponse(zipcode, allAvailable, null, null, lines);
+
+        if (checkoutQuoteRequest.isPlaceHolds() && allAvailable) {
+            int holdMinutes = checkoutQuoteRequest.getHoldMinutes() != null ? checkoutQuoteRequest.getHoldMinutes() : defaultHoldMinutes;
+            Instant expiresAt = Instant.now().plus(Math.min(holdMinutes, maxHoldMinutes), ChronoUnit.MINUTES);
+            String holdReference = generateUUID();
+
+            List<StockHold> stockHolds = new ArrayList<>(allocatedQuantities.size());
+            for (Map.Entry<Inventory, Integer> allocatedQuantity : allocatedQuantities.entrySet()) {
+                Inventory inventory = allocatedQuantity.getKey();
+                int quantity = allocatedQuantity.getValue();
+                inventory.setQuantityAvailable(inventory.getQuantityAvailable() - quantity);
+                inventory.setQuantityOnOrder(inventory.getQuantityOnOrder() + quantity);
+                inventory.setQuantityOnHold(inventory.getQuantityOnHold() + quantity);
+                inventory.setLastUpdatedDate(LocalDate.now());
+                saveInventory(inventory);
+                stockHolds.add(new StockHold(holdReference, inventory.getInventoryId(), inventory.getSku(), warehouseIdOf(inventory), quantity, expiresAt));
+            }
+            stockHoldRepository.saveAll(stockHolds);
+
+            checkoutQuoteResponse.setHoldReference(holdReference);
+            checkoutQuoteResponse.setHoldExpiresAt(expiresAt);
+        }
+
+        return checkoutQuoteResponse;
+    }
+
+    /**
+     * Releases active stock holds whose expiry has passed.
+     *
+     * <p>
+     * Runs periodically. Each run locks up to a batch of expired holds, skipping holds locked by a run on another node,
+     * returns their quantity from on-hold and on-order to the available quantity and marks them as expired.
+     * </p>
+     *
+     * @return the number of holds released.
+     */
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${scm.checkout.hold-release-interval-ms:60000}")
+    public int releaseExpiredHolds() {
+
+        List<StockHold> expiredHolds = stockHoldRepository.findExpiredForUpdate(HoldStatus.ACTIVE, Instant.now(), PageRequest.of(0, holdReleaseBatchSize));
+        if (expiredHolds.isEmpty()) {
+            return 0;
+        }
+
+        LOGGER.info("Inside releaseExpiredHolds() method of InventoryServiceImpl class");
+
+        Set<Long> inventoryIds = expiredHolds.stream().map(StockHold::getInventoryId).collect(Collectors.toSet());
+        Map<Long, Inventory> inventoriesById = inventoryRepository.findByInventoryIdInForUpdate(inventoryIds).stream()
+                .collect(Collectors.toMap(Inventory::getInventoryId, inventory -> inventory));
+
+        for (StockHold stockHold : expiredHolds) {
+            Inventory inventory = inventoriesById.get(stockHold.getInventoryId());
+            if (inventory != null) {
+                int quantity = stockHold.getQuantity();
+                inventory.setQuantityAvailable(inventory.getQuantityAvailable() + quantity);
+                inventory.setQuantityOnOrder(Math.max(0, inventory.getQuantityOnOrder() - quantity));
+                inventory.setQuantityOnHold(Math.max(0, inventory.getQuantityOnHold() - quantity));
+                inventory.setLastUpdatedDate(LocalDate.now());
+            }
+            stockHold.setStatus(HoldStatus.EXPIRED);
+        }
+
+        inventoriesById.values().forEach(this::saveInventory);
+        stockHoldRepository.saveAll(expiredHolds);
+
+        LOGGER.info("Released {} expired stock holds", expiredHolds.size());
+        return expiredHolds.size();
+    }
+
+    /**
+     * Consumes the stock held by a checkout quote for the items of an order instead of reserving it again.
+     *
+     * <p>
+     * The holds of the quote are locked and, per item, the quantity already confirmed by an earlier call is counted
+     * first, so that reserving the items and then placing the order with the same hold reference consumes the holds
+     * once. The rest is taken from active holds of the SKU, splitting a hold when only part of it is needed, and those
+     * holds are marked as confirmed. Stock held but not ordered stays active and is released on expiry.
+     * </p>
+     *
+     * @param holdReference         the reference returned by the checkout quote.
+     * @param customerOrderItemDTOS the ordered items including SKU and quantity.
+     * @return the items, with their quantities, that are not covered by the holds and still have to be reserved.
+     */
+    @Override
+    @Transactional
+    public List<CustomerOrderItemDTO> consumeStockHolds(String holdReference, List<CustomerOrderItemDTO> customerOrderItemDTOS) {
+        LOGGER.info("Inside consumeStockHolds() method of InventoryServiceImpl class");
+
+        List<StockHold> stockHolds = stockHoldRepository.findByHoldReferenceForUpdate(holdReference);
+        Map<Long, Integer> confirmedQuantities = new HashMap<>();
+        Map<Long, List<StockHold>> activeHoldsBySku = new HashMap<>();
+        for (StockHold stockHold : stockHolds) {
+            if (stockHold.getStatus() == HoldStatus.CONFIRMED) {
+                confirmedQuantities.merge(stockHold.getSku(), stockHold.getQuantity(), Integer::sum);
+            } else if (stockHold.getStatus() == HoldStatus.ACTIVE) {
+                activeHoldsBySku.computeIfAbsent(stockHold.getSku(), sku -> new ArrayList<>()).add(stockHold);
+            }
+        }
+
+        List<StockHold> remainders = new ArrayList<>();
+        List<CustomerOrderItemDTO> unheldItems = new ArrayList<>();
+        for (CustomerOrderItemDTO customerOrderItemDto : customerOrderItemDTOS) {
+            Long sku = customerOrderItemDto.getSku();
+            int confirmedQuantity = confirmedQuantities.getOrDefault(sku, 0);
+            int remainingQuantity = customerOrderItemDto.getOrderQuantity();
+            int alreadyConsumed = Math.min(confirmedQuantity, remainingQuantity);
+            confirmedQuantities.put(sku, confirmedQuantity - alreadyConsumed);
+            remainingQuantity -= alreadyConsumed;
+
+            for (StockHold stockHold : activeHoldsBySku.getOrDefault(sku, Collections.emptyList())) {
+                if (remainingQuantity <= 0) {
+                    break;
+                }
+                if (stockHold.getStatus() != HoldStatus.ACTIVE) {
+                    continue;
+                }
+                if (stockHold.getQuantity() > remainingQuantity) {
+                    remainders.add(new StockHold(holdReference, stockHold.getInventoryId(), sku, stockHold.getWarehouseId(),
+                            stockHold.getQuantity() - remainingQuantity, stockHold.getExpiresAt()));
+                    stockHold.setQuantity(remainingQuantity);
+                }
+                stockHold.setStatus(HoldStatus.CONFIRMED);
+                remainingQuantity -= stockHold.getQuantity();
+            }
+
+            if (remainingQuantity > 0) {
+                unheldItems.add(new CustomerOrderItemDTO(sku, remainingQuantity));
+            }
+        }
+
+        stockHoldRepository.saveAll(stockHolds);
+        stockHoldRepository.saveAll(remainders);
+        return unheldItems;
+    }
+
     /**
      * Finds the nearest warehouse with available stock for a given SKU.
      *
@@ -281,10 +711,11 @@ public class InventoryServiceImpl implements InventoryService {
      * Updates the quantity available for the given SKU in the specified warehouse.
      *
      * @param skuQuantityWarehouseDto DTO containing SKU, quantity to add, and warehouse ID.
+     * @throws InventoryNotFoundException if the SKU is not stocked in the warehouse.
      */
     @Override
     @Transactional
-    public void addStockToSingleInventory(SkuQuantityWarehouseDto skuQuantityWarehouseDto) {
+    public void addStockToSingleInventory(SkuQuantityWarehouseDto skuQuantityWarehouseDto) throws InventoryNotFoundException {
 
         LOGGER.info("Inside addStockToSingleInventory() method of InventoryServiceImpl class");
 
@@ -293,36 +724,90 @@ public class InventoryServiceImpl implements InventoryService {
         String warehouseId = skuQuantityWarehouseDto.getWarehouseId();
 
         Inventory inventory = inventoryRepository.findBySkuAndWarehouseId(sku, warehouseId);
+        if (inventory == null) {
+            throw new InventoryNotFoundException("No inventory found for SKU: " + sku + " in warehouse: " + warehouseId);
+        }
 
-        inventory.setQuantityAvailable(inventory.getQuantityAvailable() + quantityToAdd);
-        inventory.setLastUpdatedDate(LocalDate.now());
-
-        inventoryRepository.save(inventory);
+        addStock(inventory, quantityToAdd);
     }
 
     /**
      * Adds stock to multiple inventories.
-     * Iterates through a list of SKU, warehouse, and quantity data to update the inventory records.
+     * Resolves the inventory record of every SKU and warehouse first, then adds the quantities, so that a missing
+     * record is reported before any stock is added.
      *
      * @param skuQuantityWarehouseDtos List of DTOs containing SKU, quantity to add, and warehouse ID.
+     * @throws InventoryNotFoundException if a SKU is not stocked in its warehouse; no stock is added in that case.
      */
     @Override
-    @Transactional
-    public void addStockToMultipleInventories(List<SkuQuantityWarehouseDto> skuQuantityWarehouseDtos) {
+    @Transactional(rollbackFor = InventoryNotFoundException.class)
+    public void addStockToMultipleInventories(List<SkuQuantityWarehouseDto> skuQuantityWarehouseDtos) throws InventoryNotFoundException {
 
         LOGGER.info("Inside addStockToMultipleInventories() method of InventoryServiceImpl class");
 
+        List<Inventory> inventories = new ArrayList<>(skuQuantityWarehouseDtos.size());
         for (SkuQuantityWarehouseDto skuQuantityWarehouseDto : skuQuantityWarehouseDtos) {
             Long sku = skuQuantityWarehouseDto.getSku();
-            Integer quantityToAdd = skuQuantityWarehouseDto.getQuantityToAdd();
             String warehouseId = skuQuantityWarehouseDto.getWarehouseId();
 
             Inventory inventory = inventoryRepository.findBySkuAndWarehouseId(sku, warehouseId);
+            if (inventory == null) {
+                throw new InventoryNotFoundException("No inventory found for SKU: " + sku + " in warehouse: " + warehouseId);
+            }
+            inventories.add(inventory);
+        }
 
-            inventory.setQuantityAvailable(inventory.getQuantityAvailable() + quantityToAdd);
-            inventory.setLastUpdatedDate(LocalDate.now());
+        for (int i = 0; i < inventories.size(); i++) {
+            addStock(inventories.get(i), skuQuantityWarehouseDtos.get(i).getQuantityToAdd());
+        }
+    }
+
+    /**
+     * Returns one page of the inventory change feed: the inventory records modified after a change feed position.
+     * <p>
+     * Records modified within the last {@code scm.inventory.changes.settle-ms} milliseconds are held back until a
+     * later poll. Change versions are assigned before commit and by more than one instance, so a slower transaction
+     * can commit a version lower than one already returned; the settle window keeps such records from being skipped.
+     * </p>
+     *
+     * @param since            the change version of the last record received, or {@code 0} for a full sync.
+     * @param afterInventoryId the inventory ID of the last record received, or {@code 0}.
+     * @param limit            the maximum number of records to return, capped at {@code scm.inventory.changes.max-page-size}.
+     * @return the changed records and the position to request the next page from.
+     * @throws InvalidInventoryRequestException if a parameter is negative or the limit is not positive.
+     */
+    @Override
+    public InventoryChangePage getInventoryChanges(long since, long afterInventoryId, int limit) throws InvalidInventoryRequestException {
+
+        LOGGER.info("Inside getInventoryChanges() method of InventoryServiceImpl class");
+
+        if (since < 0 || afterInventoryId < 0 || limit <= 0) {
+            throw new InvalidInventoryRequestException("since and afterId must not be negative and limit must be positive");
+        }
+        int pageSize = Math.min(limit, maxChangesPageSize);
+        long upTo = ChangeVersionClock.versionAt(System.currentTimeMillis() - changesSettleMillis);
+
+        List<InventoryChangeDto> changes = inventoryRepository.findChangesAfter(since, afterInventoryId, upTo, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = changes.size() > pageSize;
+        if (hasMore) {
+            changes = new ArrayList<>(changes.subList(0, pageSize));
+        }
+        if (changes.isEmpty()) {
+            return new InventoryChangePage(changes, since, afterInventoryId, false);
+        }
+        InventoryChangeDto last = changes.get(changes.size() - 1);
+        return new InventoryChangePage(changes, last.getChangeVersion(), last.getInventoryId(), hasMore);
+    }
 
-            inventoryRepository.save(inventory);
+    /**
+     * Assigns a change version to inventory records created before change versions were introduced, so that they
+     * are included in a full sync of the inventory change feed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillChangeVersions() {
+        int backfilled = inventoryBulkRepository.backfillChangeVersions();
+        if (backfilled > 0) {
+            LOGGER.info("Assigned change versions to {} inventory records", backfilled);
         }
     }
 
@@ -414,6 +899,11 @@ public class InventoryServiceImpl implements InventoryService {
     public void confirmStockReservation(List<Long> skuList) throws InventoryNotFoundException {
         LOGGER.info("Inside confirmStockReservation() method of InventoryServiceImpl class");
 
+        // Lock every record of the SKUs in primary key order, see lockInventoriesOfItems()
+        if (!skuList.isEmpty()) {
+            inventoryRepository.findBySkuInForUpdate(new HashSet<>(skuList));
+        }
+
         for (Long sku : skuList) {
             // Find all inventories where this SKU has stock on hold
             List<Inventory> inventoriesWithHoldStock = inventoryRepository.findBySkuAndQuantityOnHoldGreaterThanZero(sku);
@@ -425,7 +915,7 @@ public class InventoryServiceImpl implements InventoryService {
             for (Inventory inventory : inventoriesWithHoldStock) {
                 // Reset the quantity on hold to 0
                 inventory.setQuantityOnHold(0);
-                inventoryRepository.save(inventory);
+                saveInventory(inventory);
             }
         }
     }
@@ -473,11 +963,39 @@ public class InventoryServiceImpl implements InventoryService {
     @Transactional
     @Override
     public void revertStockIfOrderCancel(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode) throws WarehouseNotFoundException, InventoryNotFoundException {
+        revertStockIfOrderCancel(customerOrderItemDTOS, customerZipcode, null);
+    }
+
+    /**
+     * Reverts the reserved stock for a list of ordered items, as {@link #revertStockIfOrderCancel(List, Long)} does,
+     * after cancelling the backorders recorded under the order reference. The quantity of a backorder that was never
+     * allocated was never added to the quantity on order, so it is left out of the revert.
+     *
+     * @param customerOrderItemDTOS List of items ordered by the customer.
+     * @param customerZipcode       The zipcode of the customer to find the nearest warehouse.
+     * @param orderReference        The reference the stock was reserved with, or {@code null} if the order has no backorders.
+     * @throws InventoryNotFoundException if enough reserved stock is not available for the specified SKU.
+     * @throws WarehouseNotFoundException if no warehouse is found for the provided zipcode.
+     */
+    @Transactional
+    @Override
+    public void revertStockIfOrderCancel(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode, String orderReference) throws WarehouseNotFoundException, InventoryNotFoundException {
         LOGGER.info("Inside revertStockReservation() method of InventoryServiceImpl class");
 
+        // Inventory records first, then backorders, in the order addStock() and the allocator lock them
+        lockInventoriesOfItems(customerOrderItemDTOS);
+        Map<Long, Integer> unreservedQuantities = orderReference == null ? Collections.emptyMap() : backorderAllocator.cancel(orderReference);
+
         for (CustomerOrderItemDTO customerOrderItemDto : customerOrderItemDTOS) {
             Long sku = customerOrderItemDto.getSku();
-            Integer orderQuantity = customerOrderItemDto.getOrderQuantity();
+            int unreserved = Math.min(unreservedQuantities.getOrDefault(sku, 0), customerOrderItemDto.getOrderQuantity());
+            if (unreserved > 0) {
+                unreservedQuantities.merge(sku, -unreserved, Integer::sum);
+            }
+            Integer orderQuantity = customerOrderItemDto.getOrderQuantity() - unreserved;
+            if (orderQuantity == 0) {
+                continue;
+            }
 
             Optional<Warehouse> nearestWarehouseOptional = warehouseRepository.findWarehouseByZipcode(customerZipcode);
 
@@ -498,7 +1016,7 @@ public class InventoryServiceImpl implements InventoryService {
                     nearestInventory.setQuantityAvailable(nearestInventory.getQuantityAvailable() + remainingQuantity);
                     nearestInventory.setQuantityOnOrder(nearestInventory.getQuantityOnOrder() - remainingQuantity);
                     nearestInventory.setLastUpdatedDate(LocalDate.now());
-                    inventoryRepository.save(nearestInventory);
+                    saveInventory(nearestInventory);
                     remainingQuantity = 0; // All stock has been reverted
                 } else {
                     // Partially revert the stock from the nearest warehouse
@@ -506,7 +1024,7 @@ public class InventoryServiceImpl implements InventoryService {
                     nearestInventory.setQuantityAvailable(nearestInventory.getQuantityAvailable() + nearestInventory.getQuantityOnOrder());
                     nearestInventory.setQuantityOnOrder(0); // All reserved stock from the nearest warehouse is reverted
                     nearestInventory.setLastUpdatedDate(LocalDate.now());
-                    inventoryRepository.save(nearestInventory);
+                    saveInventory(nearestInventory);
                 }
             }
             // Step 4: If SKU is not found or stock is still remaining, revert from other warehouses
@@ -523,7 +1041,7 @@ public class InventoryServiceImpl implements InventoryService {
                     inventory.setQuantityAvailable(inventory.getQuantityAvailable() + quantityToRevert);
                     inventory.setQuantityOnOrder(inventory.getQuantityOnOrder() - quantityToRevert);
                     inventory.setLastUpdatedDate(LocalDate.now());
-                    inventoryRepository.save(inventory);
+                    saveInventory(inventory);
 
                     remainingQuantity -= quantityToRevert;
                 }
@@ -536,4 +1054,105 @@ public class InventoryServiceImpl implements InventoryService {
             }
         }
     }
+
+    /**
+     * Reserves an ordered quantity from the inventory records of a SKU that are not locked by other transactions.
+     * The records are claimed nearest warehouse first and then by available quantity; they stay locked until the
+     * transaction ends even if they cannot cover the quantity, in which case nothing is reserved.
+     *
+     * @param sku                the ordered SKU.
+     * @param orderQuantity      the ordered quantity.
+     * @param nearestWarehouseId the ID of the warehouse nearest to the customer.
+     * @return {@code true} if the quantity was reserved, {@code false} if the unlocked records do not have enough stock.
+     */
+    private boolean reserveFromUnlockedInventories(Long sku, int orderQuantity, String nearestWarehouseId) {
+        List<Inventory> claimedInventories = inventoryRepository.findAvailableBySkuForUpdateSkipLocked(sku, nearestWarehouseId);
+        if (claimedInventories.stream().mapToInt(Inventory::getQuantityAvailable).sum() < orderQuantity) {
+            return false;
+        }
+        int remainingQuantity = orderQuantity;
+        for (Inventory inventory : claimedInventories) {
+            if (remainingQuantity <= 0) {
+                break;
+            }
+            int quantityToReserve = Math.min(inventory.getQuantityAvailable(), remainingQuantity);
+            inventory.setQuantityAvailable(inventory.getQuantityAvailable() - quantityToReserve);
+            inventory.setQuantityOnOrder(inventory.getQuantityOnOrder() + quantityToReserve);
+            inventory.setQuantityOnHold(inventory.getQuantityOnHold() + quantityToReserve);
+            inventory.setLastUpdatedDate(LocalDate.now());
+            saveInventory(inventory);
+            remainingQuantity -= quantityToReserve;
+        }
+        return true;
+    }
+
+    /**
+     * Write-locks every inventory record of the ordered SKUs before any of them is read or changed.
+     * <p>
+     * Reservations, reverts and confirmations touch several records per order. Locking them all up front, in primary
+     * key order, means every transaction acquires its row locks in the same order regardless of the order of the
+     * items, so overlapping orders wait for each other instead of deadlocking. The locked records stay in the
+     * persistence context, so the per-item lookups that follow return them without locking again.
+     * </p>
+     *
+     * @param customerOrderItemDTOS the ordered items.
+     */
+    private void lockInventoriesOfItems(List<CustomerOrderItemDTO> customerOrderItemDTOS) {
+        Set<Long> skus = customerOrderItemDTOS.stream().map(CustomerOrderItemDTO::getSku).filter(Objects::nonNull).collect(Collectors.toSet());
+        if (!skus.isEmpty()) {
+            inventoryRepository.findBySkuInForUpdate(skus);
+        }
+    }
+
+    /**
+     * Saves an inventory record and publishes its new available quantity so that in-memory views,
+     * such as the {@link DeliveryPromiseEngine}, are updated once the transaction commits.
+     *
+     * @param inventory the inventory record to save.
+     */
+    private void saveInventory(Inventory inventory) {
+        inventoryRepository.save(inventory);
+        eventPublisher.publishEvent(new InventoryLevelChangedEvent(inventory.getSku(), warehouseIdOf(inventory), inventory.getQuantityAvailable()));
+    }
+
+    /**
+     * Adds stock to an inventory record and saves it. The added stock is first reserved for waiting backorders of the
+     * SKU. If the record had no stock available and some is left, a {@link StockReplenishedEvent} is published so that
+     * back-in-stock subscribers are notified after commit.
+     *
+     * @param inventory     the inventory record.
+     * @param quantityToAdd the quantity to add.
+     */
+    private void addStock(Inventory inventory, int quantityToAdd) {
+        int previousQuantity = inventory.getQuantityAvailable() == null ? 0 : inventory.getQuantityAvailable();
+        inventory.setQuantityAvailable(previousQuantity + quantityToAdd);
+        inventory.setLastUpdatedDate(LocalDate.now());
+        backorderAllocator.allocate(inventory);
+
+        saveInventory(inventory);
+        if (previousQuantity <= 0 && inventory.getQuantityAvailable() > 0) {
+            eventPublisher.publishEvent(new StockReplenishedEvent(inventory.getSku(), warehouseIdOf(inventory), inventory.getQuantityAvailable()));
+        }
+    }
+
+    private void validateCheckoutQuoteRequest(CheckoutQuoteRequest checkoutQuoteRequest) throws InvalidInventoryRequestException {
+        if (checkoutQuoteRequest == null || checkoutQuoteRequest.getZipcode() == null) {
+            throw new InvalidInventoryRequestException("A zipcode is required for a checkout quote");
+        }
+        if (checkoutQuoteRequest.getItems() == null || checkoutQuoteRequest.getItems().isEmpty()) {
+            throw new InvalidInventoryRequestException("At least one item is required for a checkout quote");
+        }
+        for (CustomerOrderItemDTO item : checkoutQuoteRequest.getItems()) {
+            if (item.getSku() == null || item.getOrderQuantity() == null || item.getOrderQuantity() <= 0) {
+                throw new InvalidInventoryRequestException("Every item needs a SKU and a positive quantity, invalid item for SKU: " + item.getSku());
+            }
+        }
+        if (checkoutQuoteRequest.getHoldMinutes() != null && checkoutQuoteRequest.getHoldMinutes() <= 0) {
+            throw new InvalidInventoryRequestException("Hold minutes must be positive");
+        }
+    }
+
+    private static String warehouseIdOf(Inventory inventory) {
+        return inventory.getWarehouse() != null ? inventory.getWarehouse().getWarehouseId() : null;
+    }
 }
@@ -0,0 +1,20 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.model.StockUploadFormat;
+import com.nisum.vibe.cart.scm.model.StockUploadResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk stock uploads in the VibeCart application.
+ *
+ * <p>
+ * Implementations of this interface should process uploads incrementally so that memory use does not
+ * depend on the size of the uploaded file.
+ */
+public interface InventoryUploadService {
+
+    StockUploadResult uploadStock(InputStream inputStream, StockUploadFormat format) throws IOException, InvalidInventoryRequestException;
+}
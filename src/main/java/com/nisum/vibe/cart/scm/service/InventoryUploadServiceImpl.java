@@ -0,0 +1,368 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.nisum.vibe.cart.scm.dao.Inventory;
+import com.nisum.vibe.cart.scm.event.InventoryLevelChangedEvent;
+import com.nisum.vibe.cart.scm.event.StockReplenishedEvent;
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.model.InventoryStockView;
+import com.nisum.vibe.cart.scm.model.StockUploadFormat;
+import com.nisum.vibe.cart.scm.model.StockUploadLine;
+import com.nisum.vibe.cart.scm.model.StockUploadResult;
+import com.nisum.vibe.cart.scm.repository.InventoryBulkRepository;
+import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the InventoryUploadService interface that applies bulk stock uploads.
+ *
+ * <p>
+ * The upload is read one line at a time. Valid lines are coalesced per SKU and warehouse into a chunk of at most
+ * {@code scm.inventory.upload.chunk-size} rows, and each chunk is applied in its own transaction as one batched
+ * upsert, so memory stays flat and a failure only affects the chunk it occurred in. Lines that cannot be parsed or
+ * validated are reported with their line number instead of failing the upload.
+ * </p>
+ *
+ * <p>
+ * Lines with an item ID are upserted and create the inventory record when the SKU is not stocked in the warehouse yet.
+ * Lines without an item ID can only add stock to existing records.
+ * </p>
+ *
+ * <p>
+ * Uploaded stock of SKUs with waiting backorders goes through the {@link BackorderAllocator} in the transaction of its
+ * chunk, like stock added through the inventory API, so replenished stock is reserved for backorders before it
+ * becomes generally available. A record that had no stock available and has some after the upload publishes a
+ * {@link StockReplenishedEvent}, so back-in-stock subscribers are notified as for any other restock.
+ * </p>
+ */
+@Service
+public class InventoryUploadServiceImpl implements InventoryUploadService {
+
+    private static final String CSV_SEPARATOR = ",";
+
+    @Autowired
+    private InventoryBulkRepository inventoryBulkRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Autowired
+    private BackorderAllocator backorderAllocator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${scm.inventory.upload.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${scm.inventory.upload.max-reported-failures:1000}")
+    private int maxReportedFailures;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final Logger LOGGER = LoggerFactory.getLogger(InventoryUploadServiceImpl.class);
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Applies a bulk stock upload.
+     *
+     * @param inputStream the uploaded file.
+     * @param format      the format of the file.
+     * @return the number of lines read and applied and the failed lines.
+     * @throws IOException                      if the upload cannot be read.
+     * @throws InvalidInventoryRequestException if the format is not supported or the CSV header is missing a required column.
+     */
+    @Override
+    public StockUploadResult uploadStock(InputStream inputStream, StockUploadFormat format) throws IOException, InvalidInventoryRequestException {
+
+        LOGGER.info("Inside uploadStock() method of InventoryUploadServiceImpl class");
+
+        if (format == null) {
+            throw new InvalidInventoryRequestException("Unsupported upload format, use text/csv or application/x-ndjson");
+        }
+
+        StockUploadResult result = new StockUploadResult();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+
+        LineParser lineParser;
+        if (format == StockUploadFormat.CSV) {
+            lineNumber++;
+            lineParser = csvLineParser(reader.readLine());
+        } else {
+            ObjectReader lineReader = objectMapper.readerFor(StockUploadLine.class);
+            lineParser = lineReader::readValue;
+        }
+
+        Map<String, PendingRow> chunk = new LinkedHashMap<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            result.setLinesRead(result.getLinesRead() + 1);
+
+            StockUploadLine stockUploadLine;
+            try {
+                stockUploadLine = lineParser.parse(line);
+                validate(stockUploadLine);
+            } catch (JsonProcessingException e) {
+                result.addFailure(lineNumber, 1, "Invalid JSON: " + e.getOriginalMessage(), maxReportedFailures);
+                continue;
+            } catch (IllegalArgumentException e) {
+                result.addFailure(lineNumber, 1, e.getMessage(), maxReportedFailures);
+                continue;
+            }
+
+            String key = stockUploadLine.getSku() + "|" + stockUploadLine.getWarehouseId();
+            PendingRow pendingRow = chunk.get(key);
+            if (pendingRow == null) {
+                chunk.put(key, new PendingRow(stockUploadLine, lineNumber));
+            } else {
+                pendingRow.merge(stockUploadLine);
+            }
+
+            if (chunk.size() >= chunkSize) {
+                applyChunk(chunk.values(), result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk.values(), result);
+        }
+
+        LOGGER.info("Stock upload finished: {} lines read, {} rows applied, {} lines failed", result.getLinesRead(), result.getRowsApplied(), result.getLinesFailed());
+        return result;
+    }
+
+    /**
+     * Applies a chunk in one transaction. If the batch fails as a whole, every row is retried in its own transaction
+     * so that the failure can be attributed to the lines that caused it.
+     */
+    private void applyChunk(Collection<PendingRow> rows, StockUploadResult result) {
+        try {
+            List<PendingRow> missingRows = transactionTemplate.execute(status -> writeRows(rows));
+            reportMissingRows(missingRows, rows.size(), result);
+        } catch (DataAccessException e) {
+            LOGGER.warn("Stock upload chunk of {} rows failed, retrying row by row: {}", rows.size(), e.getMessage());
+            for (PendingRow row : rows) {
+                try {
+                    List<PendingRow> missingRows = transactionTemplate.execute(status -> writeRows(Collections.singletonList(row)));
+                    reportMissingRows(missingRows, 1, result);
+                } catch (DataAccessException rowException) {
+                    result.addFailure(row.firstLineNumber, row.lineCount, "Could not apply stock for SKU " + row.line.getSku()
+                            + " in warehouse " + row.line.getWarehouseId() + ": " + rowException.getMostSpecificCause().getMessage(), maxReportedFailures);
+                }
+            }
+        }
+    }
+
+    private List<PendingRow> writeRows(Collection<PendingRow> rows) {
+        List<StockUploadLine> upserts = new ArrayList<>();
+        List<PendingRow> updateRows = new ArrayList<>();
+        for (PendingRow row : rows) {
+            if (row.line.getItemId() != null) {
+                upserts.add(row.line);
+            } else {
+                updateRows.add(row);
+            }
+        }
+
+        inventoryBulkRepository.upsertStock(upserts);
+        boolean[] updated = inventoryBulkRepository.addStock(updateRows.stream().map(row -> row.line).collect(Collectors.toList()));
+
+        List<PendingRow> missingRows = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (!updated[i]) {
+                missingRows.add(updateRows.get(i));
+            }
+        }
+
+        Map<String, Integer> allocated = allocateToBackorders(rows);
+        publishStockLevels(rows, allocated);
+        return missingRows;
+    }
+
+    /**
+     * Reserves the uploaded stock for waiting backorders. Only the records of SKUs with waiting backorders are loaded,
+     * so chunks without backordered SKUs cost one query.
+     *
+     * @return the quantity allocated to backorders per SKU and warehouse key.
+     */
+    private Map<String, Integer> allocateToBackorders(Collection<PendingRow> rows) {
+        Set<Long> skus = new HashSet<>();
+        for (PendingRow row : rows) {
+            skus.add(row.line.getSku());
+        }
+        Set<Long> backorderedSkus = backorderAllocator.findBackorderedSkus(skus);
+        Map<String, Integer> allocated = new HashMap<>();
+        if (backorderedSkus.isEmpty()) {
+            return allocated;
+        }
+        Set<String> keys = new HashSet<>();
+        for (PendingRow row : rows) {
+            keys.add(row.line.getSku() + "|" + row.line.getWarehouseId());
+        }
+        for (Inventory inventory : inventoryRepository.findBySkuInForUpdate(backorderedSkus)) {
+            String key = inventory.getSku() + "|" + inventory.getWarehouse().getWarehouseId();
+            if (!keys.contains(key)) {
+                continue;
+            }
+            int allocatedQuantity = backorderAllocator.allocate(inventory);
+            if (allocatedQuantity > 0) {
+                inventoryRepository.save(inventory);
+                allocated.put(key, allocatedQuantity);
+            }
+        }
+        return allocated;
+    }
+
+    /**
+     * Publishes the new available quantity of every changed inventory record, read back with one query, and a
+     * {@link StockReplenishedEvent} for every record that had no stock available before the upload.
+     * <p>
+     * The records are locked by the upsert until the chunk commits, so the quantity available before the upsert is
+     * exactly the quantity read back, plus the stock allocated to backorders, minus the uploaded quantity. A record
+     * created by the upload had none.
+     * </p>
+     */
+    private void publishStockLevels(Collection<PendingRow> rows, Map<String, Integer> allocated) {
+        Map<String, Integer> uploadedQuantities = new HashMap<>();
+        Set<Long> skus = new HashSet<>();
+        for (PendingRow row : rows) {
+            uploadedQuantities.put(row.line.getSku() + "|" + row.line.getWarehouseId(), row.line.getQuantityToAdd());
+            skus.add(row.line.getSku());
+        }
+        for (InventoryStockView stockLevel : inventoryRepository.findStockLevelsBySkuIn(skus)) {
+            String key = stockLevel.getSku() + "|" + stockLevel.getWarehouseId();
+            Integer uploadedQuantity = uploadedQuantities.get(key);
+            if (uploadedQuantity == null) {
+                continue;
+            }
+            eventPublisher.publishEvent(new InventoryLevelChangedEvent(stockLevel.getSku(), stockLevel.getWarehouseId(), stockLevel.getQuantityAvailable()));
+            int quantityAvailable = stockLevel.getQuantityAvailable() == null ? 0 : stockLevel.getQuantityAvailable();
+            int previousQuantity = quantityAvailable + allocated.getOrDefault(key, 0) - uploadedQuantity;
+            if (previousQuantity <= 0 && quantityAvailable > 0) {
+                eventPublisher.publishEvent(new StockReplenishedEvent(stockLevel.getSku(), stockLevel.getWarehouseId(), quantityAvailable));
+            }
+        }
+    }
+
+    private void reportMissingRows(List<PendingRow> missingRows, int rowCount, StockUploadResult result) {
+        for (PendingRow row : missingRows) {
+            result.addFailure(row.firstLineNumber, row.lineCount, "No inventory found for SKU " + row.line.getSku() + " in warehouse "
+                    + row.line.getWarehouseId() + ", provide an itemId to create it", maxReportedFailures);
+        }
+        result.setRowsApplied(result.getRowsApplied() + rowCount - missingRows.size());
+    }
+
+    private void validate(StockUploadLine line) {
+        if (line.getSku() == null || line.getSku() <= 0) {
+            throw new IllegalArgumentException("A positive sku is required");
+        }
+        if (line.getWarehouseId() == null || zipDeliveryIndex.getWarehouseSlot(line.getWarehouseId()) < 0) {
+            throw new IllegalArgumentException("Unknown warehouseId: " + line.getWarehouseId());
+        }
+        if (line.getQuantityToAdd() == null || line.getQuantityToAdd() <= 0) {
+            throw new IllegalArgumentException("A positive quantityToAdd is required");
+        }
+        if (line.getItemId() != null && line.getItemId() <= 0) {
+            throw new IllegalArgumentException("itemId must be positive");
+        }
+    }
+
+    private LineParser csvLineParser(String header) throws InvalidInventoryRequestException {
+        if (header == null) {
+            throw new InvalidInventoryRequestException("The CSV upload is empty, a header line is required");
+        }
+        List<String> columns = Arrays.stream(header.split(CSV_SEPARATOR)).map(String::trim).collect(Collectors.toList());
+        int skuColumn = columns.indexOf("sku");
+        int warehouseIdColumn = columns.indexOf("warehouseId");
+        int quantityColumn = columns.indexOf("quantityToAdd");
+        int itemIdColumn = columns.indexOf("itemId");
+        if (skuColumn < 0 || warehouseIdColumn < 0 || quantityColumn < 0) {
+            throw new InvalidInventoryRequestException("The CSV header must contain the sku, warehouseId and quantityToAdd columns");
+        }
+
+        return line -> {
+            String[] values = line.split(CSV_SEPARATOR, -1);
+            if (values.length < columns.size()) {
+                throw new IllegalArgumentException("Expected " + columns.size() + " columns but found " + values.length);
+            }
+            try {
+                String itemId = itemIdColumn < 0 ? "" : values[itemIdColumn].trim();
+                return new StockUploadLine(
+                        Long.valueOf(values[skuColumn].trim()),
+                        values[warehouseIdColumn].trim(),
+                        Integer.valueOf(values[quantityColumn].trim()),
+                        itemId.isEmpty() ? null : Long.valueOf(itemId));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number: " + e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * Parses a single line of an upload.
+     */
+    @FunctionalInterface
+    private interface LineParser {
+        StockUploadLine parse(String line) throws IOException;
+    }
+
+    /**
+     * Lines of one chunk coalesced for a single SKU and warehouse.
+     */
+    private static final class PendingRow {
+
+        private final StockUploadLine line;
+        private final long firstLineNumber;
+        private int lineCount = 1;
+
+        private PendingRow(StockUploadLine line, long firstLineNumber) {
+            this.line = line;
+            this.firstLineNumber = firstLineNumber;
+        }
+
+        private void merge(StockUploadLine other) {
+            line.setQuantityToAdd(line.getQuantityToAdd() + other.getQuantityToAdd());
+            if (line.getItemId() == null) {
+                line.setItemId(other.getItemId());
+            }
+            lineCount++;
+        }
+    }
+}
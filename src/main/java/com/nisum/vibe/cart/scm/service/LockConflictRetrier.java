@@ -0,0 +1,184 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
+import com.nisum.vibe.cart.scm.exception.WarehouseNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.LockTimeoutException;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries inventory transactions that were rolled back because of a lock conflict.
+ * <p>
+ * MySQL resolves a deadlock by rolling back one of the transactions involved, and gives up on a row lock after
+ * {@code innodb_lock_wait_timeout}. Both leave the database unchanged, so the whole transaction can safely be run
+ * again. Failures are classified by walking the cause chain for the MySQL error code or the Spring exception it was
+ * translated to, and retried with exponential backoff and full jitter so that the transactions that collided do not
+ * collide again. Every conflict is counted in {@code scm.inventory.lock.conflicts} and every operation that still
+ * fails after {@code scm.inventory.lock-retry.max-attempts} attempts in {@code scm.inventory.lock.retries.exhausted},
+ * both tagged with the conflict type and the operation.
+ * </p>
+ * <p>
+ * A retry needs a fresh transaction, so operations are only retried when no transaction is active on the calling
+ * thread; inside a surrounding transaction the conflict is rethrown to the owner of that transaction.
+ * </p>
+ */
+@Component
+public class LockConflictRetrier {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LockConflictRetrier.class);
+
+    private static final int MYSQL_DEADLOCK = 1213;
+    private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+    private static final String SQL_STATE_SERIALIZATION_FAILURE = "40001";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+
+    @Autowired
+    public LockConflictRetrier(MeterRegistry meterRegistry,
+                               @Value("${scm.inventory.lock-retry.max-attempts:4}") int maxAttempts,
+                               @Value("${scm.inventory.lock-retry.base-backoff-ms:25}") long baseBackoffMillis,
+                               @Value("${scm.inventory.lock-retry.max-backoff-ms:400}") long maxBackoffMillis) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * Runs an inventory operation, retrying it while it fails with a deadlock or lock wait timeout.
+     *
+     * @param operationName the name of the operation, used as the {@code operation} tag of the metrics.
+     * @param operation     the operation; it must start its own transaction.
+     * @param <T>           the result type of the operation.
+     * @return the result of the first attempt that succeeds.
+     * @throws InventoryNotFoundException if the operation throws it.
+     * @throws WarehouseNotFoundException if the operation throws it.
+     */
+    public <T> T execute(String operationName, InventoryOperation<T> operation) throws InventoryNotFoundException, WarehouseNotFoundException {
+        boolean retryable = !TransactionSynchronizationManager.isActualTransactionActive();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.run();
+            } catch (RuntimeException e) {
+                LockConflictType type = classify(e);
+                if (type == null) {
+                    throw e;
+                }
+                Counter.builder("scm.inventory.lock.conflicts")
+                        .description("Inventory transactions rolled back because of a lock conflict")
+                        .tag("type", type.getTag())
+                        .tag("operation", operationName)
+                        .register(meterRegistry)
+                        .increment();
+                if (!retryable || attempt >= maxAttempts) {
+                    if (retryable) {
+                        Counter.builder("scm.inventory.lock.retries.exhausted")
+                                .description("Inventory operations that failed with a lock conflict on every attempt")
+                                .tag("type", type.getTag())
+                                .tag("operation", operationName)
+                                .register(meterRegistry)
+                                .increment();
+                    }
+                    LOGGER.warn("{} of {} failed on attempt {}, giving up", type, operationName, attempt);
+                    throw e;
+                }
+                long backoffMillis = backoffMillis(attempt);
+                LOGGER.info("{} of {} on attempt {}, retrying in {} ms", type, operationName, attempt, backoffMillis);
+                if (!sleep(backoffMillis)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Classifies a failure as a lock conflict.
+     *
+     * @param failure the failure.
+     * @return the type of lock conflict, or {@code null} if the failure is not caused by one.
+     */
+    static LockConflictType classify(Throwable failure) {
+        LockConflictType translated = null;
+        for (Throwable cause = failure; cause != null && cause.getCause() != cause; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                SQLException sqlException = (SQLException) cause;
+                if (sqlException.getErrorCode() == MYSQL_DEADLOCK || SQL_STATE_SERIALIZATION_FAILURE.equals(sqlException.getSQLState())) {
+                    return LockConflictType.DEADLOCK;
+                }
+                if (sqlException.getErrorCode() == MYSQL_LOCK_WAIT_TIMEOUT) {
+                    return LockConflictType.LOCK_WAIT_TIMEOUT;
+                }
+            }
+            if (translated == null) {
+                if (cause instanceof DeadlockLoserDataAccessException) {
+                    translated = LockConflictType.DEADLOCK;
+                } else if (cause instanceof CannotAcquireLockException || cause instanceof PessimisticLockingFailureException
+                        || cause instanceof LockTimeoutException || cause instanceof javax.persistence.PessimisticLockException) {
+                    translated = LockConflictType.LOCK_WAIT_TIMEOUT;
+                }
+            }
+        }
+        return translated;
+    }
+
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static boolean sleep(long millis) {
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * An inventory operation that runs in its own transaction.
+     *
+     * @param <T> the result type of the operation.
+     */
+    @FunctionalInterface
+    public interface InventoryOperation<T> {
+        T run() throws InventoryNotFoundException, WarehouseNotFoundException;
+    }
+
+    /**
+     * The kinds of lock conflict that are retried.
+     */
+    enum LockConflictType {
+        DEADLOCK("deadlock"),
+        LOCK_WAIT_TIMEOUT("lock_wait_timeout");
+
+        private final String tag;
+
+        LockConflictType(String tag) {
+            this.tag = tag;
+        }
+
+        String getTag() {
+            return tag;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
+import com.nisum.vibe.cart.scm.model.LowStockPage;
+import com.nisum.vibe.cart.scm.model.ReorderThresholdRequest;
+
+/**
+ * Service interface for reorder thresholds and low-stock queries.
+ *
+ * <p>
+ * Implementations of this interface should evaluate thresholds as inventory changes rather than by scanning the
+ * inventory table.
+ */
+public interface LowStockService {
+
+    void setReorderThreshold(ReorderThresholdRequest reorderThresholdRequest) throws InvalidInventoryRequestException, InventoryNotFoundException;
+
+    LowStockPage getLowStock(String warehouseId, int afterQuantity, long afterId, int limit) throws InvalidInventoryRequestException;
+}
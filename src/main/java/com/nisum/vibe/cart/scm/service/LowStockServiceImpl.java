@@ -0,0 +1,105 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.Inventory;
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
+import com.nisum.vibe.cart.scm.model.LowStockDto;
+import com.nisum.vibe.cart.scm.model.LowStockPage;
+import com.nisum.vibe.cart.scm.model.ReorderThresholdRequest;
+import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of the LowStockService interface.
+ *
+ * <p>
+ * Reorder thresholds are stored on the inventory records and registered with the {@link LowStockWatcher}, which
+ * publishes threshold crossings as stock changes. Low-stock records are listed with keyset pages over the
+ * {@code (quantity_available, inventory_id)} index.
+ * </p>
+ */
+@Service
+public class LowStockServiceImpl implements LowStockService {
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private LowStockWatcher lowStockWatcher;
+
+    @Value("${scm.inventory.low-stock.max-page-size:1000}")
+    private int maxPageSize;
+
+    private final Logger LOGGER = LoggerFactory.getLogger(LowStockServiceImpl.class);
+
+    /**
+     * Sets or clears the reorder threshold of a SKU in a warehouse.
+     *
+     * @param reorderThresholdRequest the SKU, warehouse and threshold.
+     * @throws InvalidInventoryRequestException if the SKU or warehouse is missing or the threshold is negative.
+     * @throws InventoryNotFoundException       if the SKU is not stocked in the warehouse.
+     */
+    @Override
+    public void setReorderThreshold(ReorderThresholdRequest reorderThresholdRequest) throws InvalidInventoryRequestException, InventoryNotFoundException {
+
+        LOGGER.info("Inside setReorderThreshold() method of LowStockServiceImpl class");
+
+        if (reorderThresholdRequest == null || reorderThresholdRequest.getSku() == null || reorderThresholdRequest.getWarehouseId() == null) {
+            throw new InvalidInventoryRequestException("A sku and warehouseId are required to set a reorder threshold");
+        }
+        if (reorderThresholdRequest.getReorderThreshold() != null && reorderThresholdRequest.getReorderThreshold() < 0) {
+            throw new InvalidInventoryRequestException("The reorder threshold must not be negative");
+        }
+
+        Inventory inventory = inventoryRepository.findBySkuAndWarehouseId(reorderThresholdRequest.getSku(), reorderThresholdRequest.getWarehouseId());
+        if (inventory == null) {
+            throw new InventoryNotFoundException("No inventory found for SKU " + reorderThresholdRequest.getSku()
+                    + " in warehouse " + reorderThresholdRequest.getWarehouseId());
+        }
+        inventory.setReorderThreshold(reorderThresholdRequest.getReorderThreshold());
+        inventoryRepository.save(inventory);
+        lowStockWatcher.onReorderThreshold(inventory.getSku(), reorderThresholdRequest.getWarehouseId(),
+                inventory.getReorderThreshold(), inventory.getQuantityAvailable());
+    }
+
+    /**
+     * Returns a page of the inventory records at or below their reorder threshold, lowest available quantity first.
+     * Start with {@code afterQuantity=-1} and {@code afterId=0}.
+     *
+     * @param warehouseId   the warehouse to list, or {@code null} for all warehouses.
+     * @param afterQuantity the available quantity of the last record received.
+     * @param afterId       the inventory ID of the last record received.
+     * @param limit         the maximum number of records to return.
+     * @return the low-stock records and the position of the next page.
+     * @throws InvalidInventoryRequestException if the limit is not positive.
+     */
+    @Override
+    public LowStockPage getLowStock(String warehouseId, int afterQuantity, long afterId, int limit) throws InvalidInventoryRequestException {
+
+        LOGGER.info("Inside getLowStock() method of LowStockServiceImpl class");
+
+        if (limit <= 0) {
+            throw new InvalidInventoryRequestException("limit must be positive");
+        }
+        int pageSize = Math.min(limit, maxPageSize);
+
+        List<LowStockDto> items = inventoryRepository.findLowStockAfter(warehouseId, afterQuantity, afterId, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = items.size() > pageSize;
+        if (hasMore) {
+            items = new ArrayList<>(items.subList(0, pageSize));
+        }
+        if (items.isEmpty()) {
+            return new LowStockPage(items, afterQuantity, afterId, false);
+        }
+        LowStockDto last = items.get(items.size() - 1);
+        return new LowStockPage(items, last.getQuantityAvailable(), last.getInventoryId(), hasMore);
+    }
+}
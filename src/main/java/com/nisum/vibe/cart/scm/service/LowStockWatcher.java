@@ -0,0 +1,191 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.event.InventoryLevelChangedEvent;
+import com.nisum.vibe.cart.scm.event.LowStockThresholdCrossedEvent;
+import com.nisum.vibe.cart.scm.model.InventoryChangeDto;
+import com.nisum.vibe.cart.scm.model.LowStockDto;
+import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import com.nisum.vibe.cart.scm.util.ChangeVersionClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Evaluates reorder thresholds incrementally as inventory levels change.
+ * <p>
+ * The engine keeps the threshold and last known available quantity of every inventory record that has a reorder
+ * threshold. Each committed {@link InventoryLevelChangedEvent} is compared against the threshold of its record only,
+ * and a {@link LowStockThresholdCrossedEvent} is published when the record crosses it, so alerts are raised as soon as
+ * stock changes without scanning the inventory table. Changes of records without a threshold cost one map lookup.
+ * </p>
+ * <p>
+ * Stock and thresholds changed on other instances are read from the inventory change feed every
+ * {@code scm.inventory.low-stock.feed-poll-ms}. Each row carries the current available quantity and reorder
+ * threshold of its record, so every instance watches the same records with the same state; a row that matches the
+ * state already applied from a local event raises nothing.
+ * </p>
+ */
+@Component
+public class LowStockWatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LowStockWatcher.class);
+
+    private final Map<Long, Map<String, Watch>> watchesBySku = new ConcurrentHashMap<>();
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${scm.inventory.changes.settle-ms:5000}")
+    private long changesSettleMillis = 5000L;
+
+    @Value("${scm.inventory.low-stock.feed-page-size:1000}")
+    private int feedPageSize = 1000;
+
+    private long feedSince;
+
+    private long feedAfterId;
+
+    /**
+     * Loads the reorder threshold and available quantity of every watched inventory record.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        LOGGER.info("Warming low-stock watcher");
+        long startedAt = System.currentTimeMillis();
+        synchronized (this) {
+            // Changes committed while warming are read again from the feed
+            feedSince = ChangeVersionClock.versionAt(startedAt - changesSettleMillis);
+            feedAfterId = 0L;
+        }
+        int[] watched = {0};
+        try (Stream<LowStockDto> thresholds = inventoryRepository.streamReorderThresholds()) {
+            thresholds.forEach(threshold -> {
+                watchesBySku.computeIfAbsent(threshold.getSku(), key -> new ConcurrentHashMap<>())
+                        .put(threshold.getWarehouseId(), new Watch(threshold.getReorderThreshold(), threshold.getQuantityAvailable()));
+                watched[0]++;
+            });
+        }
+        LOGGER.info("Low-stock watcher warmed with {} inventory records in {} ms", watched[0], System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Applies a committed change of an inventory level.
+     *
+     * @param event the inventory level change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryLevelChanged(InventoryLevelChangedEvent event) {
+        Map<String, Watch> watches = watchesBySku.get(event.getSku());
+        Watch watch = watches == null ? null : watches.get(event.getWarehouseId());
+        if (watch == null) {
+            return;
+        }
+        LowStockThresholdCrossedEvent crossing = watch.update(event.getSku(), event.getWarehouseId(),
+                event.getQuantityAvailable() == null ? 0 : event.getQuantityAvailable());
+        if (crossing != null) {
+            eventPublisher.publishEvent(crossing);
+        }
+    }
+
+    /**
+     * Starts, changes or stops watching an inventory record. Setting a threshold that the current quantity is
+     * already at or below raises a crossing right away.
+     *
+     * @param sku               the SKU.
+     * @param warehouseId       the warehouse ID.
+     * @param reorderThreshold  the reorder threshold, or {@code null} to stop watching the record.
+     * @param quantityAvailable the current available quantity.
+     */
+    public void onReorderThreshold(Long sku, String warehouseId, Integer reorderThreshold, int quantityAvailable) {
+        LowStockThresholdCrossedEvent crossing = apply(sku, warehouseId, reorderThreshold, quantityAvailable);
+        if (crossing != null) {
+            eventPublisher.publishEvent(crossing);
+        }
+    }
+
+    /**
+     * Applies the inventory records changed on any instance, read from the inventory change feed, with the reorder
+     * threshold they carry.
+     */
+    @Scheduled(fixedDelayString = "${scm.inventory.low-stock.feed-poll-ms:5000}", initialDelayString = "${scm.inventory.low-stock.feed-poll-ms:5000}")
+    public synchronized void pollInventoryChanges() {
+        long upTo = ChangeVersionClock.versionAt(System.currentTimeMillis() - changesSettleMillis);
+        List<InventoryChangeDto> changes;
+        do {
+            changes = inventoryRepository.findChangesAfter(feedSince, feedAfterId, upTo, PageRequest.of(0, feedPageSize));
+            for (InventoryChangeDto change : changes) {
+                onReorderThreshold(change.getSku(), change.getWarehouseId(), change.getReorderThreshold(),
+                        change.getQuantityAvailable() == null ? 0 : change.getQuantityAvailable());
+                feedSince = change.getChangeVersion();
+                feedAfterId = change.getInventoryId();
+            }
+        } while (changes.size() == feedPageSize);
+    }
+
+    private LowStockThresholdCrossedEvent apply(Long sku, String warehouseId, Integer reorderThreshold, int quantityAvailable) {
+        if (reorderThreshold == null) {
+            watchesBySku.computeIfPresent(sku, (key, watches) -> {
+                watches.remove(warehouseId);
+                return watches.isEmpty() ? null : watches;
+            });
+            return null;
+        }
+        Watch watch = watchesBySku.computeIfAbsent(sku, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(warehouseId, key -> new Watch(reorderThreshold, Integer.MAX_VALUE));
+        return watch.setThreshold(sku, warehouseId, reorderThreshold, quantityAvailable);
+    }
+
+    /**
+     * Threshold and last known state of one watched inventory record.
+     */
+    private static final class Watch {
+
+        private int reorderThreshold;
+        private int quantityAvailable;
+        private boolean lowStock;
+
+        private Watch(int reorderThreshold, int quantityAvailable) {
+            this.reorderThreshold = reorderThreshold;
+            this.quantityAvailable = quantityAvailable;
+            this.lowStock = quantityAvailable <= reorderThreshold;
+        }
+
+        private synchronized LowStockThresholdCrossedEvent update(Long sku, String warehouseId, int quantity) {
+            quantityAvailable = quantity;
+            return evaluate(sku, warehouseId);
+        }
+
+        private synchronized LowStockThresholdCrossedEvent setThreshold(Long sku, String warehouseId, int threshold, int quantity) {
+            reorderThreshold = threshold;
+            quantityAvailable = quantity;
+            return evaluate(sku, warehouseId);
+        }
+
+        private LowStockThresholdCrossedEvent evaluate(Long sku, String warehouseId) {
+            boolean nowLowStock = quantityAvailable <= reorderThreshold;
+            if (nowLowStock == lowStock) {
+                return null;
+            }
+            lowStock = nowLowStock;
+            return new LowStockThresholdCrossedEvent(sku, warehouseId, quantityAvailable, reorderThreshold, nowLowStock);
+        }
+    }
+}
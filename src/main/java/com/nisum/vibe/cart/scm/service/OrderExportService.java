@@ -0,0 +1,21 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.model.ExportFormat;
+import com.nisum.vibe.cart.scm.model.OrderExportCursor;
+import com.nisum.vibe.cart.scm.model.OrderStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+/**
+ * Service interface for streaming order exports in the VibeCart application.
+ *
+ * <p>
+ * Implementations of this interface should write orders as they are read so that memory use does not
+ * depend on the number of orders exported.
+ */
+public interface OrderExportService {
+
+    void exportOrders(OutputStream outputStream, ExportFormat format, Instant from, Instant to, OrderStatus status, OrderExportCursor after) throws IOException;
+}
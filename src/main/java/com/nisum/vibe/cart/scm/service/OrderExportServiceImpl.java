@@ -0,0 +1,223 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nisum.vibe.cart.scm.model.ExportFormat;
+import com.nisum.vibe.cart.scm.model.OrderExportCursor;
+import com.nisum.vibe.cart.scm.model.OrderExportLine;
+import com.nisum.vibe.cart.scm.model.OrderStatus;
+import com.nisum.vibe.cart.scm.repository.OrderExportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of the OrderExportService interface.
+ *
+ * <p>
+ * Orders and their items are read in a single pass over a streaming join ordered by order date and order ID, and
+ * written as soon as each order is complete, so only the items of one order are held in memory at a time.
+ * </p>
+ *
+ * <p>
+ * NDJSON exports write one object per order with its items nested. CSV exports write one line per item with the
+ * order columns repeated. Either way the last record of each order carries a {@code cursor} token, see
+ * {@link OrderExportCursor}.
+ * </p>
+ */
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+    private static final Logger logger = LoggerFactory.getLogger(OrderExportServiceImpl.class);
+
+    private static final String CSV_HEADER = "orderId,orderDate,customerId,orderStatus,paymentStatus,paymentMethod,totalAmount,subTotal,"
+            + "discountPrice,offerId,totalQuantity,shippingZipcode,orderItemId,itemId,skuId,itemName,quantity,unitPrice,totalPrice,cursor";
+
+    private final OrderExportRepository orderExportRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OrderExportServiceImpl(OrderExportRepository orderExportRepository, ObjectMapper objectMapper) {
+        this.orderExportRepository = orderExportRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the orders matching the filters to an output stream.
+     *
+     * @param outputStream the stream to write to, which is flushed but not closed.
+     * @param format       the format to write.
+     * @param from         the earliest order date to include, or {@code null}.
+     * @param to           the order date to stop before, or {@code null}.
+     * @param status       the order status to include, or {@code null} for all statuses.
+     * @param after        the position of the last order already received, or {@code null} to start at the beginning.
+     * @throws IOException if the output cannot be written.
+     */
+    @Override
+    public void exportOrders(OutputStream outputStream, ExportFormat format, Instant from, Instant to, OrderStatus status, OrderExportCursor after) throws IOException {
+        long startedAt = System.currentTimeMillis();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        OrderSink sink = format == ExportFormat.CSV ? new CsvOrderSink(writer) : new NdjsonOrderSink(objectMapper.getFactory().createGenerator(writer));
+        List<OrderExportLine> orderLines = new ArrayList<>();
+        long[] orderCount = new long[1];
+        try {
+            orderExportRepository.streamOrderLines(timestamp(from), timestamp(to), status, after, line -> {
+                if (!orderLines.isEmpty() && !orderLines.get(0).getOrderId().equals(line.getOrderId())) {
+                    write(sink, orderLines);
+                    orderLines.clear();
+                    orderCount[0]++;
+                }
+                orderLines.add(line);
+            });
+            if (!orderLines.isEmpty()) {
+                write(sink, orderLines);
+                orderCount[0]++;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        sink.close();
+        writer.flush();
+        logger.info("Exported {} orders in {} ms", orderCount[0], System.currentTimeMillis() - startedAt);
+    }
+
+    private static void write(OrderSink sink, List<OrderExportLine> orderLines) {
+        OrderExportLine order = orderLines.get(0);
+        String cursor = new OrderExportCursor(order.getOrderDate(), order.getOrderId()).toToken();
+        try {
+            sink.writeOrder(orderLines, cursor);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Timestamp timestamp(Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+
+    /**
+     * Writes complete orders in one export format.
+     */
+    private interface OrderSink {
+
+        void writeOrder(List<OrderExportLine> orderLines, String cursor) throws IOException;
+
+        void close() throws IOException;
+    }
+
+    private static final class NdjsonOrderSink implements OrderSink {
+
+        private final JsonGenerator generator;
+
+        private NdjsonOrderSink(JsonGenerator generator) {
+            this.generator = generator;
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        }
+
+        @Override
+        public void writeOrder(List<OrderExportLine> orderLines, String cursor) throws IOException {
+            OrderExportLine order = orderLines.get(0);
+            generator.writeStartObject();
+            generator.writeStringField("orderId", order.getOrderId());
+            generator.writeStringField("orderDate", order.getOrderDate().toString());
+            generator.writeObjectField("customerId", order.getCustomerId());
+            generator.writeObjectField("orderStatus", order.getOrderStatus());
+            generator.writeObjectField("paymentStatus", order.getPaymentStatus());
+            generator.writeObjectField("paymentMethod", order.getPaymentMethod());
+            generator.writeNumberField("totalAmount", order.getTotalAmount());
+            generator.writeNumberField("subTotal", order.getSubTotal());
+            generator.writeObjectField("discountPrice", order.getDiscountPrice());
+            generator.writeObjectField("offerId", order.getOfferId());
+            generator.writeNumberField("totalQuantity", order.getTotalQuantity());
+            generator.writeObjectField("shippingZipcode", order.getShippingZipcode());
+            generator.writeArrayFieldStart("items");
+            for (OrderExportLine item : orderLines) {
+                if (item.getOrderItemId() == null) {
+                    continue;
+                }
+                generator.writeStartObject();
+                generator.writeNumberField("orderItemId", item.getOrderItemId());
+                generator.writeObjectField("itemId", item.getItemId());
+                generator.writeObjectField("skuId", item.getSkuId());
+                generator.writeStringField("itemName", item.getItemName());
+                generator.writeObjectField("quantity", item.getQuantity());
+                generator.writeObjectField("unitPrice", item.getUnitPrice());
+                generator.writeObjectField("totalPrice", item.getTotalPrice());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeStringField("cursor", cursor);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvOrderSink implements OrderSink {
+
+        private final Writer writer;
+
+        private CsvOrderSink(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void writeOrder(List<OrderExportLine> orderLines, String cursor) throws IOException {
+            for (int i = 0; i < orderLines.size(); i++) {
+                OrderExportLine line = orderLines.get(i);
+                writeFields(line.getOrderId(), line.getOrderDate(), line.getCustomerId(), line.getOrderStatus(), line.getPaymentStatus(),
+                        line.getPaymentMethod(), line.getTotalAmount(), line.getSubTotal(), line.getDiscountPrice(), line.getOfferId(),
+                        line.getTotalQuantity(), line.getShippingZipcode(), line.getOrderItemId(), line.getItemId(), line.getSkuId(),
+                        line.getItemName(), line.getQuantity(), line.getUnitPrice(), line.getTotalPrice(),
+                        i == orderLines.size() - 1 ? cursor : null);
+            }
+        }
+
+        private void writeFields(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvField(values[i]));
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() {
+        }
+
+        /**
+         * Formats a CSV field, quoting values that contain a separator, quote or line break.
+         */
+        private static String csvField(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+}
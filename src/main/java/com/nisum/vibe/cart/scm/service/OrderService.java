@@ -2,9 +2,13 @@ package com.nisum.vibe.cart.scm.service;
 
 import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
 import com.nisum.vibe.cart.scm.exception.WarehouseNotFoundException;
+import com.nisum.vibe.cart.scm.model.AllocationMode;
 import com.nisum.vibe.cart.scm.model.CustomerOrderItemDTO;
+import com.nisum.vibe.cart.scm.model.OrderChangePage;
 import com.nisum.vibe.cart.scm.model.OrderDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -33,5 +37,14 @@ public interface OrderService {
 
     String trackOrderStatus(String orderId);
 
+    SseEmitter subscribeToOrderStatus(String orderId);
+
+    OrderChangePage getOrderChanges(Instant since, String afterId, int limit, boolean expand);
+
     Map<Long, String> stockReservationCall(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode) throws InventoryNotFoundException, WarehouseNotFoundException;
+
+    Map<Long, String> stockReservationCall(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode, boolean allowBackorder, String orderReference) throws InventoryNotFoundException, WarehouseNotFoundException;
+
+    Map<Long, String> stockReservationCall(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode, boolean allowBackorder, String orderReference,
+                                           AllocationMode allocationMode) throws InventoryNotFoundException, WarehouseNotFoundException;
 }
\ No newline at end of file
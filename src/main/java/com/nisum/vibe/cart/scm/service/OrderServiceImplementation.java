@@ -4,6 +4,8 @@ import com.nisum.vibe.cart.scm.Validation.OrderValidator;
 import com.nisum.vibe.cart.scm.dao.Address;
 import com.nisum.vibe.cart.scm.dao.Order;
 import com.nisum.vibe.cart.scm.dao.OrderItem;
+import com.nisum.vibe.cart.scm.event.OrderDeliveredEvent;
+import com.nisum.vibe.cart.scm.event.OrderStatusChangedEvent;
 import com.nisum.vibe.cart.scm.exception.*;
 import com.nisum.vibe.cart.scm.mapper.OrderItemMapper;
 import com.nisum.vibe.cart.scm.mapper.OrderMapper;
@@ -13,21 +15,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.transaction.Transactional;
 import java.time.Instant;
-import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.nisum.vibe.cart.scm.model.UUIDGenerator.generateUUID;
@@ -48,17 +58,42 @@ public class OrderServiceImplementation implements OrderService {
     @Value("${ofms.service.api.url}")
     private String OFFER_SERVICE_URL;
 
+    @Value("${scm.order.changes.max-page-size:1000}")
+    private int maxChangesPageSize;
+
+    @Value("${scm.order.changes.settle-ms:5000}")
+    private long changesSettleMillis;
+
     private OrderRepository orderRepository;
     private OrderMapper orderMapper;
     private InventoryService inventoryService;
     private RestTemplate restTemplate;
+    private OrderStatusIndex orderStatusIndex;
+    private OrderStatusSubscriptionRegistry orderStatusSubscriptionRegistry;
+    private ApplicationEventPublisher eventPublisher;
+    private ZipDeliveryIndex zipDeliveryIndex;
+    private LockConflictRetrier lockConflictRetrier;
+    private ReservationBatcher reservationBatcher;
+    private ReservationSequencer reservationSequencer;
+    private StockLeaseManager stockLeaseManager;
 
     @Autowired
-    public OrderServiceImplementation(OrderRepository orderRepository, OrderMapper orderMapper, InventoryService inventoryService, RestTemplate restTemplate) {
+    public OrderServiceImplementation(OrderRepository orderRepository, OrderMapper orderMapper, InventoryService inventoryService, RestTemplate restTemplate,
+                                      OrderStatusIndex orderStatusIndex, OrderStatusSubscriptionRegistry orderStatusSubscriptionRegistry, ApplicationEventPublisher eventPublisher,
+                                      ZipDeliveryIndex zipDeliveryIndex, LockConflictRetrier lockConflictRetrier,
+                                      ReservationBatcher reservationBatcher, ReservationSequencer reservationSequencer, StockLeaseManager stockLeaseManager) {
         this.orderRepository = orderRepository;
         this.orderMapper = orderMapper;
         this.inventoryService = inventoryService;
         this.restTemplate = restTemplate;
+        this.orderStatusIndex = orderStatusIndex;
+        this.orderStatusSubscriptionRegistry = orderStatusSubscriptionRegistry;
+        this.eventPublisher = eventPublisher;
+        this.zipDeliveryIndex = zipDeliveryIndex;
+        this.lockConflictRetrier = lockConflictRetrier;
+        this.reservationBatcher = reservationBatcher;
+        this.reservationSequencer = reservationSequencer;
+        this.stockLeaseManager = stockLeaseManager;
     }
 
     /**
@@ -144,6 +179,7 @@ public class OrderServiceImplementation implements OrderService {
     /**
      * Creates a new order from the provided {@link OrderDTO}.
      * Validates the order data, sets necessary timestamps, and saves the order.
+     * An order placed with the hold reference of a checkout quote consumes the stock held by that quote.
      * Returns the created {@link OrderDTO}.
      */
     @Override
@@ -169,6 +205,7 @@ public class OrderServiceImplementation implements OrderService {
                 }
             }
             order = orderRepository.save(order);
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getOrderId(), order.getOrderStatus(), order.getUpdatedDate()));
 
             if (order.getOrderId() != null && order.getOfferId() != null) {
                 updateOfferUsage(order);
@@ -176,6 +213,11 @@ public class OrderServiceImplementation implements OrderService {
 
             logger.info("Order successfully created with ID: {}", order.getOrderId());
 
+            if (order.getHoldReference() != null) {
+                List<CustomerOrderItemDTO> heldItems = order.getOrderItems().stream()
+                        .map(orderItem -> new CustomerOrderItemDTO(orderItem.getSkuId(), orderItem.getQuantity())).collect(Collectors.toList());
+                inventoryService.consumeStockHolds(order.getHoldReference(), heldItems);
+            }
             List<Long> skuList = order.getOrderItems().stream().map(OrderItem::getSkuId).collect(Collectors.toList());
             inventoryService.confirmStockReservation(skuList);
 
@@ -217,6 +259,7 @@ public class OrderServiceImplementation implements OrderService {
                 throw new OrderNotFoundException("Order id : " + orderId + " does not exist");
             }
             Order order = existingOrder.get();
+            OrderStatus previousStatus = order.getOrderStatus();
             order.setUpdatedDate(Instant.now());
 
             // Update fields of the existing order
@@ -299,6 +342,10 @@ public class OrderServiceImplementation implements OrderService {
 
             // Save updated order
             Order updatedOrder = orderRepository.save(order);
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, updatedOrder.getOrderStatus(), updatedOrder.getUpdatedDate()));
+            if (updatedOrder.getOrderStatus() == OrderStatus.DELIVERED && previousStatus != OrderStatus.DELIVERED) {
+                eventPublisher.publishEvent(new OrderDeliveredEvent(orderId, updatedOrder.getShippingzipCode(), updatedOrder.getOrderDate(), updatedOrder.getUpdatedDate()));
+            }
 
             logger.info("Order with ID: {} updated successfully", orderId);
 
@@ -352,12 +399,17 @@ public class OrderServiceImplementation implements OrderService {
                 existingOrder.setOrderStatus(OrderStatus.CANCELLED);
                 existingOrder.setUpdatedDate(Instant.now());
                 orderRepository.save(existingOrder);
+                eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, OrderStatus.CANCELLED, existingOrder.getUpdatedDate()));
 
                 List<CustomerOrderItemDTO> customerOrderItemDTOS = existingOrder.getOrderItems().stream().map(orderItem -> new CustomerOrderItemDTO(orderItem.getSkuId(), orderItem.getQuantity())).collect(Collectors.toList());
 
                 Long customerZipcode = existingOrder.getShippingzipCode();
+                String orderReference = existingOrder.getOrderReference();
 
-                inventoryService.revertStockIfOrderCancel(customerOrderItemDTOS, customerZipcode);
+                lockConflictRetrier.execute("revertStockIfOrderCancel", () -> {
+                    inventoryService.revertStockIfOrderCancel(customerOrderItemDTOS, customerZipcode, orderReference);
+                    return null;
+                });
 
                 String successMessage = "Order with ID " + orderId + " cancelled successfully.";
                 logger.info(successMessage);
@@ -382,107 +434,165 @@ public class OrderServiceImplementation implements OrderService {
 
     /**
      * Estimates the delivery date based on the provided ZIP code.
-     * Validates the ZIP code and retrieves the estimated delivery date.
+     * Validates the ZIP code and answers from the {@link ZipDeliveryIndex} without querying orders.
      * Returns a message with the estimated delivery date or an error if not available.
      */
     @Override
     public String estimatedCompletionDeliveryDate(Long zipcode) {
         logger.info("Request received to estimate delivery date for ZIP code: {}", zipcode);
 
-        if (zipcode <= 0) {
+        if (zipcode == null || zipcode <= 0) {
             String errorMessage = "Invalid or non-existent ZIP code: " + zipcode;
             logger.error(errorMessage);
             throw new InvalidZipCodeException(errorMessage);
         }
 
-        try {
-            Optional<Order> optionalOrder = orderRepository.findByShippingZipCode(zipcode);
+        int deliveryDays = zipDeliveryIndex.estimateDeliveryDays(zipcode);
+        if (deliveryDays < 0) {
+            String errorMessage = "Delivery is not available for the provided ZIP code: " + zipcode;
+            logger.warn(errorMessage);
+            throw new DeliveryNotAvailableException(errorMessage);
+        }
 
-            if (optionalOrder.isPresent()) {
-                LocalDateTime estimatedDate = optionalOrder.get().getEstimated_delivery_date();
-                String successMessage = "Estimated delivery date for ZIP code " + zipcode + " is " + estimatedDate + ".";
-                logger.info(successMessage);
-                return successMessage;
-            } else {
-                String errorMessage = "Delivery is not available for the provided ZIP code: " + zipcode;
-                logger.warn(errorMessage);
-                throw new DeliveryNotAvailableException(errorMessage);
-            }
+        LocalDate estimatedDate = LocalDate.now().plusDays(deliveryDays);
+        String successMessage = "Estimated delivery date for ZIP code " + zipcode + " is " + estimatedDate + ".";
+        logger.info(successMessage);
+        return successMessage;
+    }
+
+    /**
+     * Tracks the status of an order based on the provided order ID.
+     * The status is answered from the {@link OrderStatusIndex}; orders missing from the index, or whose
+     * non-terminal status is due for revalidation, fall back to a status-only database query, whose result is
+     * then indexed.
+     * Returns a message about the current status or an error if the order is not found.
+     */
+    @Override
+    public String trackOrderStatus(String orderId) {
+        logger.debug("Tracking status for order with ID: {}", orderId);
+
+        try {
+            OrderStatus status = findCurrentStatus(orderId);
+            logger.debug("Order ID: {} - Status: {}", orderId, status);
+            return status.getTrackingMessage();
+        } catch (InvalidOrderIdException | OrderTrackingException e) {
+            throw e;
         } catch (Exception e) {
-            String errorMessage = "An unexpected error occurred while estimating delivery date for ZIP code: " + zipcode;
+            String errorMessage = "An unexpected error occurred while tracking the order with ID: " + orderId;
             logger.error(errorMessage, e);
             throw new RuntimeException(errorMessage, e);
         }
     }
 
     /**
-     * Tracks the status of an order based on the provided order ID.
-     * Retrieves the status of the order and returns a descriptive message.
-     * Returns a message about the current status or an error if the order is not found.
+     * Returns one page of the order change feed: the orders updated after a change feed position.
+     * Orders updated within the last {@code scm.order.changes.settle-ms} milliseconds are held back until a later
+     * poll, so that an order whose transaction commits late with an earlier update time is not skipped.
+     *
+     * @param since   the update time of the last order received, or {@code null} for a full sync.
+     * @param afterId the ID of the last order received, or {@code null}.
+     * @param limit   the maximum number of orders to return, capped at {@code scm.order.changes.max-page-size}.
+     * @param expand  whether to include the full orders with their items.
+     * @return the changed orders and the position to request the next page from.
+     * @throws InvalidOrderDataException if the limit is not positive.
      */
     @Override
-    public String trackOrderStatus(String orderId) {
-        logger.info("Tracking status for order with ID: {}", orderId);
+    @Transactional
+    public OrderChangePage getOrderChanges(Instant since, String afterId, int limit, boolean expand) {
+        if (limit <= 0) {
+            throw new InvalidOrderDataException("limit must be positive");
+        }
+        Instant from = since == null ? Instant.EPOCH : since;
+        String fromId = afterId == null ? "" : afterId;
+        int pageSize = Math.min(limit, maxChangesPageSize);
+        Instant upTo = Instant.now().minusMillis(changesSettleMillis);
+
+        List<OrderChangeDto> changes = orderRepository.findChangesAfter(from, fromId, upTo, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = changes.size() > pageSize;
+        if (hasMore) {
+            changes = new ArrayList<>(changes.subList(0, pageSize));
+        }
+
+        List<OrderDTO> orders = null;
+        if (expand) {
+            Map<String, Order> ordersById = orderRepository.findAllById(changes.stream().map(OrderChangeDto::getOrderId).collect(Collectors.toList()))
+                    .stream().collect(Collectors.toMap(Order::getOrderId, Function.identity()));
+            orders = changes.stream().map(change -> ordersById.get(change.getOrderId())).filter(Objects::nonNull)
+                    .map(OrderMapper::convertEntitytoDTO).collect(Collectors.toList());
+        }
+
+        if (changes.isEmpty()) {
+            return new OrderChangePage(changes, orders, from, fromId, false);
+        }
+        OrderChangeDto last = changes.get(changes.size() - 1);
+        return new OrderChangePage(changes, orders, last.getUpdatedDate(), last.getOrderId(), hasMore);
+    }
+
+    /**
+     * Sets the updated date of orders created without one, so that they are included in a full sync of the
+     * order change feed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillUpdatedDates() {
+        int backfilled = orderRepository.backfillUpdatedDates();
+        if (backfilled > 0) {
+            logger.info("Set the updated date of {} orders", backfilled);
+        }
+    }
+
+    /**
+     * Opens a server-sent event stream that pushes every status change of the order to the caller.
+     * The current status is sent as the first event and the stream completes once the order reaches
+     * a terminal status.
+     */
+    @Override
+    public SseEmitter subscribeToOrderStatus(String orderId) {
+        logger.info("Subscribing to status changes for order with ID: {}", orderId);
 
+        OrderStatus status = findCurrentStatus(orderId);
+        long updatedAt = orderStatusIndex.getUpdatedAt(orderId);
+        Instant updatedDate = updatedAt >= 0 ? Instant.ofEpochMilli(updatedAt) : null;
+        return orderStatusSubscriptionRegistry.subscribe(new OrderStatusUpdate(orderId, status, updatedDate));
+    }
+
+    /**
+     * Resolves the current status of an order from the index, falling back to a status-only query when the order
+     * is not indexed or its status may have been changed by another instance.
+     *
+     * @param orderId the order ID.
+     * @return the current status.
+     * @throws InvalidOrderIdException if the order ID is blank.
+     * @throws OrderTrackingException  if the order does not exist or has no status.
+     */
+    private OrderStatus findCurrentStatus(String orderId) {
         if (orderId == null || orderId.trim().isEmpty()) {
             String errorMessage = "Invalid or null order ID: " + orderId;
             logger.error(errorMessage);
             throw new InvalidOrderIdException(errorMessage);
         }
 
-        try {
-            Optional<Order> optionalOrder = orderRepository.findById(orderId);
-
-            if (optionalOrder.isPresent()) {
-                OrderStatus status = optionalOrder.get().getOrderStatus();
-                String statusMessage;
-
-                switch (status) {
-                    case SHIPPED:
-                        statusMessage = "Your order has been shipped from logistics.";
-                        break;
-                    case CONFIRMED:
-                        statusMessage = "Your order has been confirmed and is being prepared.";
-                        break;
-                    case DISPATCHED:
-                        statusMessage = "Your order has been dispatched and is on its way to the courier.";
-                        break;
-                    case PICKUP_COURIER:
-                        statusMessage = "Your order is with the courier for pickup.";
-                        break;
-                    case ON_THE_WAY:
-                        statusMessage = "Your order is on the way.";
-                        break;
-                    case OUT_FOR_DELIVERY:
-                        statusMessage = "Your order is out for delivery.";
-                        break;
-                    case DELIVERED:
-                        statusMessage = "Your order has been delivered.";
-                        break;
-                    case CANCELLED:
-                        statusMessage = "Your order has been canceled.";
-                        break;
-                    default:
-                        statusMessage = "Your order is in an undefined state.";
-                }
+        OrderStatus status = orderStatusIndex.getStatus(orderId);
+        if (status != null) {
+            return status;
+        }
 
-                logger.info("Order ID: {} - Status: {}", orderId, status);
-                return statusMessage;
-            } else {
-                String errorMessage = "Order status is undefined for order ID: " + orderId;
-                logger.error(errorMessage);
-                throw new OrderTrackingException(errorMessage);
-            }
-        } catch (Exception e) {
-            String errorMessage = "An unexpected error occurred while tracking the order with ID: " + orderId;
-            logger.error(errorMessage, e);
-            throw new RuntimeException(errorMessage, e);
+        Optional<OrderStatusView> statusView = orderRepository.findStatusById(orderId);
+        if (!statusView.isPresent() || statusView.get().getOrderStatus() == null) {
+            String errorMessage = "Order status is undefined for order ID: " + orderId;
+            logger.error(errorMessage);
+            throw new OrderTrackingException(errorMessage);
         }
+        status = statusView.get().getOrderStatus();
+        orderStatusIndex.put(orderId, status, statusView.get().getUpdatedDate());
+        // A change committed on this instance while the query ran is newer than what was read
+        OrderStatus indexed = orderStatusIndex.getStatus(orderId);
+        return indexed != null ? indexed : status;
     }
 
     /**
-     * Reserves stock for a list of customer order items based on the customer's ZIP code.
-     * Delegates the stock reservation logic to the inventory service.
+     * Reserves stock for a list of customer order items based on the customer's ZIP code, without backorders and
+     * with the configured allocation mode. Goes through the same reservation sequencer, stock leases and group commit
+     * as {@link #stockReservationCall(List, Long, boolean, String, AllocationMode)}.
      *
      * @param customerOrderItemDTOS List of customer order items to reserve.
      * @param customerZipcode       The customer's ZIP code used to find the appropriate warehouse.
@@ -491,7 +601,67 @@ public class OrderServiceImplementation implements OrderService {
     @Override
     public Map<Long, String> stockReservationCall(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode) throws InventoryNotFoundException, WarehouseNotFoundException {
 
-        return inventoryService.stockReservationCall(customerOrderItemDTOS, customerZipcode);
+        return stockReservationCall(customerOrderItemDTOS, customerZipcode, false, null, null);
+    }
+
+    /**
+     * Reserves stock for a list of customer order items, optionally backordering the items that cannot be reserved.
+     * Delegates the stock reservation logic to the inventory service, retrying it if it loses a deadlock.
+     *
+     * @param customerOrderItemDTOS List of customer order items to reserve.
+     * @param customerZipcode       The customer's ZIP code used to find the appropriate warehouse.
+     * @param allowBackorder        Whether items that cannot be reserved are backordered.
+     * @param orderReference        The reference of the order, recorded on its backorders.
+     * @return A map containing item IDs and their reservation status.
+     */
+    @Override
+    public Map<Long, String> stockReservationCall(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode, boolean allowBackorder,
+                                                  String orderReference) throws InventoryNotFoundException, WarehouseNotFoundException {
+
+        return stockReservationCall(customerOrderItemDTOS, customerZipcode, allowBackorder, orderReference, null);
+    }
+
+    /**
+     * Reserves stock for a list of customer order items using the given allocation mode.
+     * Delegates the stock reservation logic to the inventory service, retrying it if it loses a deadlock.
+     * When the {@link ReservationSequencer} is enabled, reservations that do not allow backorders are decided by its
+     * per-SKU lanes. Otherwise, when stock leases are enabled, items of hot SKUs are first reserved from the stock
+     * leased by this instance through the {@link StockLeaseManager}, and only the remaining items are reserved from the
+     * inventory. When group commit is enabled, that reservation is committed together with concurrent ones by the
+     * {@link ReservationBatcher}.
+     *
+     * @param customerOrderItemDTOS List of customer order items to reserve.
+     * @param customerZipcode       The customer's ZIP code used to find the appropriate warehouse.
+     * @param allowBackorder        Whether items that cannot be reserved are backordered.
+     * @param orderReference        The reference of the order, recorded on its backorders.
+     * @param allocationMode        How warehouses are chosen, or {@code null} for the configured default.
+     * @return A map containing item IDs and their reservation status.
+     */
+    @Override
+    public Map<Long, String> stockReservationCall(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode, boolean allowBackorder,
+                                                  String orderReference, AllocationMode allocationMode) throws InventoryNotFoundException, WarehouseNotFoundException {
+
+        if (!allowBackorder && reservationSequencer.isEnabled()) {
+            return reservationSequencer.reserve(customerOrderItemDTOS, customerZipcode);
+        }
+        if (stockLeaseManager.isEnabled()) {
+            Map<Long, String> responseMap = new HashMap<>();
+            List<CustomerOrderItemDTO> unleasedItems = stockLeaseManager.reserveFromLeases(customerOrderItemDTOS, customerZipcode, responseMap);
+            if (!unleasedItems.isEmpty()) {
+                responseMap.putAll(reserveFromInventory(unleasedItems, customerZipcode, allowBackorder, orderReference, allocationMode));
+            }
+            return responseMap;
+        }
+        return reserveFromInventory(customerOrderItemDTOS, customerZipcode, allowBackorder, orderReference, allocationMode);
+    }
+
+    private Map<Long, String> reserveFromInventory(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode, boolean allowBackorder,
+                                                   String orderReference, AllocationMode allocationMode) throws InventoryNotFoundException, WarehouseNotFoundException {
+        if (reservationBatcher.isEnabled()) {
+            return reservationBatcher.reserve(customerOrderItemDTOS, customerZipcode, allowBackorder, orderReference, allocationMode);
+        }
+        return lockConflictRetrier.execute("stockReservationCall",
+                () -> inventoryService.stockReservationCall(customerOrderItemDTOS, customerZipcode, allowBackorder, orderReference, allocationMode));
     }
 
     public void updateOfferUsage(Order order) {
@@ -0,0 +1,275 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.event.OrderStatusChangedEvent;
+import com.nisum.vibe.cart.scm.model.OrderStatus;
+import com.nisum.vibe.cart.scm.model.OrderStatusView;
+import com.nisum.vibe.cart.scm.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+/**
+ * Compact in-memory index of order ID to order status and last update time.
+ * <p>
+ * Order IDs produced by {@link com.nisum.vibe.cart.scm.model.UUIDGenerator} are twelve upper-case hexadecimal
+ * characters, so each one packs losslessly into the low 48 bits of a {@code long}. The index keeps those keys,
+ * the status ordinal and the update timestamp in three parallel primitive arrays using open addressing, which
+ * means a status lookup touches neither the persistence context nor the heap allocator.
+ * </p>
+ * <p>
+ * Reads are lock-free in the common case (optimistic {@link StampedLock} reads); writes are serialized. IDs that
+ * cannot be packed are simply not indexed and callers fall back to the database.
+ * </p>
+ * <p>
+ * Only status changes committed on this instance reach the index as events, so a non-terminal status that has not
+ * been confirmed for {@code scm.order-status.index.revalidate-ms} is treated as missing and the caller reads it from
+ * the database again; terminal statuses never change and are served without revalidation. Writes are monotonic on
+ * the update time, so a database read that raced with a newer change never replaces it.
+ * </p>
+ */
+@Component
+public class OrderStatusIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusIndex.class);
+
+    private static final int ORDER_ID_LENGTH = 12;
+    private static final int INITIAL_CAPACITY = 1 << 14;
+    private static final long PRESENT = 1L << 48;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    /**
+     * Returned by {@link #encode(String)} when an ID cannot be packed into a key.
+     */
+    static final long NOT_ENCODABLE = 0L;
+
+    private final StampedLock lock = new StampedLock();
+
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Value("${scm.order-status.index.revalidate-ms:5000}")
+    private long revalidateMillis = 5000L;
+
+    /**
+     * Loads the status of every existing order using a status-only streaming query.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        logger.info("Warming order status index");
+        long startedAt = System.currentTimeMillis();
+        try (Stream<OrderStatusView> statuses = orderRepository.streamAllStatuses()) {
+            statuses.forEach(view -> put(view.getOrderId(), view.getOrderStatus(), view.getUpdatedDate()));
+        }
+        logger.info("Order status index warmed with {} orders in {} ms", size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Returns the indexed status of an order.
+     *
+     * @param orderId the order ID.
+     * @return the status, or {@code null} if the order is not indexed or its non-terminal status is due for
+     * revalidation against the database.
+     */
+    public OrderStatus getStatus(String orderId) {
+        long key = encode(orderId);
+        if (key == NOT_ENCODABLE) {
+            return null;
+        }
+        long stamp = lock.tryOptimisticRead();
+        Table current = table;
+        int slot = current.find(key);
+        byte status = slot < 0 ? -1 : current.statuses[slot];
+        long verifiedAt = slot < 0 ? 0L : current.verifiedAt[slot];
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                current = table;
+                slot = current.find(key);
+                status = slot < 0 ? -1 : current.statuses[slot];
+                verifiedAt = slot < 0 ? 0L : current.verifiedAt[slot];
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (status < 0) {
+            return null;
+        }
+        OrderStatus orderStatus = STATUSES[status];
+        return orderStatus.isTerminal() || System.currentTimeMillis() - verifiedAt <= revalidateMillis ? orderStatus : null;
+    }
+
+    /**
+     * Returns the time, in epoch milliseconds, at which the indexed status was last changed.
+     *
+     * @param orderId the order ID.
+     * @return the last update time, or {@code -1} if the order is not indexed.
+     */
+    public long getUpdatedAt(String orderId) {
+        long key = encode(orderId);
+        if (key == NOT_ENCODABLE) {
+            return -1L;
+        }
+        long stamp = lock.readLock();
+        try {
+            Table current = table;
+            int slot = current.find(key);
+            return slot < 0 ? -1L : current.updatedAt[slot];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Records a committed status change. Changes made inside a transaction are only applied once it
+     * commits, so rolled-back changes never become visible to pollers.
+     *
+     * @param event the status change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        put(event.getOrderId(), event.getOrderStatus(), event.getUpdatedDate());
+    }
+
+    /**
+     * Immediately stores the status of an order, unless the index already holds a newer change of it.
+     *
+     * @param orderId     the order ID.
+     * @param status      the status.
+     * @param updatedDate the time of the change, may be {@code null}.
+     */
+    public void put(String orderId, OrderStatus status, Instant updatedDate) {
+        long key = encode(orderId);
+        if (key == NOT_ENCODABLE || status == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long updatedAt = updatedDate != null ? updatedDate.toEpochMilli() : now;
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            if ((current.size + 1) * 2 > current.keys.length) {
+                current = current.resize();
+                table = current;
+            }
+            current.put(key, (byte) status.ordinal(), updatedAt, now);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of indexed orders.
+     *
+     * @return the number of indexed orders.
+     */
+    public int size() {
+        return table.size;
+    }
+
+    /**
+     * Packs a twelve character upper-case hexadecimal order ID into a {@code long}.
+     *
+     * @param orderId the order ID.
+     * @return the packed key, or {@link #NOT_ENCODABLE} if the ID does not have the expected shape.
+     */
+    static long encode(String orderId) {
+        if (orderId == null || orderId.length() != ORDER_ID_LENGTH) {
+            return NOT_ENCODABLE;
+        }
+        long key = 0L;
+        for (int i = 0; i < ORDER_ID_LENGTH; i++) {
+            char c = orderId.charAt(i);
+            int nibble;
+            if (c >= '0' && c <= '9') {
+                nibble = c - '0';
+            } else if (c >= 'A' && c <= 'F') {
+                nibble = c - 'A' + 10;
+            } else {
+                return NOT_ENCODABLE;
+            }
+            key = (key << 4) | nibble;
+        }
+        return key | PRESENT;
+    }
+
+    /**
+     * Open-addressing table with linear probing over parallel primitive arrays.
+     */
+    private static final class Table {
+
+        private final long[] keys;
+        private final byte[] statuses;
+        private final long[] updatedAt;
+        private final long[] verifiedAt;
+        private final int mask;
+        private int size;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.statuses = new byte[capacity];
+            this.updatedAt = new long[capacity];
+            this.verifiedAt = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private int find(long key) {
+            int slot = mix(key) & mask;
+            while (true) {
+                long candidate = keys[slot];
+                if (candidate == key) {
+                    return slot;
+                }
+                if (candidate == 0L) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        private void put(long key, byte status, long timestamp, long verified) {
+            int slot = mix(key) & mask;
+            while (keys[slot] != 0L && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0L) {
+                keys[slot] = key;
+                size++;
+            } else if (timestamp < updatedAt[slot]) {
+                // An older change, keep the newer status but remember that it is still current
+                verifiedAt[slot] = Math.max(verifiedAt[slot], verified);
+                return;
+            }
+            statuses[slot] = status;
+            updatedAt[slot] = timestamp;
+            verifiedAt[slot] = verified;
+        }
+
+        private Table resize() {
+            Table resized = new Table(keys.length << 1);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0L) {
+                    resized.put(keys[i], statuses[i], updatedAt[i], verifiedAt[i]);
+                }
+            }
+            return resized;
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.event.OrderStatusChangedEvent;
+import com.nisum.vibe.cart.scm.exception.SubscriptionLimitExceededException;
+import com.nisum.vibe.cart.scm.model.OrderChangeDto;
+import com.nisum.vibe.cart.scm.model.OrderStatusUpdate;
+import com.nisum.vibe.cart.scm.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registry of server-sent event subscriptions to order status changes.
+ * <p>
+ * Subscribers are kept per order ID and receive an {@code order-status} event whenever an
+ * {@link OrderStatusChangedEvent} is committed for their order. Streams are completed once the order reaches a
+ * terminal status. A heartbeat comment is written periodically so idle connections survive proxies and dead
+ * clients are detected, and the number of open connections on this node is capped.
+ * </p>
+ * <p>
+ * Status change events are only published on the node that made the change, so every node also tails the order
+ * change feed every {@code scm.order-status.stream.feed-poll-ms} and pushes the changes of orders it has
+ * subscribers for. Changes made on other nodes therefore arrive once they are older than
+ * {@code scm.order.changes.settle-ms}. A subscriber is sent each status change at most once, whichever way it
+ * arrives first.
+ * </p>
+ */
+@Component
+public class OrderStatusSubscriptionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusSubscriptionRegistry.class);
+
+    static final String STATUS_EVENT_NAME = "order-status";
+
+    private final Map<String, Set<SseEmitter>> subscribersByOrderId = new ConcurrentHashMap<>();
+    private final Map<String, Instant> lastPushedByOrderId = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-status-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${scm.order-status.stream.max-connections:10000}")
+    private int maxConnections;
+
+    @Value("${scm.order-status.stream.timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    @Value("${scm.order-status.stream.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    @Value("${scm.order-status.stream.feed-page-size:500}")
+    private int feedPageSize;
+
+    @Value("${scm.order.changes.settle-ms:5000}")
+    private long changesSettleMillis;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Instant feedSince;
+
+    private String feedAfterId = "";
+
+    @PostConstruct
+    public void startHeartbeat() {
+        feedSince = Instant.now().minusMillis(changesSettleMillis);
+        heartbeatExecutor.scheduleWithFixedDelay(this::sendHeartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+        subscribersByOrderId.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribersByOrderId.clear();
+    }
+
+    /**
+     * Opens a new subscription to the status of an order and immediately sends its current status.
+     *
+     * @param currentStatus the current status of the order.
+     * @return the emitter backing the event stream.
+     * @throws SubscriptionLimitExceededException if this node already serves the maximum number of streams.
+     */
+    public SseEmitter subscribe(OrderStatusUpdate currentStatus) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            throw new SubscriptionLimitExceededException("Order status stream limit of " + maxConnections + " connections reached on this node");
+        }
+
+        String orderId = currentStatus.getOrderId();
+        SseEmitter emitter = newEmitter();
+        subscribersByOrderId.compute(orderId, (key, emitters) -> {
+            Set<SseEmitter> registered = emitters != null ? emitters : new CopyOnWriteArraySet<>();
+            registered.add(emitter);
+            if (currentStatus.getUpdatedDate() != null) {
+                lastPushedByOrderId.merge(orderId, currentStatus.getUpdatedDate(), (previous, current) -> current.isAfter(previous) ? current : previous);
+            }
+            return registered;
+        });
+
+        emitter.onCompletion(() -> unregister(orderId, emitter));
+        emitter.onTimeout(() -> unregister(orderId, emitter));
+        emitter.onError(error -> unregister(orderId, emitter));
+
+        send(orderId, emitter, currentStatus);
+        if (currentStatus.getOrderStatus().isTerminal()) {
+            complete(orderId, emitter);
+        }
+        return emitter;
+    }
+
+    /**
+     * Pushes a committed status change to every subscriber of the order.
+     *
+     * @param event the status change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getOrderStatus() != null) {
+            push(new OrderStatusUpdate(event.getOrderId(), event.getOrderStatus(), event.getUpdatedDate()));
+        }
+    }
+
+    /**
+     * Pushes the status changes committed on any node, read from the order change feed, to the subscribers of
+     * their orders.
+     */
+    @Scheduled(fixedDelayString = "${scm.order-status.stream.feed-poll-ms:1000}")
+    public void pollOrderChanges() {
+        Instant upTo = Instant.now().minusMillis(changesSettleMillis);
+        if (subscribersByOrderId.isEmpty()) {
+            // Nobody to push to, skip ahead instead of reading the feed
+            feedSince = upTo;
+            feedAfterId = "";
+            return;
+        }
+        List<OrderChangeDto> changes;
+        do {
+            changes = orderRepository.findChangesAfter(feedSince, feedAfterId, upTo, PageRequest.of(0, feedPageSize));
+            for (OrderChangeDto change : changes) {
+                if (change.getOrderStatus() != null && subscribersByOrderId.containsKey(change.getOrderId())) {
+                    push(new OrderStatusUpdate(change.getOrderId(), change.getOrderStatus(), change.getUpdatedDate()));
+                }
+                feedSince = change.getUpdatedDate();
+                feedAfterId = change.getOrderId();
+            }
+        } while (changes.size() == feedPageSize);
+    }
+
+    /**
+     * Returns the number of open status streams on this node.
+     *
+     * @return the number of open connections.
+     */
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(streamTimeoutMs);
+    }
+
+    private void push(OrderStatusUpdate update) {
+        String orderId = update.getOrderId();
+        Set<SseEmitter> emitters = subscribersByOrderId.get(orderId);
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+        Instant updatedDate = update.getUpdatedDate();
+        if (updatedDate != null) {
+            boolean[] newer = new boolean[1];
+            lastPushedByOrderId.compute(orderId, (key, previous) -> {
+                newer[0] = previous == null || updatedDate.isAfter(previous);
+                return newer[0] ? updatedDate : previous;
+            });
+            if (!newer[0]) {
+                return;
+            }
+        }
+        for (SseEmitter emitter : emitters) {
+            send(orderId, emitter, update);
+            if (update.getOrderStatus().isTerminal()) {
+                complete(orderId, emitter);
+            }
+        }
+    }
+
+    private void complete(String orderId, SseEmitter emitter) {
+        unregister(orderId, emitter);
+        emitter.complete();
+    }
+
+    private void send(String orderId, SseEmitter emitter, OrderStatusUpdate update) {
+        try {
+            emitter.send(SseEmitter.event().name(STATUS_EVENT_NAME).data(update, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping order status subscriber for order ID {}: {}", orderId, e.getMessage());
+            unregister(orderId, emitter);
+        }
+    }
+
+    void sendHeartbeat() {
+        subscribersByOrderId.forEach((orderId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    unregister(orderId, emitter);
+                }
+            }
+        });
+    }
+
+    private void unregister(String orderId, SseEmitter emitter) {
+        subscribersByOrderId.computeIfPresent(orderId, (key, emitters) -> {
+            if (emitters.remove(emitter)) {
+                connectionCount.decrementAndGet();
+            }
+            if (emitters.isEmpty()) {
+                lastPushedByOrderId.remove(orderId);
+                return null;
+            }
+            return emitters;
+        });
+    }
+}
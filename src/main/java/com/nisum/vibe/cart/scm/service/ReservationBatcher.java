@@ -0,0 +1,294 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
+import com.nisum.vibe.cart.scm.exception.WarehouseNotFoundException;
+import com.nisum.vibe.cart.scm.model.AllocationMode;
+import com.nisum.vibe.cart.scm.model.CustomerOrderItemDTO;
+import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Group commit of concurrent stock reservations.
+ * <p>
+ * Every reservation is a short transaction, so under load the commit, and the log flush it waits for, costs more
+ * than the reservation itself. When {@code scm.inventory.reservation-batch.enabled} is set, reservations are queued
+ * here instead and a single dispatcher thread collects the ones that arrive within
+ * {@code scm.inventory.reservation-batch.window-micros} of the first, up to
+ * {@code scm.inventory.reservation-batch.max-size}, and applies them in one transaction with one commit.
+ * </p>
+ * <p>
+ * The inventory records of all the SKUs in a batch are locked up front in primary key order, so a batch takes its
+ * locks in the same order as a single reservation does. A reservation that fails with an
+ * {@link InventoryNotFoundException} or {@link WarehouseNotFoundException} keeps its partial effect, exactly as it
+ * would on its own, and only its caller sees the exception. Any other failure rolls the whole batch back, after which
+ * every reservation of the batch is applied again in its own transaction so that the failure only reaches the
+ * caller that caused it. Callers are completed only once their reservation has been committed.
+ * </p>
+ */
+@Component
+public class ReservationBatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReservationBatcher.class);
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private LockConflictRetrier lockConflictRetrier;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${scm.inventory.reservation-batch.enabled:false}")
+    private boolean enabled;
+
+    @Value("${scm.inventory.reservation-batch.window-micros:1000}")
+    private long windowMicros;
+
+    @Value("${scm.inventory.reservation-batch.max-size:64}")
+    private int maxBatchSize;
+
+    @Value("${scm.inventory.reservation-batch.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${scm.inventory.allocation.default-mode:PREFER_LOCAL}")
+    private AllocationMode defaultAllocationMode;
+
+    private TransactionTemplate transactionTemplate;
+
+    private DistributionSummary batchSizes;
+
+    private BlockingQueue<PendingReservation> queue;
+
+    private Thread dispatcher;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        batchSizes = DistributionSummary.builder("scm.inventory.reservation.batch.size")
+                .description("Stock reservations committed per group-commit transaction")
+                .register(meterRegistry);
+        if (enabled) {
+            queue = new ArrayBlockingQueue<>(queueCapacity);
+            running = true;
+            dispatcher = new Thread(this::dispatch, "reservation-batcher");
+            dispatcher.setDaemon(true);
+            dispatcher.start();
+            LOGGER.info("Reservation group commit enabled with a window of {} us and batches of up to {}", windowMicros, maxBatchSize);
+        }
+    }
+
+    /**
+     * Stops the dispatcher. Reservations that are still queued are applied on their own before it exits.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            dispatcher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * Returns whether reservations are group committed.
+     *
+     * @return {@code true} if {@code scm.inventory.reservation-batch.enabled} is set.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a stock reservation for the next batch.
+     * If the batcher is not running or its queue is full, the reservation is applied on the calling thread instead.
+     *
+     * @param customerOrderItemDTOS a list of ordered items including SKU and quantity.
+     * @param customerZipcode       the customer's delivery zipcode used to find the nearest warehouse.
+     * @param allowBackorder        whether items that cannot be reserved are backordered.
+     * @param orderReference        the reference of the order, recorded on its backorders; may be {@code null}.
+     * @param allocationMode        how warehouses are chosen, or {@code null} for the configured default.
+     * @return a future completed with the reservation status of each SKU once the reservation is committed.
+     */
+    public CompletableFuture<Map<Long, String>> submit(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode, boolean allowBackorder,
+                                                       String orderReference, AllocationMode allocationMode) {
+        PendingReservation reservation = new PendingReservation(customerOrderItemDTOS, customerZipcode, allowBackorder, orderReference, allocationMode);
+        if (!running || !queue.offer(reservation)) {
+            applyAlone(reservation);
+        }
+        return reservation.future;
+    }
+
+    /**
+     * Queues a stock reservation for the next batch and waits for it to be committed.
+     *
+     * @param customerOrderItemDTOS a list of ordered items including SKU and quantity.
+     * @param customerZipcode       the customer's delivery zipcode used to find the nearest warehouse.
+     * @param allowBackorder        whether items that cannot be reserved are backordered.
+     * @param orderReference        the reference of the order, recorded on its backorders; may be {@code null}.
+     * @param allocationMode        how warehouses are chosen, or {@code null} for the configured default.
+     * @return the reservation status of each SKU.
+     * @throws WarehouseNotFoundException if no warehouse is found for the given zipcode.
+     * @throws InventoryNotFoundException if the SKU is not stocked in any warehouse.
+     */
+    public Map<Long, String> reserve(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode, boolean allowBackorder,
+                                     String orderReference, AllocationMode allocationMode) throws WarehouseNotFoundException, InventoryNotFoundException {
+        try {
+            return submit(customerOrderItemDTOS, customerZipcode, allowBackorder, orderReference, allocationMode).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the stock reservation to be committed", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof InventoryNotFoundException) {
+                throw (InventoryNotFoundException) cause;
+            }
+            if (cause instanceof WarehouseNotFoundException) {
+                throw (WarehouseNotFoundException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void dispatch() {
+        List<PendingReservation> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingReservation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(windowMicros);
+                while (batch.size() < maxBatchSize) {
+                    PendingReservation next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutting down, apply whatever has been collected and drain the queue
+                queue.drainTo(batch);
+            }
+            if (!batch.isEmpty()) {
+                applyBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Applies a batch of reservations in one transaction and completes their futures once it has been committed.
+     */
+    void applyBatch(List<PendingReservation> batch) {
+        Object[] outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> {
+                Set<Long> skusToLock = new HashSet<>();
+                for (PendingReservation reservation : batch) {
+                    if (resolve(reservation.allocationMode) == AllocationMode.PREFER_LOCAL) {
+                        reservation.customerOrderItemDTOS.stream().map(CustomerOrderItemDTO::getSku).filter(Objects::nonNull).forEach(skusToLock::add);
+                    }
+                }
+                if (!skusToLock.isEmpty()) {
+                    inventoryRepository.findBySkuInForUpdate(skusToLock);
+                }
+
+                Object[] results = new Object[batch.size()];
+                for (int i = 0; i < batch.size(); i++) {
+                    PendingReservation reservation = batch.get(i);
+                    try {
+                        results[i] = inventoryService.stockReservationCall(reservation.customerOrderItemDTOS, reservation.customerZipcode,
+                                reservation.allowBackorder, reservation.orderReference, reservation.allocationMode);
+                    } catch (InventoryNotFoundException | WarehouseNotFoundException e) {
+                        results[i] = e;
+                    }
+                }
+                return results;
+            });
+        } catch (RuntimeException e) {
+            LOGGER.warn("Reservation batch of {} failed, applying each reservation on its own: {}", batch.size(), e.getMessage());
+            batch.forEach(this::applyAlone);
+            return;
+        }
+
+        batchSizes.record(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), outcomes[i]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void complete(PendingReservation reservation, Object outcome) {
+        if (outcome instanceof Throwable) {
+            reservation.future.completeExceptionally((Throwable) outcome);
+        } else {
+            reservation.future.complete((Map<Long, String>) outcome);
+        }
+    }
+
+    private void applyAlone(PendingReservation reservation) {
+        try {
+            reservation.future.complete(lockConflictRetrier.execute("stockReservationCall", () -> inventoryService.stockReservationCall(
+                    reservation.customerOrderItemDTOS, reservation.customerZipcode, reservation.allowBackorder, reservation.orderReference,
+                    reservation.allocationMode)));
+        } catch (Exception e) {
+            reservation.future.completeExceptionally(e);
+        }
+    }
+
+    private AllocationMode resolve(AllocationMode allocationMode) {
+        return allocationMode == null ? defaultAllocationMode : allocationMode;
+    }
+
+    /**
+     * A queued reservation and the future of its caller.
+     */
+    static final class PendingReservation {
+
+        private final List<CustomerOrderItemDTO> customerOrderItemDTOS;
+        private final Long customerZipcode;
+        private final boolean allowBackorder;
+        private final String orderReference;
+        private final AllocationMode allocationMode;
+        private final CompletableFuture<Map<Long, String>> future = new CompletableFuture<>();
+
+        PendingReservation(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode, boolean allowBackorder,
+                           String orderReference, AllocationMode allocationMode) {
+            this.customerOrderItemDTOS = customerOrderItemDTOS;
+            this.customerZipcode = customerZipcode;
+            this.allowBackorder = allowBackorder;
+            this.orderReference = orderReference;
+            this.allocationMode = allocationMode;
+        }
+
+        CompletableFuture<Map<Long, String>> getFuture() {
+            return future;
+        }
+    }
+}
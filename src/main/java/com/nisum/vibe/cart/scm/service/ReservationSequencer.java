@@ -0,0 +1,578 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.Inventory;
+import com.nisum.vibe.cart.scm.event.InventoryLevelChangedEvent;
+import com.nisum.vibe.cart.scm.event.StockReservedEvent;
+import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
+import com.nisum.vibe.cart.scm.exception.WarehouseNotFoundException;
+import com.nisum.vibe.cart.scm.model.CustomerOrderItemDTO;
+import com.nisum.vibe.cart.scm.repository.InventoryBulkRepository;
+import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Single-writer sequencer for stock reservations of hot SKUs.
+ * <p>
+ * When {@code scm.inventory.sequencer.enabled} is set, reservation items are hash-partitioned by SKU onto
+ * {@code scm.inventory.sequencer.lanes} lanes. Each lane is one thread consuming a bounded ring buffer, so the
+ * reservations of a SKU are decided one at a time in arrival order against counters that only that thread touches,
+ * without any lock. A lane never writes to the database: the stock it reserves is handed to a single flusher thread
+ * that applies the reservations of all lanes as one batched, relative update per transaction and completes the
+ * callers once that transaction has committed. A lane keeps deciding reservations while earlier ones are flushed.
+ * </p>
+ * <p>
+ * The database stays the system of record. A lane loads the counters of a SKU from the database the first time it
+ * sees the SKU, and after every flush it is sent the committed quantities of the SKUs that were flushed, from which
+ * it subtracts the reservations it has made since. Changes made by other writers, such as uploads, reverts and
+ * reservations that do not go through the sequencer, are therefore picked up at the next flush of the SKU, or
+ * reloaded after {@code scm.inventory.sequencer.refresh-ms} for a SKU without reservations in flight. Because callers
+ * are only completed after commit, a crash loses no acknowledged reservation: lanes start empty and rebuild their
+ * counters from the database. The flush update only applies a reservation if the record still has the stock, so a
+ * stale counter can never oversell; such a reservation is reported as not enough stock and the counters are resynced.
+ * </p>
+ * <p>
+ * Items are reserved independently, as {@link InventoryService#stockReservationCall(List, Long)} does, but the
+ * sequencer does not backorder. If a lane's buffer is full, its items are reserved through the inventory service.
+ * </p>
+ */
+@Component
+public class ReservationSequencer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReservationSequencer.class);
+
+    private static final String RESERVED_MESSAGE = "Inventory updated with stock reservation";
+    private static final String NOT_ENOUGH_STOCK_MESSAGE = "Not enough stock to fulfill the order for SKU: ";
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryBulkRepository inventoryBulkRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private LockConflictRetrier lockConflictRetrier;
+
+    @Autowired
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${scm.inventory.sequencer.enabled:false}")
+    private boolean enabled;
+
+    @Value("${scm.inventory.sequencer.lanes:8}")
+    private int laneCount;
+
+    @Value("${scm.inventory.sequencer.lane-capacity:65536}")
+    private int laneCapacity;
+
+    @Value("${scm.inventory.sequencer.flush-interval-ms:5}")
+    private long flushIntervalMillis;
+
+    @Value("${scm.inventory.sequencer.flush-batch-size:1000}")
+    private int flushBatchSize;
+
+    @Value("${scm.inventory.sequencer.refresh-ms:1000}")
+    private long refreshMillis;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Lane[] lanes;
+
+    private final BlockingQueue<SequencedReservation> flushQueue = new LinkedBlockingQueue<>();
+
+    private Thread flusher;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        if (enabled) {
+            running = true;
+            lanes = new Lane[laneCount];
+            for (int i = 0; i < laneCount; i++) {
+                lanes[i] = new Lane(i, laneCapacity);
+                lanes[i].thread.start();
+            }
+            flusher = new Thread(this::flushLoop, "reservation-sequencer-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+            LOGGER.info("Reservation sequencer enabled with {} lanes", laneCount);
+        }
+    }
+
+    /**
+     * Stops the lanes and then the flusher, which flushes the reservations that are still pending before it exits.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Lane lane : lanes) {
+            lane.thread.interrupt();
+            lane.thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Returns whether reservations are sequenced.
+     *
+     * @return {@code true} if {@code scm.inventory.sequencer.enabled} is set.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reserves stock for ordered items through the lanes of their SKUs and waits for the reservations to be committed.
+     *
+     * @param customerOrderItemDTOS a list of ordered items including SKU and quantity.
+     * @param customerZipcode       the customer's delivery zipcode used to find the nearest warehouse.
+     * @return the reservation status of each SKU.
+     * @throws WarehouseNotFoundException if no warehouse serves the given zipcode.
+     * @throws InventoryNotFoundException if a SKU is not stocked in any warehouse.
+     */
+    public Map<Long, String> reserve(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode) throws WarehouseNotFoundException, InventoryNotFoundException {
+        String nearestWarehouseId = customerZipcode == null ? null : zipDeliveryIndex.findWarehouseId(customerZipcode);
+        if (nearestWarehouseId == null) {
+            throw new WarehouseNotFoundException("No Warehouse found for the zipcode: " + customerZipcode);
+        }
+
+        List<SequencedReservation> reservations = new ArrayList<>(customerOrderItemDTOS.size());
+        for (CustomerOrderItemDTO customerOrderItemDto : customerOrderItemDTOS) {
+            reservations.add(submit(customerOrderItemDto.getSku(), customerOrderItemDto.getOrderQuantity(), nearestWarehouseId));
+        }
+
+        Map<Long, String> responseMap = new HashMap<>();
+        for (int i = 0; i < reservations.size(); i++) {
+            SequencedReservation reservation = reservations.get(i);
+            if (reservation == null) {
+                CustomerOrderItemDTO customerOrderItemDto = customerOrderItemDTOS.get(i);
+                responseMap.putAll(lockConflictRetrier.execute("stockReservationCall",
+                        () -> inventoryService.stockReservationCall(Collections.singletonList(customerOrderItemDto), customerZipcode)));
+            } else {
+                responseMap.put(reservation.sku, await(reservation.future));
+            }
+        }
+        return responseMap;
+    }
+
+    /**
+     * Queues a reservation on the lane of its SKU.
+     *
+     * @return the queued reservation, or {@code null} if the sequencer is not running or the lane is full.
+     */
+    SequencedReservation submit(long sku, int quantity, String nearestWarehouseId) {
+        if (!running) {
+            return null;
+        }
+        SequencedReservation reservation = new SequencedReservation(sku, quantity, nearestWarehouseId);
+        Lane lane = laneFor(sku);
+        return lane.queue.offer(() -> lane.reserve(reservation)) ? reservation : null;
+    }
+
+    private Lane laneFor(long sku) {
+        return lanes[Math.floorMod(Long.hashCode(sku) * 0x9E3779B9, lanes.length)];
+    }
+
+    private static String await(CompletableFuture<String> future) throws InventoryNotFoundException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the stock reservation to be committed", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof InventoryNotFoundException) {
+                throw (InventoryNotFoundException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void flushLoop() {
+        List<SequencedReservation> batch = new ArrayList<>(flushBatchSize);
+        while (running || !flushQueue.isEmpty()) {
+            try {
+                SequencedReservation first = flushQueue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                flushQueue.drainTo(batch, flushBatchSize - 1);
+            } catch (InterruptedException e) {
+                // Shutting down, flush everything the lanes have decided
+                flushQueue.drainTo(batch);
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes a batch of reservations in one transaction, completes their callers and resyncs the lanes.
+     * Reservations whose records no longer have the stock are left out of the transaction and reported as not
+     * enough stock.
+     */
+    void flush(List<SequencedReservation> batch) {
+        List<SequencedReservation> applied = new ArrayList<>(batch);
+        List<SequencedReservation> rejected = new ArrayList<>();
+        Set<Long> skus = new HashSet<>();
+        batch.forEach(reservation -> skus.add(reservation.sku));
+
+        List<Inventory> stockLevels;
+        try {
+            while (true) {
+                Set<SequencedReservation> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+                stockLevels = transactionTemplate.execute(status -> {
+                    List<long[]> rows = new ArrayList<>();
+                    List<SequencedReservation> owners = new ArrayList<>();
+                    for (SequencedReservation reservation : applied) {
+                        for (long[] allocation : reservation.allocations) {
+                            rows.add(allocation);
+                            owners.add(reservation);
+                        }
+                    }
+                    boolean[] updated = inventoryBulkRepository.applyReservations(rows);
+                    for (int i = 0; i < updated.length; i++) {
+                        if (!updated[i]) {
+                            failed.add(owners.get(i));
+                        }
+                    }
+                    if (!failed.isEmpty()) {
+                        status.setRollbackOnly();
+                        return null;
+                    }
+                    return publishReservations(applied, skus);
+                });
+                if (failed.isEmpty()) {
+                    break;
+                }
+                applied.removeAll(failed);
+                rejected.addAll(failed);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Flushing {} sequenced reservations failed, reloading their SKUs: {}", batch.size(), e.getMessage(), e);
+            batch.forEach(reservation -> reservation.future.completeExceptionally(e));
+            resetLanes(batch);
+            return;
+        }
+
+        // Resync before completing, so that a caller's next reservation is decided against what it committed
+        syncLanes(batch, stockLevels);
+        applied.forEach(reservation -> reservation.future.complete(RESERVED_MESSAGE));
+        rejected.forEach(reservation -> reservation.future.complete(NOT_ENOUGH_STOCK_MESSAGE + reservation.sku));
+    }
+
+    /**
+     * Publishes the demand and the new stock levels of the applied reservations, and reads back the committed
+     * quantities of every SKU in the batch for the lanes.
+     */
+    private List<Inventory> publishReservations(List<SequencedReservation> applied, Set<Long> skus) {
+        Set<Long> changedInventoryIds = new HashSet<>();
+        for (SequencedReservation reservation : applied) {
+            eventPublisher.publishEvent(new StockReservedEvent(reservation.sku, reservation.nearestWarehouseId, reservation.quantity));
+            reservation.allocations.forEach(allocation -> changedInventoryIds.add(allocation[0]));
+        }
+        List<Inventory> stockLevels = inventoryRepository.findBySkuIn(skus);
+        for (Inventory inventory : stockLevels) {
+            if (changedInventoryIds.contains(inventory.getInventoryId())) {
+                eventPublisher.publishEvent(new InventoryLevelChangedEvent(inventory.getSku(), inventory.getWarehouse().getWarehouseId(), inventory.getQuantityAvailable()));
+            }
+        }
+        return stockLevels;
+    }
+
+    private void syncLanes(List<SequencedReservation> batch, List<Inventory> stockLevels) {
+        if (lanes == null) {
+            return;
+        }
+        Map<Lane, Long> watermarks = new HashMap<>();
+        for (SequencedReservation reservation : batch) {
+            watermarks.merge(laneFor(reservation.sku), reservation.sequence, Math::max);
+        }
+        Map<Lane, Map<Long, List<Inventory>>> stockLevelsByLane = new HashMap<>();
+        for (Inventory inventory : stockLevels) {
+            stockLevelsByLane.computeIfAbsent(laneFor(inventory.getSku()), lane -> new HashMap<>())
+                    .computeIfAbsent(inventory.getSku(), sku -> new ArrayList<>()).add(inventory);
+        }
+        for (Map.Entry<Lane, Long> watermark : watermarks.entrySet()) {
+            Lane lane = watermark.getKey();
+            Map<Long, List<Inventory>> laneStockLevels = stockLevelsByLane.getOrDefault(lane, Collections.emptyMap());
+            enqueueControl(lane, () -> lane.sync(watermark.getValue(), laneStockLevels));
+        }
+    }
+
+    private void resetLanes(List<SequencedReservation> batch) {
+        if (lanes == null) {
+            return;
+        }
+        Map<Lane, Set<Long>> skusByLane = new HashMap<>();
+        batch.forEach(reservation -> skusByLane.computeIfAbsent(laneFor(reservation.sku), lane -> new HashSet<>()).add(reservation.sku));
+        skusByLane.forEach((lane, skus) -> enqueueControl(lane, () -> lane.reset(skus)));
+    }
+
+    /**
+     * Queues a control task on a lane. Control tasks must not be lost, so the flusher waits for room in the lane.
+     */
+    private void enqueueControl(Lane lane, Runnable task) {
+        try {
+            lane.queue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while resyncing reservation lane {}", lane.index);
+        }
+    }
+
+    /**
+     * A lane: one thread, its ring buffer of tasks and the counters of the SKUs hashed onto it.
+     * The counters are only read and written by the lane thread.
+     */
+    private final class Lane {
+
+        private final int index;
+        private final BlockingQueue<Runnable> queue;
+        private final Thread thread;
+        private final Map<Long, SkuCounters> countersBySku = new HashMap<>();
+        private long sequence;
+
+        private Lane(int index, int capacity) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.thread = new Thread(this::run, "reservation-sequencer-lane-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        private void run() {
+            while (running || !queue.isEmpty()) {
+                try {
+                    Runnable task = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (task != null) {
+                        task.run();
+                    }
+                } catch (InterruptedException e) {
+                    // Shutting down, decide what is still queued
+                    Runnable task;
+                    while ((task = queue.poll()) != null) {
+                        task.run();
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.error("Reservation lane {} task failed", index, e);
+                }
+            }
+        }
+
+        /**
+         * Decides a reservation against the in-memory counters and hands it to the flusher.
+         */
+        private void reserve(SequencedReservation reservation) {
+            long now = System.currentTimeMillis();
+            SkuCounters counters = countersBySku.get(reservation.sku);
+            if (counters == null || counters.isStale(now)) {
+                try {
+                    counters = load(reservation.sku, now);
+                } catch (RuntimeException e) {
+                    reservation.future.completeExceptionally(e);
+                    return;
+                }
+                if (counters == null) {
+                    countersBySku.remove(reservation.sku);
+                    reservation.future.completeExceptionally(new InventoryNotFoundException("No inventory found for SKU: " + reservation.sku + " in any warehouse."));
+                    return;
+                }
+                countersBySku.put(reservation.sku, counters);
+            }
+
+            if (counters.totalAvailable() < reservation.quantity) {
+                reservation.future.complete(NOT_ENOUGH_STOCK_MESSAGE + reservation.sku);
+                return;
+            }
+
+            reservation.sequence = ++sequence;
+            int remainingQuantity = reservation.quantity;
+            for (WarehouseCounter counter : counters.inAllocationOrder(reservation.nearestWarehouseId)) {
+                if (remainingQuantity <= 0) {
+                    break;
+                }
+                int quantityToReserve = Math.min(counter.available, remainingQuantity);
+                if (quantityToReserve <= 0) {
+                    continue;
+                }
+                counter.available -= quantityToReserve;
+                counter.inFlight.add(new long[]{reservation.sequence, quantityToReserve});
+                reservation.allocations.add(new long[]{counter.inventoryId, quantityToReserve});
+                remainingQuantity -= quantityToReserve;
+            }
+            flushQueue.add(reservation);
+        }
+
+        private SkuCounters load(long sku, long now) {
+            List<Inventory> inventories = inventoryRepository.findBySku(sku);
+            if (inventories.isEmpty()) {
+                return null;
+            }
+            SkuCounters counters = new SkuCounters(now);
+            for (Inventory inventory : inventories) {
+                counters.counters.add(new WarehouseCounter(inventory.getInventoryId(), inventory.getWarehouse().getWarehouseId(), inventory.getQuantityAvailable()));
+            }
+            return counters;
+        }
+
+        /**
+         * Applies the committed quantities read after a flush. Reservations up to the watermark are part of those
+         * quantities, or were rejected, so only the later ones are still subtracted.
+         */
+        private void sync(long watermark, Map<Long, List<Inventory>> stockLevels) {
+            long now = System.currentTimeMillis();
+            for (Map.Entry<Long, List<Inventory>> entry : stockLevels.entrySet()) {
+                SkuCounters counters = countersBySku.get(entry.getKey());
+                if (counters == null) {
+                    continue;
+                }
+                for (Inventory inventory : entry.getValue()) {
+                    WarehouseCounter counter = counters.find(inventory.getInventoryId());
+                    if (counter == null) {
+                        counter = new WarehouseCounter(inventory.getInventoryId(), inventory.getWarehouse().getWarehouseId(), 0);
+                        counters.counters.add(counter);
+                    }
+                    while (!counter.inFlight.isEmpty() && counter.inFlight.peekFirst()[0] <= watermark) {
+                        counter.inFlight.pollFirst();
+                    }
+                    int available = inventory.getQuantityAvailable() == null ? 0 : inventory.getQuantityAvailable();
+                    for (long[] pending : counter.inFlight) {
+                        available -= pending[1];
+                    }
+                    counter.available = available;
+                }
+                counters.syncedAt = now;
+            }
+        }
+
+        private void reset(Set<Long> skus) {
+            skus.forEach(countersBySku::remove);
+        }
+    }
+
+    /**
+     * The counters of one SKU in every warehouse stocking it.
+     */
+    private final class SkuCounters {
+
+        private final List<WarehouseCounter> counters = new ArrayList<>();
+        private long syncedAt;
+
+        private SkuCounters(long syncedAt) {
+            this.syncedAt = syncedAt;
+        }
+
+        private boolean isStale(long now) {
+            if (now - syncedAt < refreshMillis) {
+                return false;
+            }
+            for (WarehouseCounter counter : counters) {
+                if (!counter.inFlight.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int totalAvailable() {
+            int total = 0;
+            for (WarehouseCounter counter : counters) {
+                total += Math.max(0, counter.available);
+            }
+            return total;
+        }
+
+        private WarehouseCounter find(long inventoryId) {
+            for (WarehouseCounter counter : counters) {
+                if (counter.inventoryId == inventoryId) {
+                    return counter;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns the counters in the order stock is reserved from them: the nearest warehouse first, then the
+         * others with the most stock first, as {@link InventoryService#stockReservationCall(List, Long)} does.
+         */
+        private List<WarehouseCounter> inAllocationOrder(String nearestWarehouseId) {
+            List<WarehouseCounter> ordered = new ArrayList<>(counters);
+            ordered.sort(Comparator.comparing((WarehouseCounter counter) -> !counter.warehouseId.equals(nearestWarehouseId))
+                    .thenComparing(counter -> -counter.available));
+            return ordered;
+        }
+    }
+
+    /**
+     * The available quantity of one inventory record as seen by its lane, and the reservations of it that have not
+     * been flushed yet as {@code [sequence, quantity]} pairs.
+     */
+    private static final class WarehouseCounter {
+
+        private final long inventoryId;
+        private final String warehouseId;
+        private int available;
+        private final Deque<long[]> inFlight = new ArrayDeque<>();
+
+        private WarehouseCounter(long inventoryId, String warehouseId, Integer available) {
+            this.inventoryId = inventoryId;
+            this.warehouseId = warehouseId;
+            this.available = available == null ? 0 : available;
+        }
+    }
+
+    /**
+     * A reservation of one item, decided by a lane and waiting to be flushed.
+     */
+    static final class SequencedReservation {
+
+        private final long sku;
+        private final int quantity;
+        private final String nearestWarehouseId;
+        private final List<long[]> allocations = new ArrayList<>();
+        private final CompletableFuture<String> future = new CompletableFuture<>();
+        private long sequence;
+
+        SequencedReservation(long sku, int quantity, String nearestWarehouseId) {
+            this.sku = sku;
+            this.quantity = quantity;
+            this.nearestWarehouseId = nearestWarehouseId;
+        }
+
+        CompletableFuture<String> getFuture() {
+            return future;
+        }
+    }
+}
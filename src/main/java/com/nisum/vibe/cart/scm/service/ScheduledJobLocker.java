@@ -0,0 +1,88 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.ScheduledJobLock;
+import com.nisum.vibe.cart.scm.repository.ScheduledJobLockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Lets a scheduled job run on one instance per schedule.
+ * <p>
+ * Every instance fires the same cron schedules. A job that must not run on several instances at once claims its
+ * {@link ScheduledJobLock} row first, with an update that only succeeds when the previous claim has expired, and
+ * skips the run when another instance holds the claim. Claims are never released early, so they must be shorter
+ * than the interval of the schedule and longer than a run.
+ * </p>
+ */
+@Component
+public class ScheduledJobLocker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScheduledJobLocker.class);
+
+    @Autowired
+    private ScheduledJobLockRepository scheduledJobLockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${scm.inventory.lease.node-id:}")
+    private String nodeId;
+
+    @Value("${spring.application.name:vibecart-scm-service}")
+    private String applicationName;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (nodeId == null || nodeId.trim().isEmpty()) {
+            nodeId = applicationName + ":" + UUID.randomUUID();
+        }
+    }
+
+    /**
+     * Claims a job for this instance.
+     *
+     * @param jobName    the name of the job.
+     * @param lockMillis how long the claim holds.
+     * @return {@code true} if this instance runs the job, {@code false} if another instance claimed it.
+     */
+    public boolean tryLock(String jobName, long lockMillis) {
+        Instant now = Instant.now();
+        Instant lockedUntil = now.plusMillis(lockMillis);
+        Boolean claimed;
+        try {
+            claimed = transactionTemplate.execute(status -> {
+                if (scheduledJobLockRepository.claimExpired(jobName, nodeId, lockedUntil, now) > 0) {
+                    return true;
+                }
+                if (scheduledJobLockRepository.existsById(jobName)) {
+                    return false;
+                }
+                scheduledJobLockRepository.saveAndFlush(new ScheduledJobLock(jobName, nodeId, lockedUntil));
+                return true;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the row of the job first
+            claimed = false;
+        }
+        if (!Boolean.TRUE.equals(claimed)) {
+            LOGGER.info("Skipping {}, it is claimed by another instance", jobName);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,177 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.event.SkuOwnershipChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Assigns every SKU to one instance of this service by consistent hashing.
+ * <p>
+ * When {@code scm.routing.enabled} is set, the instances registered with the discovery server under
+ * {@code spring.application.name} are placed on a hash ring at {@code scm.routing.virtual-nodes} points each, and a SKU
+ * is owned by the instance at the first point at or after the hash of the SKU. All instances see the same registry,
+ * so they agree on the owner of a SKU, and when an instance joins or leaves only the SKUs next to its points move.
+ * </p>
+ * <p>
+ * The ring is rebuilt whenever the discovery client fetches a registry with different instances, and a
+ * {@link SkuOwnershipChangedEvent} is published. Until this instance has seen a registry, and whenever the ring is
+ * empty, every SKU is treated as owned locally.
+ * </p>
+ */
+@Component
+public class SkuOwnershipRing {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SkuOwnershipRing.class);
+
+    @Autowired
+    private DiscoveryClient discoveryClient;
+
+    @Autowired
+    private ObjectProvider<Registration> registration;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${scm.routing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${spring.application.name:vibecart-scm-service}")
+    private String serviceId;
+
+    @Value("${scm.routing.virtual-nodes:128}")
+    private int virtualNodes;
+
+    private volatile Ring ring = new Ring(Collections.emptySet(), new TreeMap<>());
+
+    /**
+     * Returns whether requests are routed to the owner of their SKUs.
+     *
+     * @return {@code true} if {@code scm.routing.enabled} is set.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the ID of this instance in the discovery registry.
+     *
+     * @return the instance ID, or {@code null} if this instance is not registered.
+     */
+    public String getLocalInstanceId() {
+        Registration localRegistration = registration.getIfAvailable();
+        return localRegistration == null ? null : localRegistration.getInstanceId();
+    }
+
+    /**
+     * Returns the instance owning a SKU, if that is not this instance.
+     *
+     * @param sku the SKU.
+     * @return the owning instance, or {@code null} if the SKU is owned by this instance or routing is disabled.
+     */
+    public ServiceInstance findRemoteOwner(long sku) {
+        if (!enabled) {
+            return null;
+        }
+        ServiceInstance owner = ring.ownerOf(sku);
+        return owner == null || Objects.equals(owner.getInstanceId(), getLocalInstanceId()) ? null : owner;
+    }
+
+    /**
+     * Returns whether a SKU is owned by this instance.
+     *
+     * @param sku the SKU.
+     * @return {@code true} if the SKU is owned by this instance, or routing is disabled.
+     */
+    public boolean isOwnedLocally(long sku) {
+        return findRemoteOwner(sku) == null;
+    }
+
+    /**
+     * Rebuilds the ring from the instances registered with the discovery server if they changed.
+     */
+    @EventListener({ApplicationReadyEvent.class, HeartbeatEvent.class})
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        List<ServiceInstance> instances;
+        try {
+            instances = discoveryClient.getInstances(serviceId);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to read the instances of {}, keeping the current SKU ownership: {}", serviceId, e.getMessage());
+            return;
+        }
+        Set<String> instanceIds = new TreeSet<>();
+        instances.forEach(instance -> instanceIds.add(instance.getInstanceId()));
+        if (instanceIds.equals(ring.instanceIds)) {
+            return;
+        }
+
+        TreeMap<Long, ServiceInstance> points = new TreeMap<>();
+        for (ServiceInstance instance : instances) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(mix(fnv1a(instance.getInstanceId() + "#" + i)), instance);
+            }
+        }
+        ring = new Ring(Collections.unmodifiableSet(instanceIds), points);
+        LOGGER.info("SKU ownership spread across {} instances of {}: {}", instanceIds.size(), serviceId, instanceIds);
+        eventPublisher.publishEvent(new SkuOwnershipChangedEvent(ring.instanceIds));
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Finalizer of MurmurHash3, spreading consecutive SKUs over the whole ring.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /**
+     * An immutable snapshot of the ring.
+     */
+    private static final class Ring {
+
+        private final Set<String> instanceIds;
+        private final TreeMap<Long, ServiceInstance> points;
+
+        private Ring(Set<String> instanceIds, TreeMap<Long, ServiceInstance> points) {
+            this.instanceIds = instanceIds;
+            this.points = points;
+        }
+
+        private ServiceInstance ownerOf(long sku) {
+            if (points.isEmpty()) {
+                return null;
+            }
+            Map.Entry<Long, ServiceInstance> point = points.ceilingEntry(mix(sku));
+            return (point == null ? points.firstEntry() : point).getValue();
+        }
+    }
+}
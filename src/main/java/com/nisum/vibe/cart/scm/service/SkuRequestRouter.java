@@ -0,0 +1,175 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nisum.vibe.cart.scm.client.ScmInstanceClient;
+import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
+import com.nisum.vibe.cart.scm.exception.WarehouseNotFoundException;
+import com.nisum.vibe.cart.scm.model.AllocationMode;
+import com.nisum.vibe.cart.scm.model.CustomerOrderItemDTO;
+import com.nisum.vibe.cart.scm.response.ApiResponse;
+import feign.FeignException;
+import feign.RetryableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.*;
+
+/**
+ * Routes stock reservations to the instances owning their SKUs.
+ * <p>
+ * Items of SKUs owned by this instance, as decided by the {@link SkuOwnershipRing}, are reserved locally; the others
+ * are grouped by owner and forwarded to it through the {@link ScmInstanceClient}. Every reservation of a SKU made
+ * through the stock reservation endpoint is therefore made by one instance, which keeps the per-SKU state of the
+ * reservation sequencer and the stock leases of that instance authoritative when the service is scaled out. Other
+ * inventory mutations are not routed and are applied by the instance that receives them.
+ * </p>
+ * <p>
+ * The database remains the system of record, so if the connection to the owner cannot be established, its items are
+ * reserved locally instead. Any other failure, including a read timeout, may come after the owner reserved the
+ * items, so they are not reserved again; instead the groups already reserved by other instances are reverted and
+ * the failure is propagated, so that a failed request reserves nothing. A forwarded request is always handled where
+ * it arrives, so that instances with different views of the ring cannot forward a request back and forth.
+ * </p>
+ */
+@Component
+public class SkuRequestRouter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SkuRequestRouter.class);
+
+    private static final String RESERVED_MESSAGE = "Inventory updated with stock reservation";
+    private static final String BACKORDERED_MESSAGE_PREFIX = "Backordered ";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private LockConflictRetrier lockConflictRetrier;
+
+    @Autowired
+    private SkuOwnershipRing skuOwnershipRing;
+
+    @Autowired
+    private ScmInstanceClient scmInstanceClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Reserves stock for a list of customer order items on the instances owning their SKUs.
+     *
+     * @param customerOrderItemDTOS a list of ordered items including SKU and quantity.
+     * @param customerZipcode       the customer's delivery zipcode used to find the nearest warehouse.
+     * @param allowBackorder        whether items that cannot be reserved are backordered.
+     * @param orderReference        the reference of the order, recorded on its backorders; may be {@code null}.
+     * @param allocationMode        how warehouses are chosen, or {@code null} for the configured default.
+     * @return the reservation status of each SKU.
+     * @throws WarehouseNotFoundException if no warehouse is found for the given zipcode.
+     * @throws InventoryNotFoundException if a SKU is not stocked in any warehouse.
+     */
+    public Map<Long, String> stockReservationCall(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode, boolean allowBackorder,
+                                                  String orderReference, AllocationMode allocationMode) throws WarehouseNotFoundException, InventoryNotFoundException {
+        LOGGER.info("Inside stockReservationCall() method of SkuRequestRouter class");
+        if (!skuOwnershipRing.isEnabled()) {
+            return orderService.stockReservationCall(customerOrderItemDTOS, customerZipcode, allowBackorder, orderReference, allocationMode);
+        }
+
+        List<CustomerOrderItemDTO> localItems = new ArrayList<>();
+        Map<String, ServiceInstance> owners = new LinkedHashMap<>();
+        Map<String, List<CustomerOrderItemDTO>> remoteItems = new LinkedHashMap<>();
+        for (CustomerOrderItemDTO item : customerOrderItemDTOS) {
+            ServiceInstance owner = item.getSku() == null ? null : skuOwnershipRing.findRemoteOwner(item.getSku());
+            if (owner == null) {
+                localItems.add(item);
+            } else {
+                owners.putIfAbsent(owner.getInstanceId(), owner);
+                remoteItems.computeIfAbsent(owner.getInstanceId(), id -> new ArrayList<>()).add(item);
+            }
+        }
+
+        Map<Long, String> responseMap = new LinkedHashMap<>();
+        List<CustomerOrderItemDTO> forwardedItems = new ArrayList<>();
+        String forwardedBy = String.valueOf(skuOwnershipRing.getLocalInstanceId());
+        try {
+            for (Map.Entry<String, List<CustomerOrderItemDTO>> entry : remoteItems.entrySet()) {
+                ServiceInstance owner = owners.get(entry.getKey());
+                try {
+                    ApiResponse<Map<Long, String>> response = scmInstanceClient.stockReservationCall(owner.getUri(), forwardedBy, customerZipcode,
+                            allowBackorder, orderReference, allocationMode, entry.getValue());
+                    responseMap.putAll(response.getData());
+                    forwardedItems.addAll(entry.getValue());
+                } catch (FeignException e) {
+                    if (!isConnectFailure(e)) {
+                        throw e;
+                    }
+                    LOGGER.warn("Could not connect to instance {}, reserving its {} items locally: {}", owner.getInstanceId(), entry.getValue().size(), e.getMessage());
+                    localItems.addAll(entry.getValue());
+                }
+            }
+            if (!localItems.isEmpty()) {
+                responseMap.putAll(orderService.stockReservationCall(localItems, customerZipcode, allowBackorder, orderReference, allocationMode));
+            }
+        } catch (InventoryNotFoundException | WarehouseNotFoundException | RuntimeException e) {
+            revertForwardedItems(forwardedItems, responseMap, customerZipcode, orderReference);
+            if (e instanceof FeignException && ((FeignException) e).status() == HttpStatus.NOT_FOUND.value()) {
+                throw new InventoryNotFoundException(remoteMessage((FeignException) e));
+            }
+            throw e;
+        }
+        return responseMap;
+    }
+
+    /**
+     * Returns whether a forwarded request failed before the connection to the owner was established, so that the
+     * owner cannot have seen it.
+     */
+    private boolean isConnectFailure(FeignException e) {
+        return e instanceof RetryableException && (e.getCause() instanceof ConnectException
+                || e.getCause() instanceof NoRouteToHostException || e.getCause() instanceof UnknownHostException);
+    }
+
+    /**
+     * Reverts the items that other instances reserved for a request that failed afterwards. Backordered items are
+     * only reverted when the request has an order reference, which their backorders are cancelled by.
+     */
+    private void revertForwardedItems(List<CustomerOrderItemDTO> forwardedItems, Map<Long, String> responseMap, Long customerZipcode, String orderReference) {
+        List<CustomerOrderItemDTO> reservedItems = new ArrayList<>();
+        for (CustomerOrderItemDTO item : forwardedItems) {
+            String status = responseMap.get(item.getSku());
+            if (RESERVED_MESSAGE.equals(status) || (orderReference != null && status != null && status.startsWith(BACKORDERED_MESSAGE_PREFIX))) {
+                reservedItems.add(item);
+            }
+        }
+        if (reservedItems.isEmpty()) {
+            return;
+        }
+        try {
+            lockConflictRetrier.execute("revertForwardedReservation", () -> {
+                inventoryService.revertStockIfOrderCancel(reservedItems, customerZipcode, orderReference);
+                return null;
+            });
+            LOGGER.info("Reverted {} items reserved by other instances for a failed reservation", reservedItems.size());
+        } catch (InventoryNotFoundException | WarehouseNotFoundException | RuntimeException e) {
+            LOGGER.error("Failed to revert {} items reserved by other instances for a failed reservation: {}", reservedItems.size(), e.getMessage());
+        }
+    }
+
+    private String remoteMessage(FeignException e) {
+        String body = e.contentUTF8();
+        try {
+            return objectMapper.readTree(body).path("message").asText(body);
+        } catch (IOException ioException) {
+            return body;
+        }
+    }
+}
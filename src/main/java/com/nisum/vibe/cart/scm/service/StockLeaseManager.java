@@ -0,0 +1,578 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.Inventory;
+import com.nisum.vibe.cart.scm.dao.StockLease;
+import com.nisum.vibe.cart.scm.event.InventoryLevelChangedEvent;
+import com.nisum.vibe.cart.scm.event.SkuOwnershipChangedEvent;
+import com.nisum.vibe.cart.scm.event.StockReservedEvent;
+import com.nisum.vibe.cart.scm.model.CustomerOrderItemDTO;
+import com.nisum.vibe.cart.scm.model.LeaseStatus;
+import com.nisum.vibe.cart.scm.repository.InventoryBulkRepository;
+import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import com.nisum.vibe.cart.scm.repository.StockLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Node-leased stock quotas for hot SKUs.
+ * <p>
+ * When several instances of the service reserve the same SKU, every reservation updates the same inventory record and
+ * waits for its row lock, so throughput on a hot SKU is bounded by that one row however many instances run. When
+ * {@code scm.inventory.lease.enabled} is set, an instance instead claims a chunk of a hot SKU's available stock at a
+ * warehouse as a {@link StockLease}: the chunk is taken out of the available quantity in one short transaction and
+ * reservations are then served from an in-memory counter of the instance, without any lock. The reservations are
+ * recorded write-behind by a single flusher thread, which adds them to the on order and on hold quantities of the
+ * inventory record and to the used quantity of the lease with one update per record and per lease, and completes the
+ * callers once that transaction has committed. Each instance therefore writes a hot record once per flush instead of
+ * once per reservation.
+ * </p>
+ * <p>
+ * A SKU is hot if it is listed in {@code scm.inventory.lease.skus}, or if its demand velocity at the warehouse is at
+ * least {@code scm.inventory.lease.hot-velocity-per-day} units. A lease takes {@code scm.inventory.lease.chunk-size}
+ * units, but no more than {@code scm.inventory.lease.max-share} of the available quantity, so that other instances can
+ * lease the rest; it is topped up in the same way when it runs short. An item that cannot be served from a lease is
+ * returned to the caller to be reserved from the inventory as usual.
+ * </p>
+ * <p>
+ * Leases are renewed every {@code scm.inventory.lease.renew-interval-ms} and expire
+ * {@code scm.inventory.lease.duration-seconds} after their last renewal. A lease that has not been used for that long
+ * is returned, as are all leases of the instance when it shuts down. Every instance sweeps the leases that expired,
+ * for example because their instance crashed, and returns their unused stock to the available quantity. A reservation
+ * is only recorded if its lease is still active when it is flushed, so stock that has been returned is never reserved
+ * twice; such a reservation is handed back to its caller like any other item that cannot be served from a lease.
+ * When SKU ownership moves between instances, the leases of the SKUs this instance no longer owns are returned.
+ * </p>
+ */
+@Component
+public class StockLeaseManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StockLeaseManager.class);
+
+    private static final String RESERVED_MESSAGE = "Inventory updated with stock reservation";
+    private static final int SWEEP_PAGE_SIZE = 100;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryBulkRepository inventoryBulkRepository;
+
+    @Autowired
+    private StockLeaseRepository stockLeaseRepository;
+
+    @Autowired
+    private DemandVelocityTracker demandVelocityTracker;
+
+    @Autowired
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Autowired
+    private SkuOwnershipRing skuOwnershipRing;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${scm.inventory.lease.enabled:false}")
+    private boolean enabled;
+
+    @Value("${scm.inventory.lease.node-id:}")
+    private String nodeId;
+
+    @Value("${spring.application.name:vibecart-scm-service}")
+    private String applicationName;
+
+    @Value("${scm.inventory.lease.skus:}")
+    private String leasedSkus;
+
+    @Value("${scm.inventory.lease.hot-velocity-per-day:0}")
+    private double hotVelocityPerDay;
+
+    @Value("${scm.inventory.lease.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${scm.inventory.lease.max-share:0.25}")
+    private double maxShare;
+
+    @Value("${scm.inventory.lease.duration-seconds:60}")
+    private long durationSeconds;
+
+    @Value("${scm.inventory.lease.flush-interval-ms:5}")
+    private long flushIntervalMillis;
+
+    @Value("${scm.inventory.lease.flush-batch-size:1000}")
+    private int flushBatchSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final Set<Long> hotSkus = new HashSet<>();
+
+    private final ConcurrentMap<String, LocalLease> leases = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Object> claimLocks = new ConcurrentHashMap<>();
+
+    private final BlockingQueue<LeasedReservation> pending = new LinkedBlockingQueue<>();
+
+    private Thread flusher;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        if (nodeId == null || nodeId.trim().isEmpty()) {
+            nodeId = applicationName + ":" + UUID.randomUUID();
+        }
+        for (String sku : leasedSkus.split(",")) {
+            if (!sku.trim().isEmpty()) {
+                hotSkus.add(Long.valueOf(sku.trim()));
+            }
+        }
+        if (enabled) {
+            running = true;
+            flusher = new Thread(this::flushLoop, "stock-lease-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+            LOGGER.info("Stock leases enabled for node {} with chunks of up to {} units", nodeId, chunkSize);
+        }
+    }
+
+    /**
+     * Stops the flusher once the queued reservations have been recorded, then returns the unused stock of every lease
+     * of this instance.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        for (LocalLease lease : leases.values()) {
+            retire(lease);
+        }
+    }
+
+    /**
+     * Returns whether reservations of hot SKUs are served from stock leases.
+     *
+     * @return {@code true} if {@code scm.inventory.lease.enabled} is set.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reserves the items of hot SKUs from the stock leased by this instance at the warehouse nearest to the customer
+     * and waits for the reservations to be recorded.
+     *
+     * @param customerOrderItemDTOS a list of ordered items including SKU and quantity.
+     * @param customerZipcode       the customer's delivery zipcode used to find the nearest warehouse.
+     * @param responseMap           the map the reservation status of each reserved SKU is added to.
+     * @return the items that were not reserved from a lease and are to be reserved from the inventory.
+     */
+    public List<CustomerOrderItemDTO> reserveFromLeases(List<CustomerOrderItemDTO> customerOrderItemDTOS, Long customerZipcode,
+                                                        Map<Long, String> responseMap) {
+        LOGGER.info("Inside reserveFromLeases() method of StockLeaseManager class");
+        String warehouseId = customerZipcode == null ? null : zipDeliveryIndex.findWarehouseId(customerZipcode);
+        if (!running || warehouseId == null) {
+            return customerOrderItemDTOS;
+        }
+
+        List<CustomerOrderItemDTO> unleasedItems = new ArrayList<>();
+        List<LeasedReservation> reservations = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (CustomerOrderItemDTO item : customerOrderItemDTOS) {
+            Long sku = item.getSku();
+            Integer quantity = item.getOrderQuantity();
+            LocalLease lease = sku == null || quantity == null || quantity <= 0 || !isHot(sku, warehouseId, now)
+                    ? null : take(sku, warehouseId, quantity);
+            if (lease == null) {
+                unleasedItems.add(item);
+                continue;
+            }
+            LeasedReservation reservation = new LeasedReservation(lease, item);
+            reservations.add(reservation);
+            pending.add(reservation);
+        }
+
+        for (LeasedReservation reservation : reservations) {
+            try {
+                reservation.future.get();
+                responseMap.put(reservation.item.getSku(), RESERVED_MESSAGE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the leased stock reservation to be recorded", e);
+            } catch (ExecutionException e) {
+                LOGGER.warn("Leased stock reservation of SKU {} was not recorded, reserving it from the inventory: {}",
+                        reservation.item.getSku(), e.getCause().getMessage());
+                unleasedItems.add(reservation.item);
+            }
+        }
+        return unleasedItems;
+    }
+
+    /**
+     * Extends the leases of this instance and returns the ones that have not been used for a lease duration. A lease
+     * that could not be extended has already been released by a sweep and is dropped.
+     */
+    @Scheduled(fixedDelayString = "${scm.inventory.lease.renew-interval-ms:10000}")
+    public void renewLeases() {
+        if (!running) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (LocalLease lease : leases.values()) {
+            try {
+                if (now - lease.lastUsedMillis >= TimeUnit.SECONDS.toMillis(durationSeconds)) {
+                    retire(lease);
+                    continue;
+                }
+                Instant expiresAt = Instant.ofEpochMilli(now).plusSeconds(durationSeconds);
+                Integer renewed = transactionTemplate.execute(status -> stockLeaseRepository.renew(lease.leaseId, expiresAt, LeaseStatus.ACTIVE));
+                if (renewed == null || renewed == 0) {
+                    LOGGER.warn("Stock lease {} of SKU {} at warehouse {} was released by a sweep, dropping it", lease.leaseId, lease.sku, lease.warehouseId);
+                    drop(lease);
+                } else {
+                    lease.expiresAt = expiresAt.toEpochMilli();
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to renew stock lease {}: {}", lease.leaseId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the unused stock of leases of any instance that expired without being renewed. Leases are locked with
+     * {@code SKIP LOCKED}, so that the sweeps of several instances do not wait for each other.
+     */
+    @Scheduled(fixedDelayString = "${scm.inventory.lease.sweep-interval-ms:30000}")
+    public void sweepExpiredLeases() {
+        if (!enabled) {
+            return;
+        }
+        int swept = 0;
+        Integer page;
+        do {
+            page = transactionTemplate.execute(status -> {
+                List<StockLease> expired = stockLeaseRepository.findExpiredForUpdate(LeaseStatus.ACTIVE, Instant.now(), PageRequest.of(0, SWEEP_PAGE_SIZE));
+                expired.forEach(lease -> release(lease, LeaseStatus.EXPIRED));
+                return expired.size();
+            });
+            swept += page == null ? 0 : page;
+        } while (page != null && page == SWEEP_PAGE_SIZE);
+        if (swept > 0) {
+            LOGGER.info("Released the unused stock of {} expired stock leases", swept);
+        }
+    }
+
+    /**
+     * Returns the leases of SKUs that moved to another instance, so that their stock can be leased by the new owner.
+     */
+    @EventListener(SkuOwnershipChangedEvent.class)
+    public void onSkuOwnershipChanged() {
+        for (LocalLease lease : leases.values()) {
+            if (!skuOwnershipRing.isOwnedLocally(lease.sku)) {
+                retire(lease);
+            }
+        }
+    }
+
+    private boolean isHot(long sku, String warehouseId, long now) {
+        return hotSkus.contains(sku)
+                || hotVelocityPerDay > 0 && demandVelocityTracker.getVelocity(sku, warehouseId, now) >= hotVelocityPerDay;
+    }
+
+    /**
+     * Takes stock from the lease of a SKU at a warehouse, claiming or topping up the lease if it runs short.
+     *
+     * @return the lease the stock was taken from, or {@code null} if there is not enough stock to lease.
+     */
+    private LocalLease take(long sku, String warehouseId, int quantity) {
+        String key = sku + "|" + warehouseId;
+        LocalLease lease = leases.get(key);
+        if (lease != null && lease.tryTake(quantity)) {
+            return lease;
+        }
+        synchronized (claimLocks.computeIfAbsent(key, k -> new Object())) {
+            lease = leases.get(key);
+            if (lease != null && lease.tryTake(quantity)) {
+                return lease;
+            }
+            if (lease != null && !lease.isClosed()) {
+                return topUp(lease, quantity) && lease.tryTake(quantity) ? lease : null;
+            }
+            lease = claim(sku, warehouseId, quantity);
+            if (lease == null) {
+                return null;
+            }
+            leases.put(key, lease);
+            return lease.tryTake(quantity) ? lease : null;
+        }
+    }
+
+    private LocalLease claim(long sku, String warehouseId, int needed) {
+        Inventory inventory = inventoryRepository.findBySkuAndWarehouseId(sku, warehouseId);
+        if (inventory == null || inventory.getQuantityAvailable() == null) {
+            return null;
+        }
+        int quantity = leaseSize(inventory.getQuantityAvailable(), needed);
+        if (quantity < needed) {
+            return null;
+        }
+        Instant expiresAt = Instant.now().plusSeconds(durationSeconds);
+        StockLease stockLease = transactionTemplate.execute(status -> {
+            if (!inventoryBulkRepository.leaseStock(inventory.getInventoryId(), quantity)) {
+                return null;
+            }
+            publishInventoryLevel(sku, warehouseId);
+            return stockLeaseRepository.save(new StockLease(nodeId, inventory.getInventoryId(), sku, warehouseId, quantity, expiresAt));
+        });
+        if (stockLease == null) {
+            return null;
+        }
+        LOGGER.info("Leased {} units of SKU {} at warehouse {} as stock lease {}", quantity, sku, warehouseId, stockLease.getStockLeaseId());
+        return new LocalLease(stockLease.getStockLeaseId(), inventory.getInventoryId(), sku, warehouseId, quantity, expiresAt.toEpochMilli());
+    }
+
+    private boolean topUp(LocalLease lease, int needed) {
+        Inventory inventory = inventoryRepository.findBySkuAndWarehouseId(lease.sku, lease.warehouseId);
+        if (inventory == null || inventory.getQuantityAvailable() == null) {
+            return false;
+        }
+        int quantity = leaseSize(inventory.getQuantityAvailable(), needed);
+        if (quantity < needed) {
+            return false;
+        }
+        Instant expiresAt = Instant.now().plusSeconds(durationSeconds);
+        Boolean toppedUp = transactionTemplate.execute(status -> {
+            if (stockLeaseRepository.addQuantityLeased(lease.leaseId, quantity, expiresAt, LeaseStatus.ACTIVE) == 0
+                    || !inventoryBulkRepository.leaseStock(lease.inventoryId, quantity)) {
+                status.setRollbackOnly();
+                return false;
+            }
+            publishInventoryLevel(lease.sku, lease.warehouseId);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(toppedUp)) {
+            return false;
+        }
+        lease.giveBack(quantity);
+        lease.expiresAt = expiresAt.toEpochMilli();
+        return true;
+    }
+
+    private int leaseSize(int available, int needed) {
+        return Math.min(available, Math.max(needed, Math.min(chunkSize, (int) (available * maxShare))));
+    }
+
+    private void flushLoop() {
+        List<LeasedReservation> batch = new ArrayList<>(flushBatchSize);
+        while (running || !pending.isEmpty()) {
+            try {
+                LeasedReservation first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < flushBatchSize) {
+                    LeasedReservation next = pending.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutting down, record whatever has been collected and drain the queue
+                pending.drainTo(batch);
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Records a batch of leased reservations in one transaction and completes their callers once it has been committed.
+     */
+    void flush(List<LeasedReservation> batch) {
+        Map<LocalLease, Integer> usedByLease = new TreeMap<>(Comparator.comparingLong((LocalLease lease) -> lease.leaseId));
+        batch.forEach(reservation -> usedByLease.merge(reservation.lease, reservation.item.getOrderQuantity(), Integer::sum));
+
+        Set<LocalLease> released;
+        try {
+            released = transactionTemplate.execute(status -> {
+                Set<LocalLease> inactive = new HashSet<>();
+                Map<Long, Long> reservedByInventory = new TreeMap<>();
+                for (Map.Entry<LocalLease, Integer> entry : usedByLease.entrySet()) {
+                    LocalLease lease = entry.getKey();
+                    if (stockLeaseRepository.addQuantityUsed(lease.leaseId, entry.getValue(), LeaseStatus.ACTIVE) == 0) {
+                        inactive.add(lease);
+                    } else {
+                        reservedByInventory.merge(lease.inventoryId, (long) entry.getValue(), Long::sum);
+                    }
+                }
+                List<long[]> reservations = new ArrayList<>(reservedByInventory.size());
+                reservedByInventory.forEach((inventoryId, quantity) -> reservations.add(new long[]{inventoryId, quantity}));
+                inventoryBulkRepository.reserveLeasedStock(reservations);
+                for (LeasedReservation reservation : batch) {
+                    if (!inactive.contains(reservation.lease)) {
+                        eventPublisher.publishEvent(new StockReservedEvent(reservation.lease.sku, reservation.lease.warehouseId, reservation.item.getOrderQuantity()));
+                    }
+                }
+                return inactive;
+            });
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to record {} leased stock reservations: {}", batch.size(), e.getMessage());
+            for (LeasedReservation reservation : batch) {
+                reservation.lease.giveBack(reservation.item.getOrderQuantity());
+                reservation.future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        for (LocalLease lease : released) {
+            LOGGER.warn("Stock lease {} of SKU {} at warehouse {} was released before its reservations were recorded", lease.leaseId, lease.sku, lease.warehouseId);
+            drop(lease);
+        }
+        for (LeasedReservation reservation : batch) {
+            if (released.contains(reservation.lease)) {
+                reservation.future.completeExceptionally(new IllegalStateException("Stock lease " + reservation.lease.leaseId + " is no longer active"));
+            } else {
+                reservation.future.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Stops serving from a lease and returns its unused stock. Reservations taken from it that have not been recorded
+     * yet are rejected when they are flushed.
+     */
+    private void retire(LocalLease lease) {
+        drop(lease);
+        try {
+            transactionTemplate.execute(status -> {
+                stockLeaseRepository.findByIdForUpdate(lease.leaseId)
+                        .filter(stockLease -> stockLease.getStatus() == LeaseStatus.ACTIVE)
+                        .ifPresent(stockLease -> release(stockLease, LeaseStatus.RETURNED));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to return stock lease {}, it is released when it expires: {}", lease.leaseId, e.getMessage());
+        }
+    }
+
+    private void drop(LocalLease lease) {
+        lease.close();
+        leases.remove(lease.sku + "|" + lease.warehouseId, lease);
+    }
+
+    private void release(StockLease stockLease, LeaseStatus status) {
+        int unused = stockLease.getQuantityLeased() - stockLease.getQuantityUsed();
+        if (unused > 0) {
+            inventoryBulkRepository.returnStock(stockLease.getInventoryId(), unused);
+            publishInventoryLevel(stockLease.getSku(), stockLease.getWarehouseId());
+        }
+        stockLease.setStatus(status);
+        LOGGER.info("Stock lease {} of node {} {}, returned {} units of SKU {} at warehouse {}", stockLease.getStockLeaseId(), stockLease.getNodeId(),
+                status == LeaseStatus.EXPIRED ? "expired" : "returned", unused, stockLease.getSku(), stockLease.getWarehouseId());
+    }
+
+    private void publishInventoryLevel(Long sku, String warehouseId) {
+        Inventory inventory = inventoryRepository.findBySkuAndWarehouseId(sku, warehouseId);
+        if (inventory != null) {
+            eventPublisher.publishEvent(new InventoryLevelChangedEvent(sku, warehouseId, inventory.getQuantityAvailable()));
+        }
+    }
+
+    /**
+     * The stock of a lease that this instance can still reserve.
+     */
+    static final class LocalLease {
+
+        private static final int CLOSED = -1;
+
+        private final long leaseId;
+        private final long inventoryId;
+        private final Long sku;
+        private final String warehouseId;
+        private final AtomicInteger remaining;
+        private volatile long expiresAt;
+        private volatile long lastUsedMillis;
+
+        LocalLease(long leaseId, long inventoryId, Long sku, String warehouseId, int quantity, long expiresAt) {
+            this.leaseId = leaseId;
+            this.inventoryId = inventoryId;
+            this.sku = sku;
+            this.warehouseId = warehouseId;
+            this.remaining = new AtomicInteger(quantity);
+            this.expiresAt = expiresAt;
+            this.lastUsedMillis = System.currentTimeMillis();
+        }
+
+        boolean tryTake(int quantity) {
+            long now = System.currentTimeMillis();
+            if (now >= expiresAt) {
+                return false;
+            }
+            while (true) {
+                int current = remaining.get();
+                // A closed lease has a negative remainder, so nothing can be taken from it
+                if (current < quantity) {
+                    return false;
+                }
+                if (remaining.compareAndSet(current, current - quantity)) {
+                    lastUsedMillis = now;
+                    return true;
+                }
+            }
+        }
+
+        void giveBack(int quantity) {
+            remaining.getAndUpdate(current -> current == CLOSED ? CLOSED : current + quantity);
+        }
+
+        void close() {
+            remaining.set(CLOSED);
+        }
+
+        boolean isClosed() {
+            return remaining.get() == CLOSED;
+        }
+    }
+
+    /**
+     * A reservation taken from a lease and the future of its caller.
+     */
+    static final class LeasedReservation {
+
+        private final LocalLease lease;
+        private final CustomerOrderItemDTO item;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        LeasedReservation(LocalLease lease, CustomerOrderItemDTO item) {
+            this.lease = lease;
+            this.item = item;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.model.StockTransferRecommendation;
+
+import java.util.List;
+
+/**
+ * Service interface for moving stock between warehouses to follow demand.
+ *
+ * <p>
+ * Implementations of this interface should base recommendations on recent demand per warehouse rather than on
+ * order history queries.
+ */
+public interface StockRebalancingService {
+
+    List<StockTransferRecommendation> recommendTransfers(int limit) throws InvalidInventoryRequestException;
+
+    List<StockTransferRecommendation> executeTransfers(List<StockTransferRecommendation> transfers) throws InvalidInventoryRequestException;
+}
@@ -0,0 +1,291 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.InboundSupply;
+import com.nisum.vibe.cart.scm.dao.Inventory;
+import com.nisum.vibe.cart.scm.event.InboundSupplyChangedEvent;
+import com.nisum.vibe.cart.scm.event.InventoryLevelChangedEvent;
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.model.InventoryStockView;
+import com.nisum.vibe.cart.scm.model.StockTransferRecommendation;
+import com.nisum.vibe.cart.scm.repository.InboundSupplyRepository;
+import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Implementation of the StockRebalancingService interface.
+ *
+ * <p>
+ * For every SKU with recent demand, the decayed velocity of each warehouse from the {@link DemandVelocityTracker}
+ * sets a target of {@code scm.inventory.rebalance.target-cover-days} days of stock. Warehouses below their target
+ * are filled from the surplus of warehouses with slower demand, fastest destination and slowest source first, so
+ * orders are served from the warehouse nearest the customer instead of falling back to distant ones.
+ * </p>
+ *
+ * <p>
+ * Executed transfers take the stock out of the source warehouse right away and register it as inbound supply at the
+ * destination, expected after {@link ZipDeliveryIndex#REMOTE_DELIVERY_DAYS}; it becomes available when received.
+ * Transfers are applied in batches of {@code scm.inventory.rebalance.batch-size}, each in its own transaction.
+ * </p>
+ *
+ * <p>
+ * The scheduled run is claimed through the {@link ScheduledJobLocker} for {@code scm.inventory.rebalance.lock-minutes},
+ * so only one instance plans and executes transfers per schedule. It rebuilds the demand velocity from the order
+ * history first, so the plan reflects the demand served by every instance.
+ * </p>
+ */
+@Service
+public class StockRebalancingServiceImpl implements StockRebalancingService {
+
+    private static final int SKU_CHUNK_SIZE = 500;
+    private static final String REBALANCE_JOB = "stock-rebalance";
+
+    @Autowired
+    private DemandVelocityTracker demandVelocityTracker;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InboundSupplyRepository inboundSupplyRepository;
+
+    @Autowired
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ScheduledJobLocker scheduledJobLocker;
+
+    @Value("${scm.inventory.rebalance.target-cover-days:14}")
+    private int targetCoverDays;
+
+    @Value("${scm.inventory.rebalance.min-transfer-quantity:5}")
+    private int minTransferQuantity;
+
+    @Value("${scm.inventory.rebalance.batch-size:100}")
+    private int batchSize;
+
+    @Value("${scm.inventory.rebalance.auto-execute:false}")
+    private boolean autoExecute;
+
+    @Value("${scm.inventory.rebalance.max-transfers:1000}")
+    private int maxTransfers;
+
+    @Value("${scm.inventory.rebalance.lock-minutes:60}")
+    private long lockMinutes;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final Logger LOGGER = LoggerFactory.getLogger(StockRebalancingServiceImpl.class);
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Proposes the stock transfers that would bring every warehouse closest to its target cover, and executes them
+     * when {@code scm.inventory.rebalance.auto-execute} is enabled.
+     */
+    @Scheduled(cron = "${scm.inventory.rebalance.cron:0 0 3 * * *}")
+    public void rebalance() {
+        if (!scheduledJobLocker.tryLock(REBALANCE_JOB, lockMinutes * 60 * 1000)) {
+            return;
+        }
+        demandVelocityTracker.rebuildFromOrders();
+        List<StockTransferRecommendation> recommendations = recommend(maxTransfers);
+        if (recommendations.isEmpty()) {
+            return;
+        }
+        if (!autoExecute) {
+            LOGGER.info("Rebalancing proposes {} stock transfers", recommendations.size());
+            return;
+        }
+        List<StockTransferRecommendation> executed = execute(recommendations);
+        LOGGER.info("Rebalancing executed {} of {} proposed stock transfers", executed.size(), recommendations.size());
+    }
+
+    /**
+     * Proposes stock transfers from warehouses with slow demand to warehouses with fast demand.
+     *
+     * @param limit the maximum number of transfers to return.
+     * @return the proposed transfers, largest quantity first.
+     * @throws InvalidInventoryRequestException if the limit is not positive.
+     */
+    @Override
+    public List<StockTransferRecommendation> recommendTransfers(int limit) throws InvalidInventoryRequestException {
+
+        LOGGER.info("Inside recommendTransfers() method of StockRebalancingServiceImpl class");
+
+        if (limit <= 0) {
+            throw new InvalidInventoryRequestException("limit must be positive");
+        }
+        return recommend(Math.min(limit, maxTransfers));
+    }
+
+    /**
+     * Executes stock transfers. A transfer is reduced to the quantity still available at its source and skipped if
+     * none is left.
+     *
+     * @param transfers the transfers to execute.
+     * @return the executed transfers with the quantities actually moved.
+     * @throws InvalidInventoryRequestException if a transfer is incomplete, has a non-positive quantity or names an unknown warehouse.
+     */
+    @Override
+    public List<StockTransferRecommendation> executeTransfers(List<StockTransferRecommendation> transfers) throws InvalidInventoryRequestException {
+
+        LOGGER.info("Inside executeTransfers() method of StockRebalancingServiceImpl class");
+
+        for (StockTransferRecommendation transfer : transfers) {
+            if (transfer.getSku() == null || transfer.getQuantity() == null || transfer.getQuantity() <= 0) {
+                throw new InvalidInventoryRequestException("Every transfer needs a sku and a positive quantity");
+            }
+            if (transfer.getFromWarehouseId() == null || zipDeliveryIndex.getWarehouseSlot(transfer.getFromWarehouseId()) < 0
+                    || transfer.getToWarehouseId() == null || zipDeliveryIndex.getWarehouseSlot(transfer.getToWarehouseId()) < 0
+                    || transfer.getFromWarehouseId().equals(transfer.getToWarehouseId())) {
+                throw new InvalidInventoryRequestException("Every transfer needs two different known warehouses, SKU: " + transfer.getSku());
+            }
+        }
+        return execute(transfers);
+    }
+
+    private List<StockTransferRecommendation> recommend(int limit) {
+        long now = System.currentTimeMillis();
+        long[] skus = demandVelocityTracker.getTrackedSkus();
+        List<StockTransferRecommendation> recommendations = new ArrayList<>();
+
+        for (int start = 0; start < skus.length; start += SKU_CHUNK_SIZE) {
+            List<Long> chunk = new ArrayList<>(SKU_CHUNK_SIZE);
+            for (int i = start; i < Math.min(skus.length, start + SKU_CHUNK_SIZE); i++) {
+                chunk.add(skus[i]);
+            }
+            Map<Long, List<InventoryStockView>> stockLevelsBySku = new HashMap<>();
+            for (InventoryStockView stockLevel : inventoryRepository.findStockLevelsBySkuIn(chunk)) {
+                stockLevelsBySku.computeIfAbsent(stockLevel.getSku(), key -> new ArrayList<>()).add(stockLevel);
+            }
+            stockLevelsBySku.forEach((sku, stockLevels) -> planTransfers(sku, stockLevels, now, recommendations));
+        }
+
+        recommendations.sort(Comparator.comparing(StockTransferRecommendation::getQuantity).reversed());
+        return recommendations.size() > limit ? new ArrayList<>(recommendations.subList(0, limit)) : recommendations;
+    }
+
+    /**
+     * Matches the deficits and surpluses of one SKU against its cover target.
+     */
+    void planTransfers(Long sku, List<InventoryStockView> stockLevels, long now, List<StockTransferRecommendation> recommendations) {
+        List<Position> deficits = new ArrayList<>();
+        List<Position> surpluses = new ArrayList<>();
+        for (InventoryStockView stockLevel : stockLevels) {
+            double velocity = demandVelocityTracker.getVelocity(sku, stockLevel.getWarehouseId(), now);
+            int target = (int) Math.ceil(velocity * targetCoverDays);
+            int available = stockLevel.getQuantityAvailable() == null ? 0 : stockLevel.getQuantityAvailable();
+            if (available < target) {
+                deficits.add(new Position(stockLevel.getWarehouseId(), velocity, target - available));
+            } else if (available > target) {
+                surpluses.add(new Position(stockLevel.getWarehouseId(), velocity, available - target));
+            }
+        }
+        deficits.sort(Comparator.comparingDouble((Position position) -> position.velocity).reversed());
+        surpluses.sort(Comparator.comparingDouble(position -> position.velocity));
+
+        for (Position deficit : deficits) {
+            for (Position surplus : surpluses) {
+                if (deficit.quantity < minTransferQuantity) {
+                    break;
+                }
+                if (surplus.velocity >= deficit.velocity || surplus.quantity < minTransferQuantity) {
+                    continue;
+                }
+                int quantity = Math.min(deficit.quantity, surplus.quantity);
+                deficit.quantity -= quantity;
+                surplus.quantity -= quantity;
+                recommendations.add(new StockTransferRecommendation(sku, surplus.warehouseId, deficit.warehouseId, quantity,
+                        surplus.velocity, deficit.velocity));
+            }
+        }
+    }
+
+    private List<StockTransferRecommendation> execute(List<StockTransferRecommendation> transfers) {
+        List<StockTransferRecommendation> executed = new ArrayList<>();
+        for (int start = 0; start < transfers.size(); start += batchSize) {
+            List<StockTransferRecommendation> batch = transfers.subList(start, Math.min(transfers.size(), start + batchSize));
+            transactionTemplate.execute(status -> {
+                executeBatch(batch, executed);
+                return null;
+            });
+        }
+        return executed;
+    }
+
+    /**
+     * Applies one batch of transfers. The inventory records of all SKUs in the batch are locked up front in primary
+     * key order, so concurrent reservations and batches cannot deadlock.
+     */
+    private void executeBatch(List<StockTransferRecommendation> batch, List<StockTransferRecommendation> executed) {
+        Set<Long> skus = new HashSet<>();
+        for (StockTransferRecommendation transfer : batch) {
+            skus.add(transfer.getSku());
+        }
+        Map<String, Inventory> inventories = new HashMap<>();
+        for (Inventory inventory : inventoryRepository.findBySkuInForUpdate(skus)) {
+            inventories.put(inventory.getSku() + "|" + inventory.getWarehouse().getWarehouseId(), inventory);
+        }
+
+        LocalDate expectedDate = LocalDate.now().plusDays(ZipDeliveryIndex.REMOTE_DELIVERY_DAYS);
+        for (StockTransferRecommendation transfer : batch) {
+            Inventory source = inventories.get(transfer.getSku() + "|" + transfer.getFromWarehouseId());
+            if (source == null || !inventories.containsKey(transfer.getSku() + "|" + transfer.getToWarehouseId())) {
+                LOGGER.warn("Skipping transfer of SKU {} from {} to {}, the SKU is not stocked in both warehouses",
+                        transfer.getSku(), transfer.getFromWarehouseId(), transfer.getToWarehouseId());
+                continue;
+            }
+            int quantity = Math.min(transfer.getQuantity(), source.getQuantityAvailable());
+            if (quantity <= 0) {
+                continue;
+            }
+            source.setQuantityAvailable(source.getQuantityAvailable() - quantity);
+            source.setLastUpdatedDate(LocalDate.now());
+            inventoryRepository.save(source);
+            eventPublisher.publishEvent(new InventoryLevelChangedEvent(source.getSku(), transfer.getFromWarehouseId(), source.getQuantityAvailable()));
+
+            inboundSupplyRepository.save(new InboundSupply(transfer.getSku(), transfer.getToWarehouseId(), quantity, expectedDate));
+            eventPublisher.publishEvent(new InboundSupplyChangedEvent(transfer.getSku(), transfer.getToWarehouseId(), expectedDate, quantity));
+
+            executed.add(new StockTransferRecommendation(transfer.getSku(), transfer.getFromWarehouseId(), transfer.getToWarehouseId(),
+                    quantity, transfer.getFromVelocity(), transfer.getToVelocity()));
+        }
+    }
+
+    /**
+     * Deficit or surplus of one warehouse against its cover target.
+     */
+    private static final class Position {
+
+        private final String warehouseId;
+        private final double velocity;
+        private int quantity;
+
+        private Position(String warehouseId, double velocity, int quantity) {
+            this.warehouseId = warehouseId;
+            this.velocity = velocity;
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.model.InventoryChangeNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Sink that posts each batch of inventory change notifications as a JSON array to the URL configured with
+ * {@code scm.inventory.outbox.webhook.url}. A non-2xx response fails the delivery, so the batch is retried.
+ * <p>
+ * The sink uses its own {@link RestTemplate} with {@code scm.inventory.outbox.webhook.connect-timeout-ms} and
+ * {@code scm.inventory.outbox.webhook.read-timeout-ms}, so a hung webhook fails the delivery instead of blocking the
+ * relay; together they must stay well below {@code scm.inventory.outbox.claim-ms}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty("scm.inventory.outbox.webhook.url")
+public class WebhookInventoryChangeSink implements InventoryChangeSink {
+
+    @Autowired
+    private RestTemplateBuilder restTemplateBuilder;
+
+    @Value("${scm.inventory.outbox.webhook.url}")
+    private String webhookUrl;
+
+    @Value("${scm.inventory.outbox.webhook.connect-timeout-ms:2000}")
+    private long connectTimeoutMillis;
+
+    @Value("${scm.inventory.outbox.webhook.read-timeout-ms:10000}")
+    private long readTimeoutMillis;
+
+    private RestTemplate restTemplate;
+
+    @PostConstruct
+    public void init() {
+        restTemplate = restTemplateBuilder
+                .setConnectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .setReadTimeout(Duration.ofMillis(readTimeoutMillis))
+                .build();
+    }
+
+    @Override
+    public void deliver(List<InventoryChangeNotification> notifications) {
+        restTemplate.postForEntity(webhookUrl, notifications, Void.class);
+    }
+}
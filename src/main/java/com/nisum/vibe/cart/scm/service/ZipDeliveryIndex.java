@@ -0,0 +1,286 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.Warehouse;
+import com.nisum.vibe.cart.scm.event.OrderDeliveredEvent;
+import com.nisum.vibe.cart.scm.model.OrderDeliveryView;
+import com.nisum.vibe.cart.scm.model.OrderStatus;
+import com.nisum.vibe.cart.scm.repository.OrderRepository;
+import com.nisum.vibe.cart.scm.repository.WarehouseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of delivery coverage and delivery estimates per ZIP code.
+ * <p>
+ * ZIP codes are six digit numbers between {@value #MIN_ZIPCODE} and {@value #MAX_ZIPCODE} (the range enforced on
+ * {@link Warehouse}), so coverage is kept in a flat array addressed by {@code zipcode - MIN_ZIPCODE}: each slot
+ * holds the index of the warehouse serving that ZIP code. Lookups are therefore O(1) and never touch the database.
+ * </p>
+ * <p>
+ * Coverage is built from the warehouse ZIP code ranges. The delivery estimate for a covered ZIP code starts at
+ * {@link #LOCAL_DELIVERY_DAYS} and is refined from the observed lead time of delivered orders. The estimates are
+ * rebuilt from the delivered orders in the database at startup, deliveries made on this instance are learned once
+ * their transaction commits, and deliveries made on other instances are picked up by tailing delivered orders
+ * updated since, lagging {@code scm.order.changes.settle-ms} behind like the order change feed.
+ * </p>
+ */
+@Component
+public class ZipDeliveryIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ZipDeliveryIndex.class);
+
+    static final int MIN_ZIPCODE = 100000;
+    static final int MAX_ZIPCODE = 999999;
+
+    /**
+     * Delivery time when the order is fulfilled from the warehouse serving the ZIP code.
+     */
+    public static final int LOCAL_DELIVERY_DAYS = 2;
+
+    /**
+     * Delivery time when the order has to be fulfilled from another warehouse.
+     */
+    public static final int REMOTE_DELIVERY_DAYS = 5;
+
+    private static final int MAX_OBSERVED_DAYS = 60;
+    private static final short NOT_COVERED = -1;
+
+    private final byte[] observedDays = new byte[MAX_ZIPCODE - MIN_ZIPCODE + 1];
+
+    /**
+     * IDs of orders learned from their delivery event, so that the tail of delivered orders skips them once.
+     */
+    private final Set<String> recordedOrderIds = ConcurrentHashMap.newKeySet();
+
+    private volatile Coverage coverage;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Value("${scm.zip-delivery.feed-page-size:500}")
+    private int feedPageSize = 500;
+
+    @Value("${scm.order.changes.settle-ms:5000}")
+    private long changesSettleMillis = 5000L;
+
+    private Instant feedSince = Instant.EPOCH;
+
+    private String feedAfterId = "";
+
+    /**
+     * Builds the coverage index and learns the lead time of every delivered order once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+        int deliveries = tailDeliveries();
+        LOGGER.info("ZIP delivery estimates warmed from {} delivered orders", deliveries);
+    }
+
+    /**
+     * Rebuilds ZIP code coverage from the current warehouse ranges.
+     */
+    public synchronized void refresh() {
+        List<Warehouse> warehouses = warehouseRepository.findAll();
+        warehouses.sort(Comparator.comparing(Warehouse::getWarehouseId));
+
+        short[] slots = new short[MAX_ZIPCODE - MIN_ZIPCODE + 1];
+        Arrays.fill(slots, NOT_COVERED);
+        String[] warehouseIds = new String[warehouses.size()];
+        Map<String, Integer> slotsByWarehouseId = new HashMap<>();
+
+        for (short slot = 0; slot < warehouses.size(); slot++) {
+            Warehouse warehouse = warehouses.get(slot);
+            warehouseIds[slot] = warehouse.getWarehouseId();
+            slotsByWarehouseId.put(warehouse.getWarehouseId(), (int) slot);
+            if (warehouse.getZipcodeStart() == null || warehouse.getZipcodeEnd() == null) {
+                continue;
+            }
+            int start = (int) Math.max(MIN_ZIPCODE, warehouse.getZipcodeStart());
+            int end = (int) Math.min(MAX_ZIPCODE, warehouse.getZipcodeEnd());
+            for (int zipcode = start; zipcode <= end; zipcode++) {
+                if (slots[zipcode - MIN_ZIPCODE] == NOT_COVERED) {
+                    slots[zipcode - MIN_ZIPCODE] = slot;
+                } else {
+                    LOGGER.warn("ZIP code {} is covered by more than one warehouse, keeping {}", zipcode, warehouseIds[slots[zipcode - MIN_ZIPCODE]]);
+                }
+            }
+        }
+
+        coverage = new Coverage(slots, warehouseIds, slotsByWarehouseId);
+        LOGGER.info("ZIP delivery index built for {} warehouses", warehouseIds.length);
+    }
+
+    /**
+     * Returns whether the coverage index has been built. Lookups made before that build it on demand.
+     *
+     * @return {@code true} once coverage is available.
+     */
+    public boolean isReady() {
+        return coverage != null;
+    }
+
+    /**
+     * Returns the ID of the warehouse serving a ZIP code.
+     *
+     * @param zipcode the ZIP code.
+     * @return the warehouse ID, or {@code null} if the ZIP code is not covered.
+     */
+    public String findWarehouseId(long zipcode) {
+        int slot = findWarehouseSlot(zipcode);
+        return slot < 0 ? null : coverage().warehouseIds[slot];
+    }
+
+    /**
+     * Returns the position of the warehouse serving a ZIP code in {@link #getWarehouseIds()}.
+     *
+     * @param zipcode the ZIP code.
+     * @return the warehouse slot, or {@code -1} if the ZIP code is not covered.
+     */
+    public int findWarehouseSlot(long zipcode) {
+        if (zipcode < MIN_ZIPCODE || zipcode > MAX_ZIPCODE) {
+            return -1;
+        }
+        return coverage().slots[(int) zipcode - MIN_ZIPCODE];
+    }
+
+    /**
+     * Returns the slot of a warehouse, as used by {@link #findWarehouseSlot(long)}.
+     *
+     * @param warehouseId the warehouse ID.
+     * @return the warehouse slot, or {@code -1} if the warehouse is not indexed.
+     */
+    public int getWarehouseSlot(String warehouseId) {
+        Integer slot = coverage().slotsByWarehouseId.get(warehouseId);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Returns the IDs of all indexed warehouses, ordered by slot.
+     *
+     * @return the warehouse IDs.
+     */
+    public String[] getWarehouseIds() {
+        return coverage().warehouseIds.clone();
+    }
+
+    /**
+     * Returns the estimated number of days to deliver to a ZIP code.
+     *
+     * @param zipcode the ZIP code.
+     * @return the estimated delivery days, or {@code -1} if the ZIP code is not served by any warehouse.
+     */
+    public int estimateDeliveryDays(long zipcode) {
+        if (findWarehouseSlot(zipcode) < 0) {
+            return -1;
+        }
+        byte observed = observedDays[(int) zipcode - MIN_ZIPCODE];
+        return observed > 0 ? observed : LOCAL_DELIVERY_DAYS;
+    }
+
+    /**
+     * Learns the lead time of an order delivered on this instance once its transaction has committed.
+     *
+     * @param event the delivery event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderDelivered(OrderDeliveredEvent event) {
+        if (event.getOrderId() != null) {
+            recordedOrderIds.add(event.getOrderId());
+        }
+        recordDelivery(event.getShippingZipcode(), event.getOrderDate(), event.getDeliveredAt());
+    }
+
+    /**
+     * Learns the lead time of orders delivered on other instances since the last poll.
+     */
+    @Scheduled(fixedDelayString = "${scm.zip-delivery.feed-poll-ms:60000}", initialDelayString = "${scm.zip-delivery.feed-poll-ms:60000}")
+    public void pollDeliveries() {
+        tailDeliveries();
+    }
+
+    private synchronized int tailDeliveries() {
+        Instant upTo = Instant.now().minusMillis(changesSettleMillis);
+        int deliveries = 0;
+        List<OrderDeliveryView> page;
+        do {
+            page = orderRepository.findDeliveriesAfter(OrderStatus.DELIVERED, feedSince, feedAfterId, upTo, PageRequest.of(0, feedPageSize));
+            for (OrderDeliveryView delivery : page) {
+                if (!recordedOrderIds.remove(delivery.getOrderId())) {
+                    recordDelivery(delivery.getShippingzipCode(), delivery.getOrderDate(), delivery.getUpdatedDate());
+                    deliveries++;
+                }
+                feedSince = delivery.getUpdatedDate();
+                feedAfterId = delivery.getOrderId();
+            }
+        } while (page.size() == feedPageSize);
+        return deliveries;
+    }
+
+    /**
+     * Folds the lead time of a delivered order into the estimate for its ZIP code using an
+     * exponentially weighted moving average.
+     *
+     * @param zipcode     the shipping ZIP code of the order.
+     * @param orderDate   the time the order was placed.
+     * @param deliveredAt the time the order was delivered.
+     */
+    public void recordDelivery(Long zipcode, Instant orderDate, Instant deliveredAt) {
+        if (zipcode == null || orderDate == null || deliveredAt == null || zipcode < MIN_ZIPCODE || zipcode > MAX_ZIPCODE) {
+            return;
+        }
+        long days = Math.max(1L, Math.min(MAX_OBSERVED_DAYS, Duration.between(orderDate, deliveredAt).toDays()));
+        int offset = (int) (zipcode - MIN_ZIPCODE);
+        synchronized (observedDays) {
+            byte previous = observedDays[offset];
+            long smoothed = previous > 0 ? Math.round((previous * 3 + days) / 4.0) : days;
+            observedDays[offset] = (byte) smoothed;
+        }
+    }
+
+    private Coverage coverage() {
+        Coverage current = coverage;
+        if (current == null) {
+            refresh();
+            current = coverage;
+        }
+        return current;
+    }
+
+    /**
+     * Immutable snapshot of ZIP code coverage, swapped atomically on refresh.
+     */
+    private static final class Coverage {
+
+        private final short[] slots;
+        private final String[] warehouseIds;
+        private final Map<String, Integer> slotsByWarehouseId;
+
+        private Coverage(short[] slots, String[] warehouseIds, Map<String, Integer> slotsByWarehouseId) {
+            this.slots = slots;
+            this.warehouseIds = warehouseIds;
+            this.slotsByWarehouseId = slotsByWarehouseId;
+        }
+    }
+}
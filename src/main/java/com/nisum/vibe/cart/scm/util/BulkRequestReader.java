@@ -0,0 +1,64 @@
+package com.nisum.vibe.cart.scm.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Opens bulk request bodies for streaming.
+ * <p>
+ * Bodies sent with {@code Content-Encoding: gzip} are decompressed on the fly. JSON array bodies are exposed through a
+ * {@link JsonArrayChunkReader} using the configured chunk size and maximum element count, so bulk endpoints never
+ * bind the whole payload at once.
+ * </p>
+ */
+@Component
+public class BulkRequestReader {
+
+    private static final String GZIP_ENCODING = "gzip";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${scm.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${scm.bulk.max-elements:100000}")
+    private int maxElements;
+
+    /**
+     * Returns the body of a request, decompressing it if it is gzip encoded.
+     *
+     * @param request the request.
+     * @return the body stream.
+     * @throws IOException if the body cannot be read.
+     */
+    public InputStream openBody(HttpServletRequest request) throws IOException {
+        InputStream body = request.getInputStream();
+        String contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding != null && GZIP_ENCODING.equalsIgnoreCase(contentEncoding.trim())) {
+            return new GZIPInputStream(body);
+        }
+        return body;
+    }
+
+    /**
+     * Opens a chunked reader over a request whose body is a JSON array.
+     *
+     * @param request     the request.
+     * @param elementType the element type.
+     * @param <T>         the element type.
+     * @return the chunk reader, which the caller must close.
+     * @throws IOException if the body cannot be read.
+     */
+    public <T> JsonArrayChunkReader<T> openJsonArray(HttpServletRequest request, Class<T> elementType) throws IOException {
+        return new JsonArrayChunkReader<>(objectMapper, openBody(request), elementType, chunkSize, maxElements);
+    }
+}
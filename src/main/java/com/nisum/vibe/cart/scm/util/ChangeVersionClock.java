@@ -0,0 +1,42 @@
+package com.nisum.vibe.cart.scm.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Issues monotonic change versions for rows exposed through change feeds.
+ * <p>
+ * A version is a hybrid timestamp: the wall-clock time in milliseconds shifted left by {@value #COUNTER_BITS} bits,
+ * plus a counter that orders versions issued within the same millisecond. Versions issued by one instance are strictly
+ * increasing even if the wall clock steps back, and versions issued by different instances stay within clock skew of
+ * each other, so a version can also be derived from a point in time with {@link #versionAt(long)}.
+ * </p>
+ */
+public final class ChangeVersionClock {
+
+    private static final int COUNTER_BITS = 16;
+
+    private static final AtomicLong LAST_VERSION = new AtomicLong();
+
+    private ChangeVersionClock() {
+    }
+
+    /**
+     * Returns a new change version, greater than every version previously issued by this instance.
+     *
+     * @return the change version.
+     */
+    public static long next() {
+        long wallClockVersion = versionAt(System.currentTimeMillis());
+        return LAST_VERSION.updateAndGet(last -> Math.max(last + 1, wallClockVersion));
+    }
+
+    /**
+     * Returns the lowest change version that can be issued at a point in time.
+     *
+     * @param epochMillis the point in time, in milliseconds since the epoch.
+     * @return the change version.
+     */
+    public static long versionAt(long epochMillis) {
+        return epochMillis << COUNTER_BITS;
+    }
+}
@@ -0,0 +1,130 @@
+package com.nisum.vibe.cart.scm.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nisum.vibe.cart.scm.exception.InvalidPayloadException;
+import com.nisum.vibe.cart.scm.exception.PayloadTooLargeException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads a top-level JSON array from a stream in fixed-size chunks.
+ * <p>
+ * Elements are bound one at a time with a streaming {@link JsonParser}, so at most {@code chunkSize} elements are
+ * alive at once no matter how large the payload is. Reading fails with a {@link PayloadTooLargeException} as soon as
+ * the array holds more than {@code maxElements} elements.
+ * </p>
+ *
+ * @param <T> the element type.
+ */
+public class JsonArrayChunkReader<T> implements Closeable {
+
+    private final JsonParser parser;
+    private final ObjectMapper objectMapper;
+    private final Class<T> elementType;
+    private final int chunkSize;
+    private final int maxElements;
+    private int elementsRead;
+    private boolean finished;
+    private JsonToken lookahead;
+
+    /**
+     * Opens a reader over a stream whose content is a JSON array.
+     *
+     * @param objectMapper the mapper used to bind elements.
+     * @param inputStream  the stream to read.
+     * @param elementType  the element type.
+     * @param chunkSize    the maximum number of elements per chunk.
+     * @param maxElements  the maximum number of elements in the whole array.
+     * @throws IOException if the stream cannot be read.
+     */
+    public JsonArrayChunkReader(ObjectMapper objectMapper, InputStream inputStream, Class<T> elementType, int chunkSize, int maxElements) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(inputStream);
+        this.elementType = elementType;
+        this.chunkSize = chunkSize;
+        this.maxElements = maxElements;
+        try {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidPayloadException("The request body must be a JSON array", null);
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidPayloadException("The request body is not valid JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the next chunk of elements.
+     *
+     * @return up to {@code chunkSize} elements, or an empty list once the array is exhausted.
+     * @throws IOException if the stream cannot be read.
+     */
+    public List<T> nextChunk() throws IOException {
+        if (finished) {
+            return Collections.emptyList();
+        }
+        List<T> chunk = new ArrayList<>(chunkSize);
+        try {
+            while (chunk.size() < chunkSize) {
+                JsonToken token = lookahead != null ? lookahead : parser.nextToken();
+                lookahead = null;
+                if (token == JsonToken.END_ARRAY || token == null) {
+                    finished = true;
+                    break;
+                }
+                if (++elementsRead > maxElements) {
+                    throw new PayloadTooLargeException("The request body contains more than " + maxElements + " elements");
+                }
+                chunk.add(objectMapper.readValue(parser, elementType));
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidPayloadException("Invalid element " + elementsRead + " in request body: " + e.getOriginalMessage(), e);
+        }
+        return chunk;
+    }
+
+    /**
+     * Returns whether the array has elements that have not been read yet, without binding them.
+     *
+     * @return {@code true} if the next call to {@link #nextChunk()} returns at least one element.
+     * @throws IOException if the stream cannot be read.
+     */
+    public boolean hasMoreElements() throws IOException {
+        if (finished) {
+            return false;
+        }
+        if (lookahead == null) {
+            try {
+                lookahead = parser.nextToken();
+            } catch (JsonProcessingException e) {
+                throw new InvalidPayloadException("Invalid element " + (elementsRead + 1) + " in request body: " + e.getOriginalMessage(), e);
+            }
+        }
+        if (lookahead == JsonToken.END_ARRAY || lookahead == null) {
+            finished = true;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of elements read so far.
+     *
+     * @return the number of elements read.
+     */
+    public int getElementsRead() {
+        return elementsRead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
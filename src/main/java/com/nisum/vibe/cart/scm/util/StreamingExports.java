@@ -0,0 +1,64 @@
+package com.nisum.vibe.cart.scm.util;
+
+import com.nisum.vibe.cart.scm.model.ExportFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Builds the responses of streaming export endpoints.
+ * <p>
+ * The export is written to the response while the request is processed asynchronously, and is gzip compressed
+ * when the client sends {@code Accept-Encoding: gzip}.
+ * </p>
+ */
+public final class StreamingExports {
+
+    private static final String GZIP_ENCODING = "gzip";
+    private static final int GZIP_BUFFER_SIZE = 65536;
+
+    private StreamingExports() {
+    }
+
+    /**
+     * Writes an export to an output stream.
+     */
+    @FunctionalInterface
+    public interface ExportWriter {
+        void write(OutputStream outputStream) throws IOException;
+    }
+
+    /**
+     * Returns a response that streams an export as a file attachment.
+     *
+     * @param format         the export format, which determines the content type and file extension.
+     * @param fileName       the file name without extension.
+     * @param acceptEncoding the Accept-Encoding header of the request, may be {@code null}.
+     * @param writer         writes the export.
+     * @return the streaming response.
+     */
+    public static ResponseEntity<StreamingResponseBody> attachment(ExportFormat format, String fileName, String acceptEncoding, ExportWriter writer) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP_ENCODING);
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+                writer.write(gzipOutputStream);
+                gzipOutputStream.finish();
+            } else {
+                writer.write(outputStream);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "." + format.getFileExtension() + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+        }
+        return response.body(body);
+    }
+}
@@ -2,7 +2,17 @@ package com.nisum.vibe.cart.scm.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nisum.vibe.cart.scm.model.*;
+import com.nisum.vibe.cart.scm.service.AvailableToPromiseService;
+import com.nisum.vibe.cart.scm.service.BackInStockService;
+import com.nisum.vibe.cart.scm.service.BulkChunkApplier;
+import com.nisum.vibe.cart.scm.service.InventoryExportService;
+import com.nisum.vibe.cart.scm.service.InventoryIntegrityService;
+import com.nisum.vibe.cart.scm.service.InventoryReconciliationService;
 import com.nisum.vibe.cart.scm.service.InventoryService;
+import com.nisum.vibe.cart.scm.service.InventoryUploadService;
+import com.nisum.vibe.cart.scm.service.LowStockService;
+import com.nisum.vibe.cart.scm.service.StockRebalancingService;
+import com.nisum.vibe.cart.scm.util.BulkRequestReader;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
@@ -11,6 +21,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -26,6 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 
 @WebMvcTest(InventoryController.class)
+@Import(BulkRequestReader.class)
 @AutoConfigureMockMvc(addFilters = false)
 class InventoryControllerTest {
 
@@ -35,6 +47,33 @@ class InventoryControllerTest {
     @MockBean
     private InventoryService inventoryService;
 
+    @MockBean
+    private InventoryUploadService inventoryUploadService;
+
+    @MockBean
+    private InventoryReconciliationService inventoryReconciliationService;
+
+    @MockBean
+    private InventoryExportService inventoryExportService;
+
+    @MockBean
+    private BackInStockService backInStockService;
+
+    @MockBean
+    private AvailableToPromiseService availableToPromiseService;
+
+    @MockBean
+    private LowStockService lowStockService;
+
+    @MockBean
+    private StockRebalancingService stockRebalancingService;
+
+    @MockBean
+    private InventoryIntegrityService inventoryIntegrityService;
+
+    @MockBean
+    private BulkChunkApplier bulkChunkApplier;
+
     @Autowired
     private ObjectMapper objectMapper;
 
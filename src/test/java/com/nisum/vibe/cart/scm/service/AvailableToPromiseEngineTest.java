@@ -0,0 +1,64 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.event.BackorderQueueChangedEvent;
+import com.nisum.vibe.cart.scm.event.InboundSupplyChangedEvent;
+import com.nisum.vibe.cart.scm.event.InventoryLevelChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailableToPromiseEngineTest {
+
+    private AvailableToPromiseEngine availableToPromiseEngine;
+
+    @BeforeEach
+    void setUp() {
+        availableToPromiseEngine = new AvailableToPromiseEngine();
+        ReflectionTestUtils.setField(availableToPromiseEngine, "horizonDays", 10);
+    }
+
+    @Test
+    void testSupplyIsPromisableFromItsArrivalDay() {
+        LocalDate today = LocalDate.now();
+        availableToPromiseEngine.onStockLevel(101L, "WH001", 5);
+        availableToPromiseEngine.onSupply(101L, "WH001", today.plusDays(3), 20);
+        availableToPromiseEngine.onSupply(101L, "WH001", today.minusDays(1), 2);
+
+        assertArrayEquals(new int[]{7, 7, 7, 27, 27}, availableToPromiseEngine.getProjection(101L, "WH001", 5));
+
+        availableToPromiseEngine.onInventoryLevelChanged(new InventoryLevelChangedEvent(101L, "WH001", 1));
+        availableToPromiseEngine.onInboundSupplyChanged(new InboundSupplyChangedEvent(101L, "WH001", today.plusDays(3), -20));
+
+        assertArrayEquals(new int[]{3, 3, 3, 3, 3}, availableToPromiseEngine.getProjection(101L, "WH001", 5));
+        assertArrayEquals(new int[]{0, 0}, availableToPromiseEngine.getProjection(999L, "WH001", 2));
+    }
+
+    @Test
+    void testBackordersAreDeductedAcrossWarehouses() {
+        LocalDate today = LocalDate.now();
+        availableToPromiseEngine.onStockLevel(101L, "WH001", 4);
+        availableToPromiseEngine.onStockLevel(101L, "WH002", 2);
+        availableToPromiseEngine.onSupply(101L, "WH002", today.plusDays(2), 10);
+        availableToPromiseEngine.onBackorderQueueChanged(new BackorderQueueChangedEvent(101L, 8));
+
+        assertArrayEquals(new int[]{0, 0, 8, 8}, availableToPromiseEngine.getProjection(101L, null, 4));
+        assertArrayEquals(new int[]{2, 2, 12, 12}, availableToPromiseEngine.getProjection(101L, "WH002", 4));
+
+        availableToPromiseEngine.onBackorderQueueChanged(new BackorderQueueChangedEvent(101L, -8));
+
+        assertArrayEquals(new int[]{6, 6, 16, 16}, availableToPromiseEngine.getProjection(101L, null, 4));
+    }
+
+    @Test
+    void testFirstPromisableDay() {
+        int[] projection = {2, 2, 10, 10};
+
+        assertEquals(0, AvailableToPromiseEngine.firstPromisableDay(projection, 2));
+        assertEquals(2, AvailableToPromiseEngine.firstPromisableDay(projection, 5));
+        assertEquals(-1, AvailableToPromiseEngine.firstPromisableDay(projection, 11));
+    }
+}
@@ -0,0 +1,92 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.BackInStockSubscription;
+import com.nisum.vibe.cart.scm.event.BackInStockNotificationEvent;
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.model.BackInStockSubscriptionRequest;
+import com.nisum.vibe.cart.scm.repository.BackInStockSubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BackInStockServiceImplTest {
+
+    @Mock
+    private BackInStockSubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BackInStockServiceImpl backInStockService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(backInStockService, "batchSize", 2);
+        ReflectionTestUtils.setField(backInStockService, "fanOutThreads", 1);
+        backInStockService.init();
+    }
+
+    @Test
+    void testSubscribeIsDeduplicatedPerCustomerAndSku() throws Exception {
+        when(subscriptionRepository.existsBySkuAndCustomerId(101L, 7L)).thenReturn(false, true);
+        BackInStockSubscriptionRequest request = new BackInStockSubscriptionRequest(101L, 7L, "john@gmail.com");
+
+        assertTrue(backInStockService.subscribe(request));
+        assertFalse(backInStockService.subscribe(request));
+
+        verify(subscriptionRepository, times(1)).save(any(BackInStockSubscription.class));
+    }
+
+    @Test
+    void testSubscribeWithoutCustomerIsRejected() {
+        assertThrows(InvalidInventoryRequestException.class,
+                () -> backInStockService.subscribe(new BackInStockSubscriptionRequest(101L, null, "john@gmail.com")));
+    }
+
+    @Test
+    void testSubscribersAreNotifiedAndRemovedInBatches() {
+        BackInStockSubscription first = subscription(1L, 7L);
+        BackInStockSubscription second = subscription(2L, 8L);
+        BackInStockSubscription third = subscription(3L, 9L);
+        when(subscriptionRepository.findPageBySku(101L, 0L, PageRequest.of(0, 2))).thenReturn(Arrays.asList(first, second));
+        when(subscriptionRepository.findPageBySku(101L, 2L, PageRequest.of(0, 2))).thenReturn(Collections.singletonList(third));
+
+        assertEquals(3, backInStockService.notifySubscribers(101L));
+
+        ArgumentCaptor<BackInStockNotificationEvent> captor = ArgumentCaptor.forClass(BackInStockNotificationEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        List<BackInStockNotificationEvent> events = captor.getAllValues();
+        assertEquals(2, events.get(0).getSubscriptions().size());
+        assertEquals(9L, events.get(1).getSubscriptions().get(0).getCustomerId());
+        verify(subscriptionRepository).deleteAllInBatch(Arrays.asList(first, second));
+        verify(subscriptionRepository).deleteAllInBatch(Collections.singletonList(third));
+    }
+
+    private static BackInStockSubscription subscription(Long subscriptionId, Long customerId) {
+        BackInStockSubscription subscription = new BackInStockSubscription(101L, customerId, null, Instant.now());
+        ReflectionTestUtils.setField(subscription, "subscriptionId", subscriptionId);
+        return subscription;
+    }
+}
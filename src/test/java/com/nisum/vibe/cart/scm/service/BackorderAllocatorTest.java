@@ -0,0 +1,118 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.Backorder;
+import com.nisum.vibe.cart.scm.dao.Inventory;
+import com.nisum.vibe.cart.scm.dao.Warehouse;
+import com.nisum.vibe.cart.scm.event.BackorderAllocatedEvent;
+import com.nisum.vibe.cart.scm.event.BackorderQueueChangedEvent;
+import com.nisum.vibe.cart.scm.model.BackorderStatus;
+import com.nisum.vibe.cart.scm.repository.BackorderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BackorderAllocatorTest {
+
+    @Mock
+    private BackorderRepository backorderRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BackorderAllocator backorderAllocator;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(backorderAllocator, "batchSize", 2);
+    }
+
+    @Test
+    void testReplenishedStockIsAllocatedInFifoOrder() {
+        Backorder oldest = backorder(1L, 4);
+        Backorder second = backorder(2L, 3);
+        Backorder third = backorder(3L, 5);
+        when(backorderRepository.findQueuedForUpdate(101L, BackorderStatus.WAITING, 0L, PageRequest.of(0, 2))).thenReturn(Arrays.asList(oldest, second));
+        when(backorderRepository.findQueuedForUpdate(101L, BackorderStatus.WAITING, 2L, PageRequest.of(0, 2))).thenReturn(Collections.singletonList(third));
+        Inventory inventory = new Inventory(1L, 301L, 101L, 10, new Warehouse(), 0, 0, null);
+
+        assertEquals(10, backorderAllocator.allocate(inventory));
+
+        assertEquals(BackorderStatus.ALLOCATED, oldest.getStatus());
+        assertEquals(BackorderStatus.ALLOCATED, second.getStatus());
+        assertEquals(BackorderStatus.WAITING, third.getStatus());
+        assertEquals(3, third.getQuantityAllocated());
+        assertEquals(0, inventory.getQuantityAvailable());
+        assertEquals(10, inventory.getQuantityOnOrder());
+        assertEquals(10, inventory.getQuantityOnHold());
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(3)).publishEvent(captor.capture());
+        assertEquals(1L, ((BackorderAllocatedEvent) captor.getAllValues().get(0)).getBackorderId());
+        assertEquals(2L, ((BackorderAllocatedEvent) captor.getAllValues().get(1)).getBackorderId());
+        assertEquals(-10, ((BackorderQueueChangedEvent) captor.getAllValues().get(2)).getQuantityDelta());
+    }
+
+    @Test
+    void testStockBeyondTheQueueStaysAvailable() {
+        Backorder backorder = backorder(1L, 4);
+        when(backorderRepository.findQueuedForUpdate(any(), any(), any(), any())).thenReturn(Collections.singletonList(backorder));
+        Inventory inventory = new Inventory(1L, 301L, 101L, 10, new Warehouse(), 0, 0, null);
+
+        assertEquals(4, backorderAllocator.allocate(inventory));
+
+        assertEquals(6, inventory.getQuantityAvailable());
+        verify(backorderRepository, times(1)).findQueuedForUpdate(any(), any(), any(), any());
+    }
+
+    @Test
+    void testNoStockDoesNotReadTheQueue() {
+        Inventory inventory = new Inventory(1L, 301L, 101L, 0, new Warehouse(), 0, 0, null);
+
+        assertEquals(0, backorderAllocator.allocate(inventory));
+
+        verifyNoInteractions(backorderRepository);
+    }
+
+    @Test
+    void testCancelReturnsTheQuantityThatWasNeverReserved() {
+        Backorder waiting = backorder(1L, 4);
+        waiting.setQuantityAllocated(1);
+        Backorder allocated = backorder(2L, 3);
+        allocated.setQuantityAllocated(3);
+        allocated.setStatus(BackorderStatus.ALLOCATED);
+        when(backorderRepository.findByOrderReferenceForUpdate("ORDER1", Arrays.asList(BackorderStatus.WAITING, BackorderStatus.ALLOCATED)))
+                .thenReturn(Arrays.asList(waiting, allocated));
+
+        Map<Long, Integer> unreservedQuantities = backorderAllocator.cancel("ORDER1");
+
+        assertEquals(Collections.singletonMap(101L, 3), unreservedQuantities);
+        assertEquals(BackorderStatus.CANCELLED, waiting.getStatus());
+        assertEquals(BackorderStatus.CANCELLED, allocated.getStatus());
+        ArgumentCaptor<BackorderQueueChangedEvent> captor = ArgumentCaptor.forClass(BackorderQueueChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(-3, captor.getValue().getQuantityDelta());
+    }
+
+    private static Backorder backorder(Long backorderId, int quantity) {
+        Backorder backorder = new Backorder(101L, quantity, "ORDER" + backorderId, 400001L, Instant.now());
+        ReflectionTestUtils.setField(backorder, "backorderId", backorderId);
+        return backorder;
+    }
+}
@@ -0,0 +1,66 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nisum.vibe.cart.scm.exception.PayloadTooLargeException;
+import com.nisum.vibe.cart.scm.util.JsonArrayChunkReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkChunkApplierTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private BulkChunkApplier bulkChunkApplier;
+
+    @Test
+    void testApplyChunks_FlushesAndClearsAfterEveryChunk() throws Exception {
+        List<List<Long>> appliedChunks = new ArrayList<>();
+
+        try (JsonArrayChunkReader<Long> reader = reader("[1, 2, 3, 4, 5]", 5)) {
+            bulkChunkApplier.applyChunks(reader, appliedChunks::add);
+        }
+
+        assertEquals(Arrays.asList(Arrays.asList(1L, 2L), Arrays.asList(3L, 4L), Arrays.asList(5L)), appliedChunks);
+        InOrder inOrder = inOrder(entityManager);
+        for (int i = 0; i < 3; i++) {
+            inOrder.verify(entityManager).flush();
+            inOrder.verify(entityManager).clear();
+        }
+    }
+
+    @Test
+    void testApplyChunks_PropagatesFailureOfLaterChunkSoTheTransactionRollsBack() throws Exception {
+        List<List<Long>> appliedChunks = new ArrayList<>();
+
+        try (JsonArrayChunkReader<Long> reader = reader("[1, 2, 3, 4, 5]", 4)) {
+            assertThrows(PayloadTooLargeException.class, () -> bulkChunkApplier.applyChunks(reader, appliedChunks::add));
+        }
+
+        assertEquals(2, appliedChunks.size());
+        verify(entityManager, times(2)).flush();
+    }
+
+    private JsonArrayChunkReader<Long> reader(String json, int maxElements) throws IOException {
+        return new JsonArrayChunkReader<>(objectMapper, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), Long.class, 2, maxElements);
+    }
+}
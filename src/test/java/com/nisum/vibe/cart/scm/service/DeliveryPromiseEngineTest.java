@@ -0,0 +1,93 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.event.InventoryLevelChangedEvent;
+import com.nisum.vibe.cart.scm.model.InventoryChangeDto;
+import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeliveryPromiseEngineTest {
+
+    @Mock
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @InjectMocks
+    private DeliveryPromiseEngine deliveryPromiseEngine;
+
+    @Test
+    void testLocalStockPromisesLocalDelivery() {
+        when(zipDeliveryIndex.getWarehouseSlot("WH001")).thenReturn(0);
+        deliveryPromiseEngine.onStockLevel(101L, "WH001", 5);
+
+        assertEquals(ZipDeliveryIndex.LOCAL_DELIVERY_DAYS, deliveryPromiseEngine.getDeliveryDays(101L, 0));
+        assertEquals(ZipDeliveryIndex.REMOTE_DELIVERY_DAYS, deliveryPromiseEngine.getDeliveryDays(101L, 1));
+    }
+
+    @Test
+    void testStockInDistantSlotPromisesRemoteDelivery() {
+        when(zipDeliveryIndex.getWarehouseSlot("WH100")).thenReturn(100);
+        deliveryPromiseEngine.onStockLevel(101L, "WH100", 5);
+
+        assertEquals(ZipDeliveryIndex.LOCAL_DELIVERY_DAYS, deliveryPromiseEngine.getDeliveryDays(101L, 100));
+        assertEquals(ZipDeliveryIndex.REMOTE_DELIVERY_DAYS, deliveryPromiseEngine.getDeliveryDays(101L, 0));
+    }
+
+    @Test
+    void testCommittedChangesAreAppliedIncrementally() {
+        when(zipDeliveryIndex.getWarehouseSlot("WH001")).thenReturn(0);
+        when(zipDeliveryIndex.getWarehouseSlot("WH002")).thenReturn(1);
+        deliveryPromiseEngine.onStockLevel(101L, "WH001", 5);
+        deliveryPromiseEngine.onStockLevel(101L, "WH002", 1);
+
+        deliveryPromiseEngine.onInventoryLevelChanged(new InventoryLevelChangedEvent(101L, "WH001", 0));
+        assertEquals(ZipDeliveryIndex.REMOTE_DELIVERY_DAYS, deliveryPromiseEngine.getDeliveryDays(101L, 0));
+
+        deliveryPromiseEngine.onInventoryLevelChanged(new InventoryLevelChangedEvent(101L, "WH002", 0));
+        assertEquals(-1, deliveryPromiseEngine.getDeliveryDays(101L, 0));
+    }
+
+    @Test
+    void testPollInventoryChanges_AppliesStockChangedOnOtherInstances() {
+        ReflectionTestUtils.setField(deliveryPromiseEngine, "feedPageSize", 2);
+        when(zipDeliveryIndex.getWarehouseSlot("WH001")).thenReturn(0);
+        when(zipDeliveryIndex.getWarehouseSlot("WH002")).thenReturn(1);
+        deliveryPromiseEngine.onStockLevel(101L, "WH001", 5);
+        when(inventoryRepository.findChangesAfter(eq(0L), eq(0L), anyLong(), any())).thenReturn(Arrays.asList(
+                new InventoryChangeDto(1L, 11L, 101L, "WH001", 0, 0, 0, LocalDate.now(), 100L),
+                new InventoryChangeDto(2L, 12L, 102L, "WH002", 7, 0, 0, LocalDate.now(), 100L)));
+        when(inventoryRepository.findChangesAfter(eq(100L), eq(2L), anyLong(), any())).thenReturn(Collections.singletonList(
+                new InventoryChangeDto(3L, 13L, 101L, "WH002", 4, 0, 0, LocalDate.now(), 101L)));
+
+        deliveryPromiseEngine.pollInventoryChanges();
+
+        assertEquals(ZipDeliveryIndex.REMOTE_DELIVERY_DAYS, deliveryPromiseEngine.getDeliveryDays(101L, 0));
+        assertEquals(ZipDeliveryIndex.LOCAL_DELIVERY_DAYS, deliveryPromiseEngine.getDeliveryDays(101L, 1));
+        assertEquals(ZipDeliveryIndex.LOCAL_DELIVERY_DAYS, deliveryPromiseEngine.getDeliveryDays(102L, 1));
+    }
+
+    @Test
+    void testUnknownSkuOrWarehouseHasNoPromise() {
+        when(zipDeliveryIndex.getWarehouseSlot("UNKNOWN")).thenReturn(-1);
+        deliveryPromiseEngine.onStockLevel(101L, "UNKNOWN", 5);
+
+        assertEquals(-1, deliveryPromiseEngine.getDeliveryDays(101L, 0));
+        assertEquals(-1, deliveryPromiseEngine.getDeliveryDays(999L, 0));
+        assertFalse(deliveryPromiseEngine.isReady());
+    }
+}
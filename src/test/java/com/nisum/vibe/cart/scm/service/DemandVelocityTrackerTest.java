@@ -0,0 +1,115 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.model.OrderDemandView;
+import com.nisum.vibe.cart.scm.model.OrderStatus;
+import com.nisum.vibe.cart.scm.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DemandVelocityTrackerTest {
+
+    private static final long HOUR = 60L * 60 * 1000;
+
+    @Mock
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private DemandVelocityTracker demandVelocityTracker;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(demandVelocityTracker, "halfLifeHours", 24);
+        demandVelocityTracker.init();
+        lenient().when(zipDeliveryIndex.getWarehouseSlot("WH001")).thenReturn(0);
+        lenient().when(zipDeliveryIndex.getWarehouseSlot("WH002")).thenReturn(1);
+    }
+
+    @Test
+    void testVelocityHalvesAfterHalfLife() {
+        demandVelocityTracker.recordDemand(101L, "WH001", 10, 0L);
+        double velocity = demandVelocityTracker.getVelocity(101L, "WH001", 0L);
+
+        assertEquals(10 * Math.log(2), velocity, 1e-9);
+        assertEquals(velocity / 2, demandVelocityTracker.getVelocity(101L, "WH001", 24 * HOUR), 1e-9);
+        assertEquals(0, demandVelocityTracker.getVelocity(101L, "WH002", 0L));
+    }
+
+    @Test
+    void testDemandAccumulatesPerSkuAndWarehouse() {
+        demandVelocityTracker.recordDemand(101L, "WH001", 4, 0L);
+        demandVelocityTracker.recordDemand(101L, "WH001", 4, 24 * HOUR);
+        demandVelocityTracker.recordDemand(101L, "WH002", 1, 24 * HOUR);
+        demandVelocityTracker.recordDemand(102L, "WH001", 1, 24 * HOUR);
+
+        assertEquals(6 * Math.log(2), demandVelocityTracker.getVelocity(101L, "WH001", 24 * HOUR), 1e-9);
+        assertArrayEquals(new long[]{101L, 102L}, demandVelocityTracker.getTrackedSkus());
+    }
+
+    @Test
+    void testRebuildFromOrdersReplacesCountersWithDecayedOrderHistory() {
+        demandVelocityTracker.recordDemand(102L, "WH001", 50, System.currentTimeMillis());
+        when(zipDeliveryIndex.findWarehouseId(anyLong())).thenAnswer(invocation -> invocation.<Long>getArgument(0) == 400001L ? "WH001" : null);
+        Instant dayAgo = Instant.now().minusMillis(24 * HOUR);
+        when(orderRepository.streamDemandSince(any(Instant.class), eq(OrderStatus.CANCELLED))).thenReturn(Stream.of(
+                demand(101L, 8, 400001L, dayAgo), demand(101L, 4, 999999L, dayAgo)));
+
+        demandVelocityTracker.rebuildFromOrders();
+
+        assertEquals(4 * Math.log(2), demandVelocityTracker.getVelocity(101L, "WH001", dayAgo.toEpochMilli() + 24 * HOUR), 0.01);
+        assertArrayEquals(new long[]{101L}, demandVelocityTracker.getTrackedSkus());
+    }
+
+    @Test
+    void testTableGrowsAndDropsDecayedCounters() {
+        for (long sku = 1; sku <= 2000; sku++) {
+            demandVelocityTracker.recordDemand(sku, "WH001", 1, 0L);
+        }
+        assertEquals(2000, demandVelocityTracker.getTrackedSkus().length);
+
+        for (long sku = 5001; sku <= 8000; sku++) {
+            demandVelocityTracker.recordDemand(sku, "WH001", 1, 1000 * HOUR);
+        }
+        assertEquals(3000, demandVelocityTracker.getTrackedSkus().length);
+        assertTrue(demandVelocityTracker.getVelocity(8000L, "WH001", 1000 * HOUR) > 0);
+    }
+
+    private static OrderDemandView demand(Long sku, int quantity, Long zipcode, Instant orderDate) {
+        return new OrderDemandView() {
+            @Override
+            public Long getSkuId() {
+                return sku;
+            }
+
+            @Override
+            public int getQuantity() {
+                return quantity;
+            }
+
+            @Override
+            public Long getShippingzipCode() {
+                return zipcode;
+            }
+
+            @Override
+            public Instant getOrderDate() {
+                return orderDate;
+            }
+        };
+    }
+}
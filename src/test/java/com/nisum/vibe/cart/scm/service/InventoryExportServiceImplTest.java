@@ -0,0 +1,70 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nisum.vibe.cart.scm.model.ExportFormat;
+import com.nisum.vibe.cart.scm.model.InventoryLocationResponse;
+import com.nisum.vibe.cart.scm.repository.InventoryBulkRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryExportServiceImplTest {
+
+    @Mock
+    private InventoryBulkRepository inventoryBulkRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private InventoryExportServiceImpl inventoryExportService;
+
+    @Test
+    void testNdjsonExportWritesOneObjectPerLine() throws Exception {
+        streamTwoLocations();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        inventoryExportService.exportInventoryLocations(output, ExportFormat.NDJSON);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertEquals(2, lines.length);
+        InventoryLocationResponse first = objectMapper.readValue(lines[0], InventoryLocationResponse.class);
+        assertEquals("WH001", first.getWarehouseId());
+        assertEquals(101L, first.getSkuId());
+        assertEquals(7, first.getTotalQuantity());
+    }
+
+    @Test
+    void testCsvExportWritesHeaderAndRows() throws Exception {
+        streamTwoLocations();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        inventoryExportService.exportInventoryLocations(output, ExportFormat.CSV);
+
+        assertEquals("warehouseId,skuId,availableQuantity,reservedQuantity,totalQuantity\n"
+                + "WH001,101,5,2,7\n"
+                + "WH002,101,3,0,3\n", output.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamTwoLocations() {
+        doAnswer(invocation -> {
+            Consumer<InventoryLocationResponse> consumer = invocation.getArgument(0);
+            consumer.accept(new InventoryLocationResponse("WH001", 101L, 5, 2, 7));
+            consumer.accept(new InventoryLocationResponse("WH002", 101L, 3, 0, 3));
+            return null;
+        }).when(inventoryBulkRepository).streamInventoryLocations(any(Consumer.class));
+    }
+}
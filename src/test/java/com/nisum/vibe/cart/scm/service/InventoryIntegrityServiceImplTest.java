@@ -0,0 +1,104 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.model.CounterDiscrepancy;
+import com.nisum.vibe.cart.scm.model.CounterDiscrepancyType;
+import com.nisum.vibe.cart.scm.model.InventoryCounterRow;
+import com.nisum.vibe.cart.scm.model.InventoryIntegrityResult;
+import com.nisum.vibe.cart.scm.repository.InventoryIntegrityRepository;
+import com.nisum.vibe.cart.scm.repository.WarehouseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryIntegrityServiceImplTest {
+
+    @Mock
+    private InventoryIntegrityRepository inventoryIntegrityRepository;
+
+    @Mock
+    private WarehouseRepository warehouseRepository;
+
+    @InjectMocks
+    private InventoryIntegrityServiceImpl inventoryIntegrityService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(inventoryIntegrityService, "parallelism", 2);
+        ReflectionTestUtils.setField(inventoryIntegrityService, "pageSize", 2);
+        ReflectionTestUtils.setField(inventoryIntegrityService, "pagePauseMillis", 0L);
+        ReflectionTestUtils.setField(inventoryIntegrityService, "settleDays", 1);
+        ReflectionTestUtils.setField(inventoryIntegrityService, "maxReportedDiscrepancies", 100);
+        inventoryIntegrityService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        inventoryIntegrityService.shutdown();
+    }
+
+    @Test
+    void testDriftedHoldCountersAreFixedPageByPage() {
+        LocalDate old = LocalDate.now().minusDays(5);
+        InventoryCounterRow zeroed = new InventoryCounterRow(1L, 101L, 0, 10, LocalDate.now());
+        InventoryCounterRow leaked = new InventoryCounterRow(2L, 102L, 4, 10, old);
+        InventoryCounterRow pending = new InventoryCounterRow(3L, 103L, 4, 10, LocalDate.now());
+        when(inventoryIntegrityRepository.findCounterPage("WH001", 0L, 2)).thenReturn(Arrays.asList(zeroed, leaked));
+        when(inventoryIntegrityRepository.findCounterPage("WH001", 102L, 2)).thenReturn(Collections.singletonList(pending));
+        when(inventoryIntegrityRepository.sumActiveHolds("WH001", 101L, 102L)).thenReturn(Collections.singletonMap(101L, 3));
+        when(inventoryIntegrityRepository.sumActiveHolds("WH001", 103L, 103L)).thenReturn(Collections.emptyMap());
+        when(inventoryIntegrityRepository.setQuantitiesOnHold(Arrays.asList(zeroed, leaked), Arrays.asList(3, 0))).thenReturn(new boolean[]{true, false});
+
+        InventoryIntegrityResult result = inventoryIntegrityService.checkWarehouse("WH001", true);
+
+        assertEquals(3, result.getRowsCompared());
+        assertEquals(1, result.getRowsFixed());
+        assertEquals(2, result.getDiscrepancyCount());
+        CounterDiscrepancy first = result.getDiscrepancies().get(0);
+        assertEquals(CounterDiscrepancyType.HOLD_BELOW_ACTIVE_HOLDS, first.getType());
+        assertTrue(first.isFixed());
+        assertEquals(CounterDiscrepancyType.STALE_HOLD, result.getDiscrepancies().get(1).getType());
+        assertFalse(result.getDiscrepancies().get(1).isFixed());
+    }
+
+    @Test
+    void testWarehousesAndOrderCountersAreCheckedInParallel() throws Exception {
+        when(warehouseRepository.findAllWarehouseIds()).thenReturn(Arrays.asList("WH001", "WH002"));
+        when(inventoryIntegrityRepository.findCounterPage(anyString(), eq(0L), eq(2))).thenReturn(Collections.emptyList());
+        when(inventoryIntegrityRepository.findOrderCounterPage(0L, 2)).thenReturn(Arrays.asList(new long[]{101L, 12L}, new long[]{102L, 5L}));
+        Map<Long, Integer> ordered = new HashMap<>();
+        ordered.put(101L, 10);
+        ordered.put(102L, 9);
+        when(inventoryIntegrityRepository.sumOrderedQuantities(101L, 102L)).thenReturn(ordered);
+        when(inventoryIntegrityRepository.sumActiveHolds(101L, 102L)).thenReturn(Collections.singletonMap(101L, 2));
+        when(inventoryIntegrityRepository.sumWaitingBackorders(101L, 102L)).thenReturn(Collections.singletonMap(102L, 3));
+        when(inventoryIntegrityRepository.findOrderCounterPage(102L, 2)).thenReturn(Collections.emptyList());
+
+        InventoryIntegrityResult result = inventoryIntegrityService.checkIntegrity(false);
+
+        assertEquals(2, result.getWarehousesChecked());
+        assertEquals(2, result.getSkusCompared());
+        assertEquals(1, result.getDiscrepancyCount());
+        CounterDiscrepancy discrepancy = result.getDiscrepancies().get(0);
+        assertEquals(102L, discrepancy.getSku());
+        assertEquals(CounterDiscrepancyType.ORDER_COUNT_MISMATCH, discrepancy.getType());
+        assertEquals(6, discrepancy.getExpectedQuantity());
+        assertTrue(discrepancy.getDescription().contains("delivered"));
+        verify(inventoryIntegrityRepository, never()).setQuantitiesOnHold(any(), any());
+    }
+}
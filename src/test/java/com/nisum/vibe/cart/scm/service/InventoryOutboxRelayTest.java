@@ -0,0 +1,122 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.InventoryOutboxEvent;
+import com.nisum.vibe.cart.scm.event.InventoryLevelChangedEvent;
+import com.nisum.vibe.cart.scm.model.InventoryChangeNotification;
+import com.nisum.vibe.cart.scm.repository.InventoryOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryOutboxRelayTest {
+
+    @Mock
+    private InventoryOutboxRepository inventoryOutboxRepository;
+
+    @Mock
+    private InventoryChangeSink inventoryChangeSink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private InventoryOutboxRelay inventoryOutboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(inventoryOutboxRelay, "sinks", Collections.singletonList(inventoryChangeSink));
+        ReflectionTestUtils.setField(inventoryOutboxRelay, "outboxEnabled", true);
+        ReflectionTestUtils.setField(inventoryOutboxRelay, "batchSize", 100);
+        inventoryOutboxRelay.init();
+    }
+
+    @Test
+    void testRelayCoalescesChangesPerSkuAndWarehouse() throws Exception {
+        Instant now = Instant.now();
+        List<InventoryOutboxEvent> events = Arrays.asList(
+                new InventoryOutboxEvent(101L, "WH001", 9, now),
+                new InventoryOutboxEvent(102L, "WH001", 4, now),
+                new InventoryOutboxEvent(101L, "WH001", 8, now.plusMillis(1)),
+                new InventoryOutboxEvent(101L, "WH002", 3, now),
+                new InventoryOutboxEvent(101L, "WH001", 7, now.plusMillis(2)));
+        for (int i = 0; i < events.size(); i++) {
+            ReflectionTestUtils.setField(events.get(i), "outboxId", 11L + i);
+        }
+        when(inventoryOutboxRepository.findUnclaimedForUpdate(any(Instant.class), any(Pageable.class))).thenReturn(events);
+
+        assertEquals(5, inventoryOutboxRelay.relay());
+
+        ArgumentCaptor<List<InventoryChangeNotification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(inventoryChangeSink).deliver(captor.capture());
+        List<InventoryChangeNotification> notifications = captor.getValue();
+        assertEquals(3, notifications.size());
+        assertEquals(101L, notifications.get(0).getSku());
+        assertEquals(7, notifications.get(0).getQuantityAvailable());
+        assertEquals(3, notifications.get(0).getChangeCount());
+        assertEquals(now.plusMillis(2), notifications.get(0).getChangedAt());
+        assertEquals(15L, notifications.get(0).getSequence());
+        assertEquals(12L, notifications.get(1).getSequence());
+        assertEquals("WH002", notifications.get(2).getWarehouseId());
+        verify(inventoryOutboxRepository).deleteAllInBatch(events);
+        assertTrue(events.stream().allMatch(event -> event.getClaimedUntil().isAfter(now)));
+    }
+
+    @Test
+    void testClaimIsCommittedBeforeDeliveryAndEventsAreDeletedAfterIt() throws Exception {
+        List<InventoryOutboxEvent> events = Collections.singletonList(new InventoryOutboxEvent(101L, "WH001", 5, Instant.now()));
+        when(inventoryOutboxRepository.findUnclaimedForUpdate(any(Instant.class), any(Pageable.class))).thenReturn(events);
+
+        assertEquals(1, inventoryOutboxRelay.relay());
+
+        InOrder inOrder = inOrder(inventoryOutboxRepository, transactionManager, inventoryChangeSink);
+        inOrder.verify(inventoryOutboxRepository).findUnclaimedForUpdate(any(Instant.class), any(Pageable.class));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(inventoryChangeSink).deliver(anyList());
+        inOrder.verify(inventoryOutboxRepository).deleteAllInBatch(events);
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testFailedDeliveryKeepsEventsInOutbox() throws Exception {
+        InventoryOutboxEvent event = new InventoryOutboxEvent(101L, "WH001", 0, Instant.now());
+        ReflectionTestUtils.setField(event, "outboxId", 7L);
+        when(inventoryOutboxRepository.findUnclaimedForUpdate(any(Instant.class), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(event));
+        doThrow(new IOException("connection refused")).when(inventoryChangeSink).deliver(anyList());
+
+        assertEquals(0, inventoryOutboxRelay.relay());
+
+        verify(inventoryOutboxRepository, never()).deleteAllInBatch(any());
+        verify(inventoryOutboxRepository).releaseClaims(Collections.singletonList(7L));
+    }
+
+    @Test
+    void testChangesOutsideATransactionAreWrittenImmediately() {
+        inventoryOutboxRelay.onInventoryLevelChanged(new InventoryLevelChangedEvent(101L, "WH001", 5));
+
+        ArgumentCaptor<InventoryOutboxEvent> captor = ArgumentCaptor.forClass(InventoryOutboxEvent.class);
+        verify(inventoryOutboxRepository).save(captor.capture());
+        assertEquals(101L, captor.getValue().getSku());
+        assertEquals(5, captor.getValue().getQuantityAvailable());
+    }
+}
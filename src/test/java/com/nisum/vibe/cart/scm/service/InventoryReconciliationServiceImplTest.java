@@ -0,0 +1,138 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.event.InventoryLevelChangedEvent;
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.model.InventoryQuantityRow;
+import com.nisum.vibe.cart.scm.model.PendingStockQuantity;
+import com.nisum.vibe.cart.scm.model.StockDiscrepancy;
+import com.nisum.vibe.cart.scm.model.StockDiscrepancyType;
+import com.nisum.vibe.cart.scm.model.StockReconciliationResult;
+import com.nisum.vibe.cart.scm.repository.InventoryBulkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryReconciliationServiceImplTest {
+
+    @Mock
+    private InventoryBulkRepository inventoryBulkRepository;
+
+    @Mock
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private InventoryReconciliationServiceImpl inventoryReconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(inventoryReconciliationService, "pageSize", 2);
+        ReflectionTestUtils.setField(inventoryReconciliationService, "maxReportedDiscrepancies", 100);
+        inventoryReconciliationService.init();
+    }
+
+    @Test
+    void testSnapshotIsMergedPageByPageAndOnlyChangedRowsAreWritten() throws Exception {
+        when(zipDeliveryIndex.getWarehouseSlot("WH001")).thenReturn(0);
+        when(inventoryBulkRepository.findPendingQuantities("WH001")).thenReturn(Collections.singletonList(new PendingStockQuantity(101L, 2, 0)));
+        when(inventoryBulkRepository.findQuantityPage("WH001", 0L, 2)).thenReturn(Arrays.asList(
+                new InventoryQuantityRow(1L, 101L, 5, 2),
+                new InventoryQuantityRow(2L, 102L, 10, 0)));
+        when(inventoryBulkRepository.findQuantityPage("WH001", 102L, 2)).thenReturn(Collections.singletonList(
+                new InventoryQuantityRow(4L, 104L, 3, 0)));
+        when(inventoryBulkRepository.setAvailableQuantities(anyList(), anyList())).thenReturn(new boolean[]{true});
+        String snapshot = "warehouseId,sku,quantityOnHand\n"
+                + "WH001,101,7\n"
+                + "WH001,102,8\n"
+                + "WH001,103,5\n";
+
+        StockReconciliationResult result = inventoryReconciliationService.reconcileStock(stream(snapshot));
+
+        ArgumentCaptor<List<InventoryQuantityRow>> rows = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Integer>> quantities = ArgumentCaptor.forClass(List.class);
+        verify(inventoryBulkRepository).setAvailableQuantities(rows.capture(), quantities.capture());
+        assertEquals(1, rows.getValue().size());
+        assertEquals(102L, rows.getValue().get(0).getSku());
+        assertEquals(Collections.singletonList(8), quantities.getValue());
+        verify(eventPublisher).publishEvent(any(InventoryLevelChangedEvent.class));
+
+        assertEquals(3, result.getLinesRead());
+        assertEquals(2, result.getRowsCompared());
+        assertEquals(1, result.getRowsUpdated());
+        assertEquals(3, result.getDiscrepancyCount());
+        assertEquals(1, countOf(result, StockDiscrepancyType.QUANTITY_CHANGED));
+        assertEquals(1, countOf(result, StockDiscrepancyType.NOT_STOCKED));
+        assertEquals(1, countOf(result, StockDiscrepancyType.MISSING_FROM_SNAPSHOT));
+    }
+
+    @Test
+    void testQuantityOnOrderOfDeliveredOrdersIsNotSubtracted() throws Exception {
+        when(zipDeliveryIndex.getWarehouseSlot("WH001")).thenReturn(0);
+        // 10 units were placed on order, 8 of them by orders that have since been delivered
+        when(inventoryBulkRepository.findQuantityPage("WH001", 0L, 2)).thenReturn(Collections.singletonList(
+                new InventoryQuantityRow(1L, 101L, 0, 10)));
+        when(inventoryBulkRepository.findPendingQuantities("WH001")).thenReturn(Collections.singletonList(new PendingStockQuantity(101L, 2, 1)));
+        when(inventoryBulkRepository.setAvailableQuantities(anyList(), anyList())).thenReturn(new boolean[]{true});
+
+        StockReconciliationResult result = inventoryReconciliationService.reconcileStock(stream("warehouseId,sku,quantityOnHand\nWH001,101,5\n"));
+
+        verify(inventoryBulkRepository).setAvailableQuantities(anyList(), eq(Collections.singletonList(2)));
+        assertEquals(1, result.getRowsUpdated());
+    }
+
+    @Test
+    void testUnsortedAndInvalidLinesAreReported() throws Exception {
+        when(zipDeliveryIndex.getWarehouseSlot("WH001")).thenReturn(0);
+        when(inventoryBulkRepository.findQuantityPage("WH001", 0L, 2)).thenReturn(Collections.singletonList(
+                new InventoryQuantityRow(1L, 102L, 4, 0)));
+        String snapshot = "sku,warehouseId,quantityOnHand\n"
+                + "102,WH001,4\n"
+                + "101,WH001,4\n"
+                + "103,WH001,-1\n";
+
+        StockReconciliationResult result = inventoryReconciliationService.reconcileStock(stream(snapshot));
+
+        verify(inventoryBulkRepository, never()).setAvailableQuantities(anyList(), anyList());
+        assertEquals(1, result.getRowsCompared());
+        assertEquals(0, result.getRowsUpdated());
+        assertEquals(2, countOf(result, StockDiscrepancyType.INVALID_LINE));
+    }
+
+    @Test
+    void testSnapshotRequiresHeaderColumns() {
+        assertThrows(InvalidInventoryRequestException.class,
+                () -> inventoryReconciliationService.reconcileStock(stream("sku,quantity\n101,5\n")));
+    }
+
+    private static long countOf(StockReconciliationResult result, StockDiscrepancyType type) {
+        return result.getDiscrepancies().stream().map(StockDiscrepancy::getType).filter(type::equals).count();
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
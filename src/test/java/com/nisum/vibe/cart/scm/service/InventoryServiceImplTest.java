@@ -1,20 +1,30 @@
 package com.nisum.vibe.cart.scm.service;
 
 import com.nisum.vibe.cart.scm.dao.Inventory;
+import com.nisum.vibe.cart.scm.dao.StockHold;
 import com.nisum.vibe.cart.scm.dao.Warehouse;
+import com.nisum.vibe.cart.scm.event.StockReplenishedEvent;
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
 import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
 import com.nisum.vibe.cart.scm.exception.WarehouseNotFoundException;
 import com.nisum.vibe.cart.scm.model.*;
 import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import com.nisum.vibe.cart.scm.repository.StockHoldRepository;
 import com.nisum.vibe.cart.scm.repository.WarehouseRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
 
@@ -31,6 +41,21 @@ class InventoryServiceImplTest {
     @Mock
     private WarehouseRepository warehouseRepository;
 
+    @Mock
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Mock
+    private DeliveryPromiseEngine deliveryPromiseEngine;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BackorderAllocator backorderAllocator;
+
+    @Mock
+    private StockHoldRepository stockHoldRepository;
+
     @Spy
     @InjectMocks
     private InventoryServiceImpl inventoryServiceImpl;
@@ -113,6 +138,112 @@ class InventoryServiceImplTest {
         assertEquals(15, inventory.getQuantityOnHold());
     }
 
+    @Test
+    void testStockReservation_LocksAllSkusBeforeReserving() throws WarehouseNotFoundException, InventoryNotFoundException {
+        Long customerZipcode = 12345L;
+        List<CustomerOrderItemDTO> customerOrderItemDTOS = Arrays.asList(new CustomerOrderItemDTO(1280L, 1), new CustomerOrderItemDTO(1276L, 1));
+
+        Warehouse warehouse = new Warehouse("INV0001", "Mumbai Warehouse", "Mumbai", 400001L, 400706L);
+        Inventory first = new Inventory(1L, 301L, 1276L, 5, warehouse, 0, 0, null);
+        Inventory second = new Inventory(2L, 302L, 1280L, 5, warehouse, 0, 0, null);
+
+        when(warehouseRepository.findWarehouseByZipcode(customerZipcode)).thenReturn(Optional.of(warehouse));
+        when(inventoryRepository.findBySkuAndWarehouse(1276L, warehouse)).thenReturn(Optional.of(first));
+        when(inventoryRepository.findBySkuAndWarehouse(1280L, warehouse)).thenReturn(Optional.of(second));
+
+        inventoryServiceImpl.stockReservationCall(customerOrderItemDTOS, customerZipcode);
+
+        InOrder inOrder = inOrder(inventoryRepository);
+        inOrder.verify(inventoryRepository).findBySkuInForUpdate(new HashSet<>(Arrays.asList(1276L, 1280L)));
+        inOrder.verify(inventoryRepository).findBySkuAndWarehouse(1280L, warehouse);
+        verify(inventoryRepository, times(1)).findBySkuInForUpdate(anyCollection());
+    }
+
+    @Test
+    void testRevertStockIfOrderCancel_LeavesOutBackorderedQuantity() throws WarehouseNotFoundException, InventoryNotFoundException {
+        Long customerZipcode = 12345L;
+        Warehouse warehouse = new Warehouse("INV0001", "Mumbai Warehouse", "Mumbai", 400001L, 400706L);
+        Inventory partial = new Inventory(1L, 301L, 1276L, 0, warehouse, 2, 2, null);
+
+        when(backorderAllocator.cancel("ORDER1")).thenReturn(new HashMap<>(Collections.singletonMap(1276L, 3)));
+        when(warehouseRepository.findWarehouseByZipcode(customerZipcode)).thenReturn(Optional.of(warehouse));
+        when(inventoryRepository.findBySkuAndWarehouse(1276L, warehouse)).thenReturn(Optional.of(partial));
+
+        inventoryServiceImpl.revertStockIfOrderCancel(Collections.singletonList(new CustomerOrderItemDTO(1276L, 5)), customerZipcode, "ORDER1");
+
+        assertEquals(2, partial.getQuantityAvailable());
+        assertEquals(0, partial.getQuantityOnOrder());
+        InOrder inOrder = inOrder(inventoryRepository, backorderAllocator);
+        inOrder.verify(inventoryRepository).findBySkuInForUpdate(anyCollection());
+        inOrder.verify(backorderAllocator).cancel("ORDER1");
+    }
+
+    @Test
+    void testStockReservation_PreferFastReservesFromUnlockedWarehouses() throws WarehouseNotFoundException, InventoryNotFoundException {
+        Long customerZipcode = 12345L;
+        Long sku = 1276L;
+
+        Warehouse nearest = new Warehouse("INV0001", "Mumbai Warehouse", "Mumbai", 400001L, 400706L);
+        Warehouse other = new Warehouse("INV0002", "Pune Warehouse", "Pune", 411001L, 411062L);
+        Inventory otherInventory = new Inventory(2L, 301L, sku, 8, other, 0, 0, null);
+        Inventory thirdInventory = new Inventory(3L, 301L, sku, 5, other, 0, 0, null);
+
+        when(warehouseRepository.findWarehouseByZipcode(customerZipcode)).thenReturn(Optional.of(nearest));
+        when(inventoryRepository.findAvailableBySkuForUpdateSkipLocked(sku, "INV0001")).thenReturn(Arrays.asList(otherInventory, thirdInventory));
+
+        Map<Long, String> result = inventoryServiceImpl.stockReservationCall(
+                Collections.singletonList(new CustomerOrderItemDTO(sku, 10)), customerZipcode, false, null, AllocationMode.PREFER_FAST);
+
+        assertEquals("Inventory updated with stock reservation", result.get(sku));
+        assertEquals(0, otherInventory.getQuantityAvailable());
+        assertEquals(8, otherInventory.getQuantityOnOrder());
+        assertEquals(3, thirdInventory.getQuantityAvailable());
+        assertEquals(2, thirdInventory.getQuantityOnHold());
+        verify(inventoryRepository, never()).findBySkuInForUpdate(anyCollection());
+        verify(inventoryRepository, never()).findBySkuAndWarehouse(any(), any());
+    }
+
+    @Test
+    void testStockReservation_PreferFastWaitsWhenUnlockedStockIsShort() throws WarehouseNotFoundException, InventoryNotFoundException {
+        Long customerZipcode = 12345L;
+        Long sku = 1276L;
+
+        Warehouse nearest = new Warehouse("INV0001", "Mumbai Warehouse", "Mumbai", 400001L, 400706L);
+        Inventory nearestInventory = new Inventory(1L, 301L, sku, 20, nearest, 0, 0, null);
+
+        when(warehouseRepository.findWarehouseByZipcode(customerZipcode)).thenReturn(Optional.of(nearest));
+        when(inventoryRepository.findAvailableBySkuForUpdateSkipLocked(sku, "INV0001")).thenReturn(Collections.emptyList());
+        when(inventoryRepository.findBySkuAndWarehouse(sku, nearest)).thenReturn(Optional.of(nearestInventory));
+
+        inventoryServiceImpl.stockReservationCall(
+                Collections.singletonList(new CustomerOrderItemDTO(sku, 10)), customerZipcode, false, null, AllocationMode.PREFER_FAST);
+
+        InOrder inOrder = inOrder(inventoryRepository);
+        inOrder.verify(inventoryRepository).findBySkuInForUpdate(Collections.singleton(sku));
+        inOrder.verify(inventoryRepository).findBySkuAndWarehouse(sku, nearest);
+        assertEquals(10, nearestInventory.getQuantityAvailable());
+    }
+
+    @Test
+    void testStockReservation_BackordersShortfallWhenAllowed() throws WarehouseNotFoundException, InventoryNotFoundException {
+        Long customerZipcode = 400001L;
+        Long sku = 1276L;
+        Warehouse warehouse = new Warehouse("INV0001", "Mumbai Warehouse", "Mumbai", 400001L, 400706L);
+        Inventory inventory = new Inventory(1L, 301L, sku, 5, warehouse, 0, 0, null);
+
+        when(warehouseRepository.findWarehouseByZipcode(customerZipcode)).thenReturn(Optional.of(warehouse));
+        when(inventoryRepository.findBySkuAndWarehouse(sku, warehouse)).thenReturn(Optional.of(inventory));
+        when(inventoryRepository.findBySku(sku)).thenReturn(Collections.singletonList(inventory));
+
+        Map<Long, String> result = inventoryServiceImpl.stockReservationCall(
+                Collections.singletonList(new CustomerOrderItemDTO(sku, 15)), customerZipcode, true, "278C5773AA16");
+
+        assertEquals("Backordered 15 units for SKU: 1276", result.get(sku));
+        verify(backorderAllocator).queue(sku, 15, "278C5773AA16", customerZipcode);
+        verify(inventoryRepository, never()).save(any());
+        assertEquals(5, inventory.getQuantityAvailable());
+    }
+
     @Test
     void testStockReservation_WithWarehouseNotFound() {
         Long customerZipcode = 12345L;
@@ -167,6 +298,39 @@ class InventoryServiceImplTest {
         assertEquals(LocalDate.now().plusDays(2).toString(), result);
     }
 
+    @Test
+    void testGetExpectedDeliveryDate_AnsweredFromDeliveryPromiseEngine() throws InventoryNotFoundException, WarehouseNotFoundException {
+        Long sku = 12355L;
+        Long zipcode = 452001L;
+
+        when(deliveryPromiseEngine.isReady()).thenReturn(true);
+        when(zipDeliveryIndex.findWarehouseSlot(zipcode)).thenReturn(3);
+        when(deliveryPromiseEngine.getDeliveryDays(sku, 3)).thenReturn(ZipDeliveryIndex.REMOTE_DELIVERY_DAYS);
+
+        String result = inventoryServiceImpl.getExpectedDeliveryDateWithSkuAndZipcode(sku, zipcode);
+
+        assertEquals(LocalDate.now().plusDays(5).toString(), result);
+        verifyNoInteractions(inventoryRepository, warehouseRepository);
+    }
+
+    @Test
+    void testGetExpectedDeliveryDates_ReportsOutOfStockSkusWithoutFailing() throws WarehouseNotFoundException {
+        Long zipcode = 452001L;
+
+        when(deliveryPromiseEngine.isReady()).thenReturn(true);
+        when(zipDeliveryIndex.findWarehouseSlot(zipcode)).thenReturn(0);
+        when(deliveryPromiseEngine.getDeliveryDays(101L, 0)).thenReturn(ZipDeliveryIndex.LOCAL_DELIVERY_DAYS);
+        when(deliveryPromiseEngine.getDeliveryDays(102L, 0)).thenReturn(-1);
+
+        List<DeliveryPromiseDto> result = inventoryServiceImpl.getExpectedDeliveryDates(Arrays.asList(101L, 102L), zipcode);
+
+        assertEquals(2, result.size());
+        assertTrue(result.get(0).isInStock());
+        assertEquals(LocalDate.now().plusDays(2).toString(), result.get(0).getExpectedDeliveryDate());
+        assertFalse(result.get(1).isInStock());
+        assertNull(result.get(1).getExpectedDeliveryDate());
+    }
+
     @Test
     void testGetExpectedDeliveryDate_StockNotAvailableInTargetWarehouseButAvailableInNearestWarehouse() throws InventoryNotFoundException, WarehouseNotFoundException {
         Long sku = 12355L;
@@ -213,7 +377,7 @@ class InventoryServiceImplTest {
     }
 
     @Test
-    public void testAddStockToSingleInventory() {
+    public void testAddStockToSingleInventory() throws InventoryNotFoundException {
         SkuQuantityWarehouseDto dto = new SkuQuantityWarehouseDto(12345L, 20, "INV0001");
 
         Warehouse warehouse = new Warehouse();
@@ -273,6 +437,43 @@ class InventoryServiceImplTest {
         assert inventory2.getLastUpdatedDate().equals(LocalDate.now());
     }
 
+    @Test
+    void testAddStockToMultipleInventories_AddsNothingWhenARecordIsMissing() {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setWarehouseId("INV0001");
+        Inventory inventory = new Inventory();
+        inventory.setSku(12345L);
+        inventory.setWarehouse(warehouse);
+        inventory.setQuantityAvailable(10);
+        when(inventoryRepository.findBySkuAndWarehouseId(12345L, "INV0001")).thenReturn(inventory);
+        when(inventoryRepository.findBySkuAndWarehouseId(12346L, "INV0001")).thenReturn(null);
+        List<SkuQuantityWarehouseDto> dtos = Arrays.asList(new SkuQuantityWarehouseDto(12345L, 20, "INV0001"), new SkuQuantityWarehouseDto(12346L, 5, "INV0001"));
+
+        assertThrows(InventoryNotFoundException.class, () -> inventoryServiceImpl.addStockToMultipleInventories(dtos));
+
+        assertEquals(10, inventory.getQuantityAvailable());
+        verify(inventoryRepository, never()).save(any());
+    }
+
+    @Test
+    void testAddStockToEmptyInventoryPublishesReplenishment() throws InventoryNotFoundException {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setWarehouseId("INV0001");
+        Inventory inventory = new Inventory();
+        inventory.setSku(12345L);
+        inventory.setWarehouse(warehouse);
+        inventory.setQuantityAvailable(0);
+        when(inventoryRepository.findBySkuAndWarehouseId(12345L, "INV0001")).thenReturn(inventory);
+
+        inventoryServiceImpl.addStockToSingleInventory(new SkuQuantityWarehouseDto(12345L, 20, "INV0001"));
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        StockReplenishedEvent event = (StockReplenishedEvent) captor.getAllValues().get(1);
+        assertEquals(12345L, event.getSku());
+        assertEquals(20, event.getQuantityAvailable());
+    }
+
     @Test
     void testDisplayInventoryReport_WithValidData() {
         Warehouse warehouse = new Warehouse();
@@ -466,4 +667,137 @@ class InventoryServiceImplTest {
         verify(inventoryRepository, times(1)).findBySkuAndQuantityOnHoldGreaterThanZero(1002L);
         verify(inventoryRepository, never()).save(any(Inventory.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCheckoutQuote_AllocatesAcrossWarehousesWithoutHolding() throws Exception {
+        Inventory local = new Inventory(1L, 11L, 101L, 3, new Warehouse("WH001", "North", "Delhi", 110000L, 119999L), 0, 0, LocalDate.now());
+        Inventory remote = new Inventory(2L, 11L, 101L, 10, new Warehouse("WH002", "South", "Chennai", 600000L, 699999L), 0, 0, LocalDate.now());
+        Inventory other = new Inventory(3L, 12L, 102L, 4, new Warehouse("WH001", "North", "Delhi", 110000L, 119999L), 0, 0, LocalDate.now());
+
+        when(zipDeliveryIndex.findWarehouseId(110001L)).thenReturn("WH001");
+        when(inventoryRepository.findBySkuIn(any())).thenReturn(Arrays.asList(remote, local, other));
+
+        CheckoutQuoteRequest request = new CheckoutQuoteRequest(110001L, Arrays.asList(new CustomerOrderItemDTO(101L, 5), new CustomerOrderItemDTO(102L, 2)), false, null);
+        CheckoutQuoteResponse response = inventoryServiceImpl.checkoutQuote(request);
+
+        assertTrue(response.isAllAvailable());
+        assertNull(response.getHoldReference());
+        CheckoutQuoteLine splitLine = response.getLines().get(0);
+        assertEquals(2, splitLine.getAllocations().size());
+        assertEquals("WH001", splitLine.getAllocations().get(0).getWarehouseId());
+        assertEquals(3, splitLine.getAllocations().get(0).getQuantity());
+        assertEquals(LocalDate.now().plusDays(5).toString(), splitLine.getExpectedDeliveryDate());
+        assertEquals(LocalDate.now().plusDays(2).toString(), response.getLines().get(1).getExpectedDeliveryDate());
+        assertEquals(3, local.getQuantityAvailable());
+        verify(inventoryRepository, never()).save(any());
+        verifyNoInteractions(stockHoldRepository);
+    }
+
+    @Test
+    void testCheckoutQuote_PlacesHoldsOnlyWhenEveryLineIsAvailable() throws Exception {
+        ReflectionTestUtils.setField(inventoryServiceImpl, "defaultHoldMinutes", 15);
+        ReflectionTestUtils.setField(inventoryServiceImpl, "maxHoldMinutes", 60);
+        Inventory local = new Inventory(1L, 11L, 101L, 3, new Warehouse("WH001", "North", "Delhi", 110000L, 119999L), 0, 0, LocalDate.now());
+
+        when(zipDeliveryIndex.findWarehouseId(110001L)).thenReturn("WH001");
+        when(inventoryRepository.findBySkuInForUpdate(any())).thenReturn(Collections.singletonList(local));
+
+        CheckoutQuoteResponse shortResponse = inventoryServiceImpl.checkoutQuote(
+                new CheckoutQuoteRequest(110001L, Arrays.asList(new CustomerOrderItemDTO(101L, 2), new CustomerOrderItemDTO(102L, 1)), true, null));
+
+        assertFalse(shortResponse.isAllAvailable());
+        assertFalse(shortResponse.getLines().get(1).isAvailable());
+        assertNull(shortResponse.getHoldReference());
+        verifyNoInteractions(stockHoldRepository);
+
+        CheckoutQuoteResponse heldResponse = inventoryServiceImpl.checkoutQuote(
+                new CheckoutQuoteRequest(110001L, Collections.singletonList(new CustomerOrderItemDTO(101L, 2)), true, null));
+
+        assertNotNull(heldResponse.getHoldReference());
+        assertNotNull(heldResponse.getHoldExpiresAt());
+        assertEquals(1, local.getQuantityAvailable());
+        assertEquals(2, local.getQuantityOnHold());
+        assertEquals(2, local.getQuantityOnOrder());
+        verify(inventoryRepository).save(local);
+        verify(stockHoldRepository).saveAll(anyList());
+    }
+
+    @Test
+    void testCheckoutQuote_RejectsNonPositiveQuantity() {
+        CheckoutQuoteRequest request = new CheckoutQuoteRequest(110001L, Collections.singletonList(new CustomerOrderItemDTO(101L, 0)), false, null);
+
+        assertThrows(InvalidInventoryRequestException.class, () -> inventoryServiceImpl.checkoutQuote(request));
+    }
+
+    @Test
+    void testReleaseExpiredHolds_ReturnsStockToAvailable() {
+        ReflectionTestUtils.setField(inventoryServiceImpl, "holdReleaseBatchSize", 500);
+        Inventory inventory = new Inventory(1L, 11L, 101L, 1, new Warehouse("WH001", "North", "Delhi", 110000L, 119999L), 2, 2, LocalDate.now());
+        StockHold stockHold = new StockHold("278C5773AA16", 1L, 101L, "WH001", 2, Instant.now().minusSeconds(60));
+
+        when(stockHoldRepository.findExpiredForUpdate(eq(HoldStatus.ACTIVE), any(Instant.class), any(Pageable.class))).thenReturn(Collections.singletonList(stockHold));
+        when(inventoryRepository.findByInventoryIdInForUpdate(any())).thenReturn(Collections.singletonList(inventory));
+
+        assertEquals(1, inventoryServiceImpl.releaseExpiredHolds());
+
+        assertEquals(3, inventory.getQuantityAvailable());
+        assertEquals(0, inventory.getQuantityOnHold());
+        assertEquals(0, inventory.getQuantityOnOrder());
+        assertEquals(HoldStatus.EXPIRED, stockHold.getStatus());
+    }
+
+    @Test
+    void testConsumeStockHolds_ConsumesHoldsOnceAndSplitsPartialHolds() {
+        StockHold first = new StockHold("278C5773AA16", 1L, 101L, "WH001", 2, Instant.now().plusSeconds(600));
+        StockHold second = new StockHold("278C5773AA16", 2L, 101L, "WH002", 3, Instant.now().plusSeconds(600));
+        List<StockHold> stockHolds = Arrays.asList(first, second);
+        when(stockHoldRepository.findByHoldReferenceForUpdate("278C5773AA16")).thenReturn(stockHolds);
+        List<CustomerOrderItemDTO> items = Arrays.asList(new CustomerOrderItemDTO(101L, 4), new CustomerOrderItemDTO(102L, 1));
+
+        List<CustomerOrderItemDTO> unheldItems = inventoryServiceImpl.consumeStockHolds("278C5773AA16", items);
+
+        assertEquals(1, unheldItems.size());
+        assertEquals(102L, unheldItems.get(0).getSku());
+        assertEquals(HoldStatus.CONFIRMED, first.getStatus());
+        assertEquals(HoldStatus.CONFIRMED, second.getStatus());
+        assertEquals(2, second.getQuantity());
+        verify(stockHoldRepository).saveAll(argThat((List<StockHold> remainders) -> remainders.size() == 1
+                && remainders.get(0).getQuantity() == 1 && remainders.get(0).getStatus() == HoldStatus.ACTIVE));
+
+        // Placing the order with the same hold reference finds the holds already consumed
+        List<CustomerOrderItemDTO> orderItems = inventoryServiceImpl.consumeStockHolds("278C5773AA16", Collections.singletonList(new CustomerOrderItemDTO(101L, 4)));
+
+        assertTrue(orderItems.isEmpty());
+        assertEquals(2, second.getQuantity());
+    }
+
+    @Test
+    void testGetInventoryChanges_ReturnsNextPositionAndHasMore() throws InvalidInventoryRequestException {
+        ReflectionTestUtils.setField(inventoryServiceImpl, "maxChangesPageSize", 2);
+        InventoryChangeDto first = new InventoryChangeDto(1L, 11L, 101L, "WH001", 5, 0, 0, LocalDate.now(), 100L);
+        InventoryChangeDto second = new InventoryChangeDto(2L, 12L, 102L, "WH001", 3, 0, 0, LocalDate.now(), 100L);
+        InventoryChangeDto third = new InventoryChangeDto(3L, 13L, 103L, "WH002", 7, 0, 0, LocalDate.now(), 101L);
+        when(inventoryRepository.findChangesAfter(eq(0L), eq(0L), anyLong(), any(Pageable.class))).thenReturn(new ArrayList<>(Arrays.asList(first, second, third)));
+
+        InventoryChangePage page = inventoryServiceImpl.getInventoryChanges(0L, 0L, 10);
+
+        assertEquals(2, page.getChanges().size());
+        assertEquals(100L, page.getNextSince());
+        assertEquals(2L, page.getNextAfterId());
+        assertTrue(page.isHasMore());
+    }
+
+    @Test
+    void testGetInventoryChanges_EmptyPageKeepsPosition() throws InvalidInventoryRequestException {
+        ReflectionTestUtils.setField(inventoryServiceImpl, "maxChangesPageSize", 500);
+        when(inventoryRepository.findChangesAfter(eq(100L), eq(2L), anyLong(), any(Pageable.class))).thenReturn(new ArrayList<>());
+
+        InventoryChangePage page = inventoryServiceImpl.getInventoryChanges(100L, 2L, 10);
+
+        assertTrue(page.getChanges().isEmpty());
+        assertEquals(100L, page.getNextSince());
+        assertEquals(2L, page.getNextAfterId());
+        assertFalse(page.isHasMore());
+        assertThrows(InvalidInventoryRequestException.class, () -> inventoryServiceImpl.getInventoryChanges(-1L, 0L, 10));
+    }
+}
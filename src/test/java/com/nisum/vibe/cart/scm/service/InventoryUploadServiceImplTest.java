@@ -0,0 +1,182 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nisum.vibe.cart.scm.dao.Inventory;
+import com.nisum.vibe.cart.scm.dao.Warehouse;
+import com.nisum.vibe.cart.scm.event.InventoryLevelChangedEvent;
+import com.nisum.vibe.cart.scm.event.StockReplenishedEvent;
+import com.nisum.vibe.cart.scm.exception.InvalidInventoryRequestException;
+import com.nisum.vibe.cart.scm.model.InventoryStockView;
+import com.nisum.vibe.cart.scm.model.StockUploadFormat;
+import com.nisum.vibe.cart.scm.model.StockUploadLine;
+import com.nisum.vibe.cart.scm.model.StockUploadResult;
+import com.nisum.vibe.cart.scm.repository.InventoryBulkRepository;
+import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryUploadServiceImplTest {
+
+    @Mock
+    private InventoryBulkRepository inventoryBulkRepository;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Mock
+    private BackorderAllocator backorderAllocator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private InventoryUploadServiceImpl inventoryUploadService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(inventoryUploadService, "chunkSize", 1000);
+        ReflectionTestUtils.setField(inventoryUploadService, "maxReportedFailures", 1);
+        inventoryUploadService.init();
+    }
+
+    @Test
+    void testCsvUploadCoalescesDuplicatesAndReportsInvalidLines() throws Exception {
+        when(zipDeliveryIndex.getWarehouseSlot("WH001")).thenReturn(0);
+        when(zipDeliveryIndex.getWarehouseSlot("WH404")).thenReturn(-1);
+        when(inventoryBulkRepository.addStock(anyList())).thenReturn(new boolean[0]);
+        String csv = "sku,warehouseId,quantityToAdd,itemId\n"
+                + "101,WH001,5,11\n"
+                + "101,WH001,7,\n"
+                + "\n"
+                + "102,WH404,1,12\n"
+                + "abc,WH001,1,12\n";
+
+        StockUploadResult result = inventoryUploadService.uploadStock(stream(csv), StockUploadFormat.CSV);
+
+        ArgumentCaptor<List<StockUploadLine>> upserts = ArgumentCaptor.forClass(List.class);
+        verify(inventoryBulkRepository).upsertStock(upserts.capture());
+        assertEquals(1, upserts.getValue().size());
+        assertEquals(12, upserts.getValue().get(0).getQuantityToAdd());
+        assertEquals(11L, upserts.getValue().get(0).getItemId());
+
+        assertEquals(4, result.getLinesRead());
+        assertEquals(1, result.getRowsApplied());
+        assertEquals(2, result.getLinesFailed());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(5, result.getFailures().get(0).getLineNumber());
+        assertTrue(result.isFailuresTruncated());
+    }
+
+    @Test
+    void testNdjsonUploadReportsMissingInventoryWithoutItemId() throws Exception {
+        when(zipDeliveryIndex.getWarehouseSlot("WH001")).thenReturn(0);
+        when(inventoryBulkRepository.addStock(anyList())).thenReturn(new boolean[]{false});
+        String ndjson = "{\"sku\":101,\"warehouseId\":\"WH001\",\"quantityToAdd\":5}\n";
+
+        StockUploadResult result = inventoryUploadService.uploadStock(stream(ndjson), StockUploadFormat.NDJSON);
+
+        assertEquals(0, result.getRowsApplied());
+        assertEquals(1, result.getLinesFailed());
+        assertTrue(result.getFailures().get(0).getMessage().startsWith("No inventory found for SKU 101"));
+    }
+
+    @Test
+    void testUploadedStockIsAllocatedToBackorders() throws Exception {
+        when(zipDeliveryIndex.getWarehouseSlot("WH001")).thenReturn(0);
+        when(inventoryBulkRepository.addStock(anyList())).thenReturn(new boolean[0]);
+        when(backorderAllocator.findBackorderedSkus(anyCollection())).thenReturn(Collections.singleton(101L));
+        Inventory uploaded = new Inventory(1L, 11L, 101L, 12, new Warehouse("WH001", "Mumbai Warehouse", "Mumbai", 400001L, 400706L), 0, 0, null);
+        Inventory otherWarehouse = new Inventory(2L, 11L, 101L, 5, new Warehouse("WH002", "Pune Warehouse", "Pune", 411001L, 412308L), 0, 0, null);
+        when(inventoryRepository.findBySkuInForUpdate(Collections.singleton(101L))).thenReturn(Arrays.asList(uploaded, otherWarehouse));
+        when(backorderAllocator.allocate(uploaded)).thenReturn(4);
+
+        inventoryUploadService.uploadStock(stream("sku,warehouseId,quantityToAdd,itemId\n101,WH001,12,11\n102,WH001,3,12\n"), StockUploadFormat.CSV);
+
+        verify(backorderAllocator).findBackorderedSkus(new HashSet<>(Arrays.asList(101L, 102L)));
+        verify(backorderAllocator, never()).allocate(otherWarehouse);
+        verify(inventoryRepository).save(uploaded);
+    }
+
+    @Test
+    void testUploadThatRestocksASkuTriggersBackInStockFanOut() throws Exception {
+        when(zipDeliveryIndex.getWarehouseSlot("WH001")).thenReturn(0);
+        when(inventoryBulkRepository.addStock(anyList())).thenReturn(new boolean[]{true});
+        when(inventoryRepository.findStockLevelsBySkuIn(anyCollection())).thenReturn(Arrays.asList(
+                stockLevel(101L, "WH001", 12), stockLevel(101L, "WH002", 0), stockLevel(102L, "WH001", 10)));
+
+        inventoryUploadService.uploadStock(stream("sku,warehouseId,quantityToAdd,itemId\n101,WH001,12,11\n102,WH001,3,\n"), StockUploadFormat.CSV);
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(3)).publishEvent(captor.capture());
+        List<StockReplenishedEvent> restocks = captor.getAllValues().stream()
+                .filter(StockReplenishedEvent.class::isInstance).map(StockReplenishedEvent.class::cast).collect(Collectors.toList());
+        assertEquals(1, restocks.size());
+        assertEquals(101L, restocks.get(0).getSku());
+        assertEquals("WH001", restocks.get(0).getWarehouseId());
+        assertEquals(12, restocks.get(0).getQuantityAvailable());
+        assertEquals(2, captor.getAllValues().stream().filter(InventoryLevelChangedEvent.class::isInstance).count());
+    }
+
+    @Test
+    void testCsvUploadRequiresHeaderColumns() {
+        assertThrows(InvalidInventoryRequestException.class,
+                () -> inventoryUploadService.uploadStock(stream("sku,quantity\n101,5\n"), StockUploadFormat.CSV));
+        assertThrows(InvalidInventoryRequestException.class,
+                () -> inventoryUploadService.uploadStock(stream(""), null));
+    }
+
+    private static InventoryStockView stockLevel(Long sku, String warehouseId, Integer quantityAvailable) {
+        return new InventoryStockView() {
+            @Override
+            public Long getSku() {
+                return sku;
+            }
+
+            @Override
+            public String getWarehouseId() {
+                return warehouseId;
+            }
+
+            @Override
+            public Integer getQuantityAvailable() {
+                return quantityAvailable;
+            }
+        };
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
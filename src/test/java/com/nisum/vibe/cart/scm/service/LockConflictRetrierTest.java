@@ -0,0 +1,85 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
+import com.nisum.vibe.cart.scm.exception.WarehouseNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.LockAcquisitionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.jpa.JpaSystemException;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockConflictRetrierTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LockConflictRetrier lockConflictRetrier;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockConflictRetrier = new LockConflictRetrier(meterRegistry, 3, 0, 0);
+    }
+
+    @Test
+    void testClassify_MySqlErrorCodesInCauseChain() {
+        SQLException deadlock = new SQLException("Deadlock found when trying to get lock", "40001", 1213);
+        SQLException lockWaitTimeout = new SQLException("Lock wait timeout exceeded", "HY000", 1205);
+
+        assertEquals(LockConflictRetrier.LockConflictType.DEADLOCK,
+                LockConflictRetrier.classify(new JpaSystemException(new RuntimeException(new LockAcquisitionException("lock", deadlock)))));
+        assertEquals(LockConflictRetrier.LockConflictType.LOCK_WAIT_TIMEOUT,
+                LockConflictRetrier.classify(new CannotAcquireLockException("lock", new LockAcquisitionException("lock", lockWaitTimeout))));
+        assertEquals(LockConflictRetrier.LockConflictType.LOCK_WAIT_TIMEOUT, LockConflictRetrier.classify(new CannotAcquireLockException("lock")));
+        assertNull(LockConflictRetrier.classify(new DataIntegrityViolationException("duplicate", new SQLException("Duplicate entry", "23000", 1062))));
+    }
+
+    @Test
+    void testExecute_RetriesDeadlockAndCountsConflict() throws InventoryNotFoundException, WarehouseNotFoundException {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = lockConflictRetrier.execute("stockReservationCall", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new CannotAcquireLockException("lock", new SQLException("Deadlock found when trying to get lock", "40001", 1213));
+            }
+            return "reserved";
+        });
+
+        assertEquals("reserved", result);
+        assertEquals(2, attempts.get());
+        assertEquals(1.0, meterRegistry.get("scm.inventory.lock.conflicts").tag("type", "deadlock").tag("operation", "stockReservationCall").counter().count());
+        assertNull(meterRegistry.find("scm.inventory.lock.retries.exhausted").counter());
+    }
+
+    @Test
+    void testExecute_GivesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(CannotAcquireLockException.class, () -> lockConflictRetrier.execute("revertStockIfOrderCancel", () -> {
+            attempts.incrementAndGet();
+            throw new CannotAcquireLockException("lock", new SQLException("Lock wait timeout exceeded", "HY000", 1205));
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(3.0, meterRegistry.get("scm.inventory.lock.conflicts").tag("type", "lock_wait_timeout").counter().count());
+        assertEquals(1.0, meterRegistry.get("scm.inventory.lock.retries.exhausted").tag("operation", "revertStockIfOrderCancel").counter().count());
+    }
+
+    @Test
+    void testExecute_DoesNotRetryOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(InventoryNotFoundException.class, () -> lockConflictRetrier.execute("stockReservationCall", () -> {
+            attempts.incrementAndGet();
+            throw new InventoryNotFoundException("No inventory found for SKU: 1276");
+        }));
+
+        assertEquals(1, attempts.get());
+        assertNull(meterRegistry.find("scm.inventory.lock.conflicts").counter());
+    }
+}
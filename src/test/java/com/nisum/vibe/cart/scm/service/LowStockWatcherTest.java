@@ -0,0 +1,94 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.event.InventoryLevelChangedEvent;
+import com.nisum.vibe.cart.scm.event.LowStockThresholdCrossedEvent;
+import com.nisum.vibe.cart.scm.model.InventoryChangeDto;
+import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LowStockWatcherTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private LowStockWatcher lowStockWatcher;
+
+    @Test
+    void testCrossingsArePublishedOncePerDirection() {
+        lowStockWatcher.onReorderThreshold(101L, "WH001", 5, 20);
+
+        lowStockWatcher.onInventoryLevelChanged(new InventoryLevelChangedEvent(101L, "WH001", 6));
+        lowStockWatcher.onInventoryLevelChanged(new InventoryLevelChangedEvent(101L, "WH001", 5));
+        lowStockWatcher.onInventoryLevelChanged(new InventoryLevelChangedEvent(101L, "WH001", 2));
+        lowStockWatcher.onInventoryLevelChanged(new InventoryLevelChangedEvent(101L, "WH001", 30));
+
+        ArgumentCaptor<LowStockThresholdCrossedEvent> captor = ArgumentCaptor.forClass(LowStockThresholdCrossedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        List<LowStockThresholdCrossedEvent> crossings = captor.getAllValues();
+        assertTrue(crossings.get(0).isLowStock());
+        assertEquals(5, crossings.get(0).getQuantityAvailable());
+        assertFalse(crossings.get(1).isLowStock());
+        assertEquals(30, crossings.get(1).getQuantityAvailable());
+    }
+
+    @Test
+    void testSettingThresholdAboveCurrentQuantityRaisesCrossing() {
+        lowStockWatcher.onReorderThreshold(101L, "WH001", 10, 4);
+
+        ArgumentCaptor<LowStockThresholdCrossedEvent> captor = ArgumentCaptor.forClass(LowStockThresholdCrossedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertTrue(captor.getValue().isLowStock());
+        assertEquals(10, captor.getValue().getReorderThreshold());
+    }
+
+    @Test
+    void testPollInventoryChanges_AppliesThresholdsAndStockChangedOnOtherInstances() {
+        ReflectionTestUtils.setField(lowStockWatcher, "feedPageSize", 2);
+        lowStockWatcher.onReorderThreshold(101L, "WH001", 5, 20);
+        when(inventoryRepository.findChangesAfter(eq(0L), eq(0L), anyLong(), any())).thenReturn(Arrays.asList(
+                new InventoryChangeDto(1L, 11L, 101L, "WH001", 20, 0, 0, LocalDate.now(), 100L, 5),
+                new InventoryChangeDto(2L, 12L, 102L, "WH001", 3, 0, 0, LocalDate.now(), 100L, 4)));
+        when(inventoryRepository.findChangesAfter(eq(100L), eq(2L), anyLong(), any())).thenReturn(Collections.singletonList(
+                new InventoryChangeDto(1L, 11L, 101L, "WH001", 2, 0, 0, LocalDate.now(), 101L, 5)));
+
+        lowStockWatcher.pollInventoryChanges();
+
+        ArgumentCaptor<LowStockThresholdCrossedEvent> captor = ArgumentCaptor.forClass(LowStockThresholdCrossedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        assertEquals(102L, captor.getAllValues().get(0).getSku());
+        assertEquals(101L, captor.getAllValues().get(1).getSku());
+        assertEquals(2, captor.getAllValues().get(1).getQuantityAvailable());
+    }
+
+    @Test
+    void testUnwatchedRecordsAreIgnored() {
+        lowStockWatcher.onReorderThreshold(101L, "WH001", 5, 20);
+        lowStockWatcher.onReorderThreshold(101L, "WH001", null, 20);
+
+        lowStockWatcher.onInventoryLevelChanged(new InventoryLevelChangedEvent(101L, "WH001", 0));
+        lowStockWatcher.onInventoryLevelChanged(new InventoryLevelChangedEvent(102L, "WH001", 0));
+
+        verifyNoInteractions(eventPublisher);
+    }
+}
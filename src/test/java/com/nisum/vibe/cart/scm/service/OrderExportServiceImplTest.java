@@ -0,0 +1,110 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nisum.vibe.cart.scm.exception.InvalidOrderDataException;
+import com.nisum.vibe.cart.scm.model.ExportFormat;
+import com.nisum.vibe.cart.scm.model.OrderExportCursor;
+import com.nisum.vibe.cart.scm.model.OrderExportLine;
+import com.nisum.vibe.cart.scm.model.OrderStatus;
+import com.nisum.vibe.cart.scm.repository.OrderExportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceImplTest {
+
+    private static final Instant ORDER_DATE = Instant.parse("2024-05-01T10:15:30Z");
+
+    @Mock
+    private OrderExportRepository orderExportRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OrderExportServiceImpl orderExportService;
+
+    @BeforeEach
+    void setUp() {
+        orderExportService = new OrderExportServiceImpl(orderExportRepository, objectMapper);
+    }
+
+    @Test
+    void testNdjsonExportGroupsItemsPerOrder() throws Exception {
+        streamLines();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        orderExportService.exportOrders(output, ExportFormat.NDJSON, null, null, OrderStatus.DELIVERED, null);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("A1", first.get("orderId").asText());
+        assertEquals(2, first.get("items").size());
+        assertEquals("Shirt, blue", first.get("items").get(1).get("itemName").asText());
+        assertEquals("A1", OrderExportCursor.fromToken(first.get("cursor").asText()).getOrderId());
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals(0, second.get("items").size());
+    }
+
+    @Test
+    void testCsvExportQuotesFieldsAndMarksLastRowOfEachOrder() throws Exception {
+        streamLines();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        orderExportService.exportOrders(output, ExportFormat.CSV, null, null, OrderStatus.DELIVERED, null);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("orderId,orderDate,"));
+        assertTrue(lines[1].endsWith(","));
+        assertTrue(lines[2].contains(",\"Shirt, blue\","));
+        assertTrue(lines[2].endsWith(new OrderExportCursor(ORDER_DATE, "A1").toToken()));
+    }
+
+    @Test
+    void testCursorTokenRoundTripsAndRejectsGarbage() {
+        OrderExportCursor cursor = OrderExportCursor.fromToken(new OrderExportCursor(ORDER_DATE, "A|1").toToken());
+
+        assertEquals(ORDER_DATE, cursor.getOrderDate());
+        assertEquals("A|1", cursor.getOrderId());
+        assertThrows(InvalidOrderDataException.class, () -> OrderExportCursor.fromToken("not a cursor"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamLines() {
+        doAnswer(invocation -> {
+            Consumer<OrderExportLine> consumer = invocation.getArgument(4);
+            consumer.accept(line("A1", 1L, "Shoes"));
+            consumer.accept(line("A1", 2L, "Shirt, blue"));
+            consumer.accept(line("B2", null, null));
+            return null;
+        }).when(orderExportRepository).streamOrderLines(isNull(), isNull(), any(OrderStatus.class), isNull(), any(Consumer.class));
+    }
+
+    private static OrderExportLine line(String orderId, Long orderItemId, String itemName) {
+        OrderExportLine line = new OrderExportLine();
+        line.setOrderId(orderId);
+        line.setOrderDate(ORDER_DATE);
+        line.setOrderStatus(OrderStatus.DELIVERED);
+        line.setTotalAmount(100.0);
+        line.setDiscountPrice(BigDecimal.ZERO);
+        line.setOrderItemId(orderItemId);
+        line.setItemName(itemName);
+        line.setQuantity(orderItemId == null ? null : 1);
+        return line;
+    }
+}
@@ -8,24 +8,36 @@ import com.nisum.vibe.cart.scm.exception.*;
 import com.nisum.vibe.cart.scm.mapper.OrderMapper;
 import com.nisum.vibe.cart.scm.model.*;
 import com.nisum.vibe.cart.scm.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +49,30 @@ class OrderServiceImplementationTest {
     @Spy
     private OrderMapper orderMapper;
 
+    @Mock
+    private OrderStatusIndex orderStatusIndex;
+
+    @Mock
+    private OrderStatusSubscriptionRegistry orderStatusSubscriptionRegistry;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Spy
+    private LockConflictRetrier lockConflictRetrier = new LockConflictRetrier(new SimpleMeterRegistry(), 3, 0, 0);
+
+    @Mock
+    private ReservationBatcher reservationBatcher;
+
+    @Mock
+    private ReservationSequencer reservationSequencer;
+
+    @Mock
+    private StockLeaseManager stockLeaseManager;
+
     @InjectMocks
     private OrderServiceImplementation orderService;
 
@@ -151,22 +187,151 @@ class OrderServiceImplementationTest {
 
     @Test
     void estimatedCompletionDeliveryDate_ShouldReturnEstimatedDate_WhenZipCodeIsValid() {
-        Long zipcode = 12345L;
-        when(orderRepository.findByShippingZipCode(zipcode)).thenReturn(Optional.of(order));
+        Long zipcode = 123456L;
+        when(zipDeliveryIndex.estimateDeliveryDays(zipcode)).thenReturn(ZipDeliveryIndex.LOCAL_DELIVERY_DAYS);
 
         String result = orderService.estimatedCompletionDeliveryDate(zipcode);
 
-        assertTrue(result.contains("Estimated delivery date"));
-        verify(orderRepository, times(1)).findByShippingZipCode(zipcode);
+        assertEquals("Estimated delivery date for ZIP code " + zipcode + " is " + LocalDate.now().plusDays(ZipDeliveryIndex.LOCAL_DELIVERY_DAYS) + ".", result);
+        verifyNoInteractions(orderRepository);
     }
-}
 
+    @Test
+    void estimatedCompletionDeliveryDate_ShouldThrowDeliveryNotAvailable_WhenZipCodeIsNotCovered() {
+        Long zipcode = 123456L;
+        when(zipDeliveryIndex.estimateDeliveryDays(zipcode)).thenReturn(-1);
 
+        assertThrows(DeliveryNotAvailableException.class, () -> orderService.estimatedCompletionDeliveryDate(zipcode));
+    }
 
+    @Test
+    void trackOrderStatus_ShouldUseIndex_WhenOrderIsIndexed() {
+        String orderId = "278C5773AA16";
+        when(orderStatusIndex.getStatus(orderId)).thenReturn(OrderStatus.DISPATCHED);
 
+        String result = orderService.trackOrderStatus(orderId);
 
+        assertEquals("Your order has been dispatched and is on its way to the courier.", result);
+        verify(orderRepository, never()).findStatusById(any());
+    }
 
+    @Test
+    void trackOrderStatus_ShouldFallBackToStatusQuery_WhenOrderIsNotIndexed() {
+        String orderId = "278C5773AA16";
+        Instant updatedDate = Instant.now();
+        OrderStatusView statusView = mock(OrderStatusView.class);
+        when(statusView.getOrderStatus()).thenReturn(OrderStatus.OUT_FOR_DELIVERY);
+        when(statusView.getUpdatedDate()).thenReturn(updatedDate);
+        when(orderStatusIndex.getStatus(orderId)).thenReturn(null);
+        when(orderRepository.findStatusById(orderId)).thenReturn(Optional.of(statusView));
 
+        String result = orderService.trackOrderStatus(orderId);
 
+        assertEquals("Your order is out for delivery.", result);
+        verify(orderStatusIndex).put(orderId, OrderStatus.OUT_FOR_DELIVERY, updatedDate);
+    }
 
+    @Test
+    void trackOrderStatus_ShouldThrowTrackingException_WhenOrderDoesNotExist() {
+        String orderId = "000000000000";
+        when(orderStatusIndex.getStatus(orderId)).thenReturn(null);
+        when(orderRepository.findStatusById(orderId)).thenReturn(Optional.empty());
+
+        assertThrows(OrderTrackingException.class, () -> orderService.trackOrderStatus(orderId));
+    }
+
+    @Test
+    void subscribeToOrderStatus_ShouldRegisterSubscriberWithCurrentStatus() {
+        String orderId = "278C5773AA16";
+        when(orderStatusIndex.getStatus(orderId)).thenReturn(OrderStatus.ON_THE_WAY);
+        when(orderStatusIndex.getUpdatedAt(orderId)).thenReturn(1_700_000_000_000L);
+
+        orderService.subscribeToOrderStatus(orderId);
+
+        ArgumentCaptor<OrderStatusUpdate> captor = ArgumentCaptor.forClass(OrderStatusUpdate.class);
+        verify(orderStatusSubscriptionRegistry).subscribe(captor.capture());
+        assertEquals(OrderStatus.ON_THE_WAY, captor.getValue().getOrderStatus());
+        assertEquals("Your order is on the way.", captor.getValue().getMessage());
+    }
+
+    @Test
+    void stockReservationCall_ShouldGoThroughSequencer_WhenCalledWithoutBackorderOptions() throws Exception {
+        List<CustomerOrderItemDTO> items = Collections.singletonList(new CustomerOrderItemDTO(1276L, 2));
+        Map<Long, String> reserved = Collections.singletonMap(1276L, "Inventory updated with stock reservation");
+        when(reservationSequencer.isEnabled()).thenReturn(true);
+        when(reservationSequencer.reserve(items, 400001L)).thenReturn(reserved);
+
+        assertEquals(reserved, orderService.stockReservationCall(items, 400001L));
+        verifyNoInteractions(stockLeaseManager, reservationBatcher);
+    }
 
+    @Test
+    void stockReservationCall_ShouldGoThroughLeasesAndBatcher_WhenSequencerIsDisabled() throws Exception {
+        List<CustomerOrderItemDTO> items = Collections.singletonList(new CustomerOrderItemDTO(1280L, 1));
+        Map<Long, String> reserved = Collections.singletonMap(1280L, "Inventory updated with stock reservation");
+        when(stockLeaseManager.isEnabled()).thenReturn(true);
+        when(stockLeaseManager.reserveFromLeases(eq(items), eq(400001L), any())).thenReturn(items);
+        when(reservationBatcher.isEnabled()).thenReturn(true);
+        when(reservationBatcher.reserve(items, 400001L, false, null, null)).thenReturn(reserved);
+
+        assertEquals(reserved, orderService.stockReservationCall(items, 400001L));
+        verify(lockConflictRetrier, never()).execute(anyString(), any());
+    }
+
+    @Test
+    void getOrderChanges_ShouldReturnNextPositionAndHasMore_WhenMoreChangesThanLimit() {
+        ReflectionTestUtils.setField(orderService, "maxChangesPageSize", 1000);
+        Instant since = Instant.parse("2024-01-01T00:00:00Z");
+        OrderChangeDto first = new OrderChangeDto("A00000000001", OrderStatus.CONFIRMED, PaymentStatus.PENDING, since.plusSeconds(1));
+        OrderChangeDto second = new OrderChangeDto("A00000000002", OrderStatus.SHIPPED, PaymentStatus.COMPLETED, since.plusSeconds(2));
+        OrderChangeDto third = new OrderChangeDto("A00000000003", OrderStatus.DELIVERED, PaymentStatus.COMPLETED, since.plusSeconds(3));
+        when(orderRepository.findChangesAfter(eq(since), eq(""), any(Instant.class), eq(PageRequest.of(0, 3))))
+                .thenReturn(Arrays.asList(first, second, third));
+
+        OrderChangePage page = orderService.getOrderChanges(since, null, 2, false);
+
+        assertEquals(2, page.getChanges().size());
+        assertTrue(page.isHasMore());
+        assertEquals(second.getUpdatedDate(), page.getNextSince());
+        assertEquals("A00000000002", page.getNextAfterId());
+        assertEquals(second.getUpdatedDate().toEpochMilli(), page.getChanges().get(1).getVersion());
+        assertNull(page.getOrders());
+        verify(orderRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void getOrderChanges_ShouldIncludeFullOrdersInFeedOrder_WhenExpanded() {
+        ReflectionTestUtils.setField(orderService, "maxChangesPageSize", 1000);
+        Order other = new Order();
+        other.setOrderId("A00000000001");
+        other.setCustomer(order.getCustomer());
+        other.setTotalQuantity(order.getTotalQuantity());
+        other.setTotalAmount(order.getTotalAmount());
+        other.setOrderDate(order.getOrderDate());
+        other.setCreatedDate(order.getCreatedDate());
+        other.setEstimated_delivery_date(order.getEstimated_delivery_date());
+        other.setShippingzipCode(order.getShippingzipCode());
+        other.setShippingAddress(order.getShippingAddress());
+        other.setBillingAddress(order.getBillingAddress());
+        other.setOrderStatus(OrderStatus.DISPATCHED);
+        other.setPaymentStatus(PaymentStatus.PENDING);
+        other.setOrderItems(new ArrayList<>());
+        Instant updatedDate = Instant.parse("2024-01-01T00:00:00Z");
+        when(orderRepository.findChangesAfter(eq(Instant.EPOCH), eq(""), any(Instant.class), any(Pageable.class))).thenReturn(Arrays.asList(
+                new OrderChangeDto("A00000000001", OrderStatus.DISPATCHED, PaymentStatus.PENDING, updatedDate),
+                new OrderChangeDto(order.getOrderId(), OrderStatus.CONFIRMED, PaymentStatus.PENDING, updatedDate)));
+        when(orderRepository.findAllById(Arrays.asList("A00000000001", order.getOrderId()))).thenReturn(Arrays.asList(order, other));
+
+        OrderChangePage page = orderService.getOrderChanges(null, null, 10, true);
+
+        assertFalse(page.isHasMore());
+        assertEquals(2, page.getOrders().size());
+        assertEquals("A00000000001", page.getOrders().get(0).getOrderId());
+        assertEquals(order.getOrderId(), page.getOrders().get(1).getOrderId());
+    }
+
+    @Test
+    void getOrderChanges_ShouldThrowInvalidOrderDataException_WhenLimitIsNotPositive() {
+        assertThrows(InvalidOrderDataException.class, () -> orderService.getOrderChanges(null, null, 0, false));
+    }
+}
@@ -0,0 +1,88 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.model.OrderStatus;
+import com.nisum.vibe.cart.scm.model.UUIDGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatusIndexTest {
+
+    private final OrderStatusIndex orderStatusIndex = new OrderStatusIndex();
+
+    @Test
+    void testPutAndGetStatus() {
+        Instant updatedDate = Instant.ofEpochMilli(1_700_000_000_000L);
+
+        orderStatusIndex.put("278C5773AA16", OrderStatus.CONFIRMED, updatedDate);
+        orderStatusIndex.put("278C5773AA16", OrderStatus.SHIPPED, updatedDate.plusSeconds(60));
+
+        assertEquals(OrderStatus.SHIPPED, orderStatusIndex.getStatus("278C5773AA16"));
+        assertEquals(updatedDate.plusSeconds(60).toEpochMilli(), orderStatusIndex.getUpdatedAt("278C5773AA16"));
+        assertEquals(1, orderStatusIndex.size());
+    }
+
+    @Test
+    void testOlderChangeDoesNotReplaceNewerStatus() {
+        Instant updatedDate = Instant.ofEpochMilli(1_700_000_000_000L);
+
+        orderStatusIndex.put("278C5773AA16", OrderStatus.SHIPPED, updatedDate.plusSeconds(60));
+        orderStatusIndex.put("278C5773AA16", OrderStatus.CONFIRMED, updatedDate);
+
+        assertEquals(OrderStatus.SHIPPED, orderStatusIndex.getStatus("278C5773AA16"));
+        assertEquals(updatedDate.plusSeconds(60).toEpochMilli(), orderStatusIndex.getUpdatedAt("278C5773AA16"));
+    }
+
+    @Test
+    void testNonTerminalStatusIsRevalidated() throws InterruptedException {
+        ReflectionTestUtils.setField(orderStatusIndex, "revalidateMillis", 0L);
+
+        orderStatusIndex.put("278C5773AA16", OrderStatus.SHIPPED, Instant.now());
+        orderStatusIndex.put("278C5773AA17", OrderStatus.DELIVERED, Instant.now());
+        Thread.sleep(5);
+
+        assertNull(orderStatusIndex.getStatus("278C5773AA16"));
+        assertEquals(OrderStatus.DELIVERED, orderStatusIndex.getStatus("278C5773AA17"));
+    }
+
+    @Test
+    void testUnknownOrderIsNotIndexed() {
+        assertNull(orderStatusIndex.getStatus("000000000000"));
+        assertEquals(-1L, orderStatusIndex.getUpdatedAt("000000000000"));
+    }
+
+    @Test
+    void testIdsThatCannotBePackedAreIgnored() {
+        orderStatusIndex.put("not-an-order", OrderStatus.CONFIRMED, Instant.now());
+        orderStatusIndex.put("278c5773aa16", OrderStatus.CONFIRMED, Instant.now());
+
+        assertNull(orderStatusIndex.getStatus("not-an-order"));
+        assertNull(orderStatusIndex.getStatus("278c5773aa16"));
+        assertEquals(0, orderStatusIndex.size());
+    }
+
+    @Test
+    void testIndexGrowsBeyondInitialCapacity() {
+        List<String> orderIds = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            String orderId = UUIDGenerator.generateUUID();
+            orderIds.add(orderId);
+            orderStatusIndex.put(orderId, OrderStatus.values()[i % OrderStatus.values().length], Instant.now());
+        }
+
+        for (int i = 0; i < orderIds.size(); i++) {
+            assertNotNull(orderStatusIndex.getStatus(orderIds.get(i)));
+        }
+    }
+
+    @Test
+    void testEncodeIsDistinctPerId() {
+        assertNotEquals(OrderStatusIndex.encode("278C5773AA16"), OrderStatusIndex.encode("278C5773AA17"));
+        assertEquals(OrderStatusIndex.NOT_ENCODABLE, OrderStatusIndex.encode(null));
+    }
+}
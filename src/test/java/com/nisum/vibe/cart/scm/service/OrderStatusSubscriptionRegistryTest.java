@@ -0,0 +1,109 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.event.OrderStatusChangedEvent;
+import com.nisum.vibe.cart.scm.exception.SubscriptionLimitExceededException;
+import com.nisum.vibe.cart.scm.model.OrderChangeDto;
+import com.nisum.vibe.cart.scm.model.OrderStatus;
+import com.nisum.vibe.cart.scm.model.OrderStatusUpdate;
+import com.nisum.vibe.cart.scm.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderStatusSubscriptionRegistryTest {
+
+    private static final String ORDER_ID = "278C5773AA16";
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+
+    private OrderStatusSubscriptionRegistry registry;
+
+    private final Instant placedAt = Instant.ofEpochMilli(1_700_000_000_000L);
+
+    @BeforeEach
+    void setUp() {
+        OrderStatusSubscriptionRegistry target = new OrderStatusSubscriptionRegistry();
+        ReflectionTestUtils.setField(target, "maxConnections", 2);
+        ReflectionTestUtils.setField(target, "feedPageSize", 10);
+        ReflectionTestUtils.setField(target, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(target, "feedSince", Instant.EPOCH);
+        registry = spy(target);
+        doAnswer(invocation -> mock(SseEmitter.class)).when(registry).newEmitter();
+    }
+
+    @Test
+    void testSubscribe_SendsCurrentStatusAndCapsConnections() throws IOException {
+        SseEmitter emitter = registry.subscribe(new OrderStatusUpdate(ORDER_ID, OrderStatus.CONFIRMED, placedAt));
+        registry.subscribe(new OrderStatusUpdate(ORDER_ID, OrderStatus.CONFIRMED, placedAt));
+
+        assertThrows(SubscriptionLimitExceededException.class,
+                () -> registry.subscribe(new OrderStatusUpdate(ORDER_ID, OrderStatus.CONFIRMED, placedAt)));
+        assertEquals(2, registry.getConnectionCount());
+        verify(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter, never()).complete();
+    }
+
+    @Test
+    void testSubscribe_TerminalStatusCompletesImmediately() {
+        SseEmitter emitter = registry.subscribe(new OrderStatusUpdate(ORDER_ID, OrderStatus.DELIVERED, placedAt));
+
+        verify(emitter).complete();
+        assertEquals(0, registry.getConnectionCount());
+    }
+
+    @Test
+    void testOnOrderStatusChanged_CompletesOnTerminalStatus() throws IOException {
+        SseEmitter emitter = registry.subscribe(new OrderStatusUpdate(ORDER_ID, OrderStatus.CONFIRMED, placedAt));
+
+        registry.onOrderStatusChanged(new OrderStatusChangedEvent(ORDER_ID, OrderStatus.SHIPPED, placedAt.plusSeconds(60)));
+        registry.onOrderStatusChanged(new OrderStatusChangedEvent(ORDER_ID, OrderStatus.CANCELLED, placedAt.plusSeconds(120)));
+
+        verify(emitter, times(3)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter).complete();
+        assertEquals(0, registry.getConnectionCount());
+    }
+
+    @Test
+    void testSendHeartbeat_EvictsDeadSubscribers() throws IOException {
+        SseEmitter emitter = registry.subscribe(new OrderStatusUpdate(ORDER_ID, OrderStatus.CONFIRMED, placedAt));
+        doThrow(new IOException("Broken pipe")).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+
+        registry.sendHeartbeat();
+
+        assertEquals(0, registry.getConnectionCount());
+    }
+
+    @Test
+    void testPollOrderChanges_PushesChangesMadeOnOtherNodesOnce() throws IOException {
+        SseEmitter emitter = registry.subscribe(new OrderStatusUpdate(ORDER_ID, OrderStatus.CONFIRMED, placedAt));
+        Instant shippedAt = placedAt.plusSeconds(60);
+        registry.onOrderStatusChanged(new OrderStatusChangedEvent(ORDER_ID, OrderStatus.SHIPPED, shippedAt));
+        when(orderRepository.findChangesAfter(any(), anyString(), any(), any())).thenReturn(Collections.singletonList(
+                new OrderChangeDto(ORDER_ID, OrderStatus.SHIPPED, null, shippedAt)))
+                .thenReturn(Collections.singletonList(new OrderChangeDto(ORDER_ID, OrderStatus.DELIVERED, null, shippedAt.plusSeconds(60))));
+
+        registry.pollOrderChanges();
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+
+        registry.pollOrderChanges();
+        verify(emitter, times(3)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter).complete();
+        verify(orderRepository).findChangesAfter(eq(shippedAt), eq(ORDER_ID), any(), any());
+    }
+
+    @Test
+    void testPollOrderChanges_SkipsFeedWithoutSubscribers() {
+        registry.pollOrderChanges();
+
+        verifyNoInteractions(orderRepository);
+    }
+}
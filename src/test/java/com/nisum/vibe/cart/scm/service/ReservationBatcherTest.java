@@ -0,0 +1,124 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
+import com.nisum.vibe.cart.scm.exception.WarehouseNotFoundException;
+import com.nisum.vibe.cart.scm.model.AllocationMode;
+import com.nisum.vibe.cart.scm.model.CustomerOrderItemDTO;
+import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationBatcherTest {
+
+    private static final Long ZIPCODE = 400001L;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private LockConflictRetrier lockConflictRetrier = new LockConflictRetrier(new SimpleMeterRegistry(), 3, 0, 0);
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ReservationBatcher reservationBatcher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reservationBatcher, "defaultAllocationMode", AllocationMode.PREFER_LOCAL);
+        reservationBatcher.init();
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+    }
+
+    @Test
+    void testApplyBatch_CommitsAllReservationsInOneTransaction() throws Exception {
+        List<CustomerOrderItemDTO> first = Collections.singletonList(new CustomerOrderItemDTO(1276L, 2));
+        List<CustomerOrderItemDTO> second = Arrays.asList(new CustomerOrderItemDTO(1280L, 1), new CustomerOrderItemDTO(1276L, 1));
+        when(inventoryService.stockReservationCall(first, ZIPCODE, false, null, null)).thenReturn(Collections.singletonMap(1276L, "first"));
+        when(inventoryService.stockReservationCall(second, ZIPCODE, false, null, null)).thenReturn(Collections.singletonMap(1280L, "second"));
+
+        ReservationBatcher.PendingReservation firstReservation = new ReservationBatcher.PendingReservation(first, ZIPCODE, false, null, null);
+        ReservationBatcher.PendingReservation secondReservation = new ReservationBatcher.PendingReservation(second, ZIPCODE, false, null, null);
+        reservationBatcher.applyBatch(Arrays.asList(firstReservation, secondReservation));
+
+        assertEquals("first", firstReservation.getFuture().get().get(1276L));
+        assertEquals("second", secondReservation.getFuture().get().get(1280L));
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).commit(any());
+        verify(inventoryRepository).findBySkuInForUpdate(new HashSet<>(Arrays.asList(1276L, 1280L)));
+        assertEquals(2.0, meterRegistry.get("scm.inventory.reservation.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void testApplyBatch_CheckedFailureOnlyReachesItsCaller() throws Exception {
+        List<CustomerOrderItemDTO> missing = Collections.singletonList(new CustomerOrderItemDTO(9999L, 1));
+        List<CustomerOrderItemDTO> stocked = Collections.singletonList(new CustomerOrderItemDTO(1276L, 1));
+        when(inventoryService.stockReservationCall(missing, ZIPCODE, false, null, AllocationMode.PREFER_FAST))
+                .thenThrow(new InventoryNotFoundException("No inventory found for SKU: 9999 in any warehouse."));
+        when(inventoryService.stockReservationCall(stocked, ZIPCODE, false, null, AllocationMode.PREFER_FAST))
+                .thenReturn(Collections.singletonMap(1276L, "Inventory updated with stock reservation"));
+
+        ReservationBatcher.PendingReservation missingReservation = new ReservationBatcher.PendingReservation(missing, ZIPCODE, false, null, AllocationMode.PREFER_FAST);
+        ReservationBatcher.PendingReservation stockedReservation = new ReservationBatcher.PendingReservation(stocked, ZIPCODE, false, null, AllocationMode.PREFER_FAST);
+        reservationBatcher.applyBatch(Arrays.asList(missingReservation, stockedReservation));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> missingReservation.getFuture().get());
+        assertTrue(failure.getCause() instanceof InventoryNotFoundException);
+        assertEquals("Inventory updated with stock reservation", stockedReservation.getFuture().get().get(1276L));
+        verify(transactionManager, times(1)).commit(any());
+        verify(inventoryRepository, never()).findBySkuInForUpdate(anyCollection());
+    }
+
+    @Test
+    void testApplyBatch_RuntimeFailureAppliesEachReservationAlone() throws Exception {
+        List<CustomerOrderItemDTO> broken = Collections.singletonList(new CustomerOrderItemDTO(1280L, 1));
+        List<CustomerOrderItemDTO> healthy = Collections.singletonList(new CustomerOrderItemDTO(1276L, 1));
+        when(inventoryService.stockReservationCall(broken, ZIPCODE, false, null, null)).thenThrow(new IllegalStateException("broken"));
+        when(inventoryService.stockReservationCall(healthy, ZIPCODE, false, null, null)).thenReturn(Collections.singletonMap(1276L, "healthy"));
+
+        ReservationBatcher.PendingReservation brokenReservation = new ReservationBatcher.PendingReservation(broken, ZIPCODE, false, null, null);
+        ReservationBatcher.PendingReservation healthyReservation = new ReservationBatcher.PendingReservation(healthy, ZIPCODE, false, null, null);
+        reservationBatcher.applyBatch(Arrays.asList(healthyReservation, brokenReservation));
+
+        assertEquals("healthy", healthyReservation.getFuture().get().get(1276L));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> brokenReservation.getFuture().get());
+        assertTrue(failure.getCause() instanceof IllegalStateException);
+        verify(transactionManager).rollback(any());
+        verify(inventoryService, times(2)).stockReservationCall(healthy, ZIPCODE, false, null, null);
+    }
+
+    @Test
+    void testSubmit_AppliesOnCallerThreadWhenDisabled() throws WarehouseNotFoundException, InventoryNotFoundException {
+        List<CustomerOrderItemDTO> items = Collections.singletonList(new CustomerOrderItemDTO(1276L, 1));
+        when(inventoryService.stockReservationCall(items, ZIPCODE, true, "ORD-1", null)).thenReturn(Collections.singletonMap(1276L, "reserved"));
+
+        Map<Long, String> result = reservationBatcher.reserve(items, ZIPCODE, true, "ORD-1", null);
+
+        assertEquals("reserved", result.get(1276L));
+        verifyNoInteractions(transactionManager);
+    }
+}
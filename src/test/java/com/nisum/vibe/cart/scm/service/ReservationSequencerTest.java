@@ -0,0 +1,149 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.Inventory;
+import com.nisum.vibe.cart.scm.dao.Warehouse;
+import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
+import com.nisum.vibe.cart.scm.exception.WarehouseNotFoundException;
+import com.nisum.vibe.cart.scm.model.CustomerOrderItemDTO;
+import com.nisum.vibe.cart.scm.repository.InventoryBulkRepository;
+import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationSequencerTest {
+
+    private static final Long ZIPCODE = 400001L;
+    private static final Long SKU = 1276L;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private InventoryBulkRepository inventoryBulkRepository;
+
+    @Mock
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ReservationSequencer reservationSequencer;
+
+    private final Warehouse nearest = new Warehouse("INV0001", "Mumbai Warehouse", "Mumbai", 400001L, 400706L);
+    private final Warehouse other = new Warehouse("INV0002", "Pune Warehouse", "Pune", 411001L, 411062L);
+
+    /**
+     * Available quantity per inventory ID as committed in the database.
+     */
+    private final Map<Long, Integer> database = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reservationSequencer, "enabled", true);
+        ReflectionTestUtils.setField(reservationSequencer, "laneCount", 2);
+        ReflectionTestUtils.setField(reservationSequencer, "laneCapacity", 16);
+        ReflectionTestUtils.setField(reservationSequencer, "flushIntervalMillis", 1L);
+        ReflectionTestUtils.setField(reservationSequencer, "flushBatchSize", 100);
+        ReflectionTestUtils.setField(reservationSequencer, "refreshMillis", 60000L);
+        reservationSequencer.init();
+
+        database.put(1L, 5);
+        database.put(2L, 10);
+        lenient().when(zipDeliveryIndex.findWarehouseId(ZIPCODE)).thenReturn("INV0001");
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        lenient().when(inventoryRepository.findBySku(SKU)).thenAnswer(invocation -> readDatabase());
+        lenient().when(inventoryRepository.findBySkuIn(anyCollection())).thenAnswer(invocation -> readDatabase());
+        lenient().when(inventoryBulkRepository.applyReservations(anyList())).thenAnswer(invocation -> {
+            List<long[]> reservations = invocation.getArgument(0);
+            boolean[] updated = new boolean[reservations.size()];
+            for (int i = 0; i < updated.length; i++) {
+                updated[i] = database.get(reservations.get(i)[0]) >= reservations.get(i)[1];
+            }
+            for (int i = 0; i < updated.length; i++) {
+                if (!updated[i]) {
+                    // The sequencer rolls the transaction back
+                    return updated;
+                }
+            }
+            reservations.forEach(reservation -> database.merge(reservation[0], (int) -reservation[1], Integer::sum));
+            return updated;
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        reservationSequencer.shutdown();
+    }
+
+    @Test
+    void testReserve_DecidesFromInMemoryCountersNearestWarehouseFirst() throws Exception {
+        assertEquals("Inventory updated with stock reservation", reserve(4));
+        assertEquals("Inventory updated with stock reservation", reserve(4));
+        assertEquals("Not enough stock to fulfill the order for SKU: " + SKU, reserve(8));
+
+        assertEquals(0, database.get(1L));
+        assertEquals(7, database.get(2L));
+        verify(inventoryRepository, times(1)).findBySku(SKU);
+        verify(inventoryBulkRepository, times(2)).applyReservations(anyList());
+    }
+
+    @Test
+    void testReserve_RejectsWhenRecordNoLongerHasStockAndResyncs() throws Exception {
+        assertEquals("Inventory updated with stock reservation", reserve(1));
+
+        // Another writer takes stock behind the sequencer's back
+        database.put(1L, 0);
+        database.put(2L, 2);
+
+        assertEquals("Not enough stock to fulfill the order for SKU: " + SKU, reserve(5));
+        assertEquals("Inventory updated with stock reservation", reserve(2));
+        assertEquals("Not enough stock to fulfill the order for SKU: " + SKU, reserve(1));
+        assertEquals(0, database.get(2L));
+    }
+
+    @Test
+    void testReserve_UnknownSku() {
+        when(inventoryRepository.findBySku(9999L)).thenReturn(Collections.emptyList());
+
+        assertThrows(InventoryNotFoundException.class,
+                () -> reservationSequencer.reserve(Collections.singletonList(new CustomerOrderItemDTO(9999L, 1)), ZIPCODE));
+    }
+
+    @Test
+    void testReserve_UncoveredZipcode() {
+        assertThrows(WarehouseNotFoundException.class,
+                () -> reservationSequencer.reserve(Collections.singletonList(new CustomerOrderItemDTO(SKU, 1)), 999999L));
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    private String reserve(int quantity) throws WarehouseNotFoundException, InventoryNotFoundException {
+        return reservationSequencer.reserve(Collections.singletonList(new CustomerOrderItemDTO(SKU, quantity)), ZIPCODE).get(SKU);
+    }
+
+    private List<Inventory> readDatabase() {
+        return Arrays.asList(
+                new Inventory(1L, 301L, SKU, database.get(1L), nearest, 0, 0, null),
+                new Inventory(2L, 301L, SKU, database.get(2L), other, 0, 0, null));
+    }
+}
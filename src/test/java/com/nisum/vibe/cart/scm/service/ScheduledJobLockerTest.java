@@ -0,0 +1,66 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.ScheduledJobLock;
+import com.nisum.vibe.cart.scm.repository.ScheduledJobLockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledJobLockerTest {
+
+    @Mock
+    private ScheduledJobLockRepository scheduledJobLockRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ScheduledJobLocker scheduledJobLocker;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduledJobLocker, "nodeId", "scm-1");
+        scheduledJobLocker.init();
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+    }
+
+    @Test
+    void testTryLock_ClaimsExpiredLock() {
+        when(scheduledJobLockRepository.claimExpired(eq("stock-rebalance"), eq("scm-1"), any(Instant.class), any(Instant.class))).thenReturn(1);
+
+        assertTrue(scheduledJobLocker.tryLock("stock-rebalance", 60_000L));
+        verify(scheduledJobLockRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testTryLock_SkipsJobClaimedByAnotherInstance() {
+        when(scheduledJobLockRepository.existsById("stock-rebalance")).thenReturn(true);
+
+        assertFalse(scheduledJobLocker.tryLock("stock-rebalance", 60_000L));
+        verify(scheduledJobLockRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testTryLock_CreatesLockOfNewJobOnce() {
+        when(scheduledJobLockRepository.saveAndFlush(any(ScheduledJobLock.class)))
+                .thenReturn(new ScheduledJobLock("stock-rebalance", "scm-1", Instant.now()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'stock-rebalance'"));
+
+        assertTrue(scheduledJobLocker.tryLock("stock-rebalance", 60_000L));
+        assertFalse(scheduledJobLocker.tryLock("stock-rebalance", 60_000L));
+    }
+}
@@ -0,0 +1,122 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.event.SkuOwnershipChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SkuOwnershipRingTest {
+
+    private static final String SERVICE_ID = "vibecart-scm-service";
+
+    @Mock
+    private DiscoveryClient discoveryClient;
+
+    @Mock
+    private ObjectProvider<Registration> registration;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SkuOwnershipRing skuOwnershipRing;
+
+    private final ServiceInstance first = instance("scm-1");
+    private final ServiceInstance second = instance("scm-2");
+    private final ServiceInstance third = instance("scm-3");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(skuOwnershipRing, "enabled", true);
+        ReflectionTestUtils.setField(skuOwnershipRing, "serviceId", SERVICE_ID);
+        ReflectionTestUtils.setField(skuOwnershipRing, "virtualNodes", 128);
+        Registration localRegistration = mock(Registration.class);
+        lenient().when(localRegistration.getInstanceId()).thenReturn("scm-1");
+        lenient().when(registration.getIfAvailable()).thenReturn(localRegistration);
+    }
+
+    @Test
+    void testFindRemoteOwner_SpreadsSkusAcrossInstances() {
+        when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(Arrays.asList(first, second, third));
+        skuOwnershipRing.refresh();
+
+        Map<String, Integer> owned = owners(30000);
+
+        assertEquals(3, owned.size());
+        owned.values().forEach(count -> assertTrue(count > 7000 && count < 13000, "unbalanced ownership " + owned));
+    }
+
+    @Test
+    void testRefresh_OnlyMovesSkusOfTheInstanceThatLeft() {
+        when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(Arrays.asList(first, second, third));
+        skuOwnershipRing.refresh();
+        Map<Long, String> before = ownerBySku(10000);
+
+        when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(Arrays.asList(first, second));
+        skuOwnershipRing.refresh();
+        Map<Long, String> after = ownerBySku(10000);
+
+        before.forEach((sku, owner) -> {
+            if (!"scm-3".equals(owner)) {
+                assertEquals(owner, after.get(sku));
+            }
+        });
+        assertFalse(after.containsValue("scm-3"));
+        verify(eventPublisher, times(2)).publishEvent(any(SkuOwnershipChangedEvent.class));
+    }
+
+    @Test
+    void testRefresh_IgnoresUnchangedRegistry() {
+        when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(Arrays.asList(first, second));
+
+        skuOwnershipRing.refresh();
+        skuOwnershipRing.refresh();
+
+        verify(eventPublisher, times(1)).publishEvent(any(SkuOwnershipChangedEvent.class));
+    }
+
+    @Test
+    void testFindRemoteOwner_OwnsEverythingUntilRegistryIsSeen() {
+        assertTrue(skuOwnershipRing.isOwnedLocally(1276L));
+
+        ReflectionTestUtils.setField(skuOwnershipRing, "enabled", false);
+        skuOwnershipRing.refresh();
+        verifyNoInteractions(discoveryClient);
+    }
+
+    private Map<String, Integer> owners(int skus) {
+        Map<String, Integer> owned = new HashMap<>();
+        ownerBySku(skus).values().forEach(owner -> owned.merge(owner, 1, Integer::sum));
+        return owned;
+    }
+
+    private Map<Long, String> ownerBySku(int skus) {
+        Map<Long, String> owners = new HashMap<>();
+        for (long sku = 1; sku <= skus; sku++) {
+            ServiceInstance owner = skuOwnershipRing.findRemoteOwner(sku);
+            owners.put(sku, owner == null ? "scm-1" : owner.getInstanceId());
+        }
+        return owners;
+    }
+
+    private static ServiceInstance instance(String instanceId) {
+        return new DefaultServiceInstance(instanceId, SERVICE_ID, instanceId + ".local", 5601, false);
+    }
+}
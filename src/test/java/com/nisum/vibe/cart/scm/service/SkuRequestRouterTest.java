@@ -0,0 +1,150 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nisum.vibe.cart.scm.client.ScmInstanceClient;
+import com.nisum.vibe.cart.scm.exception.InventoryNotFoundException;
+import com.nisum.vibe.cart.scm.model.CustomerOrderItemDTO;
+import com.nisum.vibe.cart.scm.response.ApiResponse;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SkuRequestRouterTest {
+
+    private static final Long ZIPCODE = 400001L;
+    private static final Long LOCAL_SKU = 1276L;
+    private static final Long REMOTE_SKU = 1280L;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private LockConflictRetrier lockConflictRetrier;
+
+    @Mock
+    private SkuOwnershipRing skuOwnershipRing;
+
+    @Mock
+    private ScmInstanceClient scmInstanceClient;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private SkuRequestRouter skuRequestRouter;
+
+    private final ServiceInstance owner = new DefaultServiceInstance("scm-2", "vibecart-scm-service", "scm-2.local", 5601, false);
+
+    private final CustomerOrderItemDTO localItem = new CustomerOrderItemDTO(LOCAL_SKU, 1);
+    private final CustomerOrderItemDTO remoteItem = new CustomerOrderItemDTO(REMOTE_SKU, 2);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(skuOwnershipRing.isEnabled()).thenReturn(true);
+        lenient().when(skuOwnershipRing.getLocalInstanceId()).thenReturn("scm-1");
+        lenient().when(skuOwnershipRing.findRemoteOwner(REMOTE_SKU)).thenReturn(owner);
+    }
+
+    @Test
+    void testStockReservationCall_ForwardsItemsOfRemotelyOwnedSkus() throws Exception {
+        when(orderService.stockReservationCall(Collections.singletonList(localItem), ZIPCODE, false, null, null))
+                .thenReturn(Collections.singletonMap(LOCAL_SKU, "local"));
+        when(scmInstanceClient.stockReservationCall(owner.getUri(), "scm-1", ZIPCODE, false, null, null, Collections.singletonList(remoteItem)))
+                .thenReturn(new ApiResponse<>(true, 200, "Stock Reservation call made", Collections.singletonMap(REMOTE_SKU, "remote")));
+
+        Map<Long, String> result = skuRequestRouter.stockReservationCall(Arrays.asList(localItem, remoteItem), ZIPCODE, false, null, null);
+
+        assertEquals("local", result.get(LOCAL_SKU));
+        assertEquals("remote", result.get(REMOTE_SKU));
+    }
+
+    @Test
+    void testStockReservationCall_ReservesLocallyWhenOwnerIsUnreachable() throws Exception {
+        when(scmInstanceClient.stockReservationCall(any(), anyString(), anyLong(), anyBoolean(), any(), any(), anyList()))
+                .thenThrow(new RetryableException(-1, "Connection refused executing PUT", Request.HttpMethod.PUT,
+                        new ConnectException("Connection refused"), null, request()));
+        when(orderService.stockReservationCall(Collections.singletonList(remoteItem), ZIPCODE, false, null, null))
+                .thenReturn(Collections.singletonMap(REMOTE_SKU, "local"));
+
+        Map<Long, String> result = skuRequestRouter.stockReservationCall(Collections.singletonList(remoteItem), ZIPCODE, false, null, null);
+
+        assertEquals("local", result.get(REMOTE_SKU));
+    }
+
+    @Test
+    void testStockReservationCall_RevertsForwardedItemsWhenAnotherOwnerTimesOut() throws Exception {
+        ServiceInstance slowOwner = new DefaultServiceInstance("scm-3", "vibecart-scm-service", "scm-3.local", 5601, false);
+        CustomerOrderItemDTO slowItem = new CustomerOrderItemDTO(1290L, 3);
+        lenient().when(skuOwnershipRing.findRemoteOwner(1290L)).thenReturn(slowOwner);
+        when(scmInstanceClient.stockReservationCall(eq(owner.getUri()), anyString(), anyLong(), anyBoolean(), any(), any(), anyList()))
+                .thenReturn(new ApiResponse<>(true, 200, "Stock Reservation call made",
+                        Collections.singletonMap(REMOTE_SKU, "Inventory updated with stock reservation")));
+        when(scmInstanceClient.stockReservationCall(eq(slowOwner.getUri()), anyString(), anyLong(), anyBoolean(), any(), any(), anyList()))
+                .thenThrow(new RetryableException(-1, "Read timed out executing PUT", Request.HttpMethod.PUT,
+                        new SocketTimeoutException("Read timed out"), null, request()));
+        when(lockConflictRetrier.execute(anyString(), any())).thenAnswer(invocation ->
+                ((LockConflictRetrier.InventoryOperation<?>) invocation.getArgument(1)).run());
+
+        assertThrows(RetryableException.class,
+                () -> skuRequestRouter.stockReservationCall(Arrays.asList(localItem, remoteItem, slowItem), ZIPCODE, false, "ORD-1", null));
+
+        verify(inventoryService).revertStockIfOrderCancel(Collections.singletonList(remoteItem), ZIPCODE, "ORD-1");
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void testStockReservationCall_PropagatesRemoteNotFound() {
+        when(scmInstanceClient.stockReservationCall(any(), anyString(), anyLong(), anyBoolean(), any(), any(), anyList()))
+                .thenThrow(FeignException.errorStatus("stockReservationCall",
+                        response(404, "{\"success\":false,\"statusCode\":404,\"message\":\"No inventory found for SKU: 1280 in any warehouse.\"}")));
+
+        InventoryNotFoundException exception = assertThrows(InventoryNotFoundException.class,
+                () -> skuRequestRouter.stockReservationCall(Collections.singletonList(remoteItem), ZIPCODE, false, null, null));
+
+        assertEquals("No inventory found for SKU: 1280 in any warehouse.", exception.getMessage());
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void testStockReservationCall_DisabledReservesEverythingLocally() throws Exception {
+        when(skuOwnershipRing.isEnabled()).thenReturn(false);
+        List<CustomerOrderItemDTO> items = Arrays.asList(localItem, remoteItem);
+
+        skuRequestRouter.stockReservationCall(items, ZIPCODE, true, "ORD-1", null);
+
+        verify(orderService).stockReservationCall(items, ZIPCODE, true, "ORD-1", null);
+        verifyNoInteractions(scmInstanceClient);
+    }
+
+    private static feign.Response response(int status, String body) {
+        return feign.Response.builder().status(status).reason("error").request(request()).headers(Collections.emptyMap())
+                .body(body, StandardCharsets.UTF_8).build();
+    }
+
+    private static Request request() {
+        return Request.create(Request.HttpMethod.PUT, "http://scm-2.local:5601/api/v1/vibe-cart/scm/orders/stock-reservation-call",
+                Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+    }
+}
@@ -0,0 +1,194 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.Inventory;
+import com.nisum.vibe.cart.scm.dao.StockLease;
+import com.nisum.vibe.cart.scm.dao.Warehouse;
+import com.nisum.vibe.cart.scm.model.CustomerOrderItemDTO;
+import com.nisum.vibe.cart.scm.model.LeaseStatus;
+import com.nisum.vibe.cart.scm.repository.InventoryBulkRepository;
+import com.nisum.vibe.cart.scm.repository.InventoryRepository;
+import com.nisum.vibe.cart.scm.repository.StockLeaseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockLeaseManagerTest {
+
+    private static final Long ZIPCODE = 400001L;
+    private static final Long HOT_SKU = 1276L;
+    private static final Long INVENTORY_ID = 1L;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private InventoryBulkRepository inventoryBulkRepository;
+
+    @Mock
+    private StockLeaseRepository stockLeaseRepository;
+
+    @Mock
+    private DemandVelocityTracker demandVelocityTracker;
+
+    @Mock
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @Mock
+    private SkuOwnershipRing skuOwnershipRing;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private StockLeaseManager stockLeaseManager;
+
+    private final Warehouse warehouse = new Warehouse("INV0001", "Mumbai Warehouse", "Mumbai", 400001L, 400706L);
+
+    private final AtomicLong leaseIds = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stockLeaseManager, "enabled", true);
+        ReflectionTestUtils.setField(stockLeaseManager, "nodeId", "scm-1");
+        ReflectionTestUtils.setField(stockLeaseManager, "leasedSkus", HOT_SKU.toString());
+        ReflectionTestUtils.setField(stockLeaseManager, "chunkSize", 10);
+        ReflectionTestUtils.setField(stockLeaseManager, "maxShare", 0.5);
+        ReflectionTestUtils.setField(stockLeaseManager, "durationSeconds", 60L);
+        ReflectionTestUtils.setField(stockLeaseManager, "flushIntervalMillis", 1L);
+        ReflectionTestUtils.setField(stockLeaseManager, "flushBatchSize", 100);
+        stockLeaseManager.init();
+
+        lenient().when(zipDeliveryIndex.findWarehouseId(ZIPCODE)).thenReturn("INV0001");
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        lenient().when(inventoryRepository.findBySkuAndWarehouseId(HOT_SKU, "INV0001"))
+                .thenReturn(new Inventory(INVENTORY_ID, 301L, HOT_SKU, 100, warehouse, 0, 0, null));
+        lenient().when(inventoryBulkRepository.leaseStock(eq(INVENTORY_ID), anyInt())).thenReturn(true);
+        lenient().when(stockLeaseRepository.save(any(StockLease.class))).thenAnswer(invocation -> {
+            StockLease lease = invocation.getArgument(0);
+            ReflectionTestUtils.setField(lease, "stockLeaseId", leaseIds.incrementAndGet());
+            return lease;
+        });
+        lenient().when(stockLeaseRepository.addQuantityUsed(anyLong(), anyInt(), eq(LeaseStatus.ACTIVE))).thenReturn(1);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        stockLeaseManager.shutdown();
+    }
+
+    @Test
+    void testReserveFromLeases_ClaimsOnceAndServesFromQuota() {
+        assertEquals("Inventory updated with stock reservation", reserve(HOT_SKU, 4));
+        assertEquals("Inventory updated with stock reservation", reserve(HOT_SKU, 4));
+
+        verify(inventoryBulkRepository, times(1)).leaseStock(INVENTORY_ID, 10);
+        verify(stockLeaseRepository, times(1)).save(any(StockLease.class));
+        verify(stockLeaseRepository, times(2)).addQuantityUsed(1L, 4, LeaseStatus.ACTIVE);
+        verify(inventoryBulkRepository, times(2)).reserveLeasedStock(argThat(rows -> rows.size() == 1 && rows.get(0)[0] == INVENTORY_ID && rows.get(0)[1] == 4));
+    }
+
+    @Test
+    void testReserveFromLeases_TopsUpLeaseThatRunsShort() {
+        when(stockLeaseRepository.addQuantityLeased(eq(1L), eq(10), any(Instant.class), eq(LeaseStatus.ACTIVE))).thenReturn(1);
+
+        assertEquals("Inventory updated with stock reservation", reserve(HOT_SKU, 8));
+        assertEquals("Inventory updated with stock reservation", reserve(HOT_SKU, 8));
+
+        verify(stockLeaseRepository, times(1)).save(any(StockLease.class));
+        verify(inventoryBulkRepository, times(2)).leaseStock(INVENTORY_ID, 10);
+    }
+
+    @Test
+    void testReserveFromLeases_ReturnsItemsThatAreNotServedFromALease() {
+        List<CustomerOrderItemDTO> items = Arrays.asList(new CustomerOrderItemDTO(HOT_SKU, 2), new CustomerOrderItemDTO(1280L, 1));
+        Map<Long, String> responseMap = new HashMap<>();
+
+        List<CustomerOrderItemDTO> unleasedItems = stockLeaseManager.reserveFromLeases(items, ZIPCODE, responseMap);
+
+        assertEquals(Collections.singletonList(items.get(1)), unleasedItems);
+        assertEquals(Collections.singleton(HOT_SKU), responseMap.keySet());
+        verify(inventoryRepository, never()).findBySkuAndWarehouseId(eq(1280L), anyString());
+    }
+
+    @Test
+    void testReserveFromLeases_RejectsReservationOfReleasedLeaseAndClaimsAgain() {
+        when(stockLeaseRepository.addQuantityUsed(1L, 3, LeaseStatus.ACTIVE)).thenReturn(0);
+        List<CustomerOrderItemDTO> items = Collections.singletonList(new CustomerOrderItemDTO(HOT_SKU, 3));
+
+        List<CustomerOrderItemDTO> unleasedItems = stockLeaseManager.reserveFromLeases(items, ZIPCODE, new HashMap<>());
+
+        assertEquals(items, unleasedItems);
+        verify(inventoryBulkRepository).reserveLeasedStock(Collections.emptyList());
+        assertEquals("Inventory updated with stock reservation", reserve(HOT_SKU, 3));
+        verify(stockLeaseRepository, times(2)).save(any(StockLease.class));
+        verify(stockLeaseRepository).addQuantityUsed(2L, 3, LeaseStatus.ACTIVE);
+    }
+
+    @Test
+    void testShutdown_ReturnsUnusedStock() throws InterruptedException {
+        reserve(HOT_SKU, 4);
+        StockLease lease = new StockLease("scm-1", INVENTORY_ID, HOT_SKU, "INV0001", 10, Instant.now().plusSeconds(60));
+        ReflectionTestUtils.setField(lease, "quantityUsed", 4);
+        when(stockLeaseRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(lease));
+
+        stockLeaseManager.shutdown();
+
+        verify(inventoryBulkRepository).returnStock(INVENTORY_ID, 6);
+        assertEquals(LeaseStatus.RETURNED, lease.getStatus());
+        assertTrue(stockLeaseManager.reserveFromLeases(Collections.singletonList(new CustomerOrderItemDTO(HOT_SKU, 1)), ZIPCODE, new HashMap<>()).size() == 1);
+    }
+
+    @Test
+    void testSweepExpiredLeases_ReturnsUnusedStockOfAnyNode() {
+        StockLease expired = new StockLease("scm-2", INVENTORY_ID, HOT_SKU, "INV0001", 10, Instant.now().minusSeconds(1));
+        ReflectionTestUtils.setField(expired, "quantityUsed", 7);
+        when(stockLeaseRepository.findExpiredForUpdate(eq(LeaseStatus.ACTIVE), any(Instant.class), any())).thenReturn(Collections.singletonList(expired));
+
+        stockLeaseManager.sweepExpiredLeases();
+
+        verify(inventoryBulkRepository).returnStock(INVENTORY_ID, 3);
+        assertEquals(LeaseStatus.EXPIRED, expired.getStatus());
+    }
+
+    @Test
+    void testOnSkuOwnershipChanged_ReturnsLeasesOfSkusOwnedElsewhere() {
+        reserve(HOT_SKU, 4);
+        StockLease lease = new StockLease("scm-1", INVENTORY_ID, HOT_SKU, "INV0001", 10, Instant.now().plusSeconds(60));
+        ReflectionTestUtils.setField(lease, "quantityUsed", 4);
+        when(stockLeaseRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(lease));
+        when(skuOwnershipRing.isOwnedLocally(HOT_SKU)).thenReturn(false);
+
+        stockLeaseManager.onSkuOwnershipChanged();
+
+        verify(inventoryBulkRepository).returnStock(INVENTORY_ID, 6);
+        assertEquals(LeaseStatus.RETURNED, lease.getStatus());
+    }
+
+    private String reserve(Long sku, int quantity) {
+        Map<Long, String> responseMap = new HashMap<>();
+        List<CustomerOrderItemDTO> unleasedItems = stockLeaseManager.reserveFromLeases(
+                Collections.singletonList(new CustomerOrderItemDTO(sku, quantity)), ZIPCODE, responseMap);
+        assertTrue(unleasedItems.isEmpty());
+        return responseMap.get(sku);
+    }
+}
@@ -0,0 +1,100 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.model.InventoryStockView;
+import com.nisum.vibe.cart.scm.model.StockTransferRecommendation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockRebalancingServiceImplTest {
+
+    @Mock
+    private DemandVelocityTracker demandVelocityTracker;
+
+    @Mock
+    private ScheduledJobLocker scheduledJobLocker;
+
+    @InjectMocks
+    private StockRebalancingServiceImpl stockRebalancingService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stockRebalancingService, "targetCoverDays", 10);
+        ReflectionTestUtils.setField(stockRebalancingService, "minTransferQuantity", 5);
+    }
+
+    @Test
+    void testSurplusOfSlowWarehouseCoversFastWarehouse() {
+        when(demandVelocityTracker.getVelocity(eq(101L), eq("WH001"), anyLong())).thenReturn(3.0);
+        when(demandVelocityTracker.getVelocity(eq(101L), eq("WH002"), anyLong())).thenReturn(0.5);
+        when(demandVelocityTracker.getVelocity(eq(101L), eq("WH003"), anyLong())).thenReturn(0.0);
+        List<StockTransferRecommendation> recommendations = new ArrayList<>();
+
+        stockRebalancingService.planTransfers(101L, Arrays.asList(
+                stockLevel(101L, "WH001", 2),
+                stockLevel(101L, "WH002", 25),
+                stockLevel(101L, "WH003", 12)), 0L, recommendations);
+
+        assertEquals(2, recommendations.size());
+        assertEquals("WH003", recommendations.get(0).getFromWarehouseId());
+        assertEquals("WH001", recommendations.get(0).getToWarehouseId());
+        assertEquals(12, recommendations.get(0).getQuantity());
+        assertEquals("WH002", recommendations.get(1).getFromWarehouseId());
+        assertEquals(16, recommendations.get(1).getQuantity());
+    }
+
+    @Test
+    void testNoTransferBelowMinimumQuantity() {
+        when(demandVelocityTracker.getVelocity(eq(101L), eq("WH001"), anyLong())).thenReturn(1.0);
+        when(demandVelocityTracker.getVelocity(eq(101L), eq("WH002"), anyLong())).thenReturn(0.0);
+        List<StockTransferRecommendation> recommendations = new ArrayList<>();
+
+        stockRebalancingService.planTransfers(101L, Arrays.asList(
+                stockLevel(101L, "WH001", 7),
+                stockLevel(101L, "WH002", 40)), 0L, recommendations);
+
+        assertTrue(recommendations.isEmpty());
+    }
+
+    @Test
+    void testRebalanceIsSkippedWhenAnotherInstanceClaimedTheRun() {
+        ReflectionTestUtils.setField(stockRebalancingService, "lockMinutes", 60L);
+        when(scheduledJobLocker.tryLock("stock-rebalance", 60L * 60 * 1000)).thenReturn(false);
+
+        stockRebalancingService.rebalance();
+
+        verifyNoInteractions(demandVelocityTracker);
+    }
+
+    private static InventoryStockView stockLevel(Long sku, String warehouseId, Integer quantityAvailable) {
+        return new InventoryStockView() {
+            @Override
+            public Long getSku() {
+                return sku;
+            }
+
+            @Override
+            public String getWarehouseId() {
+                return warehouseId;
+            }
+
+            @Override
+            public Integer getQuantityAvailable() {
+                return quantityAvailable;
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package com.nisum.vibe.cart.scm.service;
+
+import com.nisum.vibe.cart.scm.dao.Warehouse;
+import com.nisum.vibe.cart.scm.event.OrderDeliveredEvent;
+import com.nisum.vibe.cart.scm.model.OrderDeliveryView;
+import com.nisum.vibe.cart.scm.model.OrderStatus;
+import com.nisum.vibe.cart.scm.repository.OrderRepository;
+import com.nisum.vibe.cart.scm.repository.WarehouseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ZipDeliveryIndexTest {
+
+    @Mock
+    private WarehouseRepository warehouseRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private ZipDeliveryIndex zipDeliveryIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(warehouseRepository.findAll()).thenReturn(new ArrayList<>(Arrays.asList(
+                new Warehouse("WH002", "South", "Chennai", 600000L, 699999L),
+                new Warehouse("WH001", "North", "Delhi", 110000L, 119999L))));
+        zipDeliveryIndex.warmUp();
+    }
+
+    @Test
+    void testCoveredZipCodeUsesLocalDeliveryDays() {
+        assertEquals("WH001", zipDeliveryIndex.findWarehouseId(110001L));
+        assertEquals("WH002", zipDeliveryIndex.findWarehouseId(600028L));
+        assertEquals(ZipDeliveryIndex.LOCAL_DELIVERY_DAYS, zipDeliveryIndex.estimateDeliveryDays(110001L));
+    }
+
+    @Test
+    void testUncoveredZipCodeIsNotDeliverable() {
+        assertNull(zipDeliveryIndex.findWarehouseId(500001L));
+        assertEquals(-1, zipDeliveryIndex.estimateDeliveryDays(500001L));
+        assertEquals(-1, zipDeliveryIndex.estimateDeliveryDays(12345L));
+    }
+
+    @Test
+    void testObservedDeliveriesRefineEstimate() {
+        Instant orderDate = Instant.now().minus(4, ChronoUnit.DAYS);
+
+        zipDeliveryIndex.recordDelivery(110001L, orderDate, orderDate.plus(4, ChronoUnit.DAYS));
+        assertEquals(4, zipDeliveryIndex.estimateDeliveryDays(110001L));
+
+        zipDeliveryIndex.recordDelivery(110001L, orderDate, orderDate.plus(8, ChronoUnit.DAYS));
+        assertEquals(5, zipDeliveryIndex.estimateDeliveryDays(110001L));
+        assertEquals(ZipDeliveryIndex.LOCAL_DELIVERY_DAYS, zipDeliveryIndex.estimateDeliveryDays(110002L));
+    }
+
+    @Test
+    void testWarmUpLearnsFromDeliveredOrders() {
+        Instant orderDate = Instant.now().minus(10, ChronoUnit.DAYS);
+        when(orderRepository.findDeliveriesAfter(eq(OrderStatus.DELIVERED), any(), anyString(), any(), any()))
+                .thenReturn(Collections.singletonList(delivery("A1", 110001L, orderDate, orderDate.plus(6, ChronoUnit.DAYS))));
+
+        zipDeliveryIndex.warmUp();
+
+        assertEquals(6, zipDeliveryIndex.estimateDeliveryDays(110001L));
+    }
+
+    @Test
+    void testPollDeliveriesSkipsDeliveriesLearnedFromEvents() {
+        Instant orderDate = Instant.now().minus(10, ChronoUnit.DAYS);
+        Instant deliveredAt = orderDate.plus(4, ChronoUnit.DAYS);
+        zipDeliveryIndex.onOrderDelivered(new OrderDeliveredEvent("A1", 110001L, orderDate, deliveredAt));
+        when(orderRepository.findDeliveriesAfter(eq(OrderStatus.DELIVERED), any(), anyString(), any(), any()))
+                .thenReturn(Arrays.asList(delivery("A1", 110001L, orderDate, deliveredAt),
+                        delivery("B2", 110001L, orderDate, orderDate.plus(8, ChronoUnit.DAYS))))
+                .thenReturn(Collections.emptyList());
+
+        zipDeliveryIndex.pollDeliveries();
+        zipDeliveryIndex.pollDeliveries();
+
+        assertEquals(5, zipDeliveryIndex.estimateDeliveryDays(110001L));
+        verify(orderRepository).findDeliveriesAfter(eq(OrderStatus.DELIVERED), eq(orderDate.plus(8, ChronoUnit.DAYS)), eq("B2"), any(), any());
+    }
+
+    @Test
+    void testLookupsDoNotQueryTheRepository() {
+        for (long zipcode = 110000L; zipcode < 110100L; zipcode++) {
+            zipDeliveryIndex.estimateDeliveryDays(zipcode);
+        }
+
+        verify(warehouseRepository, times(1)).findAll();
+    }
+
+    private static OrderDeliveryView delivery(String orderId, Long zipcode, Instant orderDate, Instant deliveredAt) {
+        return new OrderDeliveryView() {
+            @Override
+            public String getOrderId() {
+                return orderId;
+            }
+
+            @Override
+            public Long getShippingzipCode() {
+                return zipcode;
+            }
+
+            @Override
+            public Instant getOrderDate() {
+                return orderDate;
+            }
+
+            @Override
+            public Instant getUpdatedDate() {
+                return deliveredAt;
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.nisum.vibe.cart.scm.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeVersionClockTest {
+
+    @Test
+    void testVersionsAreStrictlyIncreasing() {
+        long previous = ChangeVersionClock.next();
+        for (int i = 0; i < 100000; i++) {
+            long version = ChangeVersionClock.next();
+            assertTrue(version > previous);
+            previous = version;
+        }
+    }
+
+    @Test
+    void testVersionsFollowTheWallClock() {
+        long before = ChangeVersionClock.versionAt(System.currentTimeMillis());
+        long version = ChangeVersionClock.next();
+
+        assertTrue(version >= before);
+        assertTrue(ChangeVersionClock.versionAt(System.currentTimeMillis() + 60000) > version);
+    }
+}
@@ -0,0 +1,93 @@
+package com.nisum.vibe.cart.scm.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nisum.vibe.cart.scm.exception.InvalidPayloadException;
+import com.nisum.vibe.cart.scm.exception.PayloadTooLargeException;
+import com.nisum.vibe.cart.scm.model.SkuQuantityWarehouseDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonArrayChunkReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testArrayIsReadInChunks() throws IOException {
+        try (JsonArrayChunkReader<Long> reader = new JsonArrayChunkReader<>(objectMapper, stream("[1, 2, 3, 4, 5]"), Long.class, 2, 100)) {
+            assertEquals(Arrays.asList(1L, 2L), reader.nextChunk());
+            assertEquals(Arrays.asList(3L, 4L), reader.nextChunk());
+            assertEquals(Collections.singletonList(5L), reader.nextChunk());
+            assertTrue(reader.nextChunk().isEmpty());
+            assertEquals(5, reader.getElementsRead());
+        }
+    }
+
+    @Test
+    void testObjectsAreBoundFromGzipStream() throws IOException {
+        String json = "[{\"sku\":950,\"quantityToAdd\":5,\"warehouseId\":\"WH001\"},{\"sku\":970,\"quantityToAdd\":3,\"warehouseId\":\"WH002\"}]";
+        InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(gzip(json)));
+
+        try (JsonArrayChunkReader<SkuQuantityWarehouseDto> reader = new JsonArrayChunkReader<>(objectMapper, gzip, SkuQuantityWarehouseDto.class, 10, 100)) {
+            List<SkuQuantityWarehouseDto> chunk = reader.nextChunk();
+            assertEquals(2, chunk.size());
+            assertEquals(970L, chunk.get(1).getSku());
+            assertEquals("WH002", chunk.get(1).getWarehouseId());
+        }
+    }
+
+    @Test
+    void testTooManyElementsAreRejected() throws IOException {
+        try (JsonArrayChunkReader<Long> reader = new JsonArrayChunkReader<>(objectMapper, stream("[1, 2, 3]"), Long.class, 10, 2)) {
+            assertThrows(PayloadTooLargeException.class, reader::nextChunk);
+        }
+    }
+
+    @Test
+    void testHasMoreElementsLooksAheadWithoutLosingElements() throws IOException {
+        try (JsonArrayChunkReader<Long> reader = new JsonArrayChunkReader<>(objectMapper, stream("[1, 2, 3, 4]"), Long.class, 2, 100)) {
+            assertEquals(Arrays.asList(1L, 2L), reader.nextChunk());
+            assertTrue(reader.hasMoreElements());
+            assertTrue(reader.hasMoreElements());
+            assertEquals(Arrays.asList(3L, 4L), reader.nextChunk());
+            assertFalse(reader.hasMoreElements());
+            assertTrue(reader.nextChunk().isEmpty());
+            assertEquals(4, reader.getElementsRead());
+        }
+    }
+
+    @Test
+    void testBodyThatIsNotAnArrayIsRejected() {
+        assertThrows(InvalidPayloadException.class, () -> new JsonArrayChunkReader<>(objectMapper, stream("{\"sku\":1}"), Long.class, 10, 100));
+    }
+
+    @Test
+    void testInvalidElementIsRejected() throws IOException {
+        try (JsonArrayChunkReader<Long> reader = new JsonArrayChunkReader<>(objectMapper, stream("[1, \"abc\"]"), Long.class, 10, 100)) {
+            assertThrows(InvalidPayloadException.class, reader::nextChunk);
+        }
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] gzip(String json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}